@@ -0,0 +1,540 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.common.collection;
+
+import grakn.core.common.exception.GraknException;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static grakn.core.common.exception.ErrorMessage.Internal.ILLEGAL_OPERATION;
+
+/**
+ * A set that remembers its elements only by their byte keys, and is meant for de-duplicating streams of answers
+ * that are too large to keep on heap. The keys are hash partitioned, and once the {@link Memory} the set draws from
+ * is exceeded, the largest partition of the set writes its keys to a sorted run on local disk. Each run keeps a bloom
+ * filter and a sparse index in memory, which are counted against the same {@link Memory}, so looking up a key only
+ * reads a single block of a run when the filter reports a match. Runs of the same size are merged {@code MERGE_FACTOR}
+ * at a time, so every spilled key is rewritten once per level, and a partition only holds a logarithmic number of runs.
+ *
+ * Only {@link #add(Object)}, {@link #contains(Object)} and {@link #size()} are supported, as elements cannot be
+ * restored from their keys. Call {@link #close()} to delete the runs written to disk and release the memory held.
+ */
+@ThreadSafe
+public class SpillingSet<T> extends AbstractSet<T> implements AutoCloseable {
+
+    private static final int PARTITIONS = 16;
+    private static final int KEY_OVERHEAD = 64;
+    private static final int INDEX_OVERHEAD = 32;
+    private static final int INDEX_INTERVAL = 32;
+    private static final int BLOOM_BITS_PER_KEY = 10;
+    private static final int BLOOM_HASHES = 7;
+    private static final int MERGE_FACTOR = 4;
+
+    private final Function<T, byte[]> keyFn;
+    private final Memory memory;
+    private final long minSpillBytes;
+    private final Partition[] partitions;
+
+    public SpillingSet(Function<T, byte[]> keyFn, long memoryBudget) {
+        this(keyFn, new Memory(memoryBudget));
+    }
+
+    public SpillingSet(Function<T, byte[]> keyFn, long memoryBudget, Path directory) {
+        this(keyFn, new Memory(memoryBudget), directory);
+    }
+
+    public SpillingSet(Function<T, byte[]> keyFn, Memory memory) {
+        this(keyFn, memory, Paths.get(System.getProperty("java.io.tmpdir")));
+    }
+
+    public SpillingSet(Function<T, byte[]> keyFn, Memory memory, Path directory) {
+        this.keyFn = keyFn;
+        this.memory = memory;
+        // a set whose partitions are all smaller than this keeps at most a quarter of the limit on heap
+        this.minSpillBytes = Math.max(1, memory.limit / (4 * PARTITIONS));
+        this.partitions = new Partition[PARTITIONS];
+        for (int i = 0; i < PARTITIONS; i++) partitions[i] = new Partition(memory, directory);
+    }
+
+    @Override
+    public boolean add(T element) {
+        Key key = new Key(keyFn.apply(element));
+        if (!partition(key).add(key)) return false;
+        if (memory.isExceeded()) spillLargest();
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean contains(Object element) {
+        Key key = new Key(keyFn.apply((T) element));
+        return partition(key).contains(key);
+    }
+
+    @Override
+    public int size() {
+        long size = 0;
+        for (Partition partition : partitions) size += partition.size();
+        return (int) Math.min(size, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        throw GraknException.of(ILLEGAL_OPERATION);
+    }
+
+    public int spilledRuns() {
+        int runs = 0;
+        for (Partition partition : partitions) runs += partition.runs();
+        return runs;
+    }
+
+    /**
+     * Deletes the runs written to disk and releases the memory held by the set. Elements added after the set is
+     * closed are not remembered, so that jobs still adding to the set after their query has stopped are harmless.
+     */
+    @Override
+    public void close() {
+        for (Partition partition : partitions) partition.close();
+    }
+
+    private Partition partition(Key key) {
+        return partitions[(key.hash ^ (key.hash >>> 16)) & (PARTITIONS - 1)];
+    }
+
+    private void spillLargest() {
+        Partition largest = null;
+        long largestUsage = 0;
+        for (Partition partition : partitions) {
+            long usage = partition.memoryUsage();
+            if (usage > largestUsage) {
+                largest = partition;
+                largestUsage = usage;
+            }
+        }
+        if (largest != null && largestUsage >= minSpillBytes) largest.spill();
+    }
+
+    private static int compare(byte[] b1, byte[] b2) {
+        int length = Math.min(b1.length, b2.length);
+        for (int i = 0; i < length; i++) {
+            int cmp = Integer.compare(b1[i] & 0xff, b2[i] & 0xff);
+            if (cmp != 0) return cmp;
+        }
+        return Integer.compare(b1.length, b2.length);
+    }
+
+    /**
+     * The memory limit shared by every {@link SpillingSet} drawing from it, such as all the sets of a single query.
+     */
+    @ThreadSafe
+    public static class Memory {
+
+        private final long limit;
+        private final AtomicLong used;
+
+        public Memory(long limit) {
+            assert limit > 0;
+            this.limit = limit;
+            this.used = new AtomicLong(0);
+        }
+
+        public long limit() {
+            return limit;
+        }
+
+        public long used() {
+            return used.get();
+        }
+
+        private void allocate(long bytes) {
+            used.addAndGet(bytes);
+        }
+
+        private void release(long bytes) {
+            used.addAndGet(-bytes);
+        }
+
+        private boolean isExceeded() {
+            return used.get() > limit;
+        }
+    }
+
+    private static class Key {
+
+        private final byte[] bytes;
+        private final int hash;
+
+        private Key(byte[] bytes) {
+            this.bytes = bytes;
+            this.hash = Arrays.hashCode(bytes);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            return Arrays.equals(bytes, ((Key) o).bytes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static class Partition {
+
+        private final Memory memory;
+        private final Path directory;
+        private final Set<Key> keys;
+        private final List<Run> runs;
+        private long keysUsage;
+        private long spilledSize;
+        private boolean isClosed;
+
+        private Partition(Memory memory, Path directory) {
+            this.memory = memory;
+            this.directory = directory;
+            this.keys = new HashSet<>();
+            this.runs = new ArrayList<>();
+            this.keysUsage = 0;
+            this.spilledSize = 0;
+            this.isClosed = false;
+        }
+
+        private synchronized boolean add(Key key) {
+            if (isClosed) return true;
+            if (keys.contains(key) || spilledContains(key)) return false;
+            keys.add(key);
+            long usage = key.bytes.length + KEY_OVERHEAD;
+            keysUsage += usage;
+            memory.allocate(usage);
+            return true;
+        }
+
+        private synchronized boolean contains(Key key) {
+            return keys.contains(key) || spilledContains(key);
+        }
+
+        private synchronized long size() {
+            return keys.size() + spilledSize;
+        }
+
+        private synchronized int runs() {
+            return runs.size();
+        }
+
+        private synchronized long memoryUsage() {
+            return keysUsage;
+        }
+
+        private boolean spilledContains(Key key) {
+            for (Run run : runs) {
+                if (run.contains(key)) return true;
+            }
+            return false;
+        }
+
+        private synchronized void spill() {
+            if (isClosed || keys.isEmpty()) return;
+            byte[][] sorted = new byte[keys.size()][];
+            int i = 0;
+            for (Key key : keys) sorted[i++] = key.bytes;
+            Arrays.sort(sorted, SpillingSet::compare);
+            addRun(new Run(Arrays.asList(sorted).iterator(), sorted.length, 0, directory));
+            spilledSize += sorted.length;
+            keys.clear();
+            memory.release(keysUsage);
+            keysUsage = 0;
+            mayMerge();
+        }
+
+        private void addRun(Run run) {
+            runs.add(run);
+            memory.allocate(run.memoryUsage);
+        }
+
+        private void deleteRun(Run run) {
+            run.delete();
+            memory.release(run.memoryUsage);
+        }
+
+        private void mayMerge() {
+            // runs are ordered by non-increasing level, so equal levels are always at the end of the list
+            while (runs.size() >= MERGE_FACTOR) {
+                List<Run> last = runs.subList(runs.size() - MERGE_FACTOR, runs.size());
+                int level = last.get(0).level;
+                for (Run run : last) {
+                    if (run.level != level) return;
+                }
+                Run merged = merge(last, level + 1);
+                last.forEach(this::deleteRun);
+                last.clear();
+                addRun(merged);
+            }
+        }
+
+        private Run merge(List<Run> merging, int level) {
+            // runs never share a key, so merging them is a plain merge of their sorted files
+            List<Run.Reader> readers = new ArrayList<>(merging.size());
+            long count = 0;
+            for (Run run : merging) {
+                readers.add(run.reader());
+                count += run.count;
+            }
+            Iterator<byte[]> merged = new Iterator<byte[]>() {
+                @Override
+                public boolean hasNext() {
+                    for (Run.Reader reader : readers) {
+                        if (reader.peek() != null) return true;
+                    }
+                    return false;
+                }
+
+                @Override
+                public byte[] next() {
+                    Run.Reader min = null;
+                    for (Run.Reader reader : readers) {
+                        if (reader.peek() != null && (min == null || compare(reader.peek(), min.peek()) < 0)) {
+                            min = reader;
+                        }
+                    }
+                    assert min != null;
+                    return min.next();
+                }
+            };
+            try {
+                return new Run(merged, count, level, directory);
+            } finally {
+                readers.forEach(Run.Reader::close);
+            }
+        }
+
+        private synchronized void close() {
+            if (isClosed) return;
+            isClosed = true;
+            runs.forEach(this::deleteRun);
+            runs.clear();
+            keys.clear();
+            memory.release(keysUsage);
+            keysUsage = 0;
+        }
+    }
+
+    private static class Run {
+
+        private final Path file;
+        private final FileChannel channel;
+        private final BitSet bloom;
+        private final int bloomSize;
+        private final byte[][] indexKeys;
+        private final long[] indexOffsets;
+        private final long fileSize;
+        private final long count;
+        private final int level;
+        private final long memoryUsage;
+
+        private Run(Iterator<byte[]> sortedKeys, long count, int level, Path directory) {
+            this.count = count;
+            this.level = level;
+            bloomSize = (int) Math.min(Integer.MAX_VALUE - 64, Math.max(64, count * BLOOM_BITS_PER_KEY));
+            bloom = new BitSet(bloomSize);
+            int indexSize = (int) ((count + INDEX_INTERVAL - 1) / INDEX_INTERVAL);
+            indexKeys = new byte[indexSize][];
+            indexOffsets = new long[indexSize];
+            long indexUsage = 0;
+            try {
+                file = Files.createTempFile(directory, "distinct-", ".run");
+            } catch (IOException e) {
+                throw GraknException.of(e);
+            }
+            try {
+                long offset = 0;
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+                    for (long i = 0; sortedKeys.hasNext(); i++) {
+                        byte[] key = sortedKeys.next();
+                        if (i % INDEX_INTERVAL == 0) {
+                            indexKeys[(int) (i / INDEX_INTERVAL)] = key;
+                            indexOffsets[(int) (i / INDEX_INTERVAL)] = offset;
+                            indexUsage += key.length + INDEX_OVERHEAD;
+                        }
+                        bloomAdd(key);
+                        out.writeInt(key.length);
+                        out.write(key);
+                        offset += Bytes.INTEGER_SIZE + key.length;
+                    }
+                }
+                fileSize = offset;
+                channel = FileChannel.open(file, StandardOpenOption.READ);
+            } catch (IOException e) {
+                deleteFile();
+                throw GraknException.of(e);
+            } catch (RuntimeException e) {
+                deleteFile();
+                throw e;
+            }
+            memoryUsage = bloomSize / Byte.SIZE + indexUsage;
+        }
+
+        private Reader reader() {
+            try {
+                return new Reader(new DataInputStream(new BufferedInputStream(Files.newInputStream(file))));
+            } catch (IOException e) {
+                throw GraknException.of(e);
+            }
+        }
+
+        private boolean contains(Key key) {
+            if (!bloomContains(key.bytes)) return false;
+            int block = floorIndex(key.bytes);
+            if (block < 0) return false;
+            long start = indexOffsets[block];
+            long end = block + 1 < indexOffsets.length ? indexOffsets[block + 1] : fileSize;
+            ByteBuffer buffer = ByteBuffer.allocate((int) (end - start));
+            try {
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer, start + buffer.position()) < 0) break;
+                }
+            } catch (IOException e) {
+                throw GraknException.of(e);
+            }
+            buffer.flip();
+            while (buffer.remaining() >= Bytes.INTEGER_SIZE) {
+                byte[] candidate = new byte[buffer.getInt()];
+                buffer.get(candidate);
+                int cmp = compare(candidate, key.bytes);
+                if (cmp == 0) return true;
+                else if (cmp > 0) return false;
+            }
+            return false;
+        }
+
+        private int floorIndex(byte[] key) {
+            int low = 0, high = indexKeys.length - 1, floor = -1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (compare(indexKeys[mid], key) <= 0) {
+                    floor = mid;
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return floor;
+        }
+
+        private void bloomAdd(byte[] key) {
+            int h1 = Arrays.hashCode(key), h2 = mix(h1);
+            for (int i = 0; i < BLOOM_HASHES; i++) bloom.set(Math.floorMod(h1 + i * h2, bloomSize));
+        }
+
+        private boolean bloomContains(byte[] key) {
+            int h1 = Arrays.hashCode(key), h2 = mix(h1);
+            for (int i = 0; i < BLOOM_HASHES; i++) {
+                if (!bloom.get(Math.floorMod(h1 + i * h2, bloomSize))) return false;
+            }
+            return true;
+        }
+
+        private static int mix(int hash) {
+            int h = hash * 0x9E3779B9;
+            return (h ^ (h >>> 15)) | 1;
+        }
+
+        private void delete() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw GraknException.of(e);
+            } finally {
+                deleteFile();
+            }
+        }
+
+        private void deleteFile() {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                throw GraknException.of(e);
+            }
+        }
+
+        private class Reader {
+
+            private final DataInputStream input;
+            private long remaining;
+            private byte[] next;
+
+            private Reader(DataInputStream input) {
+                this.input = input;
+                this.remaining = count;
+                this.next = null;
+            }
+
+            private byte[] peek() {
+                if (next == null && remaining > 0) {
+                    try {
+                        next = new byte[input.readInt()];
+                        input.readFully(next);
+                        remaining--;
+                    } catch (IOException e) {
+                        throw GraknException.of(e);
+                    }
+                }
+                return next;
+            }
+
+            private byte[] next() {
+                byte[] key = peek();
+                next = null;
+                return key;
+            }
+
+            private void close() {
+                try {
+                    input.close();
+                } catch (IOException e) {
+                    throw GraknException.of(e);
+                }
+            }
+        }
+    }
+}
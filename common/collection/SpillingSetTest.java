@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.common.collection;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertFalse;
+import static junit.framework.TestCase.assertTrue;
+
+public class SpillingSetTest {
+
+    private static int files(Path directory) {
+        String[] files = directory.toFile().list();
+        assert files != null;
+        return files.length;
+    }
+
+    @Test
+    public void test_distinct_elements_are_retained_across_spilled_runs() throws IOException {
+        Path directory = Files.createTempDirectory("spilling-set-test");
+        SpillingSet<Long> set = new SpillingSet<>(Bytes::longToBytes, 16 * 1024, directory);
+        for (long i = 0; i < 10_000; i++) assertTrue(set.add(i));
+        assertTrue(set.spilledRuns() > 0);
+        for (long i = 0; i < 10_000; i++) assertFalse(set.add(i));
+        assertTrue(set.contains(9_999L));
+        assertFalse(set.contains(10_000L));
+        assertEquals(10_000, set.size());
+        set.close();
+        assertEquals(0, files(directory));
+        Files.delete(directory);
+    }
+
+    @Test
+    public void test_spilled_runs_are_merged_into_logarithmically_many_runs() throws IOException {
+        Path directory = Files.createTempDirectory("spilling-set-test");
+        SpillingSet<Long> set = new SpillingSet<>(Bytes::longToBytes, 64 * 1024, directory);
+        for (long i = 0; i < 100_000; i++) assertTrue(set.add(i));
+        assertTrue(set.spilledRuns() > 0);
+        // 16 partitions, each holding at most 3 runs per level for the few levels 100,000 keys need
+        assertTrue(set.spilledRuns() <= 16 * 3 * 8);
+        assertEquals(set.spilledRuns(), files(directory));
+        for (long i = 0; i < 100_000; i += 7) assertTrue(set.contains(i));
+        assertFalse(set.contains(100_000L));
+        assertEquals(100_000, set.size());
+        set.close();
+        assertEquals(0, files(directory));
+        Files.delete(directory);
+    }
+
+    @Test
+    public void test_sets_sharing_memory_spill_once_it_is_exceeded() throws IOException {
+        Path directory = Files.createTempDirectory("spilling-set-test");
+        SpillingSet.Memory memory = new SpillingSet.Memory(64 * 1024);
+        SpillingSet<Long> set1 = new SpillingSet<>(Bytes::longToBytes, memory, directory);
+        SpillingSet<Long> set2 = new SpillingSet<>(Bytes::longToBytes, memory, directory);
+        for (long i = 0; i < 400; i++) assertTrue(set1.add(i));
+        assertEquals(0, set1.spilledRuns());
+        for (long i = 0; i < 10_000; i++) assertTrue(set2.add(i));
+        assertTrue(set2.spilledRuns() > 0);
+        assertTrue(memory.used() <= memory.limit() * 2);
+        for (long i = 0; i < 10_000; i++) assertFalse(set2.add(i));
+        set1.close();
+        set2.close();
+        assertEquals(0, memory.used());
+        assertEquals(0, files(directory));
+        Files.delete(directory);
+    }
+
+    @Test
+    public void test_closed_set_deletes_its_runs_and_ignores_later_elements() throws IOException {
+        Path directory = Files.createTempDirectory("spilling-set-test");
+        SpillingSet.Memory memory = new SpillingSet.Memory(16 * 1024);
+        SpillingSet<Long> set = new SpillingSet<>(Bytes::longToBytes, memory, directory);
+        for (long i = 0; i < 10_000; i++) assertTrue(set.add(i));
+        assertTrue(files(directory) > 0);
+        set.close();
+        assertEquals(0, files(directory));
+        assertEquals(0, memory.used());
+        assertTrue(set.add(0L));
+        assertTrue(set.add(0L));
+        assertEquals(0, memory.used());
+        set.close();
+        Files.delete(directory);
+    }
+}
@@ -69,6 +69,10 @@ public abstract class ErrorMessage extends grakn.common.exception.ErrorMessage {
                 new Server(16, "The request with ID '%s' is a duplicate.");
         public static final Server ALREADY_RUNNING =
                 new Server(17, "Another instance of Grakn Core server is already running at this port: '%s'.");
+        public static final Server SERVER_OVERLOADED =
+                new Server(18, "The server is overloaded, with '%s' requests already waiting to be processed.");
+        public static final Server SESSION_OVERLOADED =
+                new Server(19, "The session '%s' has '%s' requests waiting to be processed, which is the most it may have.");
 
         private static final String codePrefix = "SRV";
         private static final String messagePrefix = "Invalid Server Operation";
@@ -214,6 +218,8 @@ public abstract class ErrorMessage extends grakn.common.exception.ErrorMessage {
                 new Pattern(15, "The conjunction %s can never be satisfied within the current schema.");
         public static final Pattern UNSATISFIABLE_CONSTRAINT_VALUE_TYPE =
                 new Pattern(16, "The value type in this constraint %s can not be satisfied within the current conjunction.");
+        public static final Pattern UNRECOGNISED_QUERY_PARAMETER =
+                new Pattern(17, "The parameter '%s' is not a named variable of the prepared query.");
 
         private static final String codePrefix = "QRY";
         private static final String messagePrefix = "Invalid Query Pattern";
@@ -515,6 +521,20 @@ public abstract class ErrorMessage extends grakn.common.exception.ErrorMessage {
         Reasoner(int number, String message) { super(codePrefix, number, messagePrefix, message); }
     }
 
+    public static class Resource extends ErrorMessage {
+        public static final Resource QUERY_TIMEOUT =
+                new Resource(1, "The query did not complete within its time limit of %s ms.");
+        public static final Resource QUERY_ROW_LIMIT_EXCEEDED =
+                new Resource(2, "The query returned more than its limit of %s rows.");
+
+        private static final String codePrefix = "RES";
+        private static final String messagePrefix = "Query Resource Limit Exceeded";
+
+        Resource(int number, String message) {
+            super(codePrefix, number, messagePrefix, message);
+        }
+    }
+
     public static class Migrator extends ErrorMessage {
         public static final Migrator FILE_NOT_READABLE =
                 new Migrator(1, "The specified file '%s' cannot be opened for read.");
@@ -225,6 +225,11 @@ public abstract class AbstractResourceIterator<T> implements ResourceIterator<T>
         return new FinaliseHandledIterator<>(this, function);
     }
 
+    @Override
+    public ResourceIterator<T> onRecycle(Runnable function) {
+        return new RecycleHandledIterator<>(this, function);
+    }
+
     @Override
     public abstract void recycle();
 }
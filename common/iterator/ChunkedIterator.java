@@ -0,0 +1,53 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.common.iterator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+class ChunkedIterator<T> extends AbstractResourceIterator<List<T>> {
+
+    private final ResourceIterator<T> iterator;
+    private final int size;
+
+    public ChunkedIterator(ResourceIterator<T> iterator, int size) {
+        assert size > 0;
+        this.iterator = iterator;
+        this.size = size;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return iterator.hasNext();
+    }
+
+    @Override
+    public List<T> next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        List<T> chunk = new ArrayList<>();
+        while (chunk.size() < size && iterator.hasNext()) chunk.add(iterator.next());
+        return chunk;
+    }
+
+    @Override
+    public void recycle() {
+        iterator.recycle();
+    }
+}
@@ -96,6 +96,10 @@ public class Iterators {
         return new PermutationIterator<>(list);
     }
 
+    public static <T> ResourceIterator<List<T>> chunk(ResourceIterator<T> iterator, int size) {
+        return new ChunkedIterator<>(iterator, size);
+    }
+
     public static <T> Stream<T> stream(Iterator<T> iterator) {
         return StreamSupport.stream(spliteratorUnknownSize(iterator, ORDERED | IMMUTABLE), false);
     }
@@ -0,0 +1,51 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.common.iterator;
+
+public class RecycleHandledIterator<T> extends AbstractResourceIterator<T> implements ResourceIterator<T> {
+
+    private final ResourceIterator<T> iterator;
+    private final Runnable function;
+    private boolean isRecycled;
+
+    public RecycleHandledIterator(ResourceIterator<T> iterator, Runnable function) {
+        this.iterator = iterator;
+        this.function = function;
+        this.isRecycled = false;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return iterator.hasNext();
+    }
+
+    @Override
+    public T next() {
+        return iterator.next();
+    }
+
+    @Override
+    public void recycle() {
+        iterator.recycle();
+        if (!isRecycled) {
+            isRecycled = true;
+            function.run();
+        }
+    }
+}
@@ -85,5 +85,7 @@ public interface ResourceIterator<T> extends Iterator<T> {
 
     ResourceIterator<T> onFinalise(Runnable function);
 
+    ResourceIterator<T> onRecycle(Runnable function);
+
     void recycle();
 }
@@ -18,6 +18,8 @@
 
 package grakn.core.common.parameters;
 
+import grakn.core.common.profile.QueryBudget;
+import grakn.core.common.profile.QueryProfile;
 import graql.lang.query.GraqlQuery;
 
 import javax.annotation.Nullable;
@@ -80,6 +82,8 @@ public class Context<PARENT extends Context<?, ?>, OPTIONS extends Options<?, ?>
     public static class Query extends Context<Context.Transaction, Options.Query> {
 
         private Arguments.Query.Producer producer;
+        private QueryProfile profile;
+        private QueryBudget budget;
         private static final Arguments.Query.Producer DEFAULT_PRODUCER = INCREMENTAL;
 
         public Query(Transaction context, Options.Query options) {
@@ -100,5 +104,25 @@ public class Context<PARENT extends Context<?, ?>, OPTIONS extends Options<?, ?>
             this.producer = producer;
             return this;
         }
+
+        /**
+         * @return the profile the query records into, which is only enabled by the profile option
+         */
+        public synchronized QueryProfile profile() {
+            if (!options().profile()) return QueryProfile.DISABLED;
+            else if (profile == null) profile = QueryProfile.create();
+            return profile;
+        }
+
+        /**
+         * @return the budget the query reports to, whose time limit starts when the budget is first requested
+         */
+        public synchronized QueryBudget budget() {
+            if (budget == null) {
+                budget = QueryBudget.create(options().queryTimeoutMillis(), options().queryRowLimit(),
+                                            options().distinctMemoryBytes());
+            }
+            return budget;
+        }
     }
 }
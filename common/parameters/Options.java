@@ -34,6 +34,20 @@ public abstract class Options<PARENT extends Options<?, ?>, SELF extends Options
     public static final boolean DEFAULT_QUERY_READ_PREFETCH = true;
     public static final boolean DEFAULT_QUERY_WRITE_PREFETCH = false;
     public static final boolean DEFAULT_READ_ANY_REPLICA = false;
+    public static final boolean DEFAULT_APPROXIMATE_COUNT = false;
+    public static final boolean DEFAULT_PROFILE = false;
+    public static final long DEFAULT_DISTINCT_MEMORY_BYTES = 256L * 1024 * 1024;
+    public static final boolean DEFAULT_BATCHED_TRAVERSAL = false;
+    public static final boolean DEFAULT_ANSWER_CACHE = false;
+    public static final int DEFAULT_ANSWER_CACHE_SIZE = 1_000;
+    public static final int DEFAULT_ANSWER_CACHE_TIMEOUT_MINUTES = 10;
+    public static final int DEFAULT_ANSWER_CACHE_MAX_ANSWERS = 10_000;
+    public static final long DEFAULT_CARTESIAN_MEMORY_BYTES = 64L * 1024 * 1024;
+    public static final long DEFAULT_ANSWER_BUFFER_BYTES = 64L * 1024 * 1024;
+    public static final long DEFAULT_QUERY_TIMEOUT_MILLIS = Long.MAX_VALUE;
+    public static final long DEFAULT_QUERY_ROW_LIMIT = Long.MAX_VALUE;
+    public static final int DEFAULT_SCHEDULING_WEIGHT = 1;
+    public static final int DEFAULT_RULE_FAN_OUT = 4;
 
     private PARENT parent;
     private Boolean infer = null;
@@ -42,6 +56,18 @@ public abstract class Options<PARENT extends Options<?, ?>, SELF extends Options
     private Integer sessionIdlTimeoutMillis = null;
     private Integer schemaLockAcquireTimeoutMillis = null;
     private Boolean readAnyReplica = null;
+    private Long distinctMemoryBytes = null;
+    private Boolean batchedTraversal = null;
+    private Boolean answerCache = null;
+    private Integer answerCacheSize = null;
+    private Integer answerCacheTimeoutMinutes = null;
+    private Integer answerCacheMaxAnswers = null;
+    private Long cartesianMemoryBytes = null;
+    private Long answerBufferBytes = null;
+    private Long queryTimeoutMillis = null;
+    private Long queryRowLimit = null;
+    private Integer schedulingWeight = null;
+    private Integer ruleFanOut = null;
 
     protected Boolean prefetch = null;
 
@@ -118,6 +144,138 @@ public abstract class Options<PARENT extends Options<?, ?>, SELF extends Options
         return getThis();
     }
 
+    public long distinctMemoryBytes() {
+        if (distinctMemoryBytes != null) return distinctMemoryBytes;
+        else if (parent != null) return parent.distinctMemoryBytes();
+        else return DEFAULT_DISTINCT_MEMORY_BYTES;
+    }
+
+    public SELF distinctMemoryBytes(long distinctMemoryBytes) {
+        this.distinctMemoryBytes = distinctMemoryBytes;
+        return getThis();
+    }
+
+    public boolean batchedTraversal() {
+        if (batchedTraversal != null) return batchedTraversal;
+        else if (parent != null) return parent.batchedTraversal();
+        else return DEFAULT_BATCHED_TRAVERSAL;
+    }
+
+    public SELF batchedTraversal(boolean batchedTraversal) {
+        this.batchedTraversal = batchedTraversal;
+        return getThis();
+    }
+
+    public boolean answerCache() {
+        if (answerCache != null) return answerCache;
+        else if (parent != null) return parent.answerCache();
+        else return DEFAULT_ANSWER_CACHE;
+    }
+
+    public SELF answerCache(boolean answerCache) {
+        this.answerCache = answerCache;
+        return getThis();
+    }
+
+    public int answerCacheSize() {
+        if (answerCacheSize != null) return answerCacheSize;
+        else if (parent != null) return parent.answerCacheSize();
+        else return DEFAULT_ANSWER_CACHE_SIZE;
+    }
+
+    public SELF answerCacheSize(int answerCacheSize) {
+        this.answerCacheSize = answerCacheSize;
+        return getThis();
+    }
+
+    public int answerCacheTimeoutMinutes() {
+        if (answerCacheTimeoutMinutes != null) return answerCacheTimeoutMinutes;
+        else if (parent != null) return parent.answerCacheTimeoutMinutes();
+        else return DEFAULT_ANSWER_CACHE_TIMEOUT_MINUTES;
+    }
+
+    public SELF answerCacheTimeoutMinutes(int answerCacheTimeoutMinutes) {
+        this.answerCacheTimeoutMinutes = answerCacheTimeoutMinutes;
+        return getThis();
+    }
+
+    public int answerCacheMaxAnswers() {
+        if (answerCacheMaxAnswers != null) return answerCacheMaxAnswers;
+        else if (parent != null) return parent.answerCacheMaxAnswers();
+        else return DEFAULT_ANSWER_CACHE_MAX_ANSWERS;
+    }
+
+    public SELF answerCacheMaxAnswers(int answerCacheMaxAnswers) {
+        this.answerCacheMaxAnswers = answerCacheMaxAnswers;
+        return getThis();
+    }
+
+    public long cartesianMemoryBytes() {
+        if (cartesianMemoryBytes != null) return cartesianMemoryBytes;
+        else if (parent != null) return parent.cartesianMemoryBytes();
+        else return DEFAULT_CARTESIAN_MEMORY_BYTES;
+    }
+
+    public SELF cartesianMemoryBytes(long cartesianMemoryBytes) {
+        this.cartesianMemoryBytes = cartesianMemoryBytes;
+        return getThis();
+    }
+
+    public long answerBufferBytes() {
+        if (answerBufferBytes != null) return answerBufferBytes;
+        else if (parent != null) return parent.answerBufferBytes();
+        else return DEFAULT_ANSWER_BUFFER_BYTES;
+    }
+
+    public SELF answerBufferBytes(long answerBufferBytes) {
+        this.answerBufferBytes = answerBufferBytes;
+        return getThis();
+    }
+
+    public long queryTimeoutMillis() {
+        if (queryTimeoutMillis != null) return queryTimeoutMillis;
+        else if (parent != null) return parent.queryTimeoutMillis();
+        else return DEFAULT_QUERY_TIMEOUT_MILLIS;
+    }
+
+    public SELF queryTimeoutMillis(long queryTimeoutMillis) {
+        this.queryTimeoutMillis = queryTimeoutMillis;
+        return getThis();
+    }
+
+    public long queryRowLimit() {
+        if (queryRowLimit != null) return queryRowLimit;
+        else if (parent != null) return parent.queryRowLimit();
+        else return DEFAULT_QUERY_ROW_LIMIT;
+    }
+
+    public SELF queryRowLimit(long queryRowLimit) {
+        this.queryRowLimit = queryRowLimit;
+        return getThis();
+    }
+
+    public int schedulingWeight() {
+        if (schedulingWeight != null) return schedulingWeight;
+        else if (parent != null) return parent.schedulingWeight();
+        else return DEFAULT_SCHEDULING_WEIGHT;
+    }
+
+    public SELF schedulingWeight(int schedulingWeight) {
+        this.schedulingWeight = schedulingWeight;
+        return getThis();
+    }
+
+    public int ruleFanOut() {
+        if (ruleFanOut != null) return ruleFanOut;
+        else if (parent != null) return parent.ruleFanOut();
+        else return DEFAULT_RULE_FAN_OUT;
+    }
+
+    public SELF ruleFanOut(int ruleFanOut) {
+        this.ruleFanOut = ruleFanOut;
+        return getThis();
+    }
+
     public static class Database extends Options<Options<?, ?>, Database> {
 
         @Override
@@ -149,6 +307,8 @@ public abstract class Options<PARENT extends Options<?, ?>, SELF extends Options
     public static class Query extends Options<Transaction, Query> {
 
         private Boolean parallel = null;
+        private Boolean approximateCount = null;
+        private Boolean profile = null;
         private GraqlQuery query = null;
 
         @Override
@@ -190,5 +350,25 @@ public abstract class Options<PARENT extends Options<?, ?>, SELF extends Options
             this.parallel = parallel;
             return this;
         }
+
+        public boolean approximateCount() {
+            if (approximateCount != null) return approximateCount;
+            return DEFAULT_APPROXIMATE_COUNT;
+        }
+
+        public Query approximateCount(boolean approximateCount) {
+            this.approximateCount = approximateCount;
+            return this;
+        }
+
+        public boolean profile() {
+            if (profile != null) return profile;
+            return DEFAULT_PROFILE;
+        }
+
+        public Query profile(boolean profile) {
+            this.profile = profile;
+            return this;
+        }
     }
 }
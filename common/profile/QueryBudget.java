@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.common.profile;
+
+import grakn.core.common.collection.SpillingSet;
+import grakn.core.common.exception.GraknException;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static grakn.core.common.exception.ErrorMessage.Resource.QUERY_ROW_LIMIT_EXCEEDED;
+import static grakn.core.common.exception.ErrorMessage.Resource.QUERY_TIMEOUT;
+
+/**
+ * Limits the resources a query may use while its answers are produced: the time until its deadline, and the rows it
+ * returns to its caller. Every thread working on the query reports to the same budget, and the first to exceed a
+ * limit fails the query. The budget also holds the memory shared by every set the query de-duplicates its answers
+ * with, which spill to disk rather than fail. The memory of answers buffered for the caller is not limited here, as
+ * the producers of those answers stall at {@link grakn.core.common.parameters.Options#answerBufferBytes()} instead.
+ */
+@ThreadSafe
+public class QueryBudget {
+
+    public static final QueryBudget UNLIMITED = new QueryBudget(Long.MAX_VALUE, Long.MAX_VALUE, null);
+
+    private final long timeoutMillis;
+    private final long timeoutNanos;
+    private final long startNanos;
+    private final long maxRows;
+    private final AtomicLong rows;
+    private final boolean isUnlimited;
+    private final SpillingSet.Memory distinctMemory;
+
+    private QueryBudget(long timeoutMillis, long maxRows, @Nullable SpillingSet.Memory distinctMemory) {
+        this.timeoutMillis = timeoutMillis;
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        this.startNanos = System.nanoTime();
+        this.maxRows = maxRows;
+        this.rows = new AtomicLong(0);
+        this.isUnlimited = timeoutMillis == Long.MAX_VALUE && maxRows == Long.MAX_VALUE;
+        this.distinctMemory = distinctMemory;
+    }
+
+    public static QueryBudget create(long timeoutMillis, long maxRows, long distinctMemoryBytes) {
+        return new QueryBudget(timeoutMillis, maxRows, new SpillingSet.Memory(distinctMemoryBytes));
+    }
+
+    public boolean isUnlimited() {
+        return isUnlimited;
+    }
+
+    /**
+     * @return the memory shared by the de-duplicating sets of the query, which is empty for {@link #UNLIMITED} as it
+     * is not owned by any single query
+     */
+    public Optional<SpillingSet.Memory> distinctMemory() {
+        return Optional.ofNullable(distinctMemory);
+    }
+
+    /**
+     * Fails the query once it has run past its deadline. {@link System#nanoTime()} may be negative, so only the
+     * elapsed time is compared, which does not overflow.
+     */
+    public void check() {
+        if (timeoutNanos != Long.MAX_VALUE && System.nanoTime() - startNanos > timeoutNanos) {
+            throw GraknException.of(QUERY_TIMEOUT, timeoutMillis);
+        }
+    }
+
+    /**
+     * Counts an answer returned to the caller of the query, after it has been de-duplicated, filtered and limited,
+     * and fails the query once it has returned more rows than its limit.
+     */
+    public void returned() {
+        if (isUnlimited()) return;
+        check();
+        if (rows.incrementAndGet() > maxRows) throw GraknException.of(QUERY_ROW_LIMIT_EXCEEDED, maxRows);
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.common.profile;
+
+import grakn.core.common.exception.GraknException;
+import org.junit.Test;
+
+import static grakn.core.common.exception.ErrorMessage.Resource.QUERY_ROW_LIMIT_EXCEEDED;
+import static grakn.core.common.exception.ErrorMessage.Resource.QUERY_TIMEOUT;
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertFalse;
+import static junit.framework.TestCase.assertTrue;
+import static junit.framework.TestCase.fail;
+
+public class QueryBudgetTest {
+
+    private static final long UNLIMITED = Long.MAX_VALUE;
+    private static final long DISTINCT_MEMORY = 1024;
+
+    private static void assertFails(Runnable function, String code) {
+        try {
+            function.run();
+            fail();
+        } catch (GraknException e) {
+            assertTrue(e.code().isPresent());
+            assertEquals(code, e.code().get());
+        }
+    }
+
+    @Test
+    public void test_budget_times_out_after_its_timeout() throws InterruptedException {
+        QueryBudget budget = QueryBudget.create(10, UNLIMITED, DISTINCT_MEMORY);
+        budget.check();
+        Thread.sleep(50);
+        assertFails(budget::check, QUERY_TIMEOUT.code());
+        assertFails(budget::returned, QUERY_TIMEOUT.code());
+    }
+
+    @Test
+    public void test_budget_with_the_longest_timeout_never_times_out() {
+        QueryBudget budget = QueryBudget.create(UNLIMITED - 1, UNLIMITED, DISTINCT_MEMORY);
+        budget.check();
+        QueryBudget.UNLIMITED.check();
+    }
+
+    @Test
+    public void test_budget_fails_once_more_rows_are_returned_than_its_limit() {
+        QueryBudget budget = QueryBudget.create(UNLIMITED, 3, DISTINCT_MEMORY);
+        assertFalse(budget.isUnlimited());
+        for (int i = 0; i < 3; i++) budget.returned();
+        assertFails(budget::returned, QUERY_ROW_LIMIT_EXCEEDED.code());
+    }
+
+    @Test
+    public void test_unlimited_budget_never_fails() {
+        assertTrue(QueryBudget.UNLIMITED.isUnlimited());
+        assertFalse(QueryBudget.UNLIMITED.distinctMemory().isPresent());
+        for (int i = 0; i < 1_000; i++) QueryBudget.UNLIMITED.returned();
+        assertTrue(QueryBudget.create(UNLIMITED, UNLIMITED, DISTINCT_MEMORY).distinctMemory().isPresent());
+    }
+}
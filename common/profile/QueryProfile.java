@@ -0,0 +1,222 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.common.profile;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records what a query did while its answers were produced: the procedure chosen for every traversal, the rows
+ * the planner estimated each procedure edge to produce against the rows it actually produced, the times each edge
+ * branched from a vertex or checked a closure between two vertices, the time spent planning, and the time spent
+ * converting answers into concepts.
+ *
+ * Traversals are keyed by the string of their procedure, so equal procedures executed by the same query share their
+ * counts. Storage I/O is not measured: the branches and closures of an edge count the calls that may read from
+ * storage, whether or not they were served from memory.
+ *
+ * A profile is only complete once the answers of its query have been consumed.
+ */
+@ThreadSafe
+public class QueryProfile {
+
+    public static final QueryProfile DISABLED = new QueryProfile(false);
+
+    private final boolean isEnabled;
+    private final ConcurrentMap<String, Traversal> traversals;
+    private final LongAdder planningNanos;
+    private final LongAdder conversionNanos;
+
+    private QueryProfile(boolean isEnabled) {
+        this.isEnabled = isEnabled;
+        this.traversals = new ConcurrentHashMap<>();
+        this.planningNanos = new LongAdder();
+        this.conversionNanos = new LongAdder();
+    }
+
+    public static QueryProfile create() {
+        return new QueryProfile(true);
+    }
+
+    public boolean isEnabled() {
+        return isEnabled;
+    }
+
+    public Traversal traversal(String procedure) {
+        assert isEnabled;
+        return traversals.computeIfAbsent(procedure, Traversal::new);
+    }
+
+    public List<Traversal> traversals() {
+        return new ArrayList<>(traversals.values());
+    }
+
+    public void planned(long nanos) {
+        if (isEnabled) planningNanos.add(nanos);
+    }
+
+    public void converted(long nanos) {
+        if (isEnabled) conversionNanos.add(nanos);
+    }
+
+    public long planningMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(planningNanos.sum());
+    }
+
+    public long conversionMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(conversionNanos.sum());
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder str = new StringBuilder();
+        str.append("Query Profile: {");
+        str.append("\n\tplanning duration   : ").append(planningMillis()).append(" (ms)");
+        str.append("\n\tconversion duration : ").append(conversionMillis()).append(" (ms)");
+        for (Traversal traversal : traversals.values()) str.append("\n").append(traversal);
+        str.append("\n}");
+        return str.toString();
+    }
+
+    @ThreadSafe
+    public static class Traversal {
+
+        private final String procedure;
+        private final LongAdder starts;
+        private final ConcurrentMap<Integer, Edge> edges;
+
+        private Traversal(String procedure) {
+            this.procedure = procedure;
+            this.starts = new LongAdder();
+            this.edges = new ConcurrentHashMap<>();
+        }
+
+        public String procedure() {
+            return procedure;
+        }
+
+        public long starts() {
+            return starts.sum();
+        }
+
+        public void started() {
+            starts.increment();
+        }
+
+        public Edge edge(int order, String edge, double estimatedRows) {
+            return edges.computeIfAbsent(order, o -> new Edge(o, edge, estimatedRows));
+        }
+
+        public List<Edge> edges() {
+            List<Edge> list = new ArrayList<>(edges.values());
+            list.sort(Comparator.comparing(Edge::order));
+            return list;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder str = new StringBuilder();
+            str.append("\t").append(procedure.replace("\n", "\n\t"));
+            str.append("\n\tstarting vertices: ").append(starts());
+            for (Edge edge : edges()) str.append("\n\t\t").append(edge);
+            return str.toString();
+        }
+    }
+
+    @ThreadSafe
+    public static class Edge {
+
+        private final int order;
+        private final String edge;
+        private final double estimatedRows;
+        private final LongAdder branches;
+        private final LongAdder closures;
+        private final LongAdder rows;
+
+        private Edge(int order, String edge, double estimatedRows) {
+            this.order = order;
+            this.edge = edge;
+            this.estimatedRows = estimatedRows;
+            this.branches = new LongAdder();
+            this.closures = new LongAdder();
+            this.rows = new LongAdder();
+        }
+
+        public int order() {
+            return order;
+        }
+
+        public void branched() {
+            branches.increment();
+        }
+
+        public void closed() {
+            closures.increment();
+        }
+
+        public void closed(long count) {
+            closures.add(count);
+        }
+
+        public void produced() {
+            rows.increment();
+        }
+
+        public void produced(long count) {
+            rows.add(count);
+        }
+
+        /**
+         * @return the number of times the edge branched from a vertex to the vertices it leads to
+         */
+        public long branches() {
+            return branches.sum();
+        }
+
+        /**
+         * @return the number of times the edge checked whether two vertices it already had were connected
+         */
+        public long closures() {
+            return closures.sum();
+        }
+
+        public long rows() {
+            return rows.sum();
+        }
+
+        /**
+         * @return the rows the planner estimated this edge to produce when the procedure was built
+         */
+        public double estimatedRows() {
+            return estimatedRows;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d: %s [estimated rows: %.1f, actual rows: %d, branches: %d, closures: %d]",
+                                 order, edge, estimatedRows(), rows(), branches(), closures());
+        }
+    }
+}
@@ -18,9 +18,11 @@
 
 package grakn.core.concept;
 
+import grakn.common.collection.Either;
 import grakn.core.common.exception.ErrorMessage;
 import grakn.core.common.exception.GraknException;
 import grakn.core.common.iterator.ResourceIterator;
+import grakn.core.common.parameters.Label;
 import grakn.core.concept.answer.ConceptMap;
 import grakn.core.concept.thing.Thing;
 import grakn.core.concept.thing.impl.ThingImpl;
@@ -73,7 +75,7 @@ public final class ConceptManager {
     }
 
     public ConceptMap conceptMap(VertexMap vertexMap) {
-        Map<Reference.Name, Concept> map = new HashMap<>();
+        Map<Reference.Name, Concept> map = new HashMap<>(vertexMap.size() * 2);
         vertexMap.forEach((reference, vertex) -> {
             if (!reference.isName()) throw exception(GraknException.of(ILLEGAL_STATE));
             if (vertex.isThing()) map.put(reference.asName(), ThingImpl.of(vertex.asThing()));
@@ -83,6 +85,24 @@ public final class ConceptManager {
         return new ConceptMap(map);
     }
 
+    /**
+     * Restore an answer from the labels of its types and the IIDs of its things, which must be visible to this
+     * transaction.
+     */
+    public ConceptMap conceptMap(Map<Reference.Name, Either<Label, byte[]>> answer) {
+        Map<Reference.Name, Concept> map = new HashMap<>(answer.size() * 2);
+        answer.forEach((name, concept) -> {
+            if (concept.isFirst()) {
+                TypeVertex vertex = graphMgr.schema().getType(concept.first());
+                if (vertex == null) throw exception(GraknException.of(ILLEGAL_STATE));
+                map.put(name, TypeImpl.of(graphMgr, vertex));
+            } else {
+                map.put(name, ThingImpl.of(graphMgr.data().convert(VertexIID.Thing.of(concept.second()))));
+            }
+        });
+        return new ConceptMap(map);
+    }
+
     public ThingType getRootThingType() {
         TypeVertex vertex = graphMgr.schema().rootThingType();
         if (vertex != null) return new ThingTypeImpl.Root(graphMgr, vertex);
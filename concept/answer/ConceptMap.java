@@ -42,6 +42,9 @@ import static grakn.core.common.iterator.Iterators.iterate;
 
 public class ConceptMap implements Answer {
 
+    private static final long ANSWER_OVERHEAD_BYTES = 64;
+    private static final long CONCEPT_OVERHEAD_BYTES = 160;
+
     private final Map<Reference.Name, ? extends Concept> concepts;
     private final int hash;
 
@@ -54,6 +57,13 @@ public class ConceptMap implements Answer {
         this.hash = Objects.hash(this.concepts);
     }
 
+    /**
+     * @return a rough estimate of the heap occupied by this answer and its concepts
+     */
+    public long estimatedBytes() {
+        return ANSWER_OVERHEAD_BYTES + CONCEPT_OVERHEAD_BYTES * concepts.size();
+    }
+
     public ResourceIterator<Pair<Reference.Name, Concept>> iterator() {
         return iterate(concepts.entrySet()).map(e -> pair(e.getKey(), e.getValue()));
     }
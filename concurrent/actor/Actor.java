@@ -19,6 +19,7 @@ package grakn.core.concurrent.actor;
 
 import javax.annotation.CheckReturnValue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -26,10 +27,13 @@ public class Actor<STATE extends Actor.State<STATE>> {
     private static final String ERROR_ACTOR_SELF_IS_NULL = "self() must not be null.";
     private static final String ERROR_ACTOR_STATE_NOT_SETUP =
             "Attempting to access the Actor state, but it is not yet setup. Are you trying to send a message to yourself within the constructor?";
+    private static final int MESSAGE_BATCH_SIZE = 64;
 
     public STATE state;
     private final EventLoopGroup eventLoopGroup;
-    private final EventLoop eventLoop;
+    private final Mailbox<Consumer<STATE>> mailbox;
+    private final AtomicBoolean isScheduled;
+    private volatile EventLoop eventLoop;
 
     public static <NEW_STATE extends State<NEW_STATE>>
     Actor<NEW_STATE> create(EventLoopGroup eventLoopGroup, Function<Actor<NEW_STATE>, NEW_STATE> stateConstructor) {
@@ -42,11 +46,14 @@ public class Actor<STATE extends Actor.State<STATE>> {
     private Actor(EventLoopGroup eventLoopGroup) {
         this.eventLoopGroup = eventLoopGroup;
         this.eventLoop = eventLoopGroup.assignEventLoop();
+        this.mailbox = new Mailbox<>();
+        this.isScheduled = new AtomicBoolean(false);
     }
 
     public void tell(Consumer<STATE> job) {
         assert state != null : ERROR_ACTOR_STATE_NOT_SETUP;
-        eventLoop.schedule(() -> job.accept(state), state::exception);
+        mailbox.offer(job);
+        if (isScheduled.compareAndSet(false, true)) eventLoop.schedule(this);
     }
 
     @CheckReturnValue
@@ -61,19 +68,40 @@ public class Actor<STATE extends Actor.State<STATE>> {
     public <ANSWER> CompletableFuture<ANSWER> ask(Function<STATE, ANSWER> job) {
         assert state != null : ERROR_ACTOR_STATE_NOT_SETUP;
         CompletableFuture<ANSWER> future = new CompletableFuture<>();
-        eventLoop.schedule(
-                () -> future.complete(job.apply(state)),
-                e -> {
-                    state.exception(e);
-                    future.completeExceptionally(e);
-                }
-        );
+        tell(state -> {
+            try {
+                future.complete(job.apply(state));
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+                throw e;
+            }
+        });
         return future;
     }
 
     public EventLoop.Cancellable schedule(long deadlineMs, Consumer<STATE> job) {
         assert state != null : ERROR_ACTOR_STATE_NOT_SETUP;
-        return eventLoop.schedule(deadlineMs, () -> job.accept(state), state::exception);
+        // the timer only delivers the job as a message, as the actor may be running on another event loop by then
+        return eventLoop.schedule(deadlineMs, () -> tell(job), state::exception);
+    }
+
+    /**
+     * Processes a batch of messages on the given event loop, which the actor then belongs to. The actor is scheduled
+     * again if messages remain, so that other actors on the same event loop are not starved.
+     */
+    void run(EventLoop eventLoop) {
+        this.eventLoop = eventLoop;
+        mailbox.drain(this::process, MESSAGE_BATCH_SIZE);
+        isScheduled.set(false);
+        if (!mailbox.isEmpty() && isScheduled.compareAndSet(false, true)) eventLoop.schedule(this);
+    }
+
+    private void process(Consumer<STATE> job) {
+        try {
+            job.accept(state);
+        } catch (Throwable e) {
+            state.exception(e);
+        }
     }
 
     public EventLoopGroup eventLoopGroup() {
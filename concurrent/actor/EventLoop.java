@@ -22,31 +22,51 @@ import org.slf4j.LoggerFactory;
 
 import java.util.PriorityQueue;
 import java.util.Random;
-import java.util.concurrent.LinkedTransferQueue;
+import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TransferQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
+/**
+ * Runs the actors that have messages to process, one batch of messages at a time, along with jobs and timers that
+ * belong to the event loop itself. An actor is in the run queue of at most one event loop at a time, so its messages
+ * are processed sequentially. Event loops that run out of work steal runnable actors from the event loop with the
+ * deepest run queue, and the actors they steal stay with them.
+ */
 public class EventLoop {
     private static final Logger LOG = LoggerFactory.getLogger(EventLoop.class);
     private static final Consumer<Throwable> DEFAULT_ERROR_HANDLER = e -> LOG.error("An unexpected error has occurred.", e);
+    private static final int JOB_BATCH_SIZE = 64;
 
     private enum State {READY, RUNNING, STOPPED}
 
-    private State state;
-    private final TransferQueue<Job> jobs = new LinkedTransferQueue<>();
+    private volatile State state;
+    private volatile boolean isParked;
+    private final EventLoopGroup group;
+    private final Mailbox<Job> jobs = new Mailbox<>();
+    private final ConcurrentLinkedDeque<Actor<?>> actors = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger actorsDepth = new AtomicInteger(0);
     private final ScheduledJobQueue scheduledJobs = new ScheduledJobQueue();
+    private final LongAdder busyNanos = new LongAdder();
+    private final LongAdder steals = new LongAdder();
     private final Supplier<Long> clock;
     private final Random random;
     private final Thread thread;
 
-    public EventLoop(ThreadFactory threadFactory, Supplier<Long> clock, Random random) {
+    EventLoop(EventLoopGroup group, ThreadFactory threadFactory, Supplier<Long> clock, Random random) {
         state = State.READY;
+        isParked = false;
+        this.group = group;
         this.clock = clock;
         this.random = random;
         thread = threadFactory.newThread(this::loop);
+    }
+
+    void start() {
         thread.start();
     }
 
@@ -54,6 +74,7 @@ public class EventLoop {
         assert state != State.STOPPED : "unexpected state: " + state;
 
         jobs.offer(new Job(job, errorHandler));
+        unpark();
     }
 
     public EventLoop.Cancellable schedule(long deadline, Runnable job, Consumer<Throwable> errorHandler) {
@@ -61,6 +82,13 @@ public class EventLoop {
         return new Cancellable(deadline, job, errorHandler);
     }
 
+    void schedule(Actor<?> actor) {
+        actors.offer(actor);
+        // a backlog of runnable actors is worth waking an idle event loop for, so that it may steal from this one
+        if (actorsDepth.incrementAndGet() > 1) group.unparkIdle(this);
+        unpark();
+    }
+
     public synchronized void await() throws InterruptedException {
         thread.join();
     }
@@ -78,30 +106,78 @@ public class EventLoop {
         return random;
     }
 
+    public int queueDepth() {
+        return actorsDepth.get();
+    }
+
+    public long busyMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(busyNanos.sum());
+    }
+
+    public long steals() {
+        return steals.sum();
+    }
+
+    boolean isParked() {
+        return isParked;
+    }
+
+    void unpark() {
+        if (isParked) LockSupport.unpark(thread);
+    }
+
+    Actor<?> steal() {
+        Actor<?> actor = actors.pollLast();
+        if (actor != null) actorsDepth.decrementAndGet();
+        return actor;
+    }
+
     private void loop() {
         LOG.debug("Started");
         state = State.RUNNING;
 
         while (state == State.RUNNING) {
             long currentTimeMs = clock.get();
-            Job scheduledJob = scheduledJobs.poll(currentTimeMs);
-            if (scheduledJob != null) {
-                scheduledJob.run();
-            } else {
-                try {
-                    Job job = jobs.poll(scheduledJobs.timeToNext(currentTimeMs), TimeUnit.MILLISECONDS);
-                    if (job != null) {
-                        job.run();
-                    }
-                } catch (InterruptedException e) {
-                    throw new RuntimeException(e);
-                }
+            Job job = scheduledJobs.poll(currentTimeMs);
+            if (job != null) {
+                run(job);
+                continue;
+            } else if (jobs.drain(this::run, JOB_BATCH_SIZE) > 0) {
+                continue;
             }
+
+            Actor<?> actor = actors.pollFirst();
+            if (actor != null) actorsDepth.decrementAndGet();
+            else if ((actor = group.steal(this)) != null) steals.increment();
+            if (actor != null) run(actor);
+            else park(scheduledJobs.timeToNext(currentTimeMs));
         }
 
         LOG.debug("stopped");
     }
 
+    private void run(Job job) {
+        long start = System.nanoTime();
+        job.run();
+        busyNanos.add(System.nanoTime() - start);
+    }
+
+    private void run(Actor<?> actor) {
+        long start = System.nanoTime();
+        actor.run(this);
+        busyNanos.add(System.nanoTime() - start);
+    }
+
+    private void park(long timeToNextMs) {
+        isParked = true;
+        // work that was offered before this event loop was marked as parked would not have unparked it
+        if (jobs.isEmpty() && actors.isEmpty() && !group.hasStealable(this)) {
+            if (timeToNextMs == Long.MAX_VALUE) LockSupport.park(this);
+            else if (timeToNextMs > 0) LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(timeToNextMs));
+        }
+        isParked = false;
+    }
+
     public class Cancellable {
         private ScheduledJobQueue.Scheduled scheduled;
 
@@ -19,6 +19,8 @@ package grakn.core.concurrent.actor;
 
 import grakn.common.concurrent.NamedThreadFactory;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadLocalRandom;
@@ -39,8 +41,10 @@ public class EventLoopGroup {
     public EventLoopGroup(int threadCount, ThreadFactory threadFactory, Supplier<Long> clock, Random random) {
         eventLoops = new EventLoop[threadCount];
         for (int i = 0; i < threadCount; i++) {
-            eventLoops[i] = new EventLoop(threadFactory, clock, random);
+            eventLoops[i] = new EventLoop(this, threadFactory, clock, random);
         }
+        // event loops steal from each other, so none of them may start before all of them exist
+        for (EventLoop eventLoop : eventLoops) eventLoop.start();
         nextIndex = 0;
     }
 
@@ -50,6 +54,44 @@ public class EventLoopGroup {
         return eventLoop;
     }
 
+    /**
+     * Takes a runnable actor from the event loop with the deepest run queue, other than the thief itself.
+     */
+    Actor<?> steal(EventLoop thief) {
+        EventLoop victim = null;
+        for (EventLoop eventLoop : eventLoops) {
+            if (eventLoop != thief && eventLoop.queueDepth() > 0
+                    && (victim == null || eventLoop.queueDepth() > victim.queueDepth())) {
+                victim = eventLoop;
+            }
+        }
+        return victim == null ? null : victim.steal();
+    }
+
+    boolean hasStealable(EventLoop thief) {
+        for (EventLoop eventLoop : eventLoops) {
+            if (eventLoop != thief && eventLoop.queueDepth() > 0) return true;
+        }
+        return false;
+    }
+
+    void unparkIdle(EventLoop busy) {
+        for (EventLoop eventLoop : eventLoops) {
+            if (eventLoop != busy && eventLoop.isParked()) {
+                eventLoop.unpark();
+                return;
+            }
+        }
+    }
+
+    public List<Metrics> metrics() {
+        List<Metrics> metrics = new ArrayList<>(eventLoops.length);
+        for (EventLoop eventLoop : eventLoops) {
+            metrics.add(new Metrics(eventLoop.queueDepth(), eventLoop.busyMillis(), eventLoop.steals()));
+        }
+        return metrics;
+    }
+
     public synchronized void await() throws InterruptedException {
         for (int i = 0; i < eventLoops.length; i++) {
             eventLoops[i].await();
@@ -61,4 +103,34 @@ public class EventLoopGroup {
             eventLoops[i].stop();
         }
     }
+
+    public static class Metrics {
+
+        private final int queueDepth;
+        private final long busyMillis;
+        private final long steals;
+
+        private Metrics(int queueDepth, long busyMillis, long steals) {
+            this.queueDepth = queueDepth;
+            this.busyMillis = busyMillis;
+            this.steals = steals;
+        }
+
+        public int queueDepth() {
+            return queueDepth;
+        }
+
+        public long busyMillis() {
+            return busyMillis;
+        }
+
+        public long steals() {
+            return steals;
+        }
+
+        @Override
+        public String toString() {
+            return "[queue depth: " + queueDepth + ", busy: " + busyMillis + " (ms), steals: " + steals + "]";
+        }
+    }
 }
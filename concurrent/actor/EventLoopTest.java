@@ -0,0 +1,179 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package grakn.core.concurrent.actor;
+
+import grakn.common.concurrent.NamedThreadFactory;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertFalse;
+import static junit.framework.TestCase.assertNull;
+import static junit.framework.TestCase.assertTrue;
+
+public class EventLoopTest {
+
+    private static class Counter extends Actor.State<Counter> {
+
+        private long count;
+
+        private Counter(Actor<Counter> self) {
+            super(self);
+            this.count = 0;
+        }
+
+        @Override
+        protected void exception(Throwable e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static void awaitParked(EventLoop eventLoop) throws InterruptedException {
+        for (int i = 0; i < 500 && !eventLoop.isParked(); i++) Thread.sleep(1);
+    }
+
+    @Test
+    public void test_jobs_of_many_producers_wake_an_idle_event_loop() throws InterruptedException {
+        EventLoopGroup group = new EventLoopGroup(1, new NamedThreadFactory("test-event-loop"));
+        EventLoop eventLoop = group.assignEventLoop();
+        int producers = 8;
+        try {
+            for (int round = 0; round < 200; round++) {
+                // every round starts against a parked event loop, and races the producers with it parking again
+                awaitParked(eventLoop);
+                CountDownLatch start = new CountDownLatch(1);
+                CountDownLatch done = new CountDownLatch(producers * 10);
+                List<Thread> threads = new ArrayList<>();
+                for (int p = 0; p < producers; p++) {
+                    Thread thread = new Thread(() -> {
+                        try {
+                            start.await();
+                        } catch (InterruptedException e) {
+                            throw new RuntimeException(e);
+                        }
+                        for (int i = 0; i < 10; i++) {
+                            eventLoop.schedule(done::countDown, e -> { });
+                            Thread.yield();
+                        }
+                    });
+                    thread.start();
+                    threads.add(thread);
+                }
+                start.countDown();
+                for (Thread thread : threads) thread.join();
+                assertTrue("lost a job in round " + round, done.await(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            group.stop();
+        }
+    }
+
+    @Test
+    public void test_stop_returns_when_the_event_loop_is_idle() throws InterruptedException {
+        EventLoopGroup group = new EventLoopGroup(4, new NamedThreadFactory("test-event-loop"));
+        Thread stopper = new Thread(() -> {
+            try {
+                group.stop();
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        stopper.start();
+        stopper.join(TimeUnit.SECONDS.toMillis(10));
+        assertFalse(stopper.isAlive());
+    }
+
+    @Test
+    public void test_steal_takes_from_the_deepest_run_queue_of_another_event_loop() throws InterruptedException {
+        // the threads of these event loops never run, so their run queues only change when the test changes them
+        EventLoopGroup group = new EventLoopGroup(3, runnable -> new Thread(() -> { }));
+        EventLoop first = group.assignEventLoop();
+        EventLoop second = group.assignEventLoop();
+        EventLoop third = group.assignEventLoop();
+        assertFalse(group.hasStealable(first));
+        assertNull(group.steal(first));
+
+        Actor<Counter> shallow = Actor.create(group, Counter::new);
+        second.schedule(shallow);
+        List<Actor<Counter>> deep = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Actor<Counter> actor = Actor.create(group, Counter::new);
+            third.schedule(actor);
+            deep.add(actor);
+        }
+
+        assertTrue(group.hasStealable(first));
+        assertEquals(deep.get(2), group.steal(first));
+        assertEquals(1, second.queueDepth());
+        assertEquals(2, third.queueDepth());
+
+        assertTrue(group.hasStealable(third));
+        assertEquals(shallow, group.steal(third));
+        assertEquals(0, second.queueDepth());
+        assertFalse(group.hasStealable(third));
+        assertNull(group.steal(third));
+    }
+
+    @Test
+    public void test_idle_event_loop_steals_actors_queued_behind_a_busy_one() throws InterruptedException {
+        EventLoopGroup group = new EventLoopGroup(2, new NamedThreadFactory("test-event-loop"));
+        EventLoop busy = group.assignEventLoop();
+        EventLoop idle = group.assignEventLoop();
+        try {
+            CountDownLatch release = new CountDownLatch(1);
+            CountDownLatch held = new CountDownLatch(1);
+            busy.schedule(() -> {
+                held.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+            }, e -> { });
+            assertTrue(held.await(10, TimeUnit.SECONDS));
+
+            List<Actor<Counter>> queued = new ArrayList<>();
+            while (queued.size() < 50) {
+                Actor<Counter> actor = Actor.create(group, Counter::new);
+                if (actor.eventLoop() == busy) queued.add(actor);
+            }
+            CountDownLatch processed = new CountDownLatch(queued.size());
+            for (Actor<Counter> actor : queued) {
+                actor.tell(counter -> {
+                    counter.count++;
+                    processed.countDown();
+                });
+            }
+
+            // the busy event loop is still held, so every actor must have been stolen by the idle one
+            assertTrue(processed.await(10, TimeUnit.SECONDS));
+            assertTrue(idle.steals() > 0);
+            for (Actor<Counter> actor : queued) {
+                assertEquals(idle, actor.eventLoop());
+                assertEquals(1, actor.state.count);
+            }
+            release.countDown();
+        } finally {
+            group.stop();
+        }
+    }
+}
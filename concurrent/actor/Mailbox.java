@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package grakn.core.concurrent.actor;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * An unbounded, lock-free queue that any number of threads may offer to, but only one thread at a time may drain.
+ * Messages are stored in linked array chunks, so offering a message allocates nothing but a new chunk once every
+ * {@code CHUNK_SIZE} messages, and a producer never waits on the consumer or on other producers beyond claiming a
+ * slot. A message whose slot has been claimed but not yet written is not visible to the consumer, which is safe
+ * for callers that schedule the consumer only after their offer returns.
+ */
+@ThreadSafe
+class Mailbox<T> {
+
+    private static final int CHUNK_SIZE = 256;
+
+    private final AtomicReference<Chunk<T>> tail;
+    private Chunk<T> head;
+    private int headIndex;
+
+    Mailbox() {
+        Chunk<T> chunk = new Chunk<>();
+        this.tail = new AtomicReference<>(chunk);
+        this.head = chunk;
+        this.headIndex = 0;
+    }
+
+    void offer(T message) {
+        assert message != null;
+        while (true) {
+            Chunk<T> chunk = tail.get();
+            int index = chunk.claimed.getAndIncrement();
+            if (index < CHUNK_SIZE) {
+                // a volatile write, so that it is ordered before the caller checks whether the consumer is parked
+                chunk.slots.set(index, message);
+                return;
+            }
+            Chunk<T> next = chunk.next.get();
+            if (next == null) {
+                Chunk<T> created = new Chunk<>();
+                next = chunk.next.compareAndSet(null, created) ? created : chunk.next.get();
+            }
+            tail.compareAndSet(chunk, next);
+        }
+    }
+
+    /**
+     * Must only be called by the consumer.
+     */
+    T poll() {
+        if (headIndex == CHUNK_SIZE) {
+            Chunk<T> next = head.next.get();
+            if (next == null) return null;
+            head = next;
+            headIndex = 0;
+        }
+        T message = head.slots.get(headIndex);
+        if (message == null) return null;
+        head.slots.lazySet(headIndex, null);
+        headIndex++;
+        return message;
+    }
+
+    /**
+     * Must only be called by the consumer.
+     *
+     * @return the number of messages passed to the consumer, which is at most {@code limit}
+     */
+    int drain(Consumer<T> consumer, int limit) {
+        int drained = 0;
+        T message;
+        while (drained < limit && (message = poll()) != null) {
+            consumer.accept(message);
+            drained++;
+        }
+        return drained;
+    }
+
+    /**
+     * Must only be called by the consumer, or by a thread that has just handed the mailbox over to another consumer,
+     * in which case the answer may already be stale.
+     */
+    boolean isEmpty() {
+        Chunk<T> chunk = head;
+        int index = headIndex;
+        if (index == CHUNK_SIZE) {
+            chunk = chunk.next.get();
+            if (chunk == null) return true;
+            index = 0;
+        }
+        return chunk.slots.get(index) == null;
+    }
+
+    private static class Chunk<T> {
+
+        private final AtomicReferenceArray<T> slots;
+        private final AtomicInteger claimed;
+        private final AtomicReference<Chunk<T>> next;
+
+        private Chunk() {
+            this.slots = new AtomicReferenceArray<>(CHUNK_SIZE);
+            this.claimed = new AtomicInteger(0);
+            this.next = new AtomicReference<>(null);
+        }
+    }
+}
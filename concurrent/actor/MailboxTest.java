@@ -0,0 +1,94 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package grakn.core.concurrent.actor;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertFalse;
+import static junit.framework.TestCase.assertNull;
+import static junit.framework.TestCase.assertTrue;
+
+public class MailboxTest {
+
+    @Test
+    public void test_mailbox_polls_messages_in_order_across_chunks() {
+        Mailbox<Integer> mailbox = new Mailbox<>();
+        assertTrue(mailbox.isEmpty());
+        assertNull(mailbox.poll());
+
+        for (int i = 0; i < 1_000; i++) mailbox.offer(i);
+        assertFalse(mailbox.isEmpty());
+        for (int i = 0; i < 1_000; i++) assertEquals(i, (int) mailbox.poll());
+        assertTrue(mailbox.isEmpty());
+        assertNull(mailbox.poll());
+
+        mailbox.offer(1_000);
+        assertFalse(mailbox.isEmpty());
+        assertEquals(1_000, (int) mailbox.poll());
+    }
+
+    @Test
+    public void test_mailbox_drains_at_most_the_limit() {
+        Mailbox<Integer> mailbox = new Mailbox<>();
+        for (int i = 0; i < 100; i++) mailbox.offer(i);
+        List<Integer> drained = new ArrayList<>();
+        assertEquals(64, mailbox.drain(drained::add, 64));
+        assertEquals(36, mailbox.drain(drained::add, 64));
+        assertEquals(0, mailbox.drain(drained::add, 64));
+        for (int i = 0; i < 100; i++) assertEquals(i, (int) drained.get(i));
+    }
+
+    @Test
+    public void test_mailbox_delivers_every_message_of_concurrent_producers_in_their_order() throws InterruptedException {
+        int producers = 8;
+        int messages = 100_000;
+        Mailbox<long[]> mailbox = new Mailbox<>();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+                for (int i = 0; i < messages; i++) mailbox.offer(new long[]{producer, i});
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        start.countDown();
+        long[] next = new long[producers];
+        long received = 0;
+        while (received < (long) producers * messages) {
+            long[] message = mailbox.poll();
+            if (message == null) continue;
+            assertEquals(next[(int) message[0]]++, message[1]);
+            received++;
+        }
+        for (Thread thread : threads) thread.join();
+        assertTrue(mailbox.isEmpty());
+    }
+}
@@ -26,9 +26,14 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static grakn.core.common.exception.ErrorMessage.Internal.ILLEGAL_OPERATION;
+import static grakn.core.common.exception.ErrorMessage.Internal.UNRECOGNISED_VALUE;
 
 public class Executors {
 
@@ -42,9 +47,11 @@ public class Executors {
     private static final String GRAKN_CORE_EVENTLOOP_POOL_NAME = "grakn-core-eventloop";
     private static final String GRAKN_CORE_SCHEDULED_POOL_NAME = "grakn-core-scheduled";
     private static final int GRAKN_CORE_SCHEDULED_POOL_SIZE = 1;
+    private static final int ELASTIC_POOL_SIZE_FACTOR = 2;
 
     private static Executors singleton = null;
 
+    private final Backend backend;
     private final ExecutorService mainPool;
     private final ExecutorService asyncPool1;
     private final ExecutorService asyncPool2;
@@ -52,11 +59,14 @@ public class Executors {
     private final EventLoopGroup eventLoopPool;
     private final ScheduledThreadPoolExecutor scheduledThreadPool;
 
-    private Executors(int parallelisation) {
-        mainPool = java.util.concurrent.Executors.newFixedThreadPool(parallelisation, new NamedThreadFactory(GRAKN_CORE_MAIN_POOL_NAME));
-        asyncPool1 = java.util.concurrent.Executors.newFixedThreadPool(parallelisation, new NamedThreadFactory(GRAKN_CORE_ASYNC_POOL_1_NAME));
-        asyncPool2 = java.util.concurrent.Executors.newFixedThreadPool(parallelisation, new NamedThreadFactory(GRAKN_CORE_ASYNC_POOL_2_NAME));
-        eventLoopPool = new EventLoopGroup(parallelisation, new NamedThreadFactory(GRAKN_CORE_EVENTLOOP_POOL_NAME));
+    private Executors(int parallelisation, Backend backend) {
+        this.backend = backend;
+        mainPool = pool(parallelisation, GRAKN_CORE_MAIN_POOL_NAME);
+        asyncPool1 = pool(parallelisation, GRAKN_CORE_ASYNC_POOL_1_NAME);
+        asyncPool2 = pool(parallelisation, GRAKN_CORE_ASYNC_POOL_2_NAME);
+        eventLoopPool = new EventLoopGroup(
+                eventLoops(parallelisation), new NamedThreadFactory(GRAKN_CORE_EVENTLOOP_POOL_NAME)
+        );
         networkPool = new NioEventLoopGroup(parallelisation, NamedThreadFactory.create(GRAKN_CORE_NETWORK_POOL_NAME));
         scheduledThreadPool = new ScheduledThreadPoolExecutor(
                 GRAKN_CORE_SCHEDULED_POOL_SIZE, new NamedThreadFactory(GRAKN_CORE_SCHEDULED_POOL_NAME)
@@ -64,10 +74,43 @@ public class Executors {
         scheduledThreadPool.setRemoveOnCancelPolicy(true);
     }
 
+    private ExecutorService pool(int parallelisation, String name) {
+        if (backend == Backend.FIXED) {
+            return java.util.concurrent.Executors.newFixedThreadPool(parallelisation, new NamedThreadFactory(name));
+        } else {
+            return elasticPool(parallelisation, name);
+        }
+    }
+
+    /**
+     * Event loops cannot start spare threads while an actor waits on storage I/O, so the elastic backend runs as
+     * many event loops as its pools may grow to, and idle loops steal the actors queued behind a waiting one.
+     */
+    private int eventLoops(int parallelisation) {
+        return backend == Backend.FIXED ? parallelisation : parallelisation * ELASTIC_POOL_SIZE_FACTOR;
+    }
+
+    /**
+     * Creates a work-stealing pool of {@code parallelisation} workers, which may start as many spare workers again
+     * while its workers wait in {@link #blocking(BlockingFunction, Object)} calls, and no more.
+     */
+    static ForkJoinPool elasticPool(int parallelisation, String name) {
+        AtomicInteger count = new AtomicInteger(0);
+        Semaphore spares = new Semaphore(parallelisation * (ELASTIC_POOL_SIZE_FACTOR - 1));
+        return new ForkJoinPool(parallelisation, pool -> new ElasticWorker(
+                pool, name + "::" + count.incrementAndGet(), spares
+        ), null, true);
+    }
+
     public static synchronized void initialise(int parallelisationFactor) {
+        initialise(parallelisationFactor, Backend.FIXED);
+    }
+
+    public static synchronized void initialise(int parallelisationFactor, Backend backend) {
         if (isInitialised()) throw GraknException.of(ILLEGAL_OPERATION);
         PARALLELISATION_FACTOR = parallelisationFactor;
-        singleton = new Executors(parallelisationFactor);
+        singleton = new Executors(parallelisationFactor, backend);
+        LOG.debug("Initialised {} executors with parallelisation factor {}", backend, parallelisationFactor);
     }
 
     public static boolean isInitialised() {
@@ -103,4 +146,128 @@ public class Executors {
         assert isInitialised();
         return singleton.eventLoopPool;
     }
+
+    /**
+     * Runs a call that may wait on storage I/O. When the call is made by a worker of an elastic pool, and the pool
+     * has not started all of its spare workers yet, the pool may start a spare worker while the call waits, so the
+     * pool keeps its cores busy rather than its threads. Calls made by any other thread are run directly.
+     */
+    public static <A, T, E extends Exception> T blocking(BlockingFunction<A, T, E> function, A argument) throws E {
+        Thread thread = Thread.currentThread();
+        if (!(thread instanceof ElasticWorker)) return function.apply(argument);
+        Semaphore spares = ((ElasticWorker) thread).spares;
+        if (!spares.tryAcquire()) return function.apply(argument);
+        try {
+            Blocker<A, T, E> blocker = new Blocker<>(function, argument);
+            ForkJoinPool.managedBlock(blocker);
+            return blocker.result();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw GraknException.of(e);
+        } finally {
+            spares.release();
+        }
+    }
+
+    /**
+     * Returns true if the current thread is a worker of an elastic pool, whose {@link #blocking(BlockingFunction,
+     * Object)} calls may be compensated for, so that callers only need to tell apart the calls that wait on I/O.
+     */
+    public static boolean isElasticWorker() {
+        return Thread.currentThread() instanceof ElasticWorker;
+    }
+
+    public static <T, E extends Exception> T blocking(BlockingCall<T, E> call) throws E {
+        return Executors.<BlockingCall<T, E>, T, E>blocking(BlockingCall::call, call);
+    }
+
+    /**
+     * The thread pools that execute the main, async and producer work, and the event loops that execute actors. The
+     * fixed backend runs a fixed number of threads per pool, and as many event loops. The elastic backend runs
+     * work-stealing pools, which compensate for workers that are blocked in {@link #blocking(BlockingFunction, Object)}
+     * calls, up to twice as many threads as the fixed backend, and twice as many event loops.
+     */
+    public enum Backend {
+        FIXED("fixed"),
+        ELASTIC("elastic");
+
+        private final String name;
+
+        Backend(String name) {
+            this.name = name;
+        }
+
+        public static Backend of(String name) {
+            for (Backend backend : Backend.values()) {
+                if (backend.name.equalsIgnoreCase(name)) return backend;
+            }
+            throw GraknException.of(UNRECOGNISED_VALUE);
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    @FunctionalInterface
+    public interface BlockingCall<T, E extends Exception> {
+
+        T call() throws E;
+    }
+
+    @FunctionalInterface
+    public interface BlockingFunction<A, T, E extends Exception> {
+
+        T apply(A argument) throws E;
+    }
+
+    private static class ElasticWorker extends ForkJoinWorkerThread {
+
+        private final Semaphore spares;
+
+        private ElasticWorker(ForkJoinPool pool, String name, Semaphore spares) {
+            super(pool);
+            this.spares = spares;
+            setName(name);
+        }
+    }
+
+    private static class Blocker<A, T, E extends Exception> implements ForkJoinPool.ManagedBlocker {
+
+        private final BlockingFunction<A, T, E> function;
+        private final A argument;
+        private T result;
+        private Exception exception;
+        private boolean isDone;
+
+        private Blocker(BlockingFunction<A, T, E> function, A argument) {
+            this.function = function;
+            this.argument = argument;
+            this.isDone = false;
+        }
+
+        @Override
+        public boolean block() {
+            try {
+                result = function.apply(argument);
+            } catch (Exception e) {
+                exception = e;
+            }
+            isDone = true;
+            return true;
+        }
+
+        @Override
+        public boolean isReleasable() {
+            return isDone;
+        }
+
+        @SuppressWarnings("unchecked")
+        private T result() throws E {
+            if (exception == null) return result;
+            else if (exception instanceof RuntimeException) throw (RuntimeException) exception;
+            else throw (E) exception;
+        }
+    }
 }
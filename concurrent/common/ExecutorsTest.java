@@ -0,0 +1,97 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package grakn.core.concurrent.common;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import static grakn.core.concurrent.common.Executors.blocking;
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertFalse;
+import static junit.framework.TestCase.assertTrue;
+
+public class ExecutorsTest {
+
+    private static List<ForkJoinTask<Boolean>> submitBlocked(ForkJoinPool pool, int tasks, CountDownLatch latch) {
+        List<ForkJoinTask<Boolean>> submitted = new ArrayList<>();
+        for (int i = 0; i < tasks; i++) {
+            submitted.add(pool.submit(() -> blocking(l -> {
+                l.await();
+                return true;
+            }, latch)));
+        }
+        return submitted;
+    }
+
+    private static void awaitPoolSize(ForkJoinPool pool, int size) throws InterruptedException {
+        for (int i = 0; i < 500 && pool.getPoolSize() < size; i++) Thread.sleep(10);
+    }
+
+    @Test
+    public void test_elastic_pool_compensates_blocked_workers_up_to_its_maximum_size() throws InterruptedException {
+        ForkJoinPool pool = Executors.elasticPool(2, "test-elastic");
+        try {
+            CountDownLatch latch = new CountDownLatch(1);
+            List<ForkJoinTask<Boolean>> tasks = submitBlocked(pool, 16, latch);
+            awaitPoolSize(pool, 3);
+            assertTrue(pool.getPoolSize() > 2);
+            Thread.sleep(200);
+            assertTrue(pool.getPoolSize() <= 4);
+
+            latch.countDown();
+            for (ForkJoinTask<Boolean> task : tasks) assertTrue(task.join());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void test_blocking_outside_elastic_pools_is_not_compensated() throws InterruptedException {
+        ForkJoinPool pool = new ForkJoinPool(1);
+        try {
+            CountDownLatch latch = new CountDownLatch(1);
+            List<ForkJoinTask<Boolean>> tasks = submitBlocked(pool, 4, latch);
+            Thread.sleep(200);
+            assertEquals(1, pool.getPoolSize());
+
+            latch.countDown();
+            for (ForkJoinTask<Boolean> task : tasks) assertTrue(task.join());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void test_only_elastic_pool_workers_are_elastic_workers() {
+        ForkJoinPool elastic = Executors.elasticPool(1, "test-elastic");
+        ForkJoinPool plain = new ForkJoinPool(1);
+        try {
+            assertTrue(elastic.submit(Executors::isElasticWorker).join());
+            assertFalse(plain.submit(Executors::isElasticWorker).join());
+            assertFalse(Executors.isElasticWorker());
+        } finally {
+            elastic.shutdownNow();
+            plain.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,287 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package grakn.core.concurrent.common;
+
+import grakn.core.common.exception.GraknException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+import static grakn.core.common.exception.ErrorMessage.Server.SERVER_OVERLOADED;
+import static grakn.core.common.exception.ErrorMessage.Server.SESSION_OVERLOADED;
+
+/**
+ * Shares an executor fairly between the databases and sessions that submit work to it, so that one database's heavy
+ * workload cannot starve another's. Work is submitted through a {@link Strand}, which runs its tasks one at a time and
+ * in order. Strands belong to a session, and sessions to a database, and at each level the scheduler picks the one
+ * that has received the least service relative to its weight (stride scheduling). A database or session that has been
+ * idle resumes at the current virtual time, so it cannot accumulate credit while it has nothing to run.
+ *
+ * At most {@code parallelism} tasks run on the executor at once. The rest wait in their strand, and are rejected
+ * with an error when the server, or the session submitting them, already has as many tasks waiting as it may.
+ */
+@ThreadSafe
+public class FairScheduler {
+
+    public static final int DEFAULT_WEIGHT = 1;
+
+    private static final Logger LOG = LoggerFactory.getLogger(FairScheduler.class);
+    private static final long STRIDE = 1L << 20;
+
+    private final ExecutorService executor;
+    private final int parallelism;
+    private final int queueLimit;
+    private final int sessionQueueLimit;
+    private final Map<String, Integer> databaseWeights;
+    private final Map<String, Database> databases;
+    private final PriorityQueue<Database> runnable;
+    private long virtualTime;
+    private int running;
+    private int queued;
+
+    public FairScheduler(ExecutorService executor, int parallelism, int queueLimit, int sessionQueueLimit,
+                         Map<String, Integer> databaseWeights) {
+        assert parallelism > 0 && queueLimit > 0 && sessionQueueLimit > 0;
+        this.executor = executor;
+        this.parallelism = parallelism;
+        this.queueLimit = queueLimit;
+        this.sessionQueueLimit = sessionQueueLimit;
+        this.databaseWeights = new HashMap<>(databaseWeights);
+        this.databases = new HashMap<>();
+        this.runnable = new PriorityQueue<>(Comparator.comparingLong(database -> database.pass));
+        this.virtualTime = 0;
+        this.running = 0;
+        this.queued = 0;
+    }
+
+    /**
+     * Opens a new strand for a session, or rejects it when the server is already overloaded.
+     */
+    public synchronized Strand strand(String database, UUID session, int sessionWeight) {
+        if (queued >= queueLimit) throw GraknException.of(SERVER_OVERLOADED, queued);
+        Database db = databases.computeIfAbsent(database, name -> new Database(
+                name, Math.max(1, databaseWeights.getOrDefault(name, DEFAULT_WEIGHT))
+        ));
+        Session ss = db.sessions.computeIfAbsent(session, id -> new Session(db, id, Math.max(1, sessionWeight)));
+        ss.strands++;
+        return new Strand(ss);
+    }
+
+    public synchronized int running() {
+        return running;
+    }
+
+    public synchronized int queued() {
+        return queued;
+    }
+
+    private void enqueue(Strand strand) {
+        Session session = strand.session;
+        Database database = session.database;
+        boolean sessionWasIdle = session.runnable.isEmpty();
+        session.runnable.add(strand);
+        if (!sessionWasIdle) return;
+        session.pass = Math.max(session.pass, database.virtualTime);
+        boolean databaseWasIdle = database.runnable.isEmpty();
+        database.runnable.add(session);
+        if (!databaseWasIdle) return;
+        database.pass = Math.max(database.pass, virtualTime);
+        runnable.add(database);
+    }
+
+    private void dispatch() {
+        while (running < parallelism && !runnable.isEmpty()) {
+            Database database = runnable.poll();
+            Session session = database.runnable.poll();
+            Strand strand = session.runnable.poll();
+            Runnable task = strand.tasks.poll();
+            assert !strand.isRunning;
+
+            if (task != null) {
+                strand.isRunning = true;
+                queued--;
+                session.queued--;
+                running++;
+                virtualTime = database.pass;
+                database.virtualTime = session.pass;
+                database.pass += STRIDE / database.weight;
+                session.pass += STRIDE / session.weight;
+            } // else, the strand was closed while it waited, and has nothing left to run
+
+            if (!session.runnable.isEmpty()) database.runnable.add(session);
+            if (!database.runnable.isEmpty()) runnable.add(database);
+            if (task != null) execute(strand, task);
+        }
+    }
+
+    private void execute(Strand strand, Runnable task) {
+        try {
+            executor.execute(() -> run(strand, task));
+        } catch (RejectedExecutionException e) {
+            // the executor only rejects tasks once it is shut down, so the task is dropped rather than retried
+            LOG.error(e.getMessage(), e);
+            running--;
+            strand.isRunning = false;
+            if (!strand.tasks.isEmpty()) enqueue(strand);
+        }
+    }
+
+    private void run(Strand strand, Runnable task) {
+        try {
+            task.run();
+        } catch (Throwable e) {
+            LOG.error(e.getMessage(), e);
+        } finally {
+            completed(strand);
+        }
+    }
+
+    private synchronized void completed(Strand strand) {
+        running--;
+        strand.isRunning = false;
+        if (!strand.tasks.isEmpty()) enqueue(strand);
+        dispatch();
+    }
+
+    private void release(Session session) {
+        if (--session.strands > 0) return;
+        Database database = session.database;
+        database.sessions.remove(session.id);
+        if (database.sessions.isEmpty()) databases.remove(database.name);
+    }
+
+    /**
+     * A sequence of tasks that run one at a time, in the order they were submitted, such as the requests of a
+     * transaction.
+     */
+    public class Strand {
+
+        private final Session session;
+        private final Queue<Runnable> tasks;
+        private boolean isRunning;
+        private boolean isLast;
+        private boolean isClosed;
+
+        private Strand(Session session) {
+            this.session = session;
+            this.tasks = new ArrayDeque<>();
+            this.isRunning = false;
+            this.isLast = false;
+            this.isClosed = false;
+        }
+
+        /**
+         * Queues a task to run after the tasks submitted before it, or rejects it when the server, or the session
+         * of this strand, already has as many tasks waiting as it may.
+         */
+        public void execute(Runnable task) {
+            synchronized (FairScheduler.this) {
+                if (isClosed || isLast) return;
+                if (queued >= queueLimit) throw GraknException.of(SERVER_OVERLOADED, queued);
+                if (session.queued >= sessionQueueLimit) {
+                    throw GraknException.of(SESSION_OVERLOADED, session.id, session.queued);
+                }
+                submit(task);
+            }
+        }
+
+        /**
+         * Queues a task to run after the tasks submitted before it, regardless of load, and stops accepting tasks
+         * after it. Used for the task that closes whatever this strand is serving.
+         */
+        public void executeLast(Runnable task) {
+            synchronized (FairScheduler.this) {
+                if (isClosed || isLast) return;
+                isLast = true;
+                submit(task);
+            }
+        }
+
+        private void submit(Runnable task) {
+            tasks.add(task);
+            queued++;
+            session.queued++;
+            if (!isRunning && tasks.size() == 1) enqueue(this);
+            dispatch();
+        }
+
+        /**
+         * Discards the tasks that have not started yet, and releases this strand from its session.
+         */
+        public void close() {
+            synchronized (FairScheduler.this) {
+                if (isClosed) return;
+                isClosed = true;
+                queued -= tasks.size();
+                session.queued -= tasks.size();
+                tasks.clear();
+                release(session);
+            }
+        }
+    }
+
+    private static class Database {
+
+        private final String name;
+        private final int weight;
+        private final Map<UUID, Session> sessions;
+        private final PriorityQueue<Session> runnable;
+        private long pass;
+        private long virtualTime;
+
+        private Database(String name, int weight) {
+            this.name = name;
+            this.weight = weight;
+            this.sessions = new HashMap<>();
+            this.runnable = new PriorityQueue<>(Comparator.comparingLong(session -> session.pass));
+            this.pass = 0;
+            this.virtualTime = 0;
+        }
+    }
+
+    private static class Session {
+
+        private final Database database;
+        private final UUID id;
+        private final int weight;
+        private final Queue<Strand> runnable;
+        private long pass;
+        private int queued;
+        private int strands;
+
+        private Session(Database database, UUID id, int weight) {
+            this.database = database;
+            this.id = id;
+            this.weight = weight;
+            this.runnable = new ArrayDeque<>();
+            this.pass = 0;
+            this.queued = 0;
+            this.strands = 0;
+        }
+    }
+}
@@ -0,0 +1,243 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package grakn.core.concurrent.common;
+
+import grakn.core.common.exception.GraknException;
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static grakn.core.common.exception.ErrorMessage.Server.SERVER_OVERLOADED;
+import static grakn.core.common.exception.ErrorMessage.Server.SESSION_OVERLOADED;
+import static grakn.core.concurrent.common.FairScheduler.DEFAULT_WEIGHT;
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertTrue;
+import static junit.framework.TestCase.fail;
+
+public class FairSchedulerTest {
+
+    /**
+     * Holds the tasks it is given until the test runs them, one at a time.
+     */
+    private static class ManualExecutor extends AbstractExecutorService {
+
+        private final Queue<Runnable> tasks = new ArrayDeque<>();
+        private boolean isShutdown = false;
+
+        @Override
+        public void execute(Runnable task) {
+            if (isShutdown) throw new RejectedExecutionException();
+            tasks.add(task);
+        }
+
+        private boolean runNext() {
+            Runnable task = tasks.poll();
+            if (task == null) return false;
+            task.run();
+            return true;
+        }
+
+        private void runAll() {
+            while (!tasks.isEmpty()) tasks.poll().run();
+        }
+
+        @Override
+        public void shutdown() {
+            isShutdown = true;
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            isShutdown = true;
+            List<Runnable> remaining = new ArrayList<>(tasks);
+            tasks.clear();
+            return remaining;
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return isShutdown;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return isShutdown && tasks.isEmpty();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return isTerminated();
+        }
+    }
+
+    private static FairScheduler scheduler(ManualExecutor executor, Map<String, Integer> databaseWeights) {
+        return new FairScheduler(executor, 1, 1_000, 1_000, databaseWeights);
+    }
+
+    private static void submit(FairScheduler.Strand strand, String name, int tasks, List<String> order) {
+        for (int i = 0; i < tasks; i++) strand.execute(() -> order.add(name));
+    }
+
+    private static void assertFails(Runnable function, String code) {
+        try {
+            function.run();
+            fail();
+        } catch (GraknException e) {
+            assertTrue(e.code().isPresent());
+            assertEquals(code, e.code().get());
+        }
+    }
+
+    @Test
+    public void test_databases_of_equal_weight_take_turns() {
+        ManualExecutor executor = new ManualExecutor();
+        FairScheduler scheduler = scheduler(executor, Collections.emptyMap());
+        List<String> order = new ArrayList<>();
+        submit(scheduler.strand("a", UUID.randomUUID(), DEFAULT_WEIGHT), "a", 10, order);
+        submit(scheduler.strand("b", UUID.randomUUID(), DEFAULT_WEIGHT), "b", 10, order);
+        assertEquals(1, scheduler.running());
+        assertEquals(19, scheduler.queued());
+
+        executor.runAll();
+        assertEquals(20, order.size());
+        for (int i = 0; i < 20; i++) assertEquals(i % 2 == 0 ? "a" : "b", order.get(i));
+        assertEquals(0, scheduler.running());
+        assertEquals(0, scheduler.queued());
+    }
+
+    @Test
+    public void test_databases_are_served_in_proportion_to_their_weights() {
+        ManualExecutor executor = new ManualExecutor();
+        Map<String, Integer> weights = new HashMap<>();
+        weights.put("heavy", 3);
+        FairScheduler scheduler = scheduler(executor, weights);
+        List<String> order = new ArrayList<>();
+        submit(scheduler.strand("heavy", UUID.randomUUID(), DEFAULT_WEIGHT), "heavy", 100, order);
+        submit(scheduler.strand("light", UUID.randomUUID(), DEFAULT_WEIGHT), "light", 100, order);
+
+        for (int i = 0; i < 40; i++) assertTrue(executor.runNext());
+        long heavy = order.stream().filter("heavy"::equals).count();
+        assertTrue("heavy database ran " + heavy + " of 40 tasks", heavy >= 29 && heavy <= 31);
+    }
+
+    @Test
+    public void test_sessions_are_served_in_proportion_to_their_weights() {
+        ManualExecutor executor = new ManualExecutor();
+        FairScheduler scheduler = scheduler(executor, Collections.emptyMap());
+        List<String> order = new ArrayList<>();
+        submit(scheduler.strand("db", UUID.randomUUID(), 2), "heavy", 100, order);
+        submit(scheduler.strand("db", UUID.randomUUID(), 1), "light", 100, order);
+
+        for (int i = 0; i < 30; i++) assertTrue(executor.runNext());
+        long heavy = order.stream().filter("heavy"::equals).count();
+        assertTrue("heavy session ran " + heavy + " of 30 tasks", heavy >= 19 && heavy <= 21);
+    }
+
+    @Test
+    public void test_strand_runs_its_tasks_one_at_a_time_in_order() {
+        ManualExecutor executor = new ManualExecutor();
+        FairScheduler scheduler = new FairScheduler(executor, 4, 1_000, 1_000, Collections.emptyMap());
+        List<Integer> order = new ArrayList<>();
+        FairScheduler.Strand strand = scheduler.strand("db", UUID.randomUUID(), DEFAULT_WEIGHT);
+        for (int i = 0; i < 10; i++) {
+            int task = i;
+            strand.execute(() -> order.add(task));
+        }
+        assertEquals(1, scheduler.running());
+        executor.runAll();
+        for (int i = 0; i < 10; i++) assertEquals(i, (int) order.get(i));
+    }
+
+    @Test
+    public void test_closed_strand_discards_its_queued_tasks() {
+        ManualExecutor executor = new ManualExecutor();
+        FairScheduler scheduler = scheduler(executor, Collections.emptyMap());
+        List<String> order = new ArrayList<>();
+        FairScheduler.Strand closed = scheduler.strand("a", UUID.randomUUID(), DEFAULT_WEIGHT);
+        submit(closed, "closed", 5, order);
+        submit(scheduler.strand("b", UUID.randomUUID(), DEFAULT_WEIGHT), "open", 5, order);
+        assertEquals(9, scheduler.queued());
+
+        closed.close();
+        assertEquals(5, scheduler.queued());
+        submit(closed, "closed", 5, order);
+        assertEquals(5, scheduler.queued());
+
+        executor.runAll();
+        assertEquals(1, order.stream().filter("closed"::equals).count());
+        assertEquals(5, order.stream().filter("open"::equals).count());
+        assertEquals(0, scheduler.running());
+        assertEquals(0, scheduler.queued());
+    }
+
+    @Test
+    public void test_tasks_beyond_the_server_queue_limit_are_rejected() {
+        ManualExecutor executor = new ManualExecutor();
+        FairScheduler scheduler = new FairScheduler(executor, 1, 3, 1_000, Collections.emptyMap());
+        FairScheduler.Strand strand = scheduler.strand("db", UUID.randomUUID(), DEFAULT_WEIGHT);
+        for (int i = 0; i < 4; i++) strand.execute(() -> { });
+        assertEquals(3, scheduler.queued());
+        assertFails(() -> strand.execute(() -> { }), SERVER_OVERLOADED.code());
+        assertFails(() -> scheduler.strand("db", UUID.randomUUID(), DEFAULT_WEIGHT), SERVER_OVERLOADED.code());
+
+        // the task that closes a strand is never rejected
+        List<String> order = new ArrayList<>();
+        strand.executeLast(() -> order.add("last"));
+        executor.runAll();
+        assertEquals(Collections.singletonList("last"), order);
+    }
+
+    @Test
+    public void test_tasks_beyond_the_session_queue_limit_are_rejected() {
+        ManualExecutor executor = new ManualExecutor();
+        FairScheduler scheduler = new FairScheduler(executor, 1, 1_000, 2, Collections.emptyMap());
+        UUID session = UUID.randomUUID();
+        FairScheduler.Strand strand = scheduler.strand("db", session, DEFAULT_WEIGHT);
+        for (int i = 0; i < 3; i++) strand.execute(() -> { });
+        FairScheduler.Strand other = scheduler.strand("db", session, DEFAULT_WEIGHT);
+        assertFails(() -> other.execute(() -> { }), SESSION_OVERLOADED.code());
+
+        // other sessions still have room
+        scheduler.strand("db", UUID.randomUUID(), DEFAULT_WEIGHT).execute(() -> { });
+        assertEquals(3, scheduler.queued());
+        executor.runAll();
+        assertEquals(0, scheduler.queued());
+    }
+
+    @Test
+    public void test_tasks_rejected_by_the_executor_release_their_slots() {
+        ManualExecutor executor = new ManualExecutor();
+        FairScheduler scheduler = new FairScheduler(executor, 2, 1_000, 1_000, Collections.emptyMap());
+        FairScheduler.Strand strand = scheduler.strand("db", UUID.randomUUID(), DEFAULT_WEIGHT);
+        executor.shutdown();
+        strand.execute(() -> { });
+        strand.execute(() -> { });
+        assertEquals(0, scheduler.running());
+        assertEquals(0, scheduler.queued());
+    }
+}
@@ -27,6 +27,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static grakn.core.common.exception.ErrorMessage.Internal.ILLEGAL_STATE;
 import static java.util.concurrent.CompletableFuture.completedFuture;
@@ -38,14 +39,24 @@ public class AsyncProducer<T> implements Producer<T> {
     private final ResourceIterator<ResourceIterator<T>> iterators;
     private final ConcurrentMap<ResourceIterator<T>, CompletableFuture<Void>> runningJobs;
     private final AtomicBoolean isDone;
+    private final AtomicLong reserved;
+    private final AtomicLong delivered;
+    private final long limit;
     private boolean isInitialised;
 
     AsyncProducer(ResourceIterator<ResourceIterator<T>> iterators, int parallelisation) {
-        assert parallelisation > 0;
+        this(iterators, parallelisation, Long.MAX_VALUE);
+    }
+
+    AsyncProducer(ResourceIterator<ResourceIterator<T>> iterators, int parallelisation, long limit) {
+        assert parallelisation > 0 && limit >= 0;
         this.iterators = iterators;
         this.parallelisation = parallelisation;
+        this.limit = limit;
         this.runningJobs = new ConcurrentHashMap<>();
         this.isDone = new AtomicBoolean(false);
+        this.reserved = new AtomicLong(0);
+        this.delivered = new AtomicLong(0);
         this.isInitialised = false;
     }
 
@@ -57,6 +68,10 @@ public class AsyncProducer<T> implements Producer<T> {
     }
 
     private synchronized void initialise(Queue<T> queue) {
+        if (limit == 0) {
+            done(queue);
+            return;
+        }
         for (int i = 0; i < parallelisation && iterators.hasNext(); i++) {
             runningJobs.put(iterators.next(), completedFuture(null));
         }
@@ -104,7 +119,13 @@ public class AsyncProducer<T> implements Producer<T> {
             int unfulfilled = request;
             if (runningJobs.containsKey(iterator)) {
                 for (; unfulfilled > 0 && iterator.hasNext() && !isDone.get(); unfulfilled--) {
+                    // a slot is reserved before the answer is taken, so that concurrent jobs never exceed the limit
+                    if (reserved.incrementAndGet() > limit) return;
                     queue.put(iterator.next());
+                    if (delivered.incrementAndGet() == limit) {
+                        done(queue);
+                        return;
+                    }
                 }
             }
             if (!isDone.get()) transition(queue, iterator, unfulfilled, executor);
@@ -125,9 +146,14 @@ public class AsyncProducer<T> implements Producer<T> {
         }
     }
 
+    /**
+     * Stops producing: jobs that have not started yet do nothing, and running jobs stop before their next answer.
+     * Each iterator is only recycled once the job reading it has stopped, as iterators are not thread-safe.
+     */
     @Override
     public synchronized void recycle() {
+        isDone.set(true);
         iterators.recycle();
-        runningJobs.keySet().forEach(ResourceIterator::recycle);
+        runningJobs.forEach((iterator, job) -> job.whenComplete((result, error) -> iterator.recycle()));
     }
 }
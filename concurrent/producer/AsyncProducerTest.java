@@ -0,0 +1,115 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package grakn.core.concurrent.producer;
+
+import grakn.core.common.iterator.ResourceIterator;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static grakn.core.common.iterator.Iterators.iterate;
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertTrue;
+
+public class AsyncProducerTest {
+
+    private static ExecutorService executor;
+
+    @BeforeClass
+    public static void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private static ResourceIterator<ResourceIterator<Long>> iterators(int count, long size, AtomicLong taken) {
+        List<ResourceIterator<Long>> iterators = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            List<Long> answers = LongStream.range(i * size, (i + 1) * size).boxed().collect(Collectors.toList());
+            iterators.add(iterate(answers).map(answer -> {
+                taken.incrementAndGet();
+                return answer;
+            }));
+        }
+        return iterate(iterators);
+    }
+
+    private static List<Long> drain(Producer<Long> producer) {
+        List<Long> answers = new ArrayList<>();
+        Producers.produce(producer, Producers.DEFAULT_BATCH_SIZE, executor).forEachRemaining(answers::add);
+        return answers;
+    }
+
+    @Test
+    public void test_async_producer_stops_at_limit() {
+        AtomicLong taken = new AtomicLong(0);
+        List<Long> answers = drain(Producers.async(iterators(8, 1_000, taken), 4, 10));
+        assertEquals(10, answers.size());
+        assertEquals(10, answers.stream().distinct().count());
+        assertEquals(10, taken.get());
+    }
+
+    @Test
+    public void test_async_producer_with_zero_limit_takes_no_answer() {
+        AtomicLong taken = new AtomicLong(0);
+        assertTrue(drain(Producers.async(iterators(8, 1_000, taken), 4, 0)).isEmpty());
+        assertEquals(0, taken.get());
+    }
+
+    @Test
+    public void test_async_producer_without_limit_takes_every_answer() {
+        AtomicLong taken = new AtomicLong(0);
+        assertEquals(8_000, drain(Producers.async(iterators(8, 1_000, taken), 4)).size());
+        assertEquals(8_000, taken.get());
+    }
+
+    @Test
+    public void test_limited_producer_stops_after_filtered_answers_reach_limit() {
+        AtomicLong taken = new AtomicLong(0);
+        Producer<Long> producer = Producers.async(iterators(8, 1_000, taken), 4).filter(a -> a % 2 == 0).limit(10);
+        List<Long> answers = drain(producer);
+        assertEquals(10, answers.size());
+        assertTrue(answers.stream().allMatch(a -> a % 2 == 0));
+        assertTrue(taken.get() < 8_000);
+    }
+
+    @Test
+    public void test_finish_handled_producer_runs_once_when_done_or_recycled() {
+        AtomicLong finished = new AtomicLong(0);
+        AtomicLong taken = new AtomicLong(0);
+        Producer<Long> exhausted = Producers.async(iterators(8, 1_000, taken), 4).onFinished(finished::incrementAndGet);
+        assertEquals(8_000, drain(exhausted).size());
+        assertEquals(1, finished.get());
+
+        Producer<Long> producer = Producers.async(iterators(8, 1_000, taken), 4).onFinished(finished::incrementAndGet);
+        producer.recycle();
+        producer.recycle();
+        assertEquals(2, finished.get());
+    }
+}
@@ -67,6 +67,8 @@ public class BaseProducer<T> implements Producer<T> {
 
     @Override
     public synchronized void recycle() {
-        iterator.recycle();
+        isDone.set(true);
+        // the iterator is not thread-safe, so it is only recycled once the job reading it has stopped
+        future.whenComplete((result, error) -> iterator.recycle());
     }
 }
@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.concurrent.producer;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs a function once the producer has finished, either because it is done, failed or was recycled, such as to
+ * release the resources shared by the jobs of an asynchronous producer.
+ */
+@ThreadSafe
+public class FinishHandledProducer<T> implements Producer<T> {
+
+    private final Producer<T> baseProducer;
+    private final Runnable function;
+    private final AtomicBoolean isFinished;
+
+    FinishHandledProducer(Producer<T> baseProducer, Runnable function) {
+        this.baseProducer = baseProducer;
+        this.function = function;
+        this.isFinished = new AtomicBoolean(false);
+    }
+
+    @Override
+    public void produce(Producer.Queue<T> queue, int request, ExecutorService executor) {
+        baseProducer.produce(new Queue(queue), request, executor);
+    }
+
+    @Override
+    public void recycle() {
+        baseProducer.recycle();
+        finish();
+    }
+
+    private void finish() {
+        if (isFinished.compareAndSet(false, true)) function.run();
+    }
+
+    @ThreadSafe
+    private class Queue implements Producer.Queue<T> {
+
+        private final Producer.Queue<T> baseQueue;
+
+        Queue(Producer.Queue<T> baseQueue) {
+            this.baseQueue = baseQueue;
+        }
+
+        @Override
+        public void put(T item) {
+            baseQueue.put(item);
+        }
+
+        @Override
+        public void done() {
+            finish();
+            baseQueue.done();
+        }
+
+        @Override
+        public void done(Throwable e) {
+            finish();
+            baseQueue.done(e);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package grakn.core.concurrent.producer;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Delivers at most {@code limit} answers of a producer, and stops the producer once they are delivered. Used where
+ * the limit cannot be applied by the producer itself, such as after answers are filtered.
+ */
+@ThreadSafe
+public class LimitedProducer<T> implements Producer<T> {
+
+    private final Producer<T> baseProducer;
+    private final long limit;
+    private final AtomicLong reserved;
+    private final AtomicLong delivered;
+    private final AtomicBoolean isDone;
+
+    LimitedProducer(Producer<T> baseProducer, long limit) {
+        assert limit >= 0;
+        this.baseProducer = baseProducer;
+        this.limit = limit;
+        this.reserved = new AtomicLong(0);
+        this.delivered = new AtomicLong(0);
+        this.isDone = new AtomicBoolean(false);
+    }
+
+    @Override
+    public void produce(Producer.Queue<T> queue, int request, ExecutorService executor) {
+        if (limit == 0) stop(queue);
+        if (isDone.get()) return;
+        baseProducer.produce(new Queue(queue), request, executor);
+    }
+
+    @Override
+    public void recycle() {
+        baseProducer.recycle();
+    }
+
+    private void stop(Producer.Queue<T> queue) {
+        if (isDone.compareAndSet(false, true)) {
+            queue.done();
+            baseProducer.recycle();
+        }
+    }
+
+    @ThreadSafe
+    private class Queue implements Producer.Queue<T> {
+
+        private final Producer.Queue<T> baseQueue;
+
+        Queue(Producer.Queue<T> baseQueue) {
+            this.baseQueue = baseQueue;
+        }
+
+        @Override
+        public void put(T item) {
+            // the producer is only stopped once every answer within the limit has been put, not just reserved
+            if (reserved.incrementAndGet() > limit) return;
+            baseQueue.put(item);
+            if (delivered.incrementAndGet() == limit) stop(baseQueue);
+        }
+
+        @Override
+        public void done() {
+            if (isDone.compareAndSet(false, true)) baseQueue.done();
+        }
+
+        @Override
+        public void done(Throwable e) {
+            if (isDone.compareAndSet(false, true)) baseQueue.done(e);
+        }
+    }
+}
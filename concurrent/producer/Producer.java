@@ -42,6 +42,15 @@ public interface Producer<T> {
         return new FilteredProducer<>(this, predicate);
     }
 
+    default Producer<T> limit(long limit) {
+        if (limit == Long.MAX_VALUE) return this;
+        return new LimitedProducer<>(this, limit);
+    }
+
+    default Producer<T> onFinished(Runnable function) {
+        return new FinishHandledProducer<>(this, function);
+    }
+
     @ThreadSafe
     interface Queue<U> {
 
@@ -33,7 +33,15 @@ import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
-
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToLongFunction;
+
+/**
+ * Buffers the answers of producers for a single consumer. Answers are requested in batches whenever the buffer runs
+ * low, and when the iterator is given a memory budget, no more answers are requested while the answers buffered and
+ * requested are estimated to exceed half of the budget. Producers therefore stall while the consumer lags behind,
+ * and resume once it has drained the buffer, no matter how many answers were asked for.
+ */
 public class ProducerIterator<T> extends AbstractResourceIterator<T> {
 
     private static final Logger LOG = LoggerFactory.getLogger(ProducerIterator.class);
@@ -43,27 +51,36 @@ public class ProducerIterator<T> extends AbstractResourceIterator<T> {
     private final ExecutorService executor;
     private final Queue queue;
 
+    private volatile boolean isRecycled;
     private T next;
     private State state;
 
     public ProducerIterator(List<Producer<T>> producers, int batchSize, ExecutorService executor) {
+        this(producers, batchSize, Long.MAX_VALUE, item -> 0L, executor);
+    }
+
+    public ProducerIterator(List<Producer<T>> producers, int batchSize, long memoryBytes, ToLongFunction<T> sizeOf,
+                            ExecutorService executor) {
         this.executor = executor;
         // TODO: Could we optimise IterableProducer by accepting ResourceIterator<Producer<T>> instead?
-        assert !producers.isEmpty() && batchSize < Integer.MAX_VALUE / 2;
+        assert !producers.isEmpty() && batchSize < Integer.MAX_VALUE / 2 && memoryBytes > 0;
         this.producers = new ConcurrentLinkedQueue<>(producers);
-        this.queue = new Queue(batchSize, batchSize * 2);
+        this.queue = new Queue(batchSize, batchSize * 2, memoryBytes, sizeOf);
+        this.isRecycled = false;
         this.state = State.EMPTY;
     }
 
     private void mayProduce() {
         synchronized (queue) {
-            if (producers.isEmpty()) return;
+            if (producers.isEmpty() || isRecycled) return;
             int available = queue.max - queue.size() - queue.pending;
             if (available > queue.max - queue.min) {
-                queue.pending += available;
+                int request = (int) Math.min(available, queue.affordable());
+                if (request <= 0) return;
+                queue.pending += request;
                 assert !producers.isEmpty();
                 Producer<T> producer = producers.peek();
-                executor.submit(() -> producer.produce(queue, available, executor));
+                executor.submit(() -> producer.produce(queue, request, executor));
             }
         }
     }
@@ -100,8 +117,14 @@ public class ProducerIterator<T> extends AbstractResourceIterator<T> {
         return next;
     }
 
+    /**
+     * Stops the producers, whether or not they are done: no more answers are requested, answers that are still
+     * produced are discarded, and each producer releases its resources once its in-flight work has stopped.
+     */
     @Override
     public void recycle() {
+        isRecycled = true;
+        queue.clear();
         // TODO: If this method is wrapped in synchronize(queue), we won't need producers to be ConcurrentLinkedQueue
         //       However, doing so would also cause a deadlock. Let's investigate this soon.
         producers.forEach(Producer::recycle);
@@ -111,14 +134,20 @@ public class ProducerIterator<T> extends AbstractResourceIterator<T> {
 
         @Nullable
         private final T value;
+        private final long size;
 
-        private Result(T value) {
+        private Result(T value, long size) {
             this.value = value;
+            this.size = size;
         }
 
         private T value() {
             return value;
         }
+
+        private long size() {
+            return size;
+        }
     }
 
     private static class Done {
@@ -149,20 +178,48 @@ public class ProducerIterator<T> extends AbstractResourceIterator<T> {
         private final AtomicBoolean isError;
         private final int min;
         private final int max;
+        private final long memoryBytes;
+        private final ToLongFunction<T> sizeOf;
+        private final AtomicLong bufferedBytes;
+        private long producedBytes;
+        private long producedCount;
         private int pending;
 
-        private Queue(int min, int max) {
+        private Queue(int min, int max, long memoryBytes, ToLongFunction<T> sizeOf) {
             this.min = min;
             this.max = max;
+            this.memoryBytes = memoryBytes;
+            this.sizeOf = sizeOf;
             this.blockingQueue = new LinkedBlockingQueue<>();
             this.isError = new AtomicBoolean(false);
+            this.bufferedBytes = new AtomicLong(0);
+            this.producedBytes = 0;
+            this.producedCount = 0;
             this.pending = 0;
         }
 
+        /**
+         * @return the number of answers that may be requested without exceeding the memory budget, estimated from
+         * the average size of the answers produced so far, or a single batch if no answer has been produced yet
+         */
+        private synchronized long affordable() {
+            if (memoryBytes == Long.MAX_VALUE) return Long.MAX_VALUE;
+            else if (producedCount == 0) return pending == 0 ? Math.min(min, Producers.DEFAULT_BATCH_SIZE) : 0;
+            long averageBytes = Math.max(1, producedBytes / producedCount);
+            long committedBytes = bufferedBytes.get() + pending * averageBytes;
+            if (committedBytes > memoryBytes / 2) return 0;
+            else return (memoryBytes - committedBytes) / averageBytes;
+        }
+
         @Override
         public synchronized void put(T item) {
+            if (isRecycled) return;
             try {
-                blockingQueue.put(Either.first(new Result<>(item)));
+                long size = sizeOf.applyAsLong(item);
+                blockingQueue.put(Either.first(new Result<>(item, size)));
+                bufferedBytes.addAndGet(size);
+                producedBytes += size;
+                producedCount++;
                 pending--;
                 assert pending >= 0 || isError.get();
             } catch (InterruptedException e) {
@@ -191,7 +248,9 @@ public class ProducerIterator<T> extends AbstractResourceIterator<T> {
 
         private Either<Result<T>, Done> take() {
             try {
-                return blockingQueue.take();
+                Either<Result<T>, Done> result = blockingQueue.take();
+                if (result.isFirst()) bufferedBytes.addAndGet(-result.first().size());
+                return result;
             } catch (InterruptedException e) {
                 throw GraknException.of(e);
             }
@@ -200,5 +259,10 @@ public class ProducerIterator<T> extends AbstractResourceIterator<T> {
         private int size() {
             return blockingQueue.size();
         }
+
+        private synchronized void clear() {
+            blockingQueue.clear();
+            bufferedBytes.set(0);
+        }
     }
 }
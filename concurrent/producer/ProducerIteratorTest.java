@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package grakn.core.concurrent.producer;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static grakn.common.collection.Collections.list;
+import static grakn.core.common.iterator.Iterators.iterate;
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertTrue;
+
+public class ProducerIteratorTest {
+
+    private static final int ANSWERS = 10_000;
+    private static final int BATCH_SIZE = 1_000;
+    private static final long ANSWER_BYTES = 100;
+    private static final long MEMORY_BYTES = 1_000;
+
+    private static ExecutorService executor;
+
+    @BeforeClass
+    public static void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private static ProducerIterator<Long> iterator(AtomicLong produced, long memoryBytes) {
+        Producer<Long> producer = Producers.async(iterate(
+                LongStream.range(0, ANSWERS).boxed().collect(Collectors.toList())
+        ).map(answer -> {
+            produced.incrementAndGet();
+            return answer;
+        }));
+        return new ProducerIterator<>(list(producer), BATCH_SIZE, memoryBytes, answer -> ANSWER_BYTES, executor);
+    }
+
+    private static long awaitProduced(AtomicLong produced) throws InterruptedException {
+        long last;
+        do {
+            last = produced.get();
+            Thread.sleep(50);
+        } while (produced.get() != last);
+        return last;
+    }
+
+    @Test
+    public void test_producers_stall_at_the_memory_budget_and_resume_once_answers_are_consumed()
+            throws InterruptedException {
+        AtomicLong produced = new AtomicLong(0);
+        ProducerIterator<Long> answers = iterator(produced, MEMORY_BYTES);
+        long bufferable = MEMORY_BYTES / ANSWER_BYTES;
+
+        // a batch of 1000 answers is wanted, but until the size of an answer is known only a default batch is
+        // requested, and after that only the answers that fit in the budget
+        assertTrue(answers.hasNext());
+        assertTrue(awaitProduced(produced) <= Producers.DEFAULT_BATCH_SIZE);
+
+        long consumed = 0;
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < 50; i++) {
+                assertTrue(answers.hasNext());
+                answers.next();
+                consumed++;
+            }
+            long stalled = awaitProduced(produced);
+            assertTrue(stalled >= consumed);
+            assertTrue(stalled - consumed <= 2 * bufferable);
+        }
+
+        while (answers.hasNext()) {
+            answers.next();
+            consumed++;
+        }
+        assertEquals(ANSWERS, consumed);
+        assertEquals(ANSWERS, produced.get());
+    }
+
+    @Test
+    public void test_producers_without_a_memory_budget_fill_the_requested_batches() throws InterruptedException {
+        AtomicLong produced = new AtomicLong(0);
+        ProducerIterator<Long> answers = iterator(produced, Long.MAX_VALUE);
+        assertTrue(answers.hasNext());
+        assertTrue(awaitProduced(produced) >= BATCH_SIZE);
+        answers.recycle();
+    }
+}
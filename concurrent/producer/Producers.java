@@ -24,6 +24,7 @@ import grakn.core.common.parameters.Arguments;
 
 import java.util.List;
 import java.util.concurrent.ExecutorService;
+import java.util.function.ToLongFunction;
 
 import static grakn.common.collection.Collections.list;
 
@@ -38,6 +39,10 @@ public class Producers {
         return new AsyncProducer<>(iterators, parallelisation);
     }
 
+    public static <T> Producer<T> async(ResourceIterator<ResourceIterator<T>> iterators, int parallelisation, long limit) {
+        return new AsyncProducer<>(iterators, parallelisation, limit);
+    }
+
     public static <T> BaseProducer<T> async(ResourceIterator<T> iterator) {
         return new BaseProducer<>(iterator);
     }
@@ -54,6 +59,23 @@ public class Producers {
         return new ProducerIterator<>(producers, mode.isIncremental() ? DEFAULT_BATCH_SIZE : MAX_BATCH_SIZE, executor);
     }
 
+    public static <T> ProducerIterator<T> produce(Producer<T> producer, Arguments.Query.Producer mode, long memoryBytes,
+                                                  ToLongFunction<T> sizeOf, ExecutorService executor) {
+        return produce(list(producer), mode, memoryBytes, sizeOf, executor);
+    }
+
+    /**
+     * @param memoryBytes the estimated size of the answers that may be buffered for the consumer before the
+     *                    producers are stalled, regardless of the mode
+     * @param sizeOf      estimates the size of an answer in bytes
+     */
+    public static <T> ProducerIterator<T> produce(List<Producer<T>> producers, Arguments.Query.Producer mode,
+                                                  long memoryBytes, ToLongFunction<T> sizeOf,
+                                                  ExecutorService executor) {
+        int batchSize = mode.isIncremental() ? DEFAULT_BATCH_SIZE : MAX_BATCH_SIZE;
+        return new ProducerIterator<>(producers, batchSize, memoryBytes, sizeOf, executor);
+    }
+
     public static <T> ProducerIterator<T> produce(List<Producer<T>> producers, int batchSize, ExecutorService executor) {
         return new ProducerIterator<>(producers, batchSize, executor);
     }
@@ -18,30 +18,62 @@
 
 package grakn.core.logic;
 
+import grakn.common.collection.Pair;
 import grakn.core.common.cache.CommonCache;
 import grakn.core.common.parameters.Label;
+import grakn.core.logic.resolvable.Concludable;
+import grakn.core.logic.resolvable.Resolvable;
+import grakn.core.pattern.equivalence.AlphaEquivalence;
 import grakn.core.traversal.Traversal;
 import graql.lang.pattern.variable.Reference;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+/**
+ * Holds what is derived from the schema, and so may be shared by every transaction that reads the same schema: the
+ * rules, the resolved types of patterns, and the topology of the resolvers that reason over the rules, being the
+ * concludables with their applicable rules and unifiers, and the resolvables and plans of the rule conditions.
+ */
 public class LogicCache {
 
     private CommonCache<Traversal, Map<Reference, Set<Label>>> typeResolverCache;
     private CommonCache<String, Rule> ruleCache;
+    private CommonCache<AlphaEquivalence.Key<Concludable>, Concludable> concludableCache;
+    private CommonCache<Rule, Set<Resolvable<?>>> conditionCache;
+    private CommonCache<Pair<Rule, Set<Reference.Name>>, Pair<Long, List<Resolvable<?>>>> planCache;
 
     public LogicCache() {
         this.ruleCache = new CommonCache<>();
         this.typeResolverCache = new CommonCache<>();
+        this.concludableCache = new CommonCache<>();
+        this.conditionCache = new CommonCache<>();
+        this.planCache = new CommonCache<>();
     }
 
     public LogicCache(int size, int timeOutMinutes) {
         this.ruleCache = new CommonCache<>(size, timeOutMinutes);
         this.typeResolverCache = new CommonCache<>(size, timeOutMinutes);
+        this.concludableCache = new CommonCache<>(size, timeOutMinutes);
+        this.conditionCache = new CommonCache<>(size, timeOutMinutes);
+        this.planCache = new CommonCache<>(size, timeOutMinutes);
     }
 
     public CommonCache<Traversal, Map<Reference, Set<Label>>> resolver() { return typeResolverCache; }
 
     CommonCache<String, Rule> rule() { return ruleCache; }
+
+    CommonCache<AlphaEquivalence.Key<Concludable>, Concludable> concludable() { return concludableCache; }
+
+    CommonCache<Rule, Set<Resolvable<?>>> condition() { return conditionCache; }
+
+    CommonCache<Pair<Rule, Set<Reference.Name>>, Pair<Long, List<Resolvable<?>>>> plan() { return planCache; }
+
+    void clearRules() {
+        ruleCache.clear();
+        concludableCache.clear();
+        conditionCache.clear();
+        planCache.clear();
+    }
 }
@@ -18,18 +18,28 @@
 
 package grakn.core.logic;
 
+import grakn.common.collection.Pair;
 import grakn.core.common.iterator.ResourceIterator;
 import grakn.core.common.parameters.Label;
 import grakn.core.concept.ConceptManager;
 import grakn.core.graph.GraphManager;
 import grakn.core.graph.common.Encoding;
 import grakn.core.graph.structure.RuleStructure;
+import grakn.core.logic.resolvable.Concludable;
+import grakn.core.logic.resolvable.Resolvable;
 import grakn.core.logic.tool.TypeResolver;
+import grakn.core.pattern.equivalence.AlphaEquivalence;
 import grakn.core.traversal.TraversalEngine;
 import graql.lang.pattern.Conjunction;
 import graql.lang.pattern.Pattern;
+import graql.lang.pattern.variable.Reference;
 import graql.lang.pattern.variable.ThingVariable;
 
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
 public class LogicManager {
 
     private final GraphManager graphMgr;
@@ -80,7 +90,7 @@ public class LogicManager {
      * Note: does not need to be synchronized as only called by one schema transaction at a time
      */
     public void revalidateAndReindexRules() {
-        logicCache.rule().clear();
+        logicCache.clearRules();
 
         // validate all rules are valid and satisfiable
         rules().forEachRemaining(Rule::validateSatisfiable);
@@ -95,6 +105,36 @@ public class LogicManager {
                 .forEachRemaining(structure -> getRule(structure.label()).validateCycles());
     }
 
+    /**
+     * @return the concludable that is alpha-equivalent to the given one and shared by every transaction on the same
+     * schema, so that its applicable rules and unifiers are only computed once
+     */
+    public Concludable concludable(Concludable concludable) {
+        return logicCache.concludable().get(AlphaEquivalence.Key.of(concludable), key -> concludable);
+    }
+
+    /**
+     * @return the resolvables of the condition of a rule, computed once for every transaction on the same schema
+     */
+    public Set<Resolvable<?>> condition(Rule rule, Function<Rule, Set<Resolvable<?>>> resolvables) {
+        return logicCache.condition().get(rule, resolvables);
+    }
+
+    /**
+     * @return the plan of the condition of a rule for a set of bound variables, shared by every transaction on the
+     * same schema until the statistics it was estimated from are recounted
+     */
+    public List<Resolvable<?>> plan(Rule rule, Set<Reference.Name> bound, long statisticsSnapshot,
+                                    Function<Set<Reference.Name>, List<Resolvable<?>>> planner) {
+        Pair<Rule, Set<Reference.Name>> key = new Pair<>(rule, new HashSet<>(bound));
+        Pair<Long, List<Resolvable<?>>> plan = logicCache.plan().getIfPresent(key);
+        if (plan == null || plan.first() < statisticsSnapshot) {
+            plan = new Pair<>(statisticsSnapshot, planner.apply(key.second()));
+            logicCache.plan().put(key, plan);
+        }
+        return plan.second();
+    }
+
     public TypeResolver typeResolver() {
         return typeResolver;
     }
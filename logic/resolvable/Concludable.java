@@ -37,6 +37,7 @@ import grakn.core.pattern.constraint.thing.ThingConstraint;
 import grakn.core.pattern.constraint.thing.ValueConstraint;
 import grakn.core.pattern.constraint.type.LabelConstraint;
 import grakn.core.pattern.equivalence.AlphaEquivalence;
+import grakn.core.pattern.equivalence.AlphaEquivalent;
 import grakn.core.pattern.variable.ThingVariable;
 import grakn.core.pattern.variable.TypeVariable;
 import grakn.core.pattern.variable.Variable;
@@ -52,6 +53,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Function;
@@ -67,7 +69,7 @@ import static grakn.core.common.iterator.Iterators.iterate;
 import static grakn.core.common.iterator.Iterators.single;
 import static graql.lang.common.GraqlToken.Predicate.Equality.EQ;
 
-public abstract class Concludable extends Resolvable<Conjunction> {
+public abstract class Concludable extends Resolvable<Conjunction> implements AlphaEquivalent<Concludable> {
 
     private Map<Rule, Set<Unifier>> applicableRules;
     private Set<Reference.Name> variableNames;
@@ -114,6 +116,7 @@ public abstract class Concludable extends Resolvable<Conjunction> {
 
     abstract ResourceIterator<Unifier> unify(Rule.Conclusion conclusion, ConceptManager conceptMgr);
 
+    @Override
     public abstract AlphaEquivalence alphaEquals(Concludable that);
 
     public boolean isRelation() { return false; }
@@ -440,6 +443,11 @@ public abstract class Concludable extends Resolvable<Conjunction> {
             if (!that.isRelation()) return AlphaEquivalence.invalid();
             return relation().owner().alphaEquals(that.asRelation().relation().owner());
         }
+
+        @Override
+        public int alphaHash() {
+            return Objects.hash(Relation.class, relation().owner().alphaHash());
+        }
     }
 
     /**
@@ -568,6 +576,11 @@ public abstract class Concludable extends Resolvable<Conjunction> {
             return has().owner().alphaEquals(that.asHas().has().owner());
         }
 
+        @Override
+        public int alphaHash() {
+            return Objects.hash(Has.class, has().owner().alphaHash());
+        }
+
     }
 
     /**
@@ -681,6 +694,11 @@ public abstract class Concludable extends Resolvable<Conjunction> {
             if (!that.isIsa()) return AlphaEquivalence.invalid();
             return isa().owner().alphaEquals(that.asIsa().isa().owner());
         }
+
+        @Override
+        public int alphaHash() {
+            return Objects.hash(Isa.class, isa().owner().alphaHash());
+        }
     }
 
     /**
@@ -781,6 +799,11 @@ public abstract class Concludable extends Resolvable<Conjunction> {
             if (!that.isAttribute()) return AlphaEquivalence.invalid();
             return attribute.alphaEquals(that.asAttribute().attribute);
         }
+
+        @Override
+        public int alphaHash() {
+            return Objects.hash(Attribute.class, attribute.alphaHash());
+        }
     }
 
     private static class Extractor {
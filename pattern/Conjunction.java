@@ -189,8 +189,11 @@ public class Conjunction implements Pattern, Cloneable {
 
     @Override
     public Conjunction clone() {
-        return new Conjunction(VariableCloner.cloneFromConjunction(this).variables(),
-                               iterate(this.negations).map(Negation::clone).toSet());
+        Conjunction clone = new Conjunction(VariableCloner.cloneFromConjunction(this).variables(),
+                                            iterate(this.negations).map(Negation::clone).toSet());
+        clone.isSatisfiable = isSatisfiable;
+        clone.isBounded = isBounded;
+        return clone;
     }
 
     @Override
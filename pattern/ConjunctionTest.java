@@ -29,6 +29,7 @@ import java.util.stream.Stream;
 
 import static grakn.common.collection.Collections.set;
 import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertFalse;
 import static junit.framework.TestCase.assertTrue;
 
 public class ConjunctionTest {
@@ -118,4 +119,16 @@ public class ConjunctionTest {
         assertEquals(expectedNewlines(expectedConstraintStrings), newlinesIn(conjunctionString));
         assertEquals(expectedConstraintStrings, conjunctionStringToStatementStrings(conjunctionString));
     }
+
+    @Test
+    public void test_cloned_conjunction_keeps_satisfiability() {
+        Conjunction conjunction = parse("{ $p isa person, has name $n; }");
+        conjunction.variables().forEach(var -> var.setSatisfiable(false));
+        conjunction.setSatisfiable(false);
+
+        Conjunction clone = conjunction.clone();
+        assertFalse(clone.isSatisfiable());
+        assertTrue(clone.variables().stream().noneMatch(Variable::isSatisfiable));
+        assertTrue(parse("{ $p isa person, has name $n; }").clone().isSatisfiable());
+    }
 }
@@ -19,12 +19,22 @@
 package grakn.core.pattern;
 
 import grabl.tracing.client.GrablTracingThreadStatic.ThreadTrace;
+import grakn.common.collection.Either;
+import grakn.core.common.parameters.Label;
+import grakn.core.pattern.variable.Variable;
 import grakn.core.pattern.variable.VariableRegistry;
 import graql.lang.pattern.Conjunctable;
+import graql.lang.pattern.variable.BoundVariable;
+import graql.lang.pattern.variable.Reference;
 
 import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 
 import static grabl.tracing.client.GrablTracingThreadStatic.traceOnThread;
 import static grakn.core.common.iterator.Iterators.iterate;
@@ -39,10 +49,20 @@ public class Disjunction implements Pattern, Cloneable {
 
     private static final String TRACE_PREFIX = "disjunction.";
     private final List<Conjunction> conjunctions;
+    private final Conjunction common;
+    private final List<Conjunction> remainders;
     private final int hash;
 
     public Disjunction(List<Conjunction> conjunctions) {
+        this(conjunctions, null, null);
+    }
+
+    private Disjunction(List<Conjunction> conjunctions, @Nullable Conjunction common,
+                        @Nullable List<Conjunction> remainders) {
+        assert (common == null) == (remainders == null);
         this.conjunctions = conjunctions;
+        this.common = common;
+        this.remainders = remainders;
         this.hash = Objects.hash(conjunctions);
     }
 
@@ -55,19 +75,104 @@ public class Disjunction implements Pattern, Cloneable {
             graql.lang.pattern.Disjunction<graql.lang.pattern.Conjunction<Conjunctable>> graql,
             @Nullable VariableRegistry bounds) {
         try (ThreadTrace ignored = traceOnThread(TRACE_PREFIX + "create")) {
-            return new Disjunction(graql.patterns().stream().map(
+            List<Conjunction> conjunctions = graql.patterns().stream().map(
                     conjunction -> Conjunction.create(conjunction, bounds)
-            ).collect(toList()));
+            ).collect(toList());
+            List<Conjunctable> common = common(graql);
+            if (common.isEmpty()) return new Disjunction(conjunctions, null, null);
+            List<graql.lang.pattern.Conjunction<Conjunctable>> remainders = new ArrayList<>();
+            for (int i = 0; i < conjunctions.size(); i++) {
+                List<Conjunctable> remainder = iterate(graql.patterns().get(i).patterns())
+                        .filter(pattern -> !common.contains(pattern)).toList();
+                // a remainder is evaluated on its own, so its negations must be bounded by its own variables
+                if (!boundsNegations(remainder, conjunctions.get(i), bounds)) {
+                    return new Disjunction(conjunctions, null, null);
+                }
+                remainders.add(new graql.lang.pattern.Conjunction<>(remainder));
+            }
+            Conjunction shared = Conjunction.create(new graql.lang.pattern.Conjunction<>(common), bounds);
+            return new Disjunction(conjunctions, shared,
+                                   iterate(remainders).map(r -> Conjunction.create(r, bounds)).toList());
         }
     }
 
+    /**
+     * @return true if every variable that a negation of the conjunction shares with the rest of the conjunction is
+     * also a variable of the remainder, so that evaluating the remainder without the common patterns binds the same
+     * variables of its negations
+     */
+    private static boolean boundsNegations(List<Conjunctable> remainder, Conjunction conjunction,
+                                           @Nullable VariableRegistry bounds) {
+        List<BoundVariable> variables = iterate(remainder).filter(Conjunctable::isVariable)
+                .map(Conjunctable::asVariable).toList();
+        if (variables.isEmpty()) return false;
+        if (conjunction.negations().isEmpty()) return true;
+        Set<Reference> own = namedReferences(VariableRegistry.createFromVariables(variables, bounds).variables());
+        Set<Reference> commonOnly = namedReferences(conjunction.variables());
+        commonOnly.removeAll(own);
+        return iterate(conjunction.negations()).noneMatch(
+                negation -> iterate(namedReferences(negation)).anyMatch(commonOnly::contains)
+        );
+    }
+
+    private static Set<Reference> namedReferences(Set<Variable> variables) {
+        return iterate(variables).map(Variable::reference).filter(Reference::isName).toSet();
+    }
+
+    private static Set<Reference> namedReferences(Negation negation) {
+        Set<Reference> references = new HashSet<>();
+        negation.disjunction().conjunctions().forEach(conjunction -> {
+            references.addAll(namedReferences(conjunction.variables()));
+            conjunction.negations().forEach(nested -> references.addAll(namedReferences(nested)));
+        });
+        return references;
+    }
+
+    private static List<Conjunctable> common(
+            graql.lang.pattern.Disjunction<graql.lang.pattern.Conjunction<Conjunctable>> graql) {
+        List<Conjunctable> common = new ArrayList<>();
+        if (graql.patterns().size() < 2) return common;
+        for (Conjunctable pattern : graql.patterns().get(0).patterns()) {
+            if (pattern.isVariable() && iterate(graql.patterns()).allMatch(conj -> conj.patterns().contains(pattern))) {
+                common.add(pattern);
+            }
+        }
+        return common;
+    }
+
     public List<Conjunction> conjunctions() {
         return conjunctions;
     }
 
+    /**
+     * @return the variable patterns that every conjunction of this disjunction shares, if it has more than one
+     */
+    public Optional<Conjunction> common() {
+        return Optional.ofNullable(common);
+    }
+
+    /**
+     * @return the patterns of each conjunction that are not common to every conjunction, in the order of the
+     * conjunctions, which are present whenever the common patterns are
+     */
+    public List<Conjunction> remainders() {
+        assert remainders != null;
+        return remainders;
+    }
+
+    public void bound(Map<Reference.Name, Either<Label, byte[]>> bounds) {
+        conjunctions.forEach(conjunction -> conjunction.bound(bounds));
+        if (common != null) {
+            common.bound(bounds);
+            remainders.forEach(remainder -> remainder.bound(bounds));
+        }
+    }
+
     @Override
     public Disjunction clone() {
-        return new Disjunction(iterate(conjunctions).map(Conjunction::clone).toList());
+        return new Disjunction(iterate(conjunctions).map(Conjunction::clone).toList(),
+                               common == null ? null : common.clone(),
+                               remainders == null ? null : iterate(remainders).map(Conjunction::clone).toList());
     }
 
     @Override
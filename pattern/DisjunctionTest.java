@@ -0,0 +1,70 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package grakn.core.pattern;
+
+import graql.lang.Graql;
+import org.junit.Test;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertFalse;
+import static junit.framework.TestCase.assertTrue;
+
+public class DisjunctionTest {
+
+    private Disjunction parse(String query) {
+        return Disjunction.create(Graql.parsePattern(query).asConjunction().normalise());
+    }
+
+    @Test
+    public void test_disjunction_shares_the_patterns_common_to_every_branch() {
+        Disjunction disjunction = parse("{ $x isa person, has name $n; { $x has age 1; } or { $x has age 2; }; }");
+        assertTrue(disjunction.common().isPresent());
+        assertEquals(2, disjunction.remainders().size());
+    }
+
+    @Test
+    public void test_disjunction_shares_common_patterns_when_negations_only_use_remainder_variables() {
+        Disjunction disjunction = parse("{ $x isa person, has name $n; " +
+                                                "{ $y isa person, has age 1; not { $y has nickname $z; }; } or " +
+                                                "{ $x has age 2; }; }");
+        assertTrue(disjunction.common().isPresent());
+    }
+
+    @Test
+    public void test_disjunction_does_not_share_the_variables_only_a_negation_of_a_branch_uses() {
+        Disjunction disjunction = parse("{ $x isa person, has name $n; " +
+                                                "{ not { $n \"bob\"; }; $x has age 1; } or { $x has age 2; }; }");
+        assertFalse(disjunction.common().isPresent());
+        assertEquals(2, disjunction.conjunctions().size());
+    }
+
+    @Test
+    public void test_disjunction_does_not_share_variables_a_negation_mixes_with_remainder_variables() {
+        Disjunction disjunction = parse("{ $x isa person, has name $n; " +
+                                                "{ $x has age 1; not { $x has nickname $n; }; } or { $x has age 2; }; }");
+        assertFalse(disjunction.common().isPresent());
+    }
+
+    @Test
+    public void test_disjunction_does_not_share_variables_a_nested_negation_uses() {
+        Disjunction disjunction = parse("{ $x isa person, has name $n; " +
+                                                "{ $x has age 1; not { $x has age $a; not { $x has nickname $n; }; }; } or " +
+                                                "{ $x has age 2; }; }");
+        assertFalse(disjunction.common().isPresent());
+    }
+}
@@ -106,6 +106,11 @@ public class LabelConstraint extends TypeConstraint implements AlphaEquivalent<L
         return AlphaEquivalence.valid().validIf(label().equals(that.label()));
     }
 
+    @Override
+    public int alphaHash() {
+        return label.hashCode();
+    }
+
     @Override
     public LabelConstraint clone(Conjunction.Cloner cloner) {
         return cloner.cloneVariable(owner).label(label);
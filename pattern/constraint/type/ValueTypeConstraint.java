@@ -93,6 +93,11 @@ public class ValueTypeConstraint extends TypeConstraint implements AlphaEquivale
         return AlphaEquivalence.valid().validIf(valueType().equals(that.valueType()));
     }
 
+    @Override
+    public int alphaHash() {
+        return valueType.hashCode();
+    }
+
     @Override
     public ValueTypeConstraint clone(Conjunction.Cloner cloner) {
         return cloner.cloneVariable(owner).valueType(valueType);
@@ -58,6 +58,16 @@ public abstract class AlphaEquivalence {
 
     protected abstract AlphaEquivalence addOrInvalidate(AlphaEquivalence mapping);
 
+    public static int alphaHash(@Nullable AlphaEquivalent<?> member) {
+        return member == null ? 0 : member.alphaHash();
+    }
+
+    public static int alphaHash(Set<? extends AlphaEquivalent<?>> set) {
+        int hash = 0;
+        for (AlphaEquivalent<?> member : set) hash += member.alphaHash();
+        return hash;
+    }
+
     static AlphaEquivalence create(Map<Variable, Variable> map) {
         Map<Variable, Variable> reverseMap = new HashMap<>();
         for (Map.Entry<Variable, Variable> e : map.entrySet()) {
@@ -219,6 +229,44 @@ public abstract class AlphaEquivalence {
         }
     }
 
+    /**
+     * Wraps a member so that it is equal to, and hashes alike with, the members it is alpha-equivalent to, for use
+     * as the key of a hash map. The alpha hash is computed once, when the key is created.
+     */
+    public static class Key<T extends AlphaEquivalent<T>> {
+
+        private final T member;
+        private final int hash;
+
+        private Key(T member) {
+            this.member = member;
+            this.hash = member.alphaHash();
+        }
+
+        public static <S extends AlphaEquivalent<S>> Key<S> of(S member) {
+            return new Key<>(member);
+        }
+
+        public T member() {
+            return member;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key<?> that = (Key<?>) o;
+            if (this.hash != that.hash || this.member.getClass() != that.member.getClass()) return false;
+            @SuppressWarnings("unchecked") T thatMember = (T) that.member;
+            return member.alphaEquals(thatMember).isValid();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
     public static class EquivalenceSet<T extends AlphaEquivalent<T>> implements AlphaEquivalent<EquivalenceSet<T>> {
 
         private final Set<T> set;
@@ -242,6 +290,13 @@ public abstract class AlphaEquivalence {
             }
         }
 
+        @Override
+        public int alphaHash() {
+            int hash = 0;
+            for (T member : set) hash += member.alphaHash();
+            return hash;
+        }
+
         private int size() {
             return set.size();
         }
@@ -39,6 +39,7 @@ import static grakn.common.collection.Collections.list;
 import static grakn.common.collection.Collections.map;
 import static grakn.core.pattern.variable.VariableRegistry.createFromVariables;
 import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertFalse;
 import static junit.framework.TestCase.assertTrue;
 
 public class AlphaEquivalenceTest {
@@ -375,6 +376,67 @@ public class AlphaEquivalenceTest {
         variables.forEach(var -> testAlphaEquivalenceSymmetricReflexive(var.asThing(), variables, new HashSet<>()));
     }
 
+    @Test
+    public void test_alpha_equivalent_variables_hash_equally() {
+        List<Pair<ThingVariable, ThingVariable>> equivalent = list(
+                new Pair<>(parseVariable("x", "$x isa person").asThing(),
+                           parseVariable("y", "$y isa person").asThing()),
+                new Pair<>(parseVariables("x", "$x has name 'a'", "$x isa person").asThing(),
+                           parseVariables("y", "$y isa person", "$y has name 'a'").asThing()),
+                new Pair<>(parseVariables("p", "$p has $a", "$a 30 isa age").asThing(),
+                           parseVariables("q", "$q has $b", "$b 30 isa age").asThing()),
+                new Pair<>(parseVariable("r", "$r(parent: $p, child: $c) isa parentship").asThing(),
+                           parseVariable("s", "$s(child: $t, parent: $u) isa parentship").asThing()),
+                new Pair<>(parseVariables("r", "$r(sibling: $p, sibling: $c) isa siblingship", "$p isa person").asThing(),
+                           parseVariables("q", "$q(sibling: $s, sibling: $t) isa siblingship", "$t isa person").asThing()),
+                new Pair<>(parseVariable("x", "$x isa! person").asThing(),
+                           parseVariable("y", "$y isa! person").asThing())
+        );
+        equivalent.forEach(pair -> {
+            testAlphaEquivalenceSymmetricReflexive(pair.first(), pair.second(), true);
+            assertEquals(pair.first().alphaHash(), pair.second().alphaHash());
+            assertEquals(AlphaEquivalence.Key.of(pair.first()), AlphaEquivalence.Key.of(pair.second()));
+        });
+    }
+
+    @Test
+    public void test_alpha_inequivalent_variables_are_told_apart() {
+        List<ThingVariable> variables = list(
+                parseVariable("x", "$x isa person").asThing(),
+                parseVariable("x", "$x isa! person").asThing(),
+                parseVariable("x", "$x isa company").asThing(),
+                parseVariables("x", "$x has name 'a'", "$x isa person").asThing(),
+                parseVariables("x", "$x has name 'b'", "$x isa person").asThing(),
+                parseVariables("x", "$x has nickname 'a'", "$x isa person").asThing(),
+                parseVariable("r", "$r(parent: $p, child: $c) isa parentship").asThing(),
+                parseVariable("r", "$r(parent: $p, parent: $c) isa parentship").asThing(),
+                parseVariable("r", "$r(parent: $p, child: $p) isa parentship").asThing(),
+                parseVariable("r", "$r(parent: $p, child: $c) isa guardianship").asThing()
+        );
+        for (int i = 0; i < variables.size(); i++) {
+            for (int j = 0; j < variables.size(); j++) {
+                if (i == j) continue;
+                ThingVariable a = variables.get(i), b = variables.get(j);
+                assertFalse(a + " =? " + b, a.alphaEquals(b).isValid());
+                assertFalse(a + " =? " + b, AlphaEquivalence.Key.of(a).equals(AlphaEquivalence.Key.of(b)));
+            }
+        }
+    }
+
+    @Test
+    public void test_alpha_hash_is_independent_of_variable_names() {
+        String[] names = {"a", "b", "x", "rel", "owner"};
+        Set<Integer> hashes = new HashSet<>();
+        for (String name : names) {
+            ThingVariable variable = parseVariables(
+                    name, "$" + name + "(employee: $" + name + "1, employer: $" + name + "2) isa employment",
+                    "$" + name + "1 has name 'a'"
+            ).asThing();
+            hashes.add(variable.alphaHash());
+        }
+        assertEquals(1, hashes.size());
+    }
+
     private void testAlphaEquivalenceSymmetricReflexive(ThingVariable varA, ThingVariable varB, boolean isValid){
         assertTrue(varA.alphaEquals(varA).isValid());
         assertTrue(varB.alphaEquals(varB).isValid());
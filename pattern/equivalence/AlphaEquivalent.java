@@ -20,4 +20,9 @@ package grakn.core.pattern.equivalence;
 public interface AlphaEquivalent<T extends AlphaEquivalent<T>> {
 
     AlphaEquivalence alphaEquals(T that);
+
+    /**
+     * A hash that does not depend on the names of variables, so that alpha-equivalent members hash alike.
+     */
+    int alphaHash();
 }
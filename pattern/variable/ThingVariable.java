@@ -37,6 +37,7 @@ import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 
@@ -250,4 +251,11 @@ public class ThingVariable extends Variable implements AlphaEquivalent<ThingVari
                 .validIfAlphaEqual(this.valueConstraints, that.valueConstraints)
                 .addMapping(this, that);
     }
+
+    @Override
+    public int alphaHash() {
+        return Objects.hash(id().isName(), resolvedTypes(), AlphaEquivalence.alphaHash(isaConstraint),
+                            AlphaEquivalence.alphaHash(relationConstraints), AlphaEquivalence.alphaHash(hasConstraints),
+                            AlphaEquivalence.alphaHash(valueConstraints));
+    }
 }
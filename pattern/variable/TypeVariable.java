@@ -41,6 +41,7 @@ import graql.lang.pattern.constraint.ConceptConstraint;
 import javax.annotation.Nullable;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.regex.Pattern;
@@ -256,4 +257,10 @@ public class TypeVariable extends Variable implements AlphaEquivalent<TypeVariab
                 .validIfAlphaEqual(valueTypeConstraint, that.valueTypeConstraint)
                 .addMapping(this, that);
     }
+
+    @Override
+    public int alphaHash() {
+        return Objects.hash(id().isName(), AlphaEquivalence.alphaHash(labelConstraint),
+                            AlphaEquivalence.alphaHash(valueTypeConstraint));
+    }
 }
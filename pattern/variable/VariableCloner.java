@@ -53,6 +53,7 @@ public class VariableCloner {
         assert variable.id().isVariable();
         ThingVariable newClone = variables.computeIfAbsent(variable.id().asVariable(), ThingVariable::new).asThing();
         newClone.setResolvedTypes(variable.resolvedTypes());
+        newClone.setSatisfiable(variable.isSatisfiable());
         newClone.constrainClone(variable, this);
         return newClone;
     }
@@ -61,6 +62,7 @@ public class VariableCloner {
         assert variable.id().isVariable();
         TypeVariable newClone = variables.computeIfAbsent(variable.id().asVariable(), TypeVariable::new).asType();
         newClone.setResolvedTypes(variable.resolvedTypes());
+        newClone.setSatisfiable(variable.isSatisfiable());
         newClone.constrainClone(variable, this);
         return newClone;
     }
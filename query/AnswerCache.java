@@ -0,0 +1,140 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.query;
+
+import grakn.common.collection.Either;
+import grakn.core.common.cache.CommonCache;
+import grakn.core.common.parameters.Label;
+import grakn.core.common.parameters.Options;
+import graql.lang.pattern.variable.Reference;
+
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches the answers of match queries executed by read transactions, keyed by the normalised pattern and modifiers of
+ * the query, and the version of the data the answers were read from. The version moves only when a transaction
+ * commits data, and not when statistics are written, so every read transaction opened between two data commits
+ * shares the same answers. Answers are kept as the labels of their types and the IIDs of their things, so that they
+ * can be restored into any transaction that reads the same version. Answers with inferred things are never cached,
+ * as those things exist only in the transaction that inferred them.
+ */
+public class AnswerCache {
+
+    private final CommonCache<Key, List<Map<Reference.Name, Either<Label, byte[]>>>> cache;
+    private final int maxAnswers;
+    private final AtomicLong version;
+    private final AtomicInteger committing;
+
+    public AnswerCache(Options.Database options) {
+        this(options.answerCacheSize(), options.answerCacheTimeoutMinutes(), options.answerCacheMaxAnswers());
+    }
+
+    public AnswerCache(int size, int timeoutMinutes, int maxAnswers) {
+        this.cache = new CommonCache<>(size, timeoutMinutes);
+        this.maxAnswers = maxAnswers;
+        this.version = new AtomicLong(0);
+        this.committing = new AtomicInteger(0);
+    }
+
+    /**
+     * Returns the version of the data, which must be read before the storage snapshot of a transaction is opened.
+     */
+    public long version() {
+        return version.get();
+    }
+
+    /**
+     * Returns the answers of the given version, once the storage snapshot of a transaction has been opened, or null
+     * if a data commit started or finished in between, as the snapshot may then hold data of another version.
+     */
+    @Nullable
+    public Snapshot snapshot(long version) {
+        if (committing.get() > 0 || this.version.get() != version) return null;
+        return new Snapshot(version);
+    }
+
+    public void commitStarted() {
+        committing.incrementAndGet();
+    }
+
+    /**
+     * Moves to the next version, and drops every answer, as none of them can be read from snapshots taken after a
+     * data commit. Must be called once for every call to {@link #commitStarted()}, whether the commit succeeded.
+     */
+    public void commitFinished() {
+        version.incrementAndGet();
+        cache.clear();
+        committing.decrementAndGet();
+    }
+
+    public class Snapshot {
+
+        private final long version;
+
+        private Snapshot(long version) {
+            this.version = version;
+        }
+
+        /**
+         * Returns the most answers a query may have for them to be cached.
+         */
+        int maxAnswers() {
+            return maxAnswers;
+        }
+
+        List<Map<Reference.Name, Either<Label, byte[]>>> get(String query) {
+            return cache.getIfPresent(new Key(query, version));
+        }
+
+        void put(String query, List<Map<Reference.Name, Either<Label, byte[]>>> answers) {
+            cache.put(new Key(query, version), answers);
+        }
+    }
+
+    private static class Key {
+
+        private final String query;
+        private final long version;
+        private final int hash;
+
+        private Key(String query, long version) {
+            this.query = query;
+            this.version = version;
+            this.hash = Objects.hash(query, version);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key that = (Key) o;
+            return this.version == that.version && this.query.equals(that.query);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package grakn.core.query;
+
+import grakn.common.collection.Either;
+import grakn.core.common.parameters.Label;
+import grakn.core.common.parameters.Options;
+import graql.lang.Graql;
+import graql.lang.pattern.variable.Reference;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertFalse;
+import static junit.framework.TestCase.assertNotNull;
+import static junit.framework.TestCase.assertNull;
+
+public class AnswerCacheTest {
+
+    private static final String QUERY = "match $x isa person;";
+
+    private static List<Map<Reference.Name, Either<Label, byte[]>>> answers(byte[] iid) {
+        return Collections.singletonList(Collections.singletonMap(Reference.name("x"), Either.<Label, byte[]>second(iid)));
+    }
+
+    @Test
+    public void test_snapshots_of_the_same_version_share_answers() {
+        AnswerCache cache = new AnswerCache(new Options.Database());
+        List<Map<Reference.Name, Either<Label, byte[]>>> answers = answers(new byte[]{1});
+
+        AnswerCache.Snapshot first = cache.snapshot(cache.version());
+        assertNotNull(first);
+        assertNull(first.get(QUERY));
+        first.put(QUERY, answers);
+
+        AnswerCache.Snapshot second = cache.snapshot(cache.version());
+        assertNotNull(second);
+        assertEquals(answers, second.get(QUERY));
+    }
+
+    @Test
+    public void test_commit_moves_to_the_next_version() {
+        AnswerCache cache = new AnswerCache(new Options.Database());
+        long before = cache.version();
+        AnswerCache.Snapshot old = cache.snapshot(before);
+        assertNotNull(old);
+        old.put(QUERY, answers(new byte[]{1}));
+
+        cache.commitStarted();
+        cache.commitFinished();
+
+        AnswerCache.Snapshot current = cache.snapshot(cache.version());
+        assertNotNull(current);
+        assertNull(current.get(QUERY));
+
+        // answers recorded by a transaction that outlived the commit are never read by newer transactions
+        old.put(QUERY, answers(new byte[]{1}));
+        assertNull(current.get(QUERY));
+    }
+
+    @Test
+    public void test_snapshot_opened_during_commit_is_not_cached() {
+        AnswerCache cache = new AnswerCache(new Options.Database());
+        long before = cache.version();
+        cache.commitStarted();
+        assertNull(cache.snapshot(before));
+        assertNull(cache.snapshot(cache.version()));
+        cache.commitFinished();
+        assertNull(cache.snapshot(before));
+        assertNotNull(cache.snapshot(cache.version()));
+    }
+
+    @Test
+    public void test_answer_limit_is_read_from_the_database_options() {
+        AnswerCache cache = new AnswerCache(new Options.Database().answerCacheMaxAnswers(5));
+        AnswerCache.Snapshot snapshot = cache.snapshot(cache.version());
+        assertNotNull(snapshot);
+        assertEquals(5, snapshot.maxAnswers());
+    }
+
+    @Test
+    public void test_queries_with_the_same_normalised_pattern_share_a_key() {
+        String nested = QueryManager.cacheKey(Graql.parseQuery("match $x isa person; { $x has name $n; };").asMatch());
+        String flat = QueryManager.cacheKey(Graql.parseQuery("match $x isa person; $x has name $n;").asMatch());
+        assertEquals(flat, nested);
+
+        String limited = QueryManager.cacheKey(Graql.parseQuery("match $x isa person; $x has name $n; limit 1;").asMatch());
+        String projected = QueryManager.cacheKey(Graql.parseQuery("match $x isa person; $x has name $n; get $x;").asMatch());
+        assertFalse(flat.equals(limited));
+        assertFalse(flat.equals(projected));
+    }
+}
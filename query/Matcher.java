@@ -21,6 +21,7 @@ package grakn.core.query;
 import grakn.core.common.exception.GraknException;
 import grakn.core.common.iterator.ResourceIterator;
 import grakn.core.common.parameters.Context;
+import grakn.core.common.profile.QueryBudget;
 import grakn.core.concept.answer.ConceptMap;
 import grakn.core.concept.answer.ConceptMapGroup;
 import grakn.core.concept.answer.Numeric;
@@ -62,6 +63,7 @@ import static grakn.core.common.iterator.Iterators.iterate;
 import static grakn.core.common.parameters.Arguments.Query.Producer.EXHAUSTIVE;
 import static grakn.core.common.parameters.Arguments.Query.Producer.INCREMENTAL;
 import static grakn.core.query.Matcher.Aggregator.aggregator;
+import static graql.lang.common.GraqlToken.Aggregate.Method.COUNT;
 import static java.lang.Math.sqrt;
 import static java.util.stream.Collectors.groupingBy;
 
@@ -71,16 +73,25 @@ public class Matcher {
     private final GraqlMatch query;
     private final Disjunction disjunction;
     private final Context.Query context;
+    private final PreparedMatch.Compiled prepared;
+    private final ConceptMap parameters;
 
     public Matcher(Reasoner reasoner, GraqlMatch query) {
         this(reasoner, query, null);
     }
 
     public Matcher(Reasoner reasoner, GraqlMatch query, @Nullable Context.Query context) {
+        this(reasoner, query, Disjunction.create(query.conjunction().normalise()), context, null, null);
+    }
+
+    private Matcher(Reasoner reasoner, GraqlMatch query, Disjunction disjunction, @Nullable Context.Query context,
+                    @Nullable PreparedMatch.Compiled prepared, @Nullable ConceptMap parameters) {
         this.reasoner = reasoner;
         this.query = query;
-        this.disjunction = Disjunction.create(query.conjunction().normalise());
+        this.disjunction = disjunction;
         this.context = context;
+        this.prepared = prepared;
+        this.parameters = parameters;
         if (context != null) {
             if (query.modifiers().sort().isPresent()) this.context.producer(EXHAUSTIVE); // TODO: remove this once sort is optimised
             else this.context.producer(INCREMENTAL);
@@ -95,6 +106,12 @@ public class Matcher {
         return new Matcher(reasoner, query, context);
     }
 
+    public static Matcher create(Reasoner reasoner, PreparedMatch query, ConceptMap parameters, Context.Query context) {
+        PreparedMatch.Compiled compiled = query.compile(reasoner);
+        compiled.validate(parameters);
+        return new Matcher(reasoner, query.query(), compiled.disjunction(), context, compiled, parameters);
+    }
+
     public static Matcher.Aggregator create(Reasoner reasoner, GraqlMatch.Aggregate query, Context.Query context) {
         Matcher matcher = new Matcher(reasoner, query.match());
         return new Aggregator(matcher, query, context);
@@ -117,15 +134,51 @@ public class Matcher {
     }
 
     ResourceIterator<ConceptMap> execute(Context.Query context) {
-        ResourceIterator<ConceptMap> answers = reasoner.execute(disjunction, query.modifiers(), context);
+        ResourceIterator<ConceptMap> answers;
+        if (prepared == null) answers = reasoner.execute(disjunction, query.modifiers(), context);
+        else answers = reasoner.execute(
+                disjunction, parameters, prepared.plan(reasoner, parameters), query.modifiers(), prepared.filter(), context
+        );
         // TODO: we should remove these and handle them in the traversal engine or reasoner ONLY. Currently in reasoner already
-        if (query.modifiers().sort().isPresent()) answers = sort(answers, query.modifiers().sort().get());
+        if (query.modifiers().sort().isPresent()) {
+            answers = sort(answers, query.modifiers().sort().get(), sortLimit(query.modifiers()));
+        }
         if (query.modifiers().offset().isPresent()) answers = answers.offset(query.modifiers().offset().get());
         if (query.modifiers().limit().isPresent()) answers = answers.limit(query.modifiers().limit().get());
-        return answers;
+        return returned(answers, context.budget());
+    }
+
+    /**
+     * Counts the answers the match returns against the row limit of the query, rather than the rows its traversals
+     * produce, which include duplicates and rows that negations remove.
+     */
+    private static ResourceIterator<ConceptMap> returned(ResourceIterator<ConceptMap> answers, QueryBudget budget) {
+        if (budget.isUnlimited()) return answers;
+        return answers.map(answer -> {
+            budget.returned();
+            return answer;
+        });
     }
 
-    private ResourceIterator<ConceptMap> sort(ResourceIterator<ConceptMap> answers, Sortable.Sorting sorting) {
+    long count(Context.Query context) {
+        GraqlMatch.Modifiers modifiers = query.modifiers();
+        if (modifiers.offset().isPresent() || modifiers.limit().isPresent()) return execute(context).count();
+        else return reasoner.count(disjunction, modifiers, context);
+    }
+
+    /**
+     * The number of sorted answers needed to satisfy the query's offset and limit, which is all of them if the query
+     * has no limit.
+     */
+    private static long sortLimit(GraqlMatch.Modifiers modifiers) {
+        if (!modifiers.limit().isPresent()) return Long.MAX_VALUE;
+        long offset = modifiers.offset().orElse(0L);
+        long limit = modifiers.limit().get();
+        return Long.MAX_VALUE - offset < limit ? Long.MAX_VALUE : offset + limit;
+    }
+
+    private ResourceIterator<ConceptMap> sort(ResourceIterator<ConceptMap> answers, Sortable.Sorting sorting,
+                                              long limit) {
         // TODO: Replace this temporary implementation of Graql Match Sort query with a native sorting traversal
         Reference.Name var = sorting.var().reference().asName();
         Comparator<ConceptMap> comparator = (answer1, answer2) -> {
@@ -161,7 +214,17 @@ public class Matcher {
             }
         };
         comparator = (sorting.order() == GraqlArg.Order.DESC) ? comparator.reversed() : comparator;
-        return iterate(answers.stream().sorted(comparator).iterator());
+        if (limit >= Integer.MAX_VALUE) return iterate(answers.stream().sorted(comparator).iterator());
+
+        // only the first answers in order are kept, so a limited sort holds no more than the limit in memory
+        PriorityQueue<ConceptMap> kept = new PriorityQueue<>(comparator.reversed());
+        while (answers.hasNext()) {
+            kept.add(answers.next());
+            if (kept.size() > limit) kept.poll();
+        }
+        List<ConceptMap> sorted = new ArrayList<>(kept);
+        sorted.sort(comparator);
+        return iterate(sorted);
     }
 
     public static class Aggregator {
@@ -178,8 +241,9 @@ public class Matcher {
         }
 
         public Numeric execute() {
-            ResourceIterator<ConceptMap> answers = matcher.execute(context);
             GraqlToken.Aggregate.Method method = query.method();
+            if (method == COUNT) return Numeric.ofLong(matcher.count(context));
+            ResourceIterator<ConceptMap> answers = matcher.execute(context);
             UnboundVariable var = query.var();
             return aggregate(answers, method, var);
         }
@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.query;
+
+import grakn.core.common.exception.GraknException;
+import grakn.core.concept.answer.ConceptMap;
+import grakn.core.graph.SchemaGraph;
+import grakn.core.pattern.Disjunction;
+import grakn.core.pattern.variable.Variable;
+import grakn.core.reasoner.Reasoner;
+import grakn.core.traversal.Traversal;
+import grakn.core.traversal.common.Identifier;
+import graql.lang.pattern.variable.Reference;
+import graql.lang.query.GraqlMatch;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static grakn.core.common.exception.ErrorMessage.Pattern.UNRECOGNISED_QUERY_PARAMETER;
+import static grakn.core.common.iterator.Iterators.iterate;
+
+/**
+ * A match query that is normalised and type resolved once, and then executed many times with its named variables
+ * bound to different concepts. A prepared query may be shared by every transaction of a database: it is compiled
+ * again only when it is executed against a schema other than the read-only schema it was last compiled against.
+ * Its traversal is planned once for each set of bound things, which are then bound into the planned traversal.
+ */
+@ThreadSafe
+public class PreparedMatch {
+
+    private final GraqlMatch query;
+    private volatile Compiled compiled;
+
+    PreparedMatch(GraqlMatch query) {
+        this.query = query;
+        this.compiled = null;
+    }
+
+    public GraqlMatch query() {
+        return query;
+    }
+
+    Compiled compile(Reasoner reasoner) {
+        SchemaGraph schema = reasoner.schema();
+        Compiled current = compiled;
+        if (current != null && current.schema == schema) return current;
+        Disjunction disjunction = Disjunction.create(query.conjunction().normalise());
+        current = new Compiled(schema, disjunction, reasoner.prepare(disjunction, query.modifiers()));
+        // schemas that can be written to are never shared between transactions, nor are their compilations
+        if (schema.isReadOnly()) compiled = current;
+        return current;
+    }
+
+    static class Compiled {
+
+        private final SchemaGraph schema;
+        private final Disjunction disjunction;
+        private final Set<Identifier.Variable.Name> filter;
+        private final Set<Reference.Name> parameters;
+        private final ConcurrentHashMap<Set<Reference.Name>, Optional<Traversal>> plans;
+
+        private Compiled(SchemaGraph schema, Disjunction disjunction, Set<Identifier.Variable.Name> filter) {
+            this.schema = schema;
+            this.disjunction = disjunction;
+            this.filter = filter;
+            this.parameters = iterate(disjunction.conjunctions()).flatMap(conj -> iterate(conj.variables()))
+                    .map(Variable::reference).filter(Reference::isName).map(Reference::asName).toSet();
+            this.plans = new ConcurrentHashMap<>();
+        }
+
+        Disjunction disjunction() {
+            return disjunction;
+        }
+
+        Set<Identifier.Variable.Name> filter() {
+            return filter;
+        }
+
+        @Nullable
+        Traversal plan(Reasoner reasoner, ConceptMap parameters) {
+            if (iterate(parameters.concepts().values()).anyMatch(concept -> !concept.isThing())) return null;
+            return plans.computeIfAbsent(
+                    new HashSet<>(parameters.concepts().keySet()), names -> reasoner.plan(disjunction, parameters, filter)
+            ).orElse(null);
+        }
+
+        void validate(ConceptMap parameters) {
+            parameters.concepts().keySet().forEach(name -> {
+                if (!this.parameters.contains(name)) throw GraknException.of(UNRECOGNISED_QUERY_PARAMETER, name);
+            });
+        }
+    }
+}
@@ -19,16 +19,21 @@
 package grakn.core.query;
 
 import grabl.tracing.client.GrablTracingThreadStatic.ThreadTrace;
+import grakn.common.collection.Either;
 import grakn.core.common.iterator.ResourceIterator;
 import grakn.core.common.parameters.Context;
+import grakn.core.common.parameters.Label;
 import grakn.core.common.parameters.Options;
 import grakn.core.concept.ConceptManager;
 import grakn.core.concept.answer.ConceptMap;
 import grakn.core.concept.answer.ConceptMapGroup;
 import grakn.core.concept.answer.Numeric;
 import grakn.core.concept.answer.NumericGroup;
+import grakn.core.concept.thing.Thing;
+import grakn.core.concept.type.Type;
 import grakn.core.logic.LogicManager;
 import grakn.core.reasoner.Reasoner;
+import graql.lang.pattern.variable.Reference;
 import graql.lang.query.GraqlDefine;
 import graql.lang.query.GraqlDelete;
 import graql.lang.query.GraqlInsert;
@@ -38,11 +43,17 @@ import graql.lang.query.GraqlUpdate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
 import static grabl.tracing.client.GrablTracingThreadStatic.traceOnThread;
 import static grakn.core.common.exception.ErrorMessage.Transaction.SESSION_DATA_VIOLATION;
 import static grakn.core.common.exception.ErrorMessage.Transaction.SESSION_SCHEMA_VIOLATION;
 import static grakn.core.common.exception.ErrorMessage.Transaction.TRANSACTION_DATA_READ_VIOLATION;
 import static grakn.core.common.exception.ErrorMessage.Transaction.TRANSACTION_SCHEMA_READ_VIOLATION;
+import static grakn.core.common.iterator.Iterators.iterate;
 
 public class QueryManager {
 
@@ -53,29 +64,119 @@ public class QueryManager {
     private final LogicManager logicMgr;
     private final Reasoner reasoner;
     private final ConceptManager conceptMgr;
-    private final Context.Query defaultContext;
+    private final Context.Transaction transactionContext;
+    private final AnswerCache.Snapshot answerCache;
 
     public QueryManager(ConceptManager conceptMgr, LogicManager logicMgr, Reasoner reasoner, Context.Transaction context) {
+        this(conceptMgr, logicMgr, reasoner, context, null);
+    }
+
+    public QueryManager(ConceptManager conceptMgr, LogicManager logicMgr, Reasoner reasoner, Context.Transaction context,
+                        @Nullable AnswerCache.Snapshot answerCache) {
         this.conceptMgr = conceptMgr;
         this.logicMgr = logicMgr;
         this.reasoner = reasoner;
-        this.defaultContext = new Context.Query(context, new Options.Query());
+        this.transactionContext = context;
+        this.answerCache = answerCache;
+    }
+
+    /**
+     * Every query gets its own context, as the budget and profile of a context belong to a single query.
+     */
+    private Context.Query defaultContext() {
+        return new Context.Query(transactionContext, new Options.Query());
     }
 
     public ResourceIterator<ConceptMap> match(GraqlMatch query) {
-        return match(query, defaultContext);
+        return match(query, defaultContext());
     }
 
     public ResourceIterator<ConceptMap> match(GraqlMatch query, Context.Query context) {
         try (ThreadTrace ignored = traceOnThread(TRACE_PREFIX + "match")) {
-            return Matcher.create(reasoner, query, context).execute().onError(conceptMgr::exception);
+            if (isCached(context)) return matchCached(query, context);
+            ResourceIterator<ConceptMap> answers = Matcher.create(reasoner, query, context).execute()
+                    .onError(conceptMgr::exception);
+            if (context.options().profile()) answers = answers.onConsumed(() -> logProfile(context));
+            return answers;
+        } catch (Exception exception) {
+            throw conceptMgr.exception(exception);
+        }
+    }
+
+    /**
+     * Logs the profile of a query once its answers have been consumed. Callers that pass their own context read the
+     * profile from it instead.
+     */
+    private static void logProfile(Context.Query context) {
+        if (LOG.isDebugEnabled()) LOG.debug(context.profile().toString());
+    }
+
+    private boolean isCached(Context.Query context) {
+        // inferred things exist only in the transaction that inferred them, so their answers can never be restored
+        return answerCache != null && context.options().answerCache() && !context.options().infer() &&
+                !context.options().explain();
+    }
+
+    /**
+     * Answers a match query from the answers cached for the data version of this transaction, or executes it and
+     * caches its answers once they have all been consumed, unless there are too many of them.
+     */
+    private ResourceIterator<ConceptMap> matchCached(GraqlMatch query, Context.Query context) {
+        String key = cacheKey(query);
+        List<Map<Reference.Name, Either<Label, byte[]>>> cached = answerCache.get(key);
+        if (cached != null) return iterate(cached).map(conceptMgr::conceptMap);
+
+        List<Map<Reference.Name, Either<Label, byte[]>>> recorded = new ArrayList<>();
+        int maxAnswers = answerCache.maxAnswers();
+        return Matcher.create(reasoner, query, context).execute().map(answer -> {
+            if (recorded.size() <= maxAnswers) recorded.add(answer.toMap(Type::getLabel, Thing::getIID));
+            return answer;
+        }).onConsumed(() -> {
+            if (recorded.size() <= maxAnswers) answerCache.put(key, recorded);
+        }).onError(conceptMgr::exception);
+    }
+
+    /**
+     * Keys cached answers by the normalised pattern of a query, so that queries that only differ in how their
+     * patterns are nested share their answers, and by the modifiers that shape those answers.
+     */
+    static String cacheKey(GraqlMatch query) {
+        GraqlMatch.Modifiers modifiers = query.modifiers();
+        return query.conjunction().normalise().toString() + modifiers.filter() + modifiers.sort() +
+                modifiers.offset() + modifiers.limit();
+    }
+
+    /**
+     * Compile a match query once, so that it can be executed many times, by any transaction of the database,
+     * with its named variables bound to different concepts.
+     */
+    public PreparedMatch prepare(GraqlMatch query) {
+        try (ThreadTrace ignored = traceOnThread(TRACE_PREFIX + "prepare")) {
+            PreparedMatch prepared = new PreparedMatch(query);
+            prepared.compile(reasoner);
+            return prepared;
+        } catch (Exception exception) {
+            throw conceptMgr.exception(exception);
+        }
+    }
+
+    public ResourceIterator<ConceptMap> match(PreparedMatch query, ConceptMap parameters) {
+        return match(query, parameters, defaultContext());
+    }
+
+    public ResourceIterator<ConceptMap> match(PreparedMatch query, ConceptMap parameters, Context.Query context) {
+        try (ThreadTrace ignored = traceOnThread(TRACE_PREFIX + "match_prepared")) {
+            ResourceIterator<ConceptMap> answers = Matcher.create(reasoner, query, parameters, context).execute()
+                    .onError(conceptMgr::exception);
+            if (context.options().profile()) answers = answers.onConsumed(() -> logProfile(context));
+            return answers;
         } catch (Exception exception) {
             throw conceptMgr.exception(exception);
         }
     }
 
     public Numeric match(GraqlMatch.Aggregate query) {
-        return match(query, defaultContext);
+        return match(query, defaultContext());
     }
 
     public Numeric match(GraqlMatch.Aggregate query, Context.Query queryContext) {
@@ -87,7 +188,7 @@ public class QueryManager {
     }
 
     public ResourceIterator<ConceptMapGroup> match(GraqlMatch.Group query) {
-        return match(query, defaultContext);
+        return match(query, defaultContext());
     }
 
     public ResourceIterator<ConceptMapGroup> match(GraqlMatch.Group query, Context.Query queryContext) {
@@ -99,7 +200,7 @@ public class QueryManager {
     }
 
     public ResourceIterator<NumericGroup> match(GraqlMatch.Group.Aggregate query) {
-        return match(query, defaultContext);
+        return match(query, defaultContext());
     }
 
     public ResourceIterator<NumericGroup> match(GraqlMatch.Group.Aggregate query, Context.Query queryContext) {
@@ -111,7 +212,7 @@ public class QueryManager {
     }
 
     public ResourceIterator<ConceptMap> insert(GraqlInsert query) {
-        return insert(query, defaultContext);
+        return insert(query, defaultContext());
     }
 
     public ResourceIterator<ConceptMap> insert(GraqlInsert query, Context.Query context) {
@@ -125,7 +226,7 @@ public class QueryManager {
     }
 
     public void delete(GraqlDelete query) {
-        delete(query, defaultContext);
+        delete(query, defaultContext());
     }
 
     public void delete(GraqlDelete query, Context.Query context) {
@@ -139,7 +240,7 @@ public class QueryManager {
     }
 
     public void update(GraqlUpdate query) {
-        update(query, defaultContext);
+        update(query, defaultContext());
     }
 
     public ResourceIterator<ConceptMap> update(GraqlUpdate query, Context.Query context) {
@@ -153,7 +254,7 @@ public class QueryManager {
     }
 
     public void define(GraqlDefine query) {
-        define(query, defaultContext);
+        define(query, defaultContext());
     }
 
     public void define(GraqlDefine query, Context.Query context) {
@@ -167,7 +268,7 @@ public class QueryManager {
     }
 
     public void undefine(GraqlUndefine query) {
-        undefine(query, defaultContext);
+        undefine(query, defaultContext());
     }
 
     public void undefine(GraqlUndefine query, Context.Query context) {
@@ -23,28 +23,46 @@ import grakn.core.common.iterator.Iterators;
 import grakn.core.common.iterator.ResourceIterator;
 import grakn.core.common.parameters.Context;
 import grakn.core.common.parameters.Label;
-import grakn.core.common.parameters.Options;
+import grakn.core.common.profile.QueryProfile;
+import grakn.core.concept.Concept;
 import grakn.core.concept.ConceptManager;
 import grakn.core.concept.answer.ConceptMap;
 import grakn.core.concept.thing.Thing;
 import grakn.core.concept.type.Type;
 import grakn.core.concurrent.actor.Actor;
 import grakn.core.concurrent.producer.Producer;
+import grakn.core.concurrent.producer.Producers;
+import grakn.core.graph.DataGraph;
+import grakn.core.graph.SchemaGraph;
+import grakn.core.graph.iid.VertexIID;
+import grakn.core.graph.vertex.TypeVertex;
 import grakn.core.logic.LogicManager;
 import grakn.core.pattern.Conjunction;
 import grakn.core.pattern.Disjunction;
 import grakn.core.pattern.Negation;
+import grakn.core.pattern.constraint.thing.IsaConstraint;
+import grakn.core.pattern.variable.ThingVariable;
 import grakn.core.pattern.variable.Variable;
 import grakn.core.reasoner.resolution.ResolutionRecorder;
 import grakn.core.reasoner.resolution.ResolverRegistry;
+import grakn.core.traversal.Traversal;
 import grakn.core.traversal.TraversalEngine;
 import grakn.core.traversal.common.Identifier;
+import grakn.core.traversal.common.VertexMap;
+import graql.lang.pattern.variable.Reference;
 import graql.lang.query.GraqlMatch;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.Predicate;
 
 import static grakn.common.collection.Collections.list;
 import static grakn.common.collection.Collections.set;
@@ -54,27 +72,28 @@ import static grakn.core.common.parameters.Arguments.Query.Producer.EXHAUSTIVE;
 import static grakn.core.concurrent.common.Executors.PARALLELISATION_FACTOR;
 import static grakn.core.concurrent.common.Executors.asyncPool1;
 import static grakn.core.concurrent.common.Executors.eventLoopGroup;
+import static grakn.core.concurrent.producer.Producers.async;
 import static grakn.core.concurrent.producer.Producers.produce;
 
 public class Reasoner {
     private static final Logger LOG = LoggerFactory.getLogger(Reasoner.class);
+    private static final long ANTI_JOIN_MAX_ANSWERS = 1_000_000;
+    private static final long SHARED_MAX_ANSWERS = 1_000_000;
 
     private final TraversalEngine traversalEng;
     private final ConceptManager conceptMgr;
     private final LogicManager logicMgr;
     private final ResolverRegistry resolverRegistry;
     private final Actor<ResolutionRecorder> resolutionRecorder; // for explanations
-    private final Context.Query defaultContext;
 
     public Reasoner(ConceptManager conceptMgr, LogicManager logicMgr,
                     TraversalEngine traversalEng, Context.Transaction context) {
         this.conceptMgr = conceptMgr;
         this.traversalEng = traversalEng;
         this.logicMgr = logicMgr;
-        this.defaultContext = new Context.Query(context, new Options.Query());
-        this.defaultContext.producer(EXHAUSTIVE);
         this.resolutionRecorder = Actor.create(eventLoopGroup(), ResolutionRecorder::new);
-        this.resolverRegistry = new ResolverRegistry(eventLoopGroup(), resolutionRecorder, traversalEng, conceptMgr, logicMgr);
+        this.resolverRegistry = new ResolverRegistry(eventLoopGroup(), resolutionRecorder, traversalEng, conceptMgr, logicMgr,
+                                                     context.options().ruleFanOut());
     }
 
     ResolverRegistry resolverRegistry() {
@@ -83,24 +102,220 @@ public class Reasoner {
 
     public ResourceIterator<ConceptMap> execute(Disjunction disjunction, GraqlMatch.Modifiers modifiers,
                                                 Context.Query context) {
+        Set<Identifier.Variable.Name> filter = initialise(disjunction, modifiers);
+        return execute(disjunction, modifiers, filter, context);
+    }
+
+    /**
+     * Resolve the types of a disjunction once, so that it can be executed many times with different bounds.
+     *
+     * @return the variables that its answers are filtered to
+     */
+    public Set<Identifier.Variable.Name> prepare(Disjunction disjunction, GraqlMatch.Modifiers modifiers) {
+        return initialise(disjunction, modifiers);
+    }
+
+    /**
+     * Plan the traversal of a prepared disjunction once, for executions that bind the same named things. A plan is
+     * kept only for a single conjunction without negations whose bound variables are things of no given IID, since
+     * binding them to other things changes nothing but the parameters of the traversal.
+     */
+    public Optional<Traversal> plan(Disjunction prepared, ConceptMap bounds, Set<Identifier.Variable.Name> filter) {
+        if (prepared.conjunctions().size() != 1) return Optional.empty();
+        Conjunction conjunction = prepared.conjunctions().get(0);
+        if (!conjunction.isSatisfiable() || !conjunction.negations().isEmpty()) return Optional.empty();
+        for (Map.Entry<Reference.Name, ? extends Concept> bound : bounds.concepts().entrySet()) {
+            Variable var = conjunction.variable(Identifier.Variable.of(bound.getKey()));
+            if (var == null || !var.isThing() || var.asThing().iid().isPresent() || !bound.getValue().isThing()) {
+                return Optional.empty();
+            }
+        }
+        Conjunction planned = bound(conjunction, bounds);
+        if (!planned.isSatisfiable()) return Optional.empty();
+        return Optional.of(traversalEng.plan(planned.traversal(filter)));
+    }
 
+    /**
+     * Execute a prepared disjunction, with its named variables bound to the given concepts. The prepared
+     * disjunction itself is never modified, so it may be executed by many transactions at once. When it is planned
+     * already, the bound things are only bound into the parameters of its planned traversal.
+     */
+    public ResourceIterator<ConceptMap> execute(Disjunction prepared, ConceptMap bounds, @Nullable Traversal planned,
+                                                GraqlMatch.Modifiers modifiers, Set<Identifier.Variable.Name> filter,
+                                                Context.Query context) {
+        if (planned != null && !isInfer(prepared, context)) return execute(planned, bounds, modifiers, context);
+        Disjunction disjunction = prepared.clone();
+        disjunction.bound(bounds.toMap(Type::getLabel, Thing::getIID));
+        if (iterate(disjunction.conjunctions()).noneMatch(Conjunction::isSatisfiable)) return Iterators.empty();
+        return execute(disjunction, modifiers, filter, context);
+    }
+
+    public SchemaGraph schema() {
+        return traversalEng.graph().schema();
+    }
+
+    /**
+     * Count the answers of a match query without converting them into concepts. Patterns that simply count the
+     * instances of types, or the ownerships between types, are answered directly from the data statistics.
+     */
+    public long count(Disjunction disjunction, GraqlMatch.Modifiers modifiers, Context.Query context) {
+        Set<Identifier.Variable.Name> filter = initialise(disjunction, modifiers);
+        if (isInfer(disjunction, context) || iterate(disjunction.conjunctions()).anyMatch(c -> !c.negations().isEmpty())) {
+            return execute(disjunction, modifiers, filter, context).count();
+        }
+
+        List<Conjunction> conjunctions = iterate(disjunction.conjunctions()).filter(Conjunction::isSatisfiable).toList();
+        if (conjunctions.isEmpty()) return 0;
+        else if (conjunctions.size() == 1) {
+            Optional<Long> count = countFromStatistics(conjunctions.get(0), filter, context.options().approximateCount());
+            if (count.isPresent()) return count.get();
+        }
+
+        ResourceIterator<VertexMap> answers;
+        if (!context.options().parallel()) {
+            answers = iterate(conjunctions).flatMap(conj -> traversalEng.iterator(
+                    conj.traversal(filter), context.profile(), context.budget()
+            ));
+        } else {
+            answers = produce(iterate(conjunctions).map(conj -> traversalEng.producer(
+                    conj.traversal(filter), EXHAUSTIVE, PARALLELISATION_FACTOR, Long.MAX_VALUE, context.profile(),
+                    context.budget()
+            )).toList(), EXHAUSTIVE, asyncPool1());
+        }
+        if (conjunctions.size() > 1) answers = answers.distinct();
+        return answers.count();
+    }
+
+    private Set<Identifier.Variable.Name> initialise(Disjunction disjunction, GraqlMatch.Modifiers modifiers) {
         resolveTypes(disjunction, list());
         Set<Identifier.Variable.Name> filter = iterate(modifiers.filter())
                 .map(v -> Identifier.Variable.of(v.reference().asName())).toSet();
         disjunction.conjunctions().forEach(conj -> {
             if (!conj.isSatisfiable() && !isSchemaQuery(conj, filter)) throw GraknException.of(UNSATISFIABLE_CONJUNCTION, conj);
         });
+        disjunction.common().ifPresent(common -> {
+            logicMgr.typeResolver().resolve(common, list());
+            disjunction.remainders().forEach(remainder -> logicMgr.typeResolver().resolve(remainder, list()));
+        });
+        return filter;
+    }
 
+    private ResourceIterator<ConceptMap> execute(Disjunction disjunction, GraqlMatch.Modifiers modifiers,
+                                                 Set<Identifier.Variable.Name> filter, Context.Query context) {
         if (isInfer(disjunction, context)) return resolve(disjunction, modifiers, context);
+        else if (isShared(disjunction)) return executeShared(disjunction, filter, context);
 
         ResourceIterator<ConceptMap> answers;
         ResourceIterator<Conjunction> conjs = iterate(disjunction.conjunctions());
         if (!context.options().parallel()) answers = conjs.flatMap(conj -> iterator(conj, filter, context));
-        else answers = produce(conjs.map(c -> producer(c, filter, context)).toList(), context.producer(), asyncPool1());
+        else {
+            long limit = answerLimit(modifiers);
+            answers = produce(conjs.map(c -> producer(c, filter, context, limit)).toList(), context.producer(),
+                              context.options().answerBufferBytes(), ConceptMap::estimatedBytes, asyncPool1());
+        }
         if (disjunction.conjunctions().size() > 1) answers = answers.distinct();
         return answers;
     }
 
+    private ResourceIterator<ConceptMap> execute(Traversal planned, ConceptMap bounds, GraqlMatch.Modifiers modifiers,
+                                                 Context.Query context) {
+        Map<Identifier.Variable, VertexIID.Thing> iids = new HashMap<>();
+        bounds.concepts().forEach((name, concept) -> iids.put(
+                Identifier.Variable.of(name), VertexIID.Thing.of(concept.asThing().getIID())
+        ));
+        Traversal traversal = planned.bind(iids);
+        QueryProfile profile = context.profile();
+        if (!context.options().parallel()) {
+            return traversalEng.iterator(traversal, profile, context.budget())
+                    .map(vertexMap -> conceptMap(vertexMap, profile));
+        } else {
+            Producer<ConceptMap> producer = traversalEng.producer(
+                    traversal, context.producer(), PARALLELISATION_FACTOR, answerLimit(modifiers), profile,
+                    context.budget()
+            ).map(vertexMap -> conceptMap(vertexMap, profile));
+            return produce(producer, context.producer(), context.options().answerBufferBytes(),
+                           ConceptMap::estimatedBytes, asyncPool1());
+        }
+    }
+
+    /**
+     * The conjunctions of a disjunction share their common patterns when those patterns are satisfiable, bind a
+     * named thing, and have few enough answers to be held in memory, and when no remainder of a conjunction is
+     * estimated to have more answers than the whole conjunction, so that evaluating it on its own loses nothing.
+     */
+    private boolean isShared(Disjunction disjunction) {
+        if (!disjunction.common().isPresent()) return false;
+        Conjunction common = disjunction.common().get();
+        if (!common.isSatisfiable() || iterate(common.variables()).noneMatch(v -> v.isThing() && v.reference().isName())) {
+            return false;
+        }
+        if (estimateAnswers(common) > SHARED_MAX_ANSWERS) return false;
+        List<Conjunction> conjunctions = disjunction.conjunctions();
+        List<Conjunction> remainders = disjunction.remainders();
+        for (int i = 0; i < conjunctions.size(); i++) {
+            if (estimateAnswers(remainders.get(i)) > estimateAnswers(conjunctions.get(i))) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Evaluates the patterns common to every conjunction once, and hash joins their answers with the answers of
+     * the remainder of each conjunction, which is also evaluated once. Answers are projected onto the filter before
+     * they are de-duplicated.
+     */
+    private ResourceIterator<ConceptMap> executeShared(Disjunction disjunction, Set<Identifier.Variable.Name> filter,
+                                                       Context.Query context) {
+        assert disjunction.common().isPresent();
+        Conjunction common = disjunction.common().get();
+        Set<Reference.Name> projection = iterate(filter).map(id -> id.reference().asName()).toSet();
+        List<ConceptMap> shared = iterator(common, set(), context).toList();
+        ResourceIterator<ResourceIterator<ConceptMap>> branches = iterate(disjunction.remainders()).map(
+                remainder -> join(shared, common, remainder, context).map(
+                        answer -> projection.isEmpty() ? answer : answer.filter(projection)
+                )
+        );
+
+        ResourceIterator<ConceptMap> answers;
+        if (!context.options().parallel()) answers = branches.flatMap(branch -> branch);
+        else answers = produce(async(branches, PARALLELISATION_FACTOR), context.producer(),
+                               context.options().answerBufferBytes(), ConceptMap::estimatedBytes, asyncPool1());
+        return answers.distinct();
+    }
+
+    private ResourceIterator<ConceptMap> join(List<ConceptMap> shared, Conjunction common, Conjunction remainder,
+                                              Context.Query context) {
+        Set<Reference.Name> joined = names(remainder);
+        joined.retainAll(names(common));
+        Map<ConceptMap, List<ConceptMap>> index = new HashMap<>();
+        for (ConceptMap answer : shared) {
+            index.computeIfAbsent(answer.filter(joined), key -> new ArrayList<>()).add(answer);
+        }
+        return iterator(remainder, set(), context).flatMap(answer -> iterate(
+                index.getOrDefault(answer.filter(joined), list())
+        ).map(sharedAnswer -> {
+            Map<Reference.Name, Concept> concepts = new HashMap<>(sharedAnswer.concepts());
+            concepts.putAll(answer.concepts());
+            return new ConceptMap(concepts);
+        }));
+    }
+
+    private static Set<Reference.Name> names(Conjunction conjunction) {
+        return iterate(conjunction.variables()).filter(v -> v.reference().isName())
+                .map(v -> v.reference().asName()).toSet();
+    }
+
+    /**
+     * The number of distinct answers each conjunction needs to produce to satisfy the query's offset and limit.
+     * Sorting requires every answer to be produced, so no limit can be pushed down in that case, and the sort keeps
+     * only the answers within the limit instead.
+     */
+    private static long answerLimit(GraqlMatch.Modifiers modifiers) {
+        if (modifiers.sort().isPresent() || !modifiers.limit().isPresent()) return Long.MAX_VALUE;
+        long offset = modifiers.offset().orElse(0L);
+        long limit = modifiers.limit().get();
+        return Long.MAX_VALUE - offset < limit ? Long.MAX_VALUE : offset + limit;
+    }
+
     private boolean isInfer(Disjunction disjunction, Context.Query context) {
         if (!context.options().infer() || context.transactionType().isWrite() || !logicMgr.rules().hasNext()) {
             return false;
@@ -128,9 +343,13 @@ public class Reasoner {
     private ResourceIterator<ConceptMap> resolve(Disjunction disjunction, GraqlMatch.Modifiers modifiers,
                                                  Context.Query context) {
         if (disjunction.conjunctions().size() == 1) {
-            return produce(new ReasonerProducer(disjunction.conjunctions().get(0), resolverRegistry, modifiers), context.producer(), asyncPool1());
+            return produce(new ReasonerProducer(disjunction.conjunctions().get(0), resolverRegistry, modifiers, context.budget()),
+                           context.producer(), context.options().answerBufferBytes(), ConceptMap::estimatedBytes,
+                           asyncPool1());
         } else {
-            return produce(new ReasonerProducer(disjunction, resolverRegistry, modifiers), context.producer(), asyncPool1());
+            return produce(new ReasonerProducer(disjunction, resolverRegistry, modifiers, context.budget()),
+                           context.producer(), context.options().answerBufferBytes(), ConceptMap::estimatedBytes,
+                           asyncPool1());
         }
     }
 
@@ -152,42 +371,175 @@ public class Reasoner {
                 || iterate(conjunction.variables()).noneMatch(Variable::isThing);
     }
 
+    // ---- count paths ----
+
+    /**
+     * Recognises conjunctions of the shape {@code $x isa T;} or {@code $x isa T, has A $a;}, where every type is
+     * given by label and every variable is projected, and counts them from the data statistics. Instance counts of
+     * entity and relation types are exact. Attribute instances and ownerships are counted in the background, so
+     * their counts are only used if the query accepts an approximate count.
+     */
+    private Optional<Long> countFromStatistics(Conjunction conjunction, Set<Identifier.Variable.Name> filter,
+                                               boolean isApproximate) {
+        Set<ThingVariable> things = new HashSet<>();
+        for (Variable var : conjunction.variables()) {
+            if (var.isType()) {
+                if (!var.reference().isLabel() || var.constraints().size() != 1 || !var.asType().label().isPresent()) {
+                    return Optional.empty();
+                }
+            } else {
+                ThingVariable thing = var.asThing();
+                if (!thing.id().isName() || thing.resolvedTypes().isEmpty() || thing.iid().isPresent() ||
+                        !thing.value().isEmpty() || !thing.relation().isEmpty() || !thing.is().isEmpty() ||
+                        thing.isa().map(IsaConstraint::isExplicit).orElse(false)) {
+                    return Optional.empty();
+                }
+                things.add(thing);
+            }
+        }
+        if (!filter.isEmpty() && !filter.equals(iterate(things).map(v -> v.id().asName()).toSet())) {
+            return Optional.empty();
+        }
+
+        DataGraph.Statistics statistics = traversalEng.graph().data().stats();
+        SchemaGraph schema = traversalEng.graph().schema();
+        if (things.size() == 1) {
+            ThingVariable thing = things.iterator().next();
+            if (!thing.has().isEmpty()) return Optional.empty();
+            Set<TypeVertex> types = iterate(thing.resolvedTypes()).map(schema::getType).toSet();
+            if (!isApproximate && iterate(types).anyMatch(TypeVertex::isAttributeType)) return Optional.empty();
+            return Optional.of(statistics.thingVertexSum(types.stream()));
+        } else if (things.size() == 2 && isApproximate) {
+            ThingVariable owner = iterate(things).filter(v -> !v.has().isEmpty()).firstOrNull();
+            if (owner == null || owner.has().size() != 1) return Optional.empty();
+            ThingVariable attribute = owner.has().iterator().next().attribute();
+            if (!attribute.has().isEmpty() || attribute.equals(owner)) return Optional.empty();
+            Set<TypeVertex> ownerTypes = iterate(owner.resolvedTypes()).map(schema::getType).toSet();
+            Set<TypeVertex> attributeTypes = iterate(attribute.resolvedTypes()).map(schema::getType).toSet();
+            if (attributeTypes.contains(schema.rootAttributeType())) return Optional.empty();
+            return Optional.of(iterate(ownerTypes).stream().mapToLong(o -> statistics.hasEdgeSum(o, attributeTypes)).sum());
+        } else {
+            return Optional.empty();
+        }
+    }
+
     // ---- non-reasoning paths ----
 
     private Producer<ConceptMap> producer(Conjunction conjunction, Set<Identifier.Variable.Name> filter,
-                                          Context.Query context) {
+                                          Context.Query context, long limit) {
+        if (!conjunction.isSatisfiable()) return Producers.empty();
+        // negations filter answers after they are traversed, so the limit is applied to the filtered answers instead
+        QueryProfile profile = context.profile();
         Producer<ConceptMap> producer = traversalEng.producer(
-                conjunction.traversal(filter), context.producer(), PARALLELISATION_FACTOR
-        ).map(conceptMgr::conceptMap);
+                conjunction.traversal(filter), context.producer(), PARALLELISATION_FACTOR,
+                conjunction.negations().isEmpty() ? limit : Long.MAX_VALUE, profile, context.budget()
+        ).map(vertexMap -> conceptMap(vertexMap, profile));
 
         if (conjunction.negations().isEmpty()) return producer;
-        else return producer.filter(answer -> !iterate(conjunction.negations())
-                .flatMap(negation -> iterator(negation.disjunction(), answer)).hasNext()
-        );
+        else return producer.filter(negationFilter(conjunction, limit, context)).limit(limit);
     }
 
-    private ResourceIterator<ConceptMap> iterator(Disjunction disjunction, ConceptMap bounds) {
+    private ResourceIterator<ConceptMap> iterator(Disjunction disjunction, ConceptMap bounds, Context.Query context) {
         if (disjunction.conjunctions().isEmpty()) return Iterators.empty();
-        return iterate(disjunction.conjunctions()).flatMap(c -> iterator(c, bounds));
-    }
-
-    private ResourceIterator<ConceptMap> iterator(Conjunction conjunction, ConceptMap bounds) {
-        return iterator(bound(conjunction, bounds));
-    }
-
-    private ResourceIterator<ConceptMap> iterator(Conjunction conjunction) {
-        return iterator(conjunction, set(), defaultContext);
+        return iterate(disjunction.conjunctions()).flatMap(c -> iterator(bound(c, bounds), set(), context));
     }
 
     private ResourceIterator<ConceptMap> iterator(Conjunction conjunction, Set<Identifier.Variable.Name> filter,
                                                   Context.Query context) {
         if (!conjunction.isSatisfiable()) return Iterators.empty();
-        ResourceIterator<ConceptMap> answers = traversalEng.iterator(conjunction.traversal(filter))
-                .map(conceptMgr::conceptMap);
+        QueryProfile profile = context.profile();
+        ResourceIterator<ConceptMap> answers = traversalEng.iterator(
+                conjunction.traversal(filter), profile, context.budget()
+        ).map(vertexMap -> conceptMap(vertexMap, profile));
         if (conjunction.negations().isEmpty()) return answers;
-        else return answers.filter(answer -> !iterate(conjunction.negations()).flatMap(
-                negation -> iterator(negation.disjunction(), answer)
-        ).hasNext());
+        else return answers.filter(negationFilter(conjunction, Long.MAX_VALUE, context));
+    }
+
+    // ---- negation paths ----
+
+    /**
+     * Negations are evaluated within the context of the query they filter, so that its budget and profile apply.
+     */
+    private Predicate<ConceptMap> negationFilter(Conjunction conjunction, long limit, Context.Query context) {
+        List<Predicate<ConceptMap>> filters = iterate(conjunction.negations()).map(negation -> {
+            if (isAntiJoin(conjunction, negation, limit)) return new AntiJoin(negation, context);
+            else return (Predicate<ConceptMap>) answer -> !iterator(negation.disjunction(), answer, context).hasNext();
+        }).toList();
+        return answer -> {
+            for (Predicate<ConceptMap> filter : filters) {
+                if (!filter.test(answer)) return false;
+            }
+            return true;
+        };
+    }
+
+    /**
+     * A negation is anti-joined when evaluating it once is estimated to be cheaper than evaluating it for every
+     * answer it filters, and its answers are few enough to be held in memory.
+     */
+    private boolean isAntiJoin(Conjunction conjunction, Negation negation, long limit) {
+        long negated = 0;
+        for (Conjunction conj : negation.disjunction().conjunctions()) negated += estimateAnswers(conj);
+        return negated <= ANTI_JOIN_MAX_ANSWERS && negated <= Math.min(estimateAnswers(conjunction), limit);
+    }
+
+    /**
+     * Estimates the answers of a conjunction as the number of instances of its most selective thing variable.
+     */
+    private long estimateAnswers(Conjunction conjunction) {
+        DataGraph.Statistics statistics = traversalEng.graph().data().stats();
+        SchemaGraph schema = traversalEng.graph().schema();
+        long estimate = Long.MAX_VALUE;
+        for (Variable var : conjunction.variables()) {
+            if (!var.isThing()) continue;
+            if (var.asThing().iid().isPresent()) return 1;
+            long count;
+            if (var.resolvedTypes().isEmpty()) count = statistics.thingVertexTransitiveCount(schema.rootThingType());
+            else count = statistics.thingVertexSum(var.resolvedTypes());
+            estimate = Math.min(estimate, count);
+        }
+        return estimate == Long.MAX_VALUE ? 1 : estimate;
+    }
+
+    /**
+     * Filters out the answers that match a negation, by evaluating the negated pattern once, projecting its
+     * answers onto the variables it shares with the answers being filtered, and probing the projections.
+     */
+    private class AntiJoin implements Predicate<ConceptMap> {
+
+        private final Negation negation;
+        private final Context.Query context;
+        private volatile Set<Reference.Name> shared;
+        private volatile Set<ConceptMap> negated;
+
+        private AntiJoin(Negation negation, Context.Query context) {
+            this.negation = negation;
+            this.context = context;
+        }
+
+        @Override
+        public boolean test(ConceptMap answer) {
+            if (negated == null) initialise(answer);
+            return !negated.contains(answer.filter(shared));
+        }
+
+        private synchronized void initialise(ConceptMap answer) {
+            if (negated != null) return;
+            // every answer of a conjunction holds the same variables, so the first one determines the projection
+            shared = iterate(negation.disjunction().conjunctions()).flatMap(conj -> iterate(conj.variables()))
+                    .filter(v -> v.reference().isName() && answer.contains(v.reference().asName()))
+                    .map(v -> v.reference().asName()).toSet();
+            negated = iterate(negation.disjunction().conjunctions()).flatMap(conj -> iterator(conj, set(), context))
+                    .map(negatedAnswer -> negatedAnswer.filter(shared)).toSet();
+        }
+    }
+
+    private ConceptMap conceptMap(VertexMap vertexMap, QueryProfile profile) {
+        if (!profile.isEnabled()) return conceptMgr.conceptMap(vertexMap);
+        long start = System.nanoTime();
+        ConceptMap conceptMap = conceptMgr.conceptMap(vertexMap);
+        profile.converted(System.nanoTime() - start);
+        return conceptMap;
     }
 
     private Conjunction bound(Conjunction conjunction, ConceptMap bounds) {
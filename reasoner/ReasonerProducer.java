@@ -17,6 +17,8 @@
 
 package grakn.core.reasoner;
 
+import grakn.core.common.exception.GraknException;
+import grakn.core.common.profile.QueryBudget;
 import grakn.core.concept.answer.ConceptMap;
 import grakn.core.concurrent.actor.Actor;
 import grakn.core.concurrent.producer.Producer;
@@ -47,29 +49,46 @@ public class ReasonerProducer implements Producer<ConceptMap> {
     private static final Logger LOG = LoggerFactory.getLogger(ReasonerProducer.class);
 
     private final Actor<? extends Resolver<?>> rootResolver;
+    private final ResolverRegistry resolverRegistry;
+    private final QueryBudget budget;
+    private final Long limit;
+    private long answered;
     private Queue<ConceptMap> queue;
     private Request resolveRequest;
     private boolean iterationInferredAnswer;
+    private long tabledInferred;
     private boolean done;
     private int iteration;
 
-    public ReasonerProducer(Conjunction conjunction, ResolverRegistry resolverRegistry, GraqlMatch.Modifiers modifiers) {
+    public ReasonerProducer(Conjunction conjunction, ResolverRegistry resolverRegistry, GraqlMatch.Modifiers modifiers,
+                            QueryBudget budget) {
+        this.resolverRegistry = resolverRegistry;
+        this.budget = budget;
+        this.limit = modifiers.limit().orElse(null);
         this.rootResolver = resolverRegistry.rootConjunction(conjunction,filter(modifiers.filter()), modifiers.offset().orElse(null),
                                                              modifiers.limit().orElse(null), this::requestAnswered, this::requestFailed);
         AnswerState.DownstreamVars.Identity downstream = Initial.of(new ConceptMap()).toDownstreamVars();
         this.resolveRequest = Request.create(new Request.Path(rootResolver, downstream), downstream, EMPTY);
         this.queue = null;
         this.iteration = 0;
+        this.tabledInferred = 0;
+        this.answered = 0;
         this.done = false;
     }
 
-    public ReasonerProducer(Disjunction disjunction, ResolverRegistry resolverRegistry, GraqlMatch.Modifiers modifiers) {
+    public ReasonerProducer(Disjunction disjunction, ResolverRegistry resolverRegistry, GraqlMatch.Modifiers modifiers,
+                            QueryBudget budget) {
+        this.resolverRegistry = resolverRegistry;
+        this.budget = budget;
+        this.limit = modifiers.limit().orElse(null);
         this.rootResolver = resolverRegistry.rootDisjunction(disjunction, filter(modifiers.filter()), modifiers.offset().orElse(null),
                                                              modifiers.limit().orElse(null), this::requestAnswered, this::requestFailed);
         AnswerState.DownstreamVars.Identity downstream = Initial.of(new ConceptMap()).toDownstreamVars();
         this.resolveRequest = Request.create(new Request.Path(rootResolver, downstream), downstream, EMPTY);
         this.queue = null;
         this.iteration = 0;
+        this.tabledInferred = 0;
+        this.answered = 0;
         this.done = false;
     }
 
@@ -77,31 +96,67 @@ public class ReasonerProducer implements Producer<ConceptMap> {
     public void produce(Queue<ConceptMap> queue, int request, ExecutorService executor) {
         assert this.queue == null || this.queue == queue;
         this.queue = queue;
+        if (!withinBudget()) return;
         for (int i = 0; i < request; i++) {
             requestAnswer();
         }
     }
 
+    /**
+     * Stops the resolution of this query, whether or not it has completed: the resolvers drop every message sent on
+     * behalf of this query's root from now on, and release the iterators and answer tables they hold for it as they
+     * are terminated. The query's consumer may no longer recycle a producer it has already seen finish, so this
+     * producer also terminates itself once it has found every answer, or as many as the query's limit.
+     */
     @Override
-    public void recycle() {}
+    public synchronized void recycle() {
+        if (resolverRegistry.isTerminated(rootResolver)) return;
+        done = true;
+        resolverRegistry.terminate(rootResolver);
+        rootResolver.tell(actor -> actor.terminate(rootResolver));
+    }
+
+    private void finish() {
+        done = true;
+        queue.done();
+        recycle();
+    }
+
+    /**
+     * Fails the query and stops its resolution once it has run past its deadline, so that the resolvers stop working
+     * on a query whose consumer will never see their answers.
+     */
+    private synchronized boolean withinBudget() {
+        if (done) return false;
+        try {
+            budget.check();
+            return true;
+        } catch (GraknException e) {
+            queue.done(e);
+            recycle();
+            return false;
+        }
+    }
 
     private Set<Reference.Name> filter(List<UnboundVariable> filter) {
         return iterate(filter).map(v -> v.reference().asName()).toSet();
     }
 
 
-    private void requestAnswered(ResolutionAnswer resolutionAnswer) {
+    private synchronized void requestAnswered(ResolutionAnswer resolutionAnswer) {
+        if (!withinBudget()) return;
         if (resolutionAnswer.isInferred()) iterationInferredAnswer = true;
         queue.put(resolutionAnswer.derived().withInitialFiltered());
+        if (limit != null && ++answered >= limit) finish();
     }
 
-    private void requestFailed(int iteration) {
+    private synchronized void requestFailed(int iteration) {
         LOG.trace("Failed to find answer to request in iteration: " + iteration);
+        if (!withinBudget()) return;
 
         if (!done && iteration == this.iteration && !mustReiterate()) {
             // query is completely terminated
-            done = true;
-            queue.done();
+            finish();
             return;
         }
 
@@ -117,6 +172,7 @@ public class ReasonerProducer implements Producer<ConceptMap> {
     private void prepareNextIteration() {
         iteration++;
         iterationInferredAnswer = false;
+        tabledInferred = resolverRegistry.tabling(rootResolver).inferred();
     }
 
     private boolean mustReiterate() {
@@ -129,8 +185,11 @@ public class ReasonerProducer implements Producer<ConceptMap> {
 
         counter example: $x isa $type; -> unifies with then { (friend: $y) isa friendship; }
         Without reiteration we will miss $x = instance, $type = relation/thing
+
+        Answer tables are kept across iterations, so once an iteration adds no inferred answer to any table, every
+        consumer has read its table in full, and the query has reached its fixpoint.
          */
-        return iterationInferredAnswer;
+        return iterationInferredAnswer || resolverRegistry.tabling(rootResolver).inferred() > tabledInferred;
     }
 
     private void retryInNewIteration() {
@@ -19,10 +19,14 @@ package grakn.core.reasoner.resolution;
 
 import grakn.core.common.exception.GraknException;
 import grakn.core.concept.ConceptManager;
+import grakn.core.graph.GraphManager;
+import grakn.core.graph.vertex.TypeVertex;
 import grakn.core.logic.LogicManager;
+import grakn.core.logic.Rule;
 import grakn.core.logic.resolvable.Concludable;
 import grakn.core.logic.resolvable.Resolvable;
-import grakn.core.logic.resolvable.Retrievable;
+import grakn.core.pattern.Conjunction;
+import grakn.core.pattern.variable.Variable;
 import graql.lang.pattern.variable.Reference;
 
 import java.util.ArrayList;
@@ -32,6 +36,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Stream;
@@ -40,11 +45,20 @@ import static grakn.common.collection.Collections.set;
 import static grakn.core.common.exception.ErrorMessage.Internal.ILLEGAL_STATE;
 import static grakn.core.common.iterator.Iterators.iterate;
 
+/**
+ * Orders the resolvables of a conjunction by the number of answers each is expected to produce, estimated from the
+ * statistics of the data graph and, for concludables, from the size of the conditions of their applicable rules.
+ * Resolvables are only placed once the variables they depend on are answered, and are preferably placed where they
+ * share a variable with those placed before them, so as to avoid cartesian products. When estimates are equal, as they
+ * are in an empty database, the heuristics of answering the most variables and applying the fewest rules decide.
+ */
 public class Planner {
+    private final GraphManager graphMgr;
     private final ConceptManager conceptMgr;
     private final LogicManager logicMgr;
 
-    Planner(ConceptManager conceptMgr, LogicManager logicMgr) {
+    Planner(GraphManager graphMgr, ConceptManager conceptMgr, LogicManager logicMgr) {
+        this.graphMgr = graphMgr;
         this.conceptMgr = conceptMgr;
         this.logicMgr = logicMgr;
     }
@@ -53,11 +67,20 @@ public class Planner {
         return new Plan(resolvables, bound).plan;
     }
 
+    /**
+     * @return the snapshot of the statistics that plans are estimated from, which advances as the statistics are
+     * recounted
+     */
+    public long statisticsSnapshot() {
+        return graphMgr.data().stats().snapshot();
+    }
+
     class Plan {
         private final List<Resolvable<?>> plan;
         private final Map<Resolvable<?>, Set<Reference.Name>> dependencies;
         private final Set<Reference.Name> varsAnswered;
         private final Set<Resolvable<?>> remaining;
+        private final Map<Concludable, Double> inferredAnswers;
 
         Plan(Set<Resolvable<?>> resolvables, Set<Reference.Name> boundVars) {
             assert resolvables.size() > 0;
@@ -65,6 +88,7 @@ public class Planner {
             this.varsAnswered = new HashSet<>(boundVars);
             this.dependencies = dependencies(resolvables);
             this.remaining = new HashSet<>(resolvables);
+            this.inferredAnswers = new HashMap<>();
             computePlan();
             assert plan.size() == resolvables.size();
             assert set(plan).equals(resolvables);
@@ -78,49 +102,33 @@ public class Planner {
 
         private void computePlan() {
             while (remaining.size() != 0) {
-                Optional<Concludable> concludable;
-                Optional<Retrievable> retrievable;
-
-                // Retrievable where:
-                // all of it's dependencies are already satisfied,
-                // which will answer the most variables
-                retrievable = mostAnsweredVars(dependenciesSatisfied(hasAnsweredVar(remaining.stream().filter(Resolvable::isRetrievable))))
-                        .map(Resolvable::asRetrievable);
-                if (retrievable.isPresent()) {
-                    add(retrievable.get());
-                    continue;
-                }
+                Optional<Resolvable<?>> resolvable;
 
-                // Concludable where:
+                // Resolvable where:
                 // all of it's dependencies are already satisfied,
-                // which has the least applicable rules,
-                // and of those the least unsatisfied variables
-                concludable = mostAnsweredVars(dependenciesSatisfied(hasAnsweredVar(remaining.stream().filter(Resolvable::isConcludable))))
-                        .map(Resolvable::asConcludable);
-                if (concludable.isPresent()) {
-                    add(concludable.get());
+                // which shares a variable with those already planned,
+                // which is expected to produce the fewest answers,
+                // and of those retrievables first, then the most answered variables, then the least applicable rules
+                resolvable = dependenciesSatisfied(hasAnsweredVar(remaining.stream())).min(
+                        fewestAnswers().thenComparing(retrievablesFirst())
+                                .thenComparing(Comparator.<Resolvable<?>>comparingInt(this::answeredVars).reversed())
+                                .thenComparing(fewestRules()));
+                if (resolvable.isPresent()) {
+                    add(resolvable.get());
                     continue;
                 }
 
-                // Retrievable where:
-                // all of it's dependencies are already satisfied (should be moot),
-                // it can be disconnected
-                // which will answer the most variables
-                retrievable = mostUnansweredVars(dependenciesSatisfied(remaining.stream().filter(Resolvable::isRetrievable)))
-                        .map(Resolvable::asRetrievable);
-                if (retrievable.isPresent()) {
-                    add(retrievable.get());
-                    continue;
-                }
-
-                // Concludable where:
+                // Resolvable where:
                 // it can be disconnected
                 // all of it's dependencies are already satisfied,
-                // which has the least applicable rules,
-                // and of those the least unsatisfied variables
-                concludable = fewestRules(dependenciesSatisfied(remaining.stream().filter(Resolvable::isConcludable)));
-                if (concludable.isPresent()) {
-                    add(concludable.get());
+                // which is expected to produce the fewest answers,
+                // and of those retrievables first, then the most unanswered variables, then the least applicable rules
+                resolvable = dependenciesSatisfied(remaining.stream()).min(
+                        fewestAnswers().thenComparing(retrievablesFirst())
+                                .thenComparing(Comparator.<Resolvable<?>>comparingInt(this::unansweredVars).reversed())
+                                .thenComparing(fewestRules()));
+                if (resolvable.isPresent()) {
+                    add(resolvable.get());
                     continue;
                 }
 
@@ -128,10 +136,11 @@ public class Planner {
                 // it can be disconnected
                 // all of it's dependencies are NOT already satisfied,
                 // which has the least applicable rules,
-                // and of those the least unsatisfied variables
-                concludable = fewestRules(remaining.stream().filter(Resolvable::isConcludable));
-                if (concludable.isPresent()) {
-                    add(concludable.get());
+                // and of those the fewest expected answers
+                resolvable = remaining.stream().filter(Resolvable::isConcludable).min(
+                        fewestRules().thenComparing(fewestAnswers()));
+                if (resolvable.isPresent()) {
+                    add(resolvable.get());
                     continue;
                 }
 
@@ -147,20 +156,86 @@ public class Planner {
             return resolvableStream.filter(r -> !Collections.disjoint(r.variableNames(), varsAnswered));
         }
 
-        private Optional<Concludable> fewestRules(Stream<Resolvable<?>> resolvableStream) {
+        private Comparator<Resolvable<?>> fewestAnswers() {
+            return Comparator.comparingDouble(this::answers);
+        }
+
+        private Comparator<Resolvable<?>> retrievablesFirst() {
+            return Comparator.comparing(Resolvable::isConcludable);
+        }
+
+        private Comparator<Resolvable<?>> fewestRules() {
+            return Comparator.comparingInt(this::applicableRules);
+        }
+
+        private int applicableRules(Resolvable<?> resolvable) {
             // TODO: Tie-break for Concludables with the same number of applicable rules
-            return resolvableStream.map(Resolvable::asConcludable)
-                    .min(Comparator.comparingInt(c -> (int) c.getApplicableRules(conceptMgr, logicMgr).count()));
+            if (!resolvable.isConcludable()) return 0;
+            return (int) logicMgr.concludable(resolvable.asConcludable()).getApplicableRules(conceptMgr, logicMgr).count();
+        }
+
+        private int answeredVars(Resolvable<?> resolvable) {
+            return iterate(resolvable.variableNames()).filter(varsAnswered::contains).toSet().size();
+        }
+
+        private int unansweredVars(Resolvable<?> resolvable) {
+            return iterate(resolvable.variableNames()).filter(var -> !varsAnswered.contains(var)).toSet().size();
+        }
+
+        /**
+         * Estimates the answers a resolvable produces for each answer of the variables answered so far: those it
+         * retrieves, and for a concludable, those its applicable rules may infer.
+         */
+        private double answers(Resolvable<?> resolvable) {
+            assert resolvable.isRetrievable() || resolvable.isConcludable();
+            Conjunction pattern = resolvable.isRetrievable() ? resolvable.asRetrievable().pattern()
+                    : resolvable.asConcludable().pattern();
+            double answers = patternAnswers(pattern, varsAnswered);
+            if (resolvable.isConcludable()) answers += inferredAnswers(resolvable.asConcludable());
+            return answers;
         }
 
-        private Optional<Resolvable<?>> mostAnsweredVars(Stream<Resolvable<?>> resolvables) {
-            return resolvables.max(Comparator.comparingInt(r -> iterate(r.variableNames())
-                            .filter(varsAnswered::contains).toSet().size()));
+        private double inferredAnswers(Concludable concludable) {
+            return inferredAnswers.computeIfAbsent(concludable, c -> {
+                Concludable shared = logicMgr.concludable(c);
+                double inferred = 0;
+                for (Rule rule : shared.getApplicableRules(conceptMgr, logicMgr).toList()) {
+                    inferred += patternAnswers(rule.when(), set());
+                }
+                return inferred;
+            });
         }
 
-        private Optional<Resolvable<?>> mostUnansweredVars(Stream<Resolvable<?>> resolvableStream) {
-            return resolvableStream.max(Comparator.comparingInt(r -> iterate(r.variableNames())
-                    .filter(var -> !varsAnswered.contains(var)).toSet().size()));
+        /**
+         * Estimates the answers of a pattern for each answer of its bound variables, as the number of instances of
+         * its largest unbound thing variable, divided by that of its largest bound one: each answer of the bound
+         * variables is assumed to join with an even share of the answers of the rest.
+         */
+        private double patternAnswers(Conjunction pattern, Set<Reference.Name> bound) {
+            long maxUnbound = 0;
+            long maxBound = 0;
+            boolean hasUnbound = false;
+            for (Variable variable : pattern.variables()) {
+                if (!variable.isThing()) continue;
+                long instances = instances(variable);
+                if (variable.reference().isName() && bound.contains(variable.reference().asName())) {
+                    maxBound = Math.max(maxBound, instances);
+                } else {
+                    hasUnbound = true;
+                    maxUnbound = Math.max(maxUnbound, instances);
+                }
+            }
+            if (!hasUnbound) return 1;
+            return Math.max(1, (double) maxUnbound / Math.max(1, maxBound));
+        }
+
+        private long instances(Variable variable) {
+            if (variable.resolvedTypes().isEmpty()) {
+                return graphMgr.data().stats().thingVertexTransitiveCount(graphMgr.schema().rootThingType());
+            }
+            Stream<TypeVertex> types = variable.resolvedTypes().stream().map(graphMgr.schema()::getType)
+                    .filter(Objects::nonNull);
+            return graphMgr.data().stats().thingVertexSum(types);
         }
 
         /**
@@ -18,6 +18,7 @@
 
 package grakn.core.reasoner.resolution;
 
+import grakn.common.collection.Pair;
 import grakn.core.common.exception.GraknException;
 import grakn.core.concept.ConceptManager;
 import grakn.core.concurrent.actor.Actor;
@@ -31,6 +32,7 @@ import grakn.core.logic.resolvable.Retrievable;
 import grakn.core.pattern.Conjunction;
 import grakn.core.pattern.Disjunction;
 import grakn.core.pattern.equivalence.AlphaEquivalence;
+import grakn.core.reasoner.resolution.framework.AnswerTable;
 import grakn.core.reasoner.resolution.framework.ResolutionAnswer;
 import grakn.core.reasoner.resolution.framework.Resolver;
 import grakn.core.reasoner.resolution.resolver.ConcludableResolver;
@@ -45,9 +47,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nullable;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -59,26 +64,34 @@ public class ResolverRegistry {
     private final static Logger LOG = LoggerFactory.getLogger(ResolverRegistry.class);
 
     private final ConceptManager conceptMgr;
-    private final HashMap<Concludable, Actor<ConcludableResolver>> concludableActors;
+    private final ConcurrentHashMap<AlphaEquivalence.Key<Concludable>, Pair<Concludable, Actor<ConcludableResolver>>> concludableActors;
     private final LogicManager logicMgr;
     private boolean explanations;
+    private final int ruleFanOut;
     private final HashMap<Rule, Actor<RuleResolver>> rules;
     private final Actor<ResolutionRecorder> resolutionRecorder;
     private final TraversalEngine traversalEngine;
     private EventLoopGroup elg;
     private final Planner planner;
+    private final Set<Actor<? extends Resolver<?>>> terminated;
+    private final ConcurrentHashMap<Actor<? extends Resolver<?>>, AnswerTable.Progress> tabling;
 
     public ResolverRegistry(EventLoopGroup elg, Actor<ResolutionRecorder> resolutionRecorder, TraversalEngine traversalEngine,
-                            ConceptManager conceptMgr, LogicManager logicMgr) {
+                            ConceptManager conceptMgr, LogicManager logicMgr, int ruleFanOut) {
         this.elg = elg;
         this.resolutionRecorder = resolutionRecorder;
         this.traversalEngine = traversalEngine;
         this.conceptMgr = conceptMgr;
         this.logicMgr = logicMgr;
         this.explanations = false; // TODO: enable/disable explanations from transaction context
-        concludableActors = new HashMap<>();
+        this.ruleFanOut = Math.max(1, ruleFanOut);
+        concludableActors = new ConcurrentHashMap<>();
         rules = new HashMap<>();
-        planner = new Planner(conceptMgr, logicMgr);
+        planner = new Planner(traversalEngine.graph(), conceptMgr, logicMgr);
+        // a root is only looked up while a message on its behalf, or its producer, still holds it, so the set need
+        // not hold a root any longer than that
+        terminated = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+        tabling = new ConcurrentHashMap<>();
     }
 
     public MappedResolver registerResolvable(Resolvable resolvable) {
@@ -116,6 +129,27 @@ public class ResolverRegistry {
         );
     }
 
+    /**
+     * Marks a root as terminated, so that every message sent on its behalf is dropped from then on. The state held
+     * for it is released as the termination is passed down from the root through {@link Resolver#terminate}.
+     */
+    public void terminate(Actor<? extends Resolver<?>> root) {
+        terminated.add(root);
+        tabling.remove(root);
+    }
+
+    public boolean isTerminated(Actor<? extends Resolver<?>> root) {
+        return terminated.contains(root);
+    }
+
+    public AnswerTable.Progress tabling(Actor<? extends Resolver<?>> root) {
+        if (isTerminated(root)) return new AnswerTable.Progress();
+        AnswerTable.Progress progress = tabling.computeIfAbsent(root, r -> new AnswerTable.Progress());
+        // the root may have been terminated in the meantime, and its progress must not outlive it
+        if (isTerminated(root)) tabling.remove(root);
+        return progress;
+    }
+
     private MappedResolver registerRetrievable(Retrievable retrievable) {
         LOG.debug("Register RetrievableResolver: '{}'", retrievable.pattern());
         Actor<RetrievableResolver> retrievableActor = Actor.create(elg, self -> new RetrievableResolver(
@@ -123,21 +157,19 @@ public class ResolverRegistry {
         return MappedResolver.of(retrievableActor, identity(retrievable));
     }
 
-    // note: must be thread safe. We could move to a ConcurrentHashMap if we create an alpha-equivalence wrapper
-    private synchronized MappedResolver registerConcludable(Concludable concludable) {
+    // note: must be thread safe. Alpha-equivalent concludables share a key, so they share a resolver, which is built on
+    // the concludable shared across transactions so that its applicable rules and unifiers are not computed again
+    private MappedResolver registerConcludable(Concludable concludable) {
         LOG.debug("Register ConcludableResolver: '{}'", concludable.pattern());
-        for (Map.Entry<Concludable, Actor<ConcludableResolver>> c : concludableActors.entrySet()) {
-            // TODO: This needs to be optimised from a linear search to use an alpha hash
-            AlphaEquivalence alphaEquality = concludable.alphaEquals(c.getKey());
-            if (alphaEquality.isValid()) {
-                return MappedResolver.of(c.getValue(), alphaEquality.asValid().namedVariableMapping());
-            }
-        }
-        Actor<ConcludableResolver> concludableActor = Actor.create(elg, self ->
-                new ConcludableResolver(self, concludable, resolutionRecorder, this, traversalEngine, conceptMgr,
-                                        logicMgr, explanations));
-        concludableActors.put(concludable, concludableActor);
-        return MappedResolver.of(concludableActor, identity(concludable));
+        Concludable shared = logicMgr.concludable(concludable);
+        Pair<Concludable, Actor<ConcludableResolver>> registered = concludableActors.computeIfAbsent(
+                AlphaEquivalence.Key.of(shared), key -> new Pair<>(shared, Actor.create(elg, self ->
+                        new ConcludableResolver(self, shared, resolutionRecorder, this, traversalEngine,
+                                                conceptMgr, logicMgr, ruleFanOut, explanations))));
+        if (registered.first() == concludable) return MappedResolver.of(registered.second(), identity(concludable));
+        AlphaEquivalence alphaEquality = concludable.alphaEquals(registered.first());
+        assert alphaEquality.isValid();
+        return MappedResolver.of(registered.second(), alphaEquality.asValid().namedVariableMapping());
     }
 
     public Actor<ConjunctionResolver.Nested> conjunction(Conjunction conjunction) {
@@ -176,6 +208,10 @@ public class ResolverRegistry {
         this.elg = eventLoopGroup;
     }
 
+    public int tabledRoots() {
+        return tabling.size();
+    }
+
     public static class MappedResolver {
         private final Actor<? extends Resolver<?>> resolver;
         private final Map<Reference.Name, Reference.Name> mapping;
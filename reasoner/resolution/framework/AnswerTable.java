@@ -0,0 +1,218 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.reasoner.resolution.framework;
+
+import grakn.core.concept.answer.ConceptMap;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The answers found so far for a concludable under one set of bounds, shared by every request for those bounds
+ * within a root query, in the manner of SLG resolution. The first request for the bounds in an iteration is the
+ * generator of the table: it alone evaluates the applicable rules, and every answer it derives is added to the table.
+ * Every other request for the same bounds is a consumer, which reads the table through its own {@link Cursor}, and so
+ * sees the answers derived on its behalf without deriving them again.
+ *
+ * A table is complete once its generator is exhausted without any consumer, anywhere in the same root query, having
+ * been exhausted on an incomplete table in the meantime. Such a generator cannot have depended on answers that were
+ * still missing, so its answers are final, and requests for a complete table read it without traversing or
+ * evaluating any rule. Tables that are part of a recursion are only complete at the fixpoint of the root query's
+ * iterations, and are kept across iterations so that each iteration only derives what is new.
+ */
+@NotThreadSafe
+public class AnswerTable {
+
+    private final List<Entry> answers;
+    private final Set<ConceptMap> index;
+    private Request generator;
+    private int generatorIteration;
+    private long incompleteReadsAtGeneration;
+    private boolean isTraversed;
+    private boolean isComplete;
+    private boolean isReleased;
+
+    public AnswerTable() {
+        this.answers = new ArrayList<>();
+        this.index = new HashSet<>();
+        this.generator = null;
+        this.generatorIteration = -1;
+        this.isTraversed = false;
+        this.isComplete = false;
+        this.isReleased = false;
+    }
+
+    /**
+     * @return true if the answer was not in the table yet
+     */
+    public boolean add(ConceptMap answer, @Nullable ResolutionAnswer.Derivation derivation, boolean isInferred) {
+        if (isComplete || isReleased || !index.add(answer)) return false;
+        answers.add(new Entry(answer, derivation, isInferred));
+        return true;
+    }
+
+    public boolean mayGenerate(int iteration) {
+        return !isComplete && !isReleased && generatorIteration < iteration;
+    }
+
+    public void generate(Request generator, int iteration, long incompleteReads) {
+        assert mayGenerate(iteration);
+        this.generator = generator;
+        this.generatorIteration = iteration;
+        this.incompleteReadsAtGeneration = incompleteReads;
+    }
+
+    public boolean isGeneratedBy(Request request) {
+        return request.equals(generator);
+    }
+
+    /**
+     * Records that the generator of this table is exhausted, which completes the table if no consumer was exhausted
+     * on an incomplete table since the generator started.
+     */
+    public void generatorExhausted(long incompleteReads) {
+        if (incompleteReads == incompleteReadsAtGeneration) isComplete = true;
+    }
+
+    public boolean isComplete() {
+        return isComplete;
+    }
+
+    /**
+     * Records that every answer the traversal of the concludable finds for these bounds is in the table, so that
+     * later requests need not traverse again.
+     */
+    public void traversed() {
+        isTraversed = true;
+    }
+
+    public boolean isTraversed() {
+        return isTraversed;
+    }
+
+    /**
+     * Drops the answers of the table once its root query has finished with it. Cursors on a released table have
+     * nothing left to read, and answers that arrive for it late are not kept.
+     */
+    public void release() {
+        isReleased = true;
+        answers.clear();
+        index.clear();
+        generator = null;
+    }
+
+    public boolean isReleased() {
+        return isReleased;
+    }
+
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Reads the answers of the table in the order they were added, including the answers added after the cursor was
+     * created.
+     */
+    public class Cursor {
+
+        private int position;
+
+        private Cursor() {
+            this.position = 0;
+        }
+
+        public AnswerTable table() {
+            return AnswerTable.this;
+        }
+
+        public boolean hasNext() {
+            return position < answers.size();
+        }
+
+        public Entry next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            return answers.get(position++);
+        }
+    }
+
+    public static class Entry {
+
+        private final ConceptMap answer;
+        private final ResolutionAnswer.Derivation derivation;
+        private final boolean isInferred;
+
+        private Entry(ConceptMap answer, @Nullable ResolutionAnswer.Derivation derivation, boolean isInferred) {
+            this.answer = answer;
+            this.derivation = derivation;
+            this.isInferred = isInferred;
+        }
+
+        public ConceptMap answer() {
+            return answer;
+        }
+
+        @Nullable
+        public ResolutionAnswer.Derivation derivation() {
+            return derivation;
+        }
+
+        public boolean isInferred() {
+            return isInferred;
+        }
+    }
+
+    /**
+     * Counts the events across all the tables of one root query that decide whether a table may complete, and
+     * whether the root query has reached its fixpoint.
+     */
+    @ThreadSafe
+    public static class Progress {
+
+        private final AtomicLong incompleteReads;
+        private final AtomicLong inferred;
+
+        public Progress() {
+            this.incompleteReads = new AtomicLong(0);
+            this.inferred = new AtomicLong(0);
+        }
+
+        public void recordIncompleteRead() {
+            incompleteReads.incrementAndGet();
+        }
+
+        public long incompleteReads() {
+            return incompleteReads.get();
+        }
+
+        public void recordInferred() {
+            inferred.incrementAndGet();
+        }
+
+        public long inferred() {
+            return inferred.get();
+        }
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package grakn.core.reasoner.resolution.framework;
+
+import grakn.core.common.exception.GraknException;
+import grakn.core.concept.Concept;
+import grakn.core.concept.ConceptImpl;
+import grakn.core.concept.answer.ConceptMap;
+import grakn.core.reasoner.resolution.answer.AnswerState;
+import grakn.core.reasoner.resolution.answer.AnswerState.UpstreamVars.Initial;
+import graql.lang.pattern.variable.Reference;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import static grakn.core.reasoner.resolution.framework.ResolutionAnswer.Derivation.EMPTY;
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertFalse;
+import static junit.framework.TestCase.assertTrue;
+
+public class AnswerTableTest {
+
+    private static ConceptMap answer(long id) {
+        Map<Reference.Name, Concept> concepts = new HashMap<>();
+        concepts.put(Reference.name("x"), new MockConcept(id));
+        return new ConceptMap(concepts);
+    }
+
+    private static Request request(long id) {
+        AnswerState.DownstreamVars downstream = Initial.of(answer(id)).toDownstreamVars();
+        return Request.create(new Request.Path(null, downstream), downstream, EMPTY);
+    }
+
+    @Test
+    public void test_answers_are_deduplicated_and_read_in_order_by_every_cursor() {
+        AnswerTable table = new AnswerTable();
+        AnswerTable.Cursor early = table.cursor();
+        assertTrue(table.add(answer(0), EMPTY, false));
+        assertTrue(table.add(answer(1), EMPTY, true));
+        assertFalse(table.add(answer(0), EMPTY, true));
+        AnswerTable.Cursor late = table.cursor();
+
+        for (AnswerTable.Cursor cursor : new AnswerTable.Cursor[]{early, late}) {
+            assertEquals(answer(0), cursor.next().answer());
+            AnswerTable.Entry second = cursor.next();
+            assertEquals(answer(1), second.answer());
+            assertTrue(second.isInferred());
+            assertFalse(cursor.hasNext());
+        }
+    }
+
+    @Test
+    public void test_table_completes_when_its_generator_is_exhausted_without_incomplete_reads() {
+        AnswerTable table = new AnswerTable();
+        Request generator = request(0);
+        assertTrue(table.mayGenerate(0));
+        table.generate(generator, 0, 3);
+        assertTrue(table.isGeneratedBy(generator));
+        assertFalse(table.isGeneratedBy(request(1)));
+        assertFalse(table.mayGenerate(0));
+        table.add(answer(0), EMPTY, true);
+
+        table.generatorExhausted(3);
+        assertTrue(table.isComplete());
+        assertFalse(table.mayGenerate(1));
+        assertFalse(table.add(answer(1), EMPTY, true));
+    }
+
+    @Test
+    public void test_table_stays_incomplete_when_a_consumer_read_it_incomplete_during_generation() {
+        AnswerTable table = new AnswerTable();
+        table.generate(request(0), 0, 3);
+        table.generatorExhausted(4);
+        assertFalse(table.isComplete());
+        assertFalse(table.mayGenerate(0));
+
+        assertTrue(table.mayGenerate(1));
+        table.generate(request(1), 1, 4);
+        table.generatorExhausted(4);
+        assertTrue(table.isComplete());
+    }
+
+    @Test
+    public void test_released_table_drops_its_answers_and_keeps_no_new_ones() {
+        AnswerTable table = new AnswerTable();
+        table.generate(request(0), 0, 0);
+        table.add(answer(0), EMPTY, false);
+        table.add(answer(1), EMPTY, false);
+        AnswerTable.Cursor cursor = table.cursor();
+        cursor.next();
+
+        table.release();
+        assertTrue(table.isReleased());
+        assertFalse(cursor.hasNext());
+        assertFalse(table.cursor().hasNext());
+        assertFalse(table.isGeneratedBy(request(0)));
+        assertFalse(table.add(answer(2), EMPTY, true));
+        assertFalse(table.mayGenerate(1));
+    }
+
+    @Test
+    public void test_progress_counts_incomplete_reads_and_inferred_answers() {
+        AnswerTable.Progress progress = new AnswerTable.Progress();
+        progress.recordIncompleteRead();
+        progress.recordInferred();
+        progress.recordInferred();
+        assertEquals(1, progress.incompleteReads());
+        assertEquals(2, progress.inferred());
+    }
+
+    private static class MockConcept extends ConceptImpl implements Concept {
+        private final long id;
+
+        private MockConcept(long id) {
+            this.id = id;
+        }
+
+        @Override
+        public boolean isDeleted() {
+            return false;
+        }
+
+        @Override
+        public void delete() {
+            // noop
+        }
+
+        @Override
+        public GraknException exception(GraknException exception) {
+            return exception;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            MockConcept that = (MockConcept) o;
+            return id == that.id;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(id);
+        }
+    }
+}
@@ -38,32 +38,44 @@ public class Request {
     private final AnswerState.DownstreamVars partialAnswer;
     private final ResolutionAnswer.Derivation partialDerivation;
     private final int planIndex;
+    private final int demand;
 
     private final int hash;
 
     private Request(Path path,
                     AnswerState.DownstreamVars startingConcept,
                     ResolutionAnswer.Derivation partialDerivation,
-                    int planIndex) {
+                    int planIndex,
+                    int demand) {
+        assert demand > 0;
         this.path = path;
         this.partialAnswer = startingConcept;
         this.partialDerivation = partialDerivation;
         this.planIndex = planIndex;
+        this.demand = demand;
         this.hash = Objects.hash(path, partialAnswer);
     }
 
+    public static Request create(Path path,
+                                 AnswerState.DownstreamVars startingConcept,
+                                 ResolutionAnswer.Derivation partialDerivation,
+                                 int planIndex,
+                                 int demand) {
+        return new Request(path, startingConcept, partialDerivation, planIndex, demand);
+    }
+
     public static Request create(Path path,
                                  AnswerState.DownstreamVars startingConcept,
                                  ResolutionAnswer.Derivation partialDerivation,
                                  int planIndex) {
-        return new Request(path, startingConcept, partialDerivation, planIndex);
+        return new Request(path, startingConcept, partialDerivation, planIndex, 1);
     }
 
     public static Request create(Path path,
                                  AnswerState.DownstreamVars startingConcept,
                                  ResolutionAnswer.Derivation partialDerivation) {
         // Set the planIndex to -1 since it is unused in this case
-        return new Request(path, startingConcept, partialDerivation, -1);
+        return new Request(path, startingConcept, partialDerivation, -1, 1);
     }
 
     public Path path() {
@@ -74,6 +86,14 @@ public class Request {
         return planIndex;
     }
 
+    /**
+     * @return the most answers the sender accepts in a single response to this request, as a {@link Response.Batch}.
+     * A receiver may always respond with fewer, and the demand does not distinguish one request from another.
+     */
+    public int demand() {
+        return demand;
+    }
+
     @Nullable
     public Actor<? extends Resolver<?>> sender() {
         if (path.path.size() < 2) {
@@ -37,8 +37,12 @@ import org.slf4j.LoggerFactory;
 
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
 
 import static grakn.core.common.exception.ErrorMessage.Internal.ILLEGAL_STATE;
 
@@ -47,6 +51,7 @@ public abstract class Resolver<T extends Resolver<T>> extends Actor.State<T> {
 
     private final String name;
     private final Map<Request, Request> requestRouter;
+    private final Map<Request, Buffer> buffered;
     protected final ResolverRegistry registry;
     protected final TraversalEngine traversalEngine;
     private final boolean explanations;
@@ -58,6 +63,7 @@ public abstract class Resolver<T extends Resolver<T>> extends Actor.State<T> {
         this.traversalEngine = traversalEngine;
         this.explanations = explanations;
         this.requestRouter = new HashMap<>();
+        this.buffered = new HashMap<>();
         // Note: initialising downstream actors in constructor will create all actors ahead of time, so it is non-lazy
         // additionally, it can cause deadlock within ResolverRegistry as different threads initialise actors
     }
@@ -80,6 +86,42 @@ public abstract class Resolver<T extends Resolver<T>> extends Actor.State<T> {
 
     protected abstract ResponseProducer responseProducerReiterate(Request fromUpstream, ResponseProducer responseProducer, int newIteration);
 
+    /**
+     * Releases the state held for the requests of a terminated root, and passes the termination on to every
+     * resolver that was asked for answers on behalf of that root.
+     */
+    public void terminate(Actor<? extends Resolver<?>> root) {
+        LOG.trace("{} : Terminating requests from root: {}", name, root);
+        Set<Actor<? extends Resolver<?>>> downstream = new HashSet<>();
+        Iterator<Request> toDownstream = requestRouter.keySet().iterator();
+        while (toDownstream.hasNext()) {
+            Request request = toDownstream.next();
+            if (request.path().root().equals(root)) {
+                downstream.add(request.receiver());
+                toDownstream.remove();
+            }
+        }
+        buffered.keySet().removeIf(request -> request.path().root().equals(root));
+        terminated(root);
+        downstream.forEach(receiver -> receiver.tell(actor -> actor.terminate(root)));
+    }
+
+    /**
+     * Releases any state a resolver holds for the requests of a terminated root.
+     */
+    protected abstract void terminated(Actor<? extends Resolver<?>> root);
+
+    protected static void recycle(Map<Request, ResponseProducer> responseProducers, Actor<? extends Resolver<?>> root) {
+        Iterator<Map.Entry<Request, ResponseProducer>> entries = responseProducers.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<Request, ResponseProducer> entry = entries.next();
+            if (entry.getKey().path().root().equals(root)) {
+                entry.getValue().recycle();
+                entries.remove();
+            }
+        }
+    }
+
     protected Request fromUpstream(Request toDownstream) {
         assert requestRouter.containsKey(toDownstream);
         return requestRouter.get(toDownstream);
@@ -87,25 +129,65 @@ public abstract class Resolver<T extends Resolver<T>> extends Actor.State<T> {
 
     protected void requestFromDownstream(Request request, Request fromUpstream, int iteration) {
         LOG.trace("{} : Sending a new answer Request to downstream: {}", name, request);
+        Actor<? extends Resolver<?>> root = request.path().root();
+        // the buffered responses of a terminated root are dropped, like its messages, as its state may be released
+        if (registry.isTerminated(root)) return;
         // TODO: we may overwrite if multiple identical requests are sent, when to clean up?
         requestRouter.put(request, fromUpstream);
+        Buffer buffer = buffered.get(request);
+        if (buffer != null && buffer.iteration() <= iteration) {
+            // the rest of a batch answers the request without sending it again
+            buffer.reiterate(iteration);
+            Response response = buffer.responses().poll();
+            if (buffer.responses().isEmpty()) buffered.remove(request);
+            if (response != null) {
+                receive(response, iteration);
+                return;
+            }
+        }
         Actor<? extends Resolver<?>> receiver = request.receiver();
-        receiver.tell(actor -> actor.receiveRequest(request, iteration));
+        // messages of a terminated root are dropped on delivery, as their receiver may have released its state
+        receiver.tell(actor -> {
+            if (!registry.isTerminated(root)) actor.receiveRequest(request, iteration);
+        });
     }
 
     protected void respondToUpstream(Response response, int iteration) {
         Actor<? extends Resolver<?>> receiver = response.sourceRequest().sender();
+        Actor<? extends Resolver<?>> root = response.sourceRequest().path().root();
         if (response.isAnswer()) {
             LOG.trace("{} : Sending a new Response.Answer to upstream", name());
-            receiver.tell(actor -> actor.receiveAnswer(response.asAnswer(), iteration));
+            receiver.tell(actor -> {
+                if (!registry.isTerminated(root)) actor.receiveAnswer(response.asAnswer(), iteration);
+            });
         } else if (response.isFail()) {
             LOG.trace("{}: Sending a new Response.Fail to upstream", name());
-            receiver.tell(actor -> actor.receiveExhausted(response.asFail(), iteration));
+            receiver.tell(actor -> {
+                if (!registry.isTerminated(root)) actor.receiveExhausted(response.asFail(), iteration);
+            });
+        } else if (response.isBatch()) {
+            LOG.trace("{}: Sending a new Response.Batch to upstream", name());
+            receiver.tell(actor -> {
+                if (!registry.isTerminated(root)) actor.receiveBatch(response.asBatch(), iteration);
+            });
         } else {
             throw new RuntimeException(("Unknown response type " + response.getClass().getSimpleName()));
         }
     }
 
+    protected void receiveBatch(Response.Batch fromDownstream, int iteration) {
+        Queue<Response> responses = fromDownstream.responses();
+        Response first = responses.poll();
+        if (!responses.isEmpty()) buffered.put(fromDownstream.sourceRequest(), new Buffer(responses, iteration));
+        receive(first, iteration);
+    }
+
+    private void receive(Response fromDownstream, int iteration) {
+        if (fromDownstream.isAnswer()) receiveAnswer(fromDownstream.asAnswer(), iteration);
+        else if (fromDownstream.isFail()) receiveExhausted(fromDownstream.asFail(), iteration);
+        else throw GraknException.of(ILLEGAL_STATE);
+    }
+
     protected ResourceIterator<ConceptMap> compatibleBoundAnswers(ConceptManager conceptMgr, Conjunction conjunction, ConceptMap bounds) {
         return compatibleBounds(conjunction, bounds).map(b -> {
             Traversal traversal = boundTraversal(conjunction.traversal(), b);
@@ -150,4 +232,35 @@ public abstract class Resolver<T extends Resolver<T>> extends Actor.State<T> {
         });
         return traversal;
     }
+
+    /**
+     * The responses of a batch that are yet to answer its request, and the iteration they were produced in. Only
+     * retrievals answer in batches, and their answers are the same in every iteration, so the buffered answers carry
+     * on into a later iteration; but the exhaustion of the batch is dropped then, so that the request is exhausted
+     * by its receiver in the later iteration rather than by a response from an earlier one.
+     */
+    private static class Buffer {
+
+        private final Queue<Response> responses;
+        private int iteration;
+
+        private Buffer(Queue<Response> responses, int iteration) {
+            this.responses = responses;
+            this.iteration = iteration;
+        }
+
+        private Queue<Response> responses() {
+            return responses;
+        }
+
+        private int iteration() {
+            return iteration;
+        }
+
+        private void reiterate(int iteration) {
+            if (iteration == this.iteration) return;
+            responses.removeIf(Response::isFail);
+            this.iteration = iteration;
+        }
+    }
 }
@@ -20,6 +20,10 @@ package grakn.core.reasoner.resolution.framework;
 
 import grakn.core.common.exception.GraknException;
 
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+
 import static grakn.common.util.Objects.className;
 import static grakn.core.common.exception.ErrorMessage.Pattern.INVALID_CASTING;
 
@@ -30,6 +34,8 @@ public interface Response {
 
     boolean isFail();
 
+    boolean isBatch();
+
     default Answer asAnswer() {
         throw GraknException.of(INVALID_CASTING, className(this.getClass()), className(Answer.class));
     }
@@ -38,6 +44,10 @@ public interface Response {
         throw GraknException.of(INVALID_CASTING, className(this.getClass()), className(Fail.class));
     }
 
+    default Batch asBatch() {
+        throw GraknException.of(INVALID_CASTING, className(this.getClass()), className(Batch.class));
+    }
+
     class Answer implements Response {
         private final Request sourceRequest;
         private final ResolutionAnswer answer;
@@ -76,6 +86,11 @@ public interface Response {
             return false;
         }
 
+        @Override
+        public boolean isBatch() {
+            return false;
+        }
+
         @Override
         public Answer asAnswer() {
             return this;
@@ -112,6 +127,11 @@ public interface Response {
             return true;
         }
 
+        @Override
+        public boolean isBatch() {
+            return false;
+        }
+
         @Override
         public Fail asFail() {
             return this;
@@ -125,4 +145,78 @@ public interface Response {
                     '}';
         }
     }
+
+    /**
+     * Several answers to a request that asked for more than one, sent in a single message. The receiver handles the
+     * first answer straight away, and each of the others as it sends the same request again, followed by the
+     * exhaustion of the request if the sender found no answers beyond these.
+     */
+    class Batch implements Response {
+        private final Request sourceRequest;
+        private final List<ResolutionAnswer> answers;
+        private final boolean isExhausted;
+
+        private Batch(Request sourceRequest, List<ResolutionAnswer> answers, boolean isExhausted) {
+            assert !answers.isEmpty() && answers.size() <= sourceRequest.demand();
+            this.sourceRequest = sourceRequest;
+            this.answers = answers;
+            this.isExhausted = isExhausted;
+        }
+
+        public static Batch create(Request sourceRequest, List<ResolutionAnswer> answers, boolean isExhausted) {
+            return new Batch(sourceRequest, answers, isExhausted);
+        }
+
+        @Override
+        public Request sourceRequest() {
+            return sourceRequest;
+        }
+
+        public List<ResolutionAnswer> answers() {
+            return answers;
+        }
+
+        public boolean isExhausted() {
+            return isExhausted;
+        }
+
+        /**
+         * @return the answers of this batch, in order, followed by the exhaustion of the request if it is exhausted
+         */
+        public Queue<Response> responses() {
+            Queue<Response> responses = new ArrayDeque<>();
+            answers.forEach(answer -> responses.add(Answer.create(sourceRequest, answer)));
+            if (isExhausted) responses.add(new Fail(sourceRequest));
+            return responses;
+        }
+
+        @Override
+        public boolean isAnswer() {
+            return false;
+        }
+
+        @Override
+        public boolean isFail() {
+            return false;
+        }
+
+        @Override
+        public boolean isBatch() {
+            return true;
+        }
+
+        @Override
+        public Batch asBatch() {
+            return this;
+        }
+
+        @Override
+        public String toString() {
+            return "Batch{" +
+                    "sourceRequest=" + sourceRequest +
+                    ", answers=" + answers.size() +
+                    ", isExhausted=" + isExhausted +
+                    '}';
+        }
+    }
 }
@@ -46,6 +46,14 @@ public class ResponseProducer {
         downstreamProducerSelector = downstreamProducer.iterator();
     }
 
+    private ResponseProducer(ResponseProducer previous, int iteration) {
+        this.newUpstreamAnswers = previous.newUpstreamAnswers;
+        this.iteration = iteration;
+        this.produced = previous.produced;
+        downstreamProducer = new LinkedHashSet<>();
+        downstreamProducerSelector = downstreamProducer.iterator();
+    }
+
     public void recordProduced(ConceptMap conceptMap) {
         produced.add(conceptMap);
     }
@@ -66,6 +74,10 @@ public class ResponseProducer {
         return !downstreamProducer.isEmpty();
     }
 
+    public int downstreamProducerCount() {
+        return downstreamProducer.size();
+    }
+
     public Request nextDownstreamProducer() {
         if (!downstreamProducerSelector.hasNext()) downstreamProducerSelector = downstreamProducer.iterator();
         return downstreamProducerSelector.next();
@@ -89,6 +101,10 @@ public class ResponseProducer {
         return iteration;
     }
 
+    public void recycle() {
+        newUpstreamAnswers.recycle();
+    }
+
     /**
      * Prepare a response producer for the another iteration from this one
      * Notably maintains the set of produced answers for deduplication
@@ -96,4 +112,13 @@ public class ResponseProducer {
     public ResponseProducer newIteration(ResourceIterator<AnswerState.UpstreamVars.Derived> upstreamAnswers, int iteration) {
         return new ResponseProducer(upstreamAnswers, iteration, this.produced);
     }
+
+    /**
+     * Prepare a response producer for another iteration from this one, which carries on with the upstream answers
+     * this one has yet to produce rather than computing them again. Only valid where the upstream answers cannot
+     * change between iterations, such as the answers of a retrieval.
+     */
+    public ResponseProducer newIteration(int iteration) {
+        return new ResponseProducer(this, iteration);
+    }
 }
@@ -18,6 +18,7 @@
 
 package grakn.core.reasoner.resolution.resolver;
 
+import grakn.core.common.iterator.Iterators;
 import grakn.core.common.iterator.ResourceIterator;
 import grakn.core.concept.ConceptManager;
 import grakn.core.concept.answer.ConceptMap;
@@ -29,6 +30,7 @@ import grakn.core.reasoner.resolution.ResolutionRecorder;
 import grakn.core.reasoner.resolution.ResolverRegistry;
 import grakn.core.reasoner.resolution.answer.AnswerState;
 import grakn.core.reasoner.resolution.answer.AnswerState.UpstreamVars;
+import grakn.core.reasoner.resolution.framework.AnswerTable;
 import grakn.core.reasoner.resolution.framework.Request;
 import grakn.core.reasoner.resolution.framework.ResolutionAnswer;
 import grakn.core.reasoner.resolution.framework.Resolver;
@@ -56,15 +58,20 @@ public class ConcludableResolver extends Resolver<ConcludableResolver> {
     private final Concludable concludable;
     private final ConceptManager conceptMgr;
     private final LogicManager logicMgr;
-    private final Map<Actor<? extends Resolver<?>>, RecursionState> recursionStates;
+    private final Map<Actor<? extends Resolver<?>>, Map<ConceptMap, AnswerTable>> tables;
+    private final Map<Request, AnswerTable.Cursor> cursors;
+    private final Set<Request> traversing;
     private final Actor<ResolutionRecorder> resolutionRecorder;
     private final Map<Request, ResponseProducer> responseProducers;
+    private final Map<Request, Set<Request>> exploring;
+    private final Set<Request> awaiting;
+    private final int ruleFanOut;
     private boolean isInitialised;
 
     public ConcludableResolver(Actor<ConcludableResolver> self, Concludable concludable,
                                Actor<ResolutionRecorder> resolutionRecorder, ResolverRegistry registry,
                                TraversalEngine traversalEngine, ConceptManager conceptMgr, LogicManager logicMgr,
-                               boolean explanations) {
+                               int ruleFanOut, boolean explanations) {
         super(self, ConcludableResolver.class.getSimpleName() + "(pattern: " + concludable.pattern() + ")",
               registry, traversalEngine, explanations);
         this.conceptMgr = conceptMgr;
@@ -72,8 +79,13 @@ public class ConcludableResolver extends Resolver<ConcludableResolver> {
         this.resolutionRecorder = resolutionRecorder;
         this.concludable = concludable;
         this.applicableRules = new LinkedHashMap<>();
-        this.recursionStates = new HashMap<>();
+        this.tables = new HashMap<>();
+        this.cursors = new HashMap<>();
+        this.traversing = new HashSet<>();
         this.responseProducers = new HashMap<>();
+        this.exploring = new HashMap<>();
+        this.awaiting = new HashSet<>();
+        this.ruleFanOut = ruleFanOut;
         this.isInitialised = false;
     }
 
@@ -103,31 +115,36 @@ public class ConcludableResolver extends Resolver<ConcludableResolver> {
         Request toDownstream = fromDownstream.sourceRequest();
         Request fromUpstream = fromUpstream(toDownstream);
         ResponseProducer responseProducer = responseProducers.get(fromUpstream);
+        explored(fromUpstream, toDownstream);
+
+        ResolutionAnswer.Derivation derivation;
+        if (explanations()) { // TODO: this way of turning explanations on and off is both error prone and unelegant - can we centralise?
+            // update partial derivation provided from upstream to carry derivations sideways
+            derivation = new ResolutionAnswer.Derivation(map(pair(fromDownstream.sourceRequest().receiver(),
+                                                                  fromDownstream.answer())));
+        } else {
+            derivation = null;
+        }
 
         ConceptMap conceptMap = fromDownstream.answer().derived().withInitialFiltered();
+        boolean isInferred = fromDownstream.answer().isInferred();
+        if (cursors.get(fromUpstream).table().add(conceptMap, derivation, isInferred) && isInferred) {
+            registry.tabling(fromUpstream.path().root()).recordInferred();
+        }
+        // another rule answered the request first, so this answer waits in the table for the next request; so does
+        // an answer a rule explored for an earlier iteration, which must not answer a request of the current one
+        if (!awaiting.contains(fromUpstream) || iteration < responseProducer.iteration()) return;
+
         UpstreamVars.Derived upstreamAnswer = fromUpstream.partialAnswer().asMapped().mapToUpstream(conceptMap);
         if (!responseProducer.hasProduced(upstreamAnswer.withInitialFiltered())) {
             responseProducer.recordProduced(upstreamAnswer.withInitialFiltered());
-
-            ResolutionAnswer.Derivation derivation;
-            if (explanations()) { // TODO: this way of turning explanations on and off is both error prone and unelegant - can we centralise?
-                // update partial derivation provided from upstream to carry derivations sideways
-                derivation = new ResolutionAnswer.Derivation(map(pair(fromDownstream.sourceRequest().receiver(),
-                                                                      fromDownstream.answer())));
-            } else {
-                derivation = null;
-            }
-
             ResolutionAnswer answer = new ResolutionAnswer(upstreamAnswer, concludable.toString(), derivation, self(),
-                                                           fromDownstream.answer().isInferred());
-
-            respondToUpstream(Answer.create(fromUpstream, answer), iteration);
+                                                           isInferred);
+            answerUpstream(fromUpstream, answer, iteration);
         } else {
             if (explanations()) {
-                ResolutionAnswer.Derivation derivation = new ResolutionAnswer.Derivation(map(pair(fromDownstream.sourceRequest().receiver(),
-                                                                                                  fromDownstream.answer())));
                 ResolutionAnswer deduplicated = new ResolutionAnswer(fromDownstream.answer().derived(), concludable.toString(),
-                                                                     derivation, self(), fromDownstream.answer().isInferred());
+                                                                     derivation, self(), isInferred);
                 LOG.trace("{}: Recording deduplicated answer derivation: {}", name(), deduplicated);
                 resolutionRecorder.tell(actor -> actor.record(deduplicated));
             }
@@ -141,6 +158,7 @@ public class ConcludableResolver extends Resolver<ConcludableResolver> {
         Request toDownstream = fromDownstream.sourceRequest();
         Request fromUpstream = fromUpstream(toDownstream);
         ResponseProducer responseProducer = responseProducers.get(fromUpstream);
+        explored(fromUpstream, toDownstream);
 
         if (iteration < responseProducer.iteration()) {
             // short circuit old iteration exhausted messages to upstream
@@ -149,7 +167,7 @@ public class ConcludableResolver extends Resolver<ConcludableResolver> {
         }
 
         responseProducer.removeDownstreamProducer(fromDownstream.sourceRequest());
-        tryAnswer(fromUpstream, responseProducer, iteration);
+        if (awaiting.contains(fromUpstream)) tryAnswer(fromUpstream, responseProducer, iteration);
     }
 
     @Override
@@ -166,17 +184,10 @@ public class ConcludableResolver extends Resolver<ConcludableResolver> {
     @Override
     protected ResponseProducer responseProducerCreate(Request fromUpstream, int iteration) {
         LOG.debug("{}: Creating a new ResponseProducer for request: {}", name(), fromUpstream);
-        Actor<? extends Resolver<?>> root = fromUpstream.path().root();
-        recursionStates.putIfAbsent(root, new RecursionState(iteration));
-        RecursionState iterationState = recursionStates.get(root);
-
         assert fromUpstream.partialAnswer().isMapped();
-        ResourceIterator<UpstreamVars.Derived> upstreamAnswers =
-                compatibleBoundAnswers(conceptMgr, concludable.pattern(), fromUpstream.partialAnswer().conceptMap())
-                        .map(conceptMap -> fromUpstream.partialAnswer().asMapped().mapToUpstream(conceptMap));
-
-        ResponseProducer responseProducer = new ResponseProducer(upstreamAnswers, iteration);
-        mayRegisterRules(fromUpstream, iterationState, responseProducer);
+        AnswerTable table = table(fromUpstream);
+        ResponseProducer responseProducer = new ResponseProducer(traversal(fromUpstream, table), iteration);
+        mayGenerate(fromUpstream, table, responseProducer, iteration);
         return responseProducer;
     }
 
@@ -186,23 +197,27 @@ public class ConcludableResolver extends Resolver<ConcludableResolver> {
         assert newIteration > responseProducerPrevious.iteration();
         LOG.debug("{}: Updating ResponseProducer for iteration '{}'", name(), newIteration);
 
-        Actor<? extends Resolver<?>> root = fromUpstream.path().root();
-        assert recursionStates.containsKey(root);
-        RecursionState iterationState = recursionStates.get(root);
-        if (iterationState.iteration() < newIteration) {
-            iterationState.nextIteration(newIteration);
-        }
-
         assert fromUpstream.partialAnswer().isMapped();
-        ResourceIterator<UpstreamVars.Derived> upstreamAnswers =
-                compatibleBoundAnswers(conceptMgr, concludable.pattern(), fromUpstream.partialAnswer().conceptMap())
-                .map(conceptMap -> fromUpstream.partialAnswer().asMapped().mapToUpstream(conceptMap));
-
-        ResponseProducer responseProducerNewIter = responseProducerPrevious.newIteration(upstreamAnswers, newIteration);
-        mayRegisterRules(fromUpstream, iterationState, responseProducerNewIter);
+        AnswerTable table = table(fromUpstream);
+        exploring.remove(fromUpstream);
+        ResponseProducer responseProducerNewIter = responseProducerPrevious.newIteration(
+                traversal(fromUpstream, table), newIteration
+        );
+        mayGenerate(fromUpstream, table, responseProducerNewIter, newIteration);
         return responseProducerNewIter;
     }
 
+    @Override
+    protected void terminated(Actor<? extends Resolver<?>> root) {
+        recycle(responseProducers, root);
+        Map<ConceptMap, AnswerTable> released = tables.remove(root);
+        if (released != null) released.values().forEach(AnswerTable::release);
+        cursors.keySet().removeIf(request -> request.path().root().equals(root));
+        traversing.removeIf(request -> request.path().root().equals(root));
+        exploring.keySet().removeIf(request -> request.path().root().equals(root));
+        awaiting.removeIf(request -> request.path().root().equals(root));
+    }
+
     @Override
     protected void exception(Throwable e) {
         LOG.error("Actor exception", e);
@@ -210,18 +225,72 @@ public class ConcludableResolver extends Resolver<ConcludableResolver> {
     }
 
     private void tryAnswer(Request fromUpstream, ResponseProducer responseProducer, int iteration) {
+        AnswerTable.Cursor cursor = cursors.get(fromUpstream);
         if (responseProducer.hasUpstreamAnswer()) {
             UpstreamVars.Derived upstreamAnswer = responseProducer.upstreamAnswers().next();
             responseProducer.recordProduced(upstreamAnswer.withInitialFiltered());
             ResolutionAnswer answer = new ResolutionAnswer(upstreamAnswer, concludable.toString(),
                                                            new ResolutionAnswer.Derivation(map()), self(), false);
-            respondToUpstream(Answer.create(fromUpstream, answer), iteration);
+            answerUpstream(fromUpstream, answer, iteration);
+            return;
+        } else if (traversing.remove(fromUpstream)) {
+            cursor.table().traversed();
+        }
+
+        while (cursor.hasNext()) {
+            AnswerTable.Entry entry = cursor.next();
+            UpstreamVars.Derived upstreamAnswer = fromUpstream.partialAnswer().asMapped().mapToUpstream(entry.answer());
+            if (responseProducer.hasProduced(upstreamAnswer.withInitialFiltered())) continue;
+            responseProducer.recordProduced(upstreamAnswer.withInitialFiltered());
+            ResolutionAnswer answer = new ResolutionAnswer(upstreamAnswer, concludable.toString(), entry.derivation(),
+                                                           self(), entry.isInferred());
+            answerUpstream(fromUpstream, answer, iteration);
+            return;
+        }
+
+        if (responseProducer.hasDownstreamProducer()) {
+            awaiting.add(fromUpstream);
+            explore(fromUpstream, responseProducer, iteration);
         } else {
-            if (responseProducer.hasDownstreamProducer()) {
-                requestFromDownstream(responseProducer.nextDownstreamProducer(), fromUpstream, iteration);
-            } else {
-                respondToUpstream(new Response.Fail(fromUpstream), iteration);
-            }
+            awaiting.remove(fromUpstream);
+            exhausted(fromUpstream, cursor.table());
+            respondToUpstream(new Response.Fail(fromUpstream), iteration);
+        }
+    }
+
+    private void answerUpstream(Request fromUpstream, ResolutionAnswer answer, int iteration) {
+        awaiting.remove(fromUpstream);
+        respondToUpstream(Answer.create(fromUpstream, answer), iteration);
+    }
+
+    /**
+     * Requests answers from as many of the rules that may answer a request as the fan-out allows, so that the first
+     * answer comes from whichever rule derives one first, rather than from whichever rule happens to be tried first.
+     * A rule that is already exploring for the request is not asked again until it responds, and the request is only
+     * exhausted once every rule is.
+     */
+    private void explore(Request fromUpstream, ResponseProducer responseProducer, int iteration) {
+        Set<Request> explored = exploring.computeIfAbsent(fromUpstream, r -> new HashSet<>());
+        int producers = responseProducer.downstreamProducerCount();
+        for (int i = 0; i < producers && explored.size() < ruleFanOut && awaiting.contains(fromUpstream)
+                && responseProducer.hasDownstreamProducer(); i++) {
+            Request toDownstream = responseProducer.nextDownstreamProducer();
+            if (explored.add(toDownstream)) requestFromDownstream(toDownstream, fromUpstream, iteration);
+        }
+    }
+
+    private void explored(Request fromUpstream, Request toDownstream) {
+        Set<Request> explored = exploring.get(fromUpstream);
+        if (explored != null) explored.remove(toDownstream);
+    }
+
+    private void exhausted(Request fromUpstream, AnswerTable table) {
+        AnswerTable.Progress progress = registry.tabling(fromUpstream.path().root());
+        if (table.isGeneratedBy(fromUpstream)) {
+            table.generatorExhausted(progress.incompleteReads());
+        } else if (!table.isComplete()) {
+            // this consumer may have missed answers its table's generator has yet to derive
+            progress.recordIncompleteRead();
         }
     }
 
@@ -242,57 +311,41 @@ public class ConcludableResolver extends Resolver<ConcludableResolver> {
         return responseProducers.get(fromUpstream);
     }
 
-    private void mayRegisterRules(Request fromUpstream, RecursionState recursionState, ResponseProducer responseProducer) {
-        // loop termination: when receiving a new request, we check if we have seen it before from this root query
-        // if we have, we do not allow rules to be registered as possible downstreams
-        if (!recursionState.hasReceived(fromUpstream.partialAnswer().conceptMap())) {
-            for (Map.Entry<Actor<RuleResolver>, Set<Unifier>> entry : applicableRules.entrySet()) {
-                Actor<RuleResolver> ruleActor = entry.getKey();
-                for (Unifier unifier : entry.getValue()) {
-                    UpstreamVars.Initial initial = UpstreamVars.Initial.of(fromUpstream.partialAnswer().conceptMap());
-                    Optional<AnswerState.DownstreamVars.Unified> unified = initial.toDownstreamVars(unifier);
-                    if (unified.isPresent()) {
-                        Request toDownstream = Request.create(fromUpstream.path().append(ruleActor, unified.get()), unified.get(),
-                                                              ResolutionAnswer.Derivation.EMPTY);
-                        responseProducer.addDownstreamProducer(toDownstream);
-                    }
-                }
-            }
-            recursionState.recordReceived(fromUpstream.partialAnswer().conceptMap());
-        }
+    private AnswerTable table(Request fromUpstream) {
+        Actor<? extends Resolver<?>> root = fromUpstream.path().root();
+        ConceptMap bounds = fromUpstream.partialAnswer().conceptMap();
+        AnswerTable table = tables.computeIfAbsent(root, r -> new HashMap<>())
+                .computeIfAbsent(bounds, b -> new AnswerTable());
+        cursors.put(fromUpstream, table.cursor());
+        return table;
     }
 
-    /**
-     * Maintain iteration state per root query
-     * This allows us to share actors across different queries
-     * while maintaining the ability to do loop termination within a single query
-     */
-    private static class RecursionState {
-        private Set<ConceptMap> receivedMaps;
-        private int iteration;
-
-        RecursionState(int iteration) {
-            this.iteration = iteration;
-            this.receivedMaps = new HashSet<>();
-        }
-
-        public int iteration() {
-            return iteration;
-        }
-
-        public void nextIteration(int newIteration) {
-            assert newIteration > iteration;
-            iteration = newIteration;
-            receivedMaps = new HashSet<>();
-        }
-
-        public void recordReceived(ConceptMap conceptMap) {
-            receivedMaps.add(conceptMap);
-        }
+    private ResourceIterator<UpstreamVars.Derived> traversal(Request fromUpstream, AnswerTable table) {
+        if (table.isComplete() || table.isTraversed()) return Iterators.empty();
+        traversing.add(fromUpstream);
+        return compatibleBoundAnswers(conceptMgr, concludable.pattern(), fromUpstream.partialAnswer().conceptMap())
+                .map(conceptMap -> {
+                    table.add(conceptMap, ResolutionAnswer.Derivation.EMPTY, false);
+                    return fromUpstream.partialAnswer().asMapped().mapToUpstream(conceptMap);
+                });
+    }
 
-        public boolean hasReceived(ConceptMap conceptMap) {
-            return receivedMaps.contains(conceptMap);
+    private void mayGenerate(Request fromUpstream, AnswerTable table, ResponseProducer responseProducer, int iteration) {
+        // loop termination: only the first request for a table in each iteration evaluates the rules, and every
+        // other request for the same bounds from this root query consumes the answers the rules add to the table
+        if (!table.mayGenerate(iteration)) return;
+        table.generate(fromUpstream, iteration, registry.tabling(fromUpstream.path().root()).incompleteReads());
+        for (Map.Entry<Actor<RuleResolver>, Set<Unifier>> entry : applicableRules.entrySet()) {
+            Actor<RuleResolver> ruleActor = entry.getKey();
+            for (Unifier unifier : entry.getValue()) {
+                UpstreamVars.Initial initial = UpstreamVars.Initial.of(fromUpstream.partialAnswer().conceptMap());
+                Optional<AnswerState.DownstreamVars.Unified> unified = initial.toDownstreamVars(unifier);
+                if (unified.isPresent()) {
+                    Request toDownstream = Request.create(fromUpstream.path().append(ruleActor, unified.get()), unified.get(),
+                                                          ResolutionAnswer.Derivation.EMPTY);
+                    responseProducer.addDownstreamProducer(toDownstream);
+                }
+            }
         }
     }
 }
-
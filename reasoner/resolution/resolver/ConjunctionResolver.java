@@ -49,6 +49,7 @@ import org.slf4j.LoggerFactory;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -60,9 +61,10 @@ import static grakn.core.common.iterator.Iterators.iterate;
 public abstract class ConjunctionResolver<T extends ConjunctionResolver<T>> extends Resolver<T> {
 
     private static final Logger LOG = LoggerFactory.getLogger(Conjunction.class);
+    private static final int RETRIEVAL_BATCH_SIZE = 50;
 
-    private final LogicManager logicMgr;
-    private final Planner planner;
+    final LogicManager logicMgr;
+    final Planner planner;
     final ConceptManager conceptMgr;
     final Actor<ResolutionRecorder> resolutionRecorder;
     final grakn.core.pattern.Conjunction conjunction;
@@ -71,6 +73,7 @@ public abstract class ConjunctionResolver<T extends ConjunctionResolver<T>> exte
     final Plans plans;
     final Map<Resolvable<?>, ResolverRegistry.MappedResolver> downstreamResolvers;
     final Map<Request, ResponseProducer> responseProducers;
+    private final Map<Request, Set<Request>> retainedRequests;
     private boolean isInitialised;
 
     public ConjunctionResolver(Actor<T> self, String name, grakn.core.pattern.Conjunction conjunction,
@@ -87,6 +90,7 @@ public abstract class ConjunctionResolver<T extends ConjunctionResolver<T>> exte
         this.negateds = new HashSet<>();
         this.plans = new Plans();
         this.responseProducers = new HashMap<>();
+        this.retainedRequests = new HashMap<>();
         this.isInitialised = false;
         this.downstreamResolvers = new HashMap<>();
     }
@@ -98,6 +102,12 @@ public abstract class ConjunctionResolver<T extends ConjunctionResolver<T>> exte
 
     protected abstract Optional<AnswerState.UpstreamVars.Derived> toUpstreamAnswer(Request fromUpstream, ConceptMap downstreamConceptMap);
 
+    @Override
+    protected void terminated(Actor<? extends Resolver<?>> root) {
+        recycle(responseProducers, root);
+        retainedRequests.keySet().removeIf(request -> request.path().root().equals(root));
+    }
+
     protected boolean mustOffset() { return false; }
 
     protected void offsetOccurred() {}
@@ -168,7 +178,9 @@ public abstract class ConjunctionResolver<T extends ConjunctionResolver<T>> exte
             ResolverRegistry.MappedResolver nextPlannedDownstream = downstreamResolvers.get(plan.get(nextResolverIndex));
             AnswerState.DownstreamVars.Mapped downstream = Initial.of(conceptMap).toDownstreamVars(Mapping.of(nextPlannedDownstream.mapping()));
             Request downstreamRequest = Request.create(fromUpstream.path().append(nextPlannedDownstream.resolver(), downstream),
-                                                       downstream, derivation, nextResolverIndex);
+                                                       downstream, derivation, nextResolverIndex,
+                                                       demand(plan.get(nextResolverIndex)));
+            if (plan.get(nextResolverIndex).isConcludable()) retain(fromUpstream, downstreamRequest);
             responseProducer.addDownstreamProducer(downstreamRequest);
             requestFromDownstream(downstreamRequest, fromUpstream, iteration);
         }
@@ -194,11 +206,7 @@ public abstract class ConjunctionResolver<T extends ConjunctionResolver<T>> exte
     @Override
     protected void initialiseDownstreamActors() {
         LOG.debug("{}: initialising downstream actors", name());
-        Set<Concludable> concludables = Iterators.iterate(Concludable.create(conjunction))
-                .filter(c -> c.getApplicableRules(conceptMgr, logicMgr).hasNext()).toSet();
-        Set<Retrievable> retrievables = Retrievable.extractFrom(conjunction, concludables);
-        resolvables.addAll(concludables);
-        resolvables.addAll(retrievables);
+        resolvables.addAll(resolvables());
         iterate(resolvables).forEachRemaining(resolvable -> downstreamResolvers.put(resolvable,
                                                                                     registry.registerResolvable(resolvable)));
         for (Negation negation : conjunction.negations()) {
@@ -208,6 +216,18 @@ public abstract class ConjunctionResolver<T extends ConjunctionResolver<T>> exte
         }
     }
 
+    Set<Resolvable<?>> resolvables() {
+        Set<Concludable> concludables = Iterators.iterate(Concludable.create(conjunction))
+                .filter(c -> logicMgr.concludable(c).getApplicableRules(conceptMgr, logicMgr).hasNext()).toSet();
+        Set<Resolvable<?>> resolvables = new HashSet<>(concludables);
+        resolvables.addAll(Retrievable.extractFrom(conjunction, concludables));
+        return resolvables;
+    }
+
+    List<Resolvable<?>> plan(Set<Reference.Name> boundVars) {
+        return planner.plan(resolvables, boundVars);
+    }
+
     private ResponseProducer mayUpdateAndGetResponseProducer(Request fromUpstream, int iteration) {
         if (!responseProducers.containsKey(fromUpstream)) {
             responseProducers.put(fromUpstream, responseProducerCreate(fromUpstream, iteration));
@@ -232,14 +252,15 @@ public abstract class ConjunctionResolver<T extends ConjunctionResolver<T>> exte
 //        ResourceIterator<AnswerState.UpstreamVars.Derived> upstreamAnswers = toUpstreamAnswers(
 //                fromUpstream, compatibleBoundAnswers(conceptMgr, conjunction, fromUpstream.partialAnswer().conceptMap()));
 //
-        Plans.Plan plan = plans.getOrCreate(fromUpstream.partialAnswer().conceptMap().concepts().keySet(), resolvables, negateds);
+        Plans.Plan plan = plans.getOrCreate(fromUpstream.partialAnswer().conceptMap().concepts().keySet(), negateds);
         assert !plan.isEmpty();
 
         ResponseProducer responseProducer = new ResponseProducer(Iterators.empty(), iteration);
         AnswerState.DownstreamVars.Mapped downstream = Initial.of(fromUpstream.partialAnswer().conceptMap())
                 .toDownstreamVars(Mapping.of(downstreamResolvers.get(plan.get(0)).mapping()));
         Request toDownstream = Request.create(fromUpstream.path().append(downstreamResolvers.get(plan.get(0)).resolver(), downstream),
-                                              downstream, new ResolutionAnswer.Derivation(map()), 0);
+                                              downstream, new ResolutionAnswer.Derivation(map()), 0, demand(plan.get(0)));
+        retain(fromUpstream, toDownstream);
         responseProducer.addDownstreamProducer(toDownstream);
         return responseProducer;
     }
@@ -250,29 +271,39 @@ public abstract class ConjunctionResolver<T extends ConjunctionResolver<T>> exte
         assert newIteration > responseProducerPrevious.iteration();
         LOG.debug("{}: Updating ResponseProducer for iteration '{}'", name(), newIteration);
 
-//        ResourceIterator<AnswerState.UpstreamVars.Derived> upstreamAnswers = toUpstreamAnswers(
-//                fromUpstream, compatibleBoundAnswers(conceptMgr, conjunction, fromUpstream.partialAnswer().conceptMap()));
-
-        Plans.Plan plan = plans.getOrCreate(fromUpstream.partialAnswer().conceptMap().concepts().keySet(), resolvables, negateds);
-
-        assert !plan.isEmpty();
+        /*
+        Semi-naive evaluation: rather than joining every downstream from scratch, re-send only the requests that can
+        answer differently in a new iteration. These are the request to the first resolvable of the plan, and every
+        request to a concludable, for each of which the concludable only produces the answers that are new since it
+        last answered. New answers then extend the join as usual, so each iteration joins the delta of every
+        concludable against the answers already found, and retrievals are never repeated.
+         */
         ResponseProducer responseProducerNewIter = responseProducerPrevious.newIteration(Iterators.empty(), newIteration);
-        AnswerState.DownstreamVars downstream = Initial.of(fromUpstream.partialAnswer().conceptMap())
-                .toDownstreamVars(Mapping.of(downstreamResolvers.get(plan.get(0)).mapping()));
-        Request toDownstream = Request.create(fromUpstream.path().append(downstreamResolvers.get(plan.get(0)).resolver(), fromUpstream.partialAnswer()),
-                                              downstream, new ResolutionAnswer.Derivation(map()), 0);
-        responseProducerNewIter.addDownstreamProducer(toDownstream);
+        assert retainedRequests.containsKey(fromUpstream);
+        retainedRequests.get(fromUpstream).forEach(responseProducerNewIter::addDownstreamProducer);
         return responseProducerNewIter;
     }
 
+    /**
+     * A retrieval answers from a single traversal, which it can stream upstream in batches, sparing a message for
+     * every answer. Other resolvables answer one at a time, as each answer may need resolving further.
+     */
+    private static int demand(Resolvable<?> resolvable) {
+        return resolvable.isRetrievable() ? RETRIEVAL_BATCH_SIZE : 1;
+    }
+
+    private void retain(Request fromUpstream, Request toDownstream) {
+        retainedRequests.computeIfAbsent(fromUpstream, request -> new LinkedHashSet<>()).add(toDownstream);
+    }
+
     private class Plans {
 
         Map<Set<Reference.Name>, Plan> plans;
         public Plans() { this.plans = new HashMap<>(); }
 
-        public Plan getOrCreate(Set<Reference.Name> boundVars, Set<Resolvable<?>> resolvable, Set<Negated> negations) {
+        public Plan getOrCreate(Set<Reference.Name> boundVars, Set<Negated> negations) {
             return plans.computeIfAbsent(boundVars, (bound) -> {
-                List<Resolvable<?>> plan = planner.plan(resolvable, bound);
+                List<Resolvable<?>> plan = new ArrayList<>(plan(bound));
                 plan.addAll(negations);
                 return new Plan(plan);
             });
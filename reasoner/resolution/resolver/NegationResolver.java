@@ -178,6 +178,11 @@ public class NegationResolver extends Resolver<NegationResolver> {
         throw GraknException.of(ILLEGAL_STATE);
     }
 
+    @Override
+    protected void terminated(Actor<? extends Resolver<?>> root) {
+        // the outcome of a negation is shared by every root, and its downstream requests belong to this resolver
+    }
+
     @Override
     protected void exception(Throwable e) {
         LOG.error("Actor exception", e);
@@ -34,7 +34,9 @@ import grakn.core.traversal.TraversalEngine;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static grakn.core.common.exception.ErrorMessage.Internal.ILLEGAL_STATE;
@@ -97,12 +99,10 @@ public class RetrievableResolver extends Resolver<RetrievableResolver> {
         assert newIteration > responseProducerPrevious.iteration();
         LOG.debug("{}: Updating ResponseProducer for iteration '{}'", name(), newIteration);
 
+        // a retrieval finds the same answers in every iteration, so there is never a delta to traverse again
         assert newIteration > responseProducerPrevious.iteration();
         assert fromUpstream.partialAnswer().isMapped();
-        ResourceIterator<UpstreamVars.Derived> upstreamAnswers =
-                compatibleBoundAnswers(conceptMgr, retrievable.pattern(), fromUpstream.partialAnswer().conceptMap())
-                .map(conceptMap -> fromUpstream.partialAnswer().asMapped().mapToUpstream(conceptMap));
-        return responseProducerPrevious.newIteration(upstreamAnswers, newIteration);
+        return responseProducerPrevious.newIteration(newIteration);
     }
 
     private ResponseProducer mayUpdateAndGetResponseProducer(Request fromUpstream, int iteration) {
@@ -122,17 +122,28 @@ public class RetrievableResolver extends Resolver<RetrievableResolver> {
     }
 
     private void tryAnswer(Request fromUpstream, ResponseProducer responseProducer, int iteration) {
-        if (responseProducer.hasUpstreamAnswer()) {
+        List<ResolutionAnswer> answers = new ArrayList<>();
+        while (answers.size() < fromUpstream.demand() && responseProducer.hasUpstreamAnswer()) {
             UpstreamVars.Derived upstreamAnswer = responseProducer.upstreamAnswers().next();
             responseProducer.recordProduced(upstreamAnswer.withInitialFiltered());
-            ResolutionAnswer answer = new ResolutionAnswer(upstreamAnswer, retrievable.pattern().toString(),
-                                                           ResolutionAnswer.Derivation.EMPTY, self(), false);
-            respondToUpstream(Answer.create(fromUpstream, answer), iteration);
-        } else {
+            answers.add(new ResolutionAnswer(upstreamAnswer, retrievable.pattern().toString(),
+                                             ResolutionAnswer.Derivation.EMPTY, self(), false));
+        }
+        if (answers.isEmpty()) {
             respondToUpstream(new Response.Fail(fromUpstream), iteration);
+        } else if (fromUpstream.demand() == 1) {
+            respondToUpstream(Answer.create(fromUpstream, answers.get(0)), iteration);
+        } else {
+            boolean isExhausted = !responseProducer.hasUpstreamAnswer();
+            respondToUpstream(Response.Batch.create(fromUpstream, answers, isExhausted), iteration);
         }
     }
 
+    @Override
+    protected void terminated(Actor<? extends Resolver<?>> root) {
+        recycle(responseProducers, root);
+    }
+
     @Override
     protected void exception(Throwable e) {
         LOG.error("Actor exception", e);
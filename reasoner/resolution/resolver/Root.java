@@ -324,11 +324,16 @@ public interface Root {
                         .toDownstreamVars();
                 Request request = Request.create(fromUpstream.path().append(conjunctionResolver, downstream),
                                                  downstream, ResolutionAnswer.Derivation.EMPTY, -1);
-                responseProducer.addDownstreamProducer(request);
+                responseProducerNewIter.addDownstreamProducer(request);
             }
             return responseProducerNewIter;
         }
 
+        @Override
+        protected void terminated(Actor<? extends Resolver<?>> root) {
+            if (responseProducer != null) responseProducer.recycle();
+        }
+
         @Override
         protected void exception(Throwable e) {
             LOG.error("Actor exception", e);
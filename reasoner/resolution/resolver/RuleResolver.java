@@ -26,6 +26,7 @@ import grakn.core.concept.answer.ConceptMap;
 import grakn.core.concurrent.actor.Actor;
 import grakn.core.logic.LogicManager;
 import grakn.core.logic.Rule;
+import grakn.core.logic.resolvable.Resolvable;
 import grakn.core.reasoner.resolution.Planner;
 import grakn.core.reasoner.resolution.ResolutionRecorder;
 import grakn.core.reasoner.resolution.ResolverRegistry;
@@ -38,11 +39,14 @@ import grakn.core.reasoner.resolution.framework.Response.Answer;
 import grakn.core.reasoner.resolution.framework.ResponseProducer;
 import grakn.core.traversal.TraversalEngine;
 import grakn.core.traversal.common.Identifier;
+import graql.lang.pattern.variable.Reference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static grakn.common.collection.Collections.map;
 import static grakn.core.common.exception.ErrorMessage.Internal.ILLEGAL_STATE;
@@ -60,6 +64,16 @@ public class RuleResolver extends ConjunctionResolver<RuleResolver> {
         this.rule = rule;
     }
 
+    @Override
+    Set<Resolvable<?>> resolvables() {
+        return logicMgr.condition(rule, r -> super.resolvables());
+    }
+
+    @Override
+    List<Resolvable<?>> plan(Set<Reference.Name> boundVars) {
+        return logicMgr.plan(rule, boundVars, planner.statisticsSnapshot(), super::plan);
+    }
+
     @Override
     protected void nextAnswer(Request fromUpstream, ResponseProducer responseProducer, int iteration) {
         if (responseProducer.hasUpstreamAnswer()) {
@@ -28,6 +28,7 @@ import grakn.core.graph.SchemaGraph;
 import grakn.core.graph.common.Encoding;
 import grakn.core.graph.common.KeyGenerator;
 import grakn.core.logic.LogicCache;
+import grakn.core.query.AnswerCache;
 import grakn.core.traversal.TraversalCache;
 import org.rocksdb.OptimisticTransactionDB;
 import org.rocksdb.RocksDBException;
@@ -298,6 +299,7 @@ public class RocksDatabase implements Grakn.Database {
 
         private final TraversalCache traversalCache;
         private final LogicCache logicCache;
+        private final AnswerCache answerCache;
         private final SchemaGraph schemaGraph;
         private final RocksStorage schemaStorage;
         private long borrowerCount;
@@ -308,6 +310,7 @@ public class RocksDatabase implements Grakn.Database {
             schemaGraph = new SchemaGraph(schemaStorage, true);
             traversalCache = new TraversalCache();
             logicCache = new LogicCache();
+            answerCache = new AnswerCache(database.options());
             borrowerCount = 0L;
             invalidated = false;
         }
@@ -320,6 +323,10 @@ public class RocksDatabase implements Grakn.Database {
             return logicCache;
         }
 
+        public AnswerCache answers() {
+            return answerCache;
+        }
+
         public SchemaGraph schemaGraph() {
             return schemaGraph;
         }
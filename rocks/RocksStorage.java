@@ -22,14 +22,17 @@ import grakn.core.common.exception.ErrorMessage;
 import grakn.core.common.exception.GraknException;
 import grakn.core.common.iterator.ResourceIterator;
 import grakn.core.concurrent.common.ConcurrentSet;
+import grakn.core.concurrent.common.Executors.BlockingFunction;
 import grakn.core.graph.common.KeyGenerator;
 import grakn.core.graph.common.Storage;
 import org.rocksdb.AbstractImmutableNativeReference;
 import org.rocksdb.OptimisticTransactionDB;
 import org.rocksdb.OptimisticTransactionOptions;
 import org.rocksdb.ReadOptions;
+import org.rocksdb.ReadTier;
 import org.rocksdb.RocksDBException;
 import org.rocksdb.Snapshot;
+import org.rocksdb.Status;
 import org.rocksdb.Transaction;
 import org.rocksdb.WriteOptions;
 import org.slf4j.Logger;
@@ -49,6 +52,8 @@ import static grakn.core.common.exception.ErrorMessage.Internal.ILLEGAL_STATE;
 import static grakn.core.common.exception.ErrorMessage.Transaction.TRANSACTION_CLOSED;
 import static grakn.core.common.exception.ErrorMessage.Transaction.TRANSACTION_DATA_READ_VIOLATION;
 import static grakn.core.common.exception.ErrorMessage.Transaction.TRANSACTION_SCHEMA_READ_VIOLATION;
+import static grakn.core.concurrent.common.Executors.blocking;
+import static grakn.core.concurrent.common.Executors.isElasticWorker;
 
 public abstract class RocksStorage implements Storage {
 
@@ -58,6 +63,8 @@ public abstract class RocksStorage implements Storage {
     protected final ConcurrentSet<RocksIterator<?>> iterators;
     protected final Transaction storageTransaction;
     protected final ReadOptions readOptions;
+    protected final ReadOptions memoryReadOptions;
+    protected final BlockingFunction<byte[], byte[], RocksDBException> storageGet;
     protected final boolean isReadOnly;
 
     private final ConcurrentLinkedQueue<org.rocksdb.RocksIterator> recycled;
@@ -75,6 +82,8 @@ public abstract class RocksStorage implements Storage {
         storageTransaction = rocksDB.beginTransaction(writeOptions, transactionOptions);
         snapshot = storageTransaction.getSnapshot();
         readOptions = new ReadOptions().setSnapshot(snapshot);
+        memoryReadOptions = new ReadOptions().setSnapshot(snapshot).setReadTier(ReadTier.BLOCK_CACHE_TIER);
+        storageGet = key -> storageTransaction.get(readOptions, key);
         isOpen = new AtomicBoolean(true);
     }
 
@@ -118,6 +127,21 @@ public abstract class RocksStorage implements Storage {
         throw exception(ILLEGAL_OPERATION);
     }
 
+    /**
+     * Reads a key, and only lets an elastic pool compensate for the calling worker when the read has to wait on I/O:
+     * the key is first read from the memtables and block cache alone, which RocksDB reports as incomplete if the key
+     * may only be found on disk. Threads that are never compensated read the key directly.
+     */
+    protected byte[] read(byte[] key) throws RocksDBException {
+        if (!isElasticWorker()) return storageTransaction.get(readOptions, key);
+        try {
+            return storageTransaction.get(memoryReadOptions, key);
+        } catch (RocksDBException e) {
+            if (e.getStatus() == null || e.getStatus().getCode() != Status.Code.Incomplete) throw e;
+            return blocking(storageGet, key);
+        }
+    }
+
     org.rocksdb.RocksIterator getInternalRocksIterator() {
         if (isReadOnly) {
             org.rocksdb.RocksIterator iterator = recycled.poll();
@@ -159,6 +183,7 @@ public abstract class RocksStorage implements Storage {
             storageTransaction.close();
             transactionOptions.close();
             readOptions.close();
+            memoryReadOptions.close();
             writeOptions.close();
         }
     }
@@ -173,7 +198,7 @@ public abstract class RocksStorage implements Storage {
         public byte[] get(byte[] key) {
             assert isOpen();
             try {
-                return storageTransaction.get(readOptions, key);
+                return read(key);
             } catch (RocksDBException e) {
                 throw exception(e);
             }
@@ -204,7 +229,7 @@ public abstract class RocksStorage implements Storage {
             if (!isOpen()) throw GraknException.of(TRANSACTION_CLOSED);
             try {
                 if (!isReadOnly) readWriteLock.readLock().lock();
-                return storageTransaction.get(readOptions, key);
+                return read(key);
             } catch (RocksDBException e) {
                 throw exception(e);
             } finally {
@@ -29,12 +29,14 @@ import grakn.core.graph.GraphManager;
 import grakn.core.graph.SchemaGraph;
 import grakn.core.logic.LogicCache;
 import grakn.core.logic.LogicManager;
+import grakn.core.query.AnswerCache;
 import grakn.core.query.QueryManager;
 import grakn.core.reasoner.Reasoner;
 import grakn.core.traversal.TraversalCache;
 import grakn.core.traversal.TraversalEngine;
 import org.rocksdb.RocksDBException;
 
+import javax.annotation.Nullable;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static grakn.common.util.Objects.className;
@@ -62,11 +64,16 @@ public abstract class RocksTransaction implements Grakn.Transaction {
     }
 
     void initialise(GraphManager graphMgr, TraversalCache traversalCache, LogicCache logicCache) {
-        traversalEng = new TraversalEngine(graphMgr, traversalCache);
+        initialise(graphMgr, traversalCache, logicCache, null);
+    }
+
+    void initialise(GraphManager graphMgr, TraversalCache traversalCache, LogicCache logicCache,
+                    @Nullable AnswerCache.Snapshot answerCache) {
+        traversalEng = new TraversalEngine(graphMgr, traversalCache, context.options());
         conceptMgr = new ConceptManager(graphMgr);
         logicMgr = new LogicManager(graphMgr, conceptMgr, traversalEng, logicCache);
         reasoner = new Reasoner(conceptMgr, logicMgr, traversalEng, context);
-        queryMgr = new QueryManager(conceptMgr, logicMgr, reasoner, context);
+        queryMgr = new QueryManager(conceptMgr, logicMgr, reasoner, context, answerCache);
         isOpen = new AtomicBoolean(true);
     }
 
@@ -251,11 +258,14 @@ public abstract class RocksTransaction implements Grakn.Transaction {
             super(session, type, options);
 
             cache = session.database().cacheBorrow();
+            long answersVersion = cache.answers().version();
             dataStorage = storageFactory.storageData(session.database(), this);
             DataGraph dataGraph = new DataGraph(dataStorage, cache.schemaGraph());
             graphMgr = new GraphManager(cache.schemaGraph(), dataGraph);
 
-            initialise(graphMgr, cache.traversal(), cache.logic());
+            // only read transactions see nothing but the snapshot their storage was opened at
+            initialise(graphMgr, cache.traversal(), cache.logic(),
+                       type.isRead() ? cache.answers().snapshot(answersVersion) : null);
         }
 
         @Override
@@ -294,7 +304,7 @@ public abstract class RocksTransaction implements Grakn.Transaction {
 
                     conceptMgr.validateThings();
                     graphMgr.data().commit();
-                    dataStorage.commit();
+                    commitStorage();
                     triggerStatisticBgCounter();
                 } catch (RocksDBException e) {
                     rollback();
@@ -333,5 +343,22 @@ public abstract class RocksTransaction implements Grakn.Transaction {
                 session.database().statisticsBackgroundCounter.needsBackgroundCounting();
             }
         }
+
+        /**
+         * Commits the storage, and moves the cached answers to the next data version, unless this transaction only
+         * writes the statistics counted in the background, which no answer is read from.
+         */
+        private void commitStorage() throws RocksDBException {
+            if (session == session.database().statisticsBackgroundCounterSession) {
+                dataStorage.commit();
+                return;
+            }
+            cache.answers().commitStarted();
+            try {
+                dataStorage.commit();
+            } finally {
+                cache.answers().commitFinished();
+            }
+        }
     }
 }
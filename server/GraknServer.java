@@ -23,7 +23,10 @@ import grabl.tracing.client.GrablTracingThreadStatic;
 import grakn.common.concurrent.NamedThreadFactory;
 import grakn.core.Grakn;
 import grakn.core.common.exception.GraknException;
+import grakn.core.common.parameters.Options;
 import grakn.core.concurrent.common.Executors;
+import grakn.core.concurrent.common.FairScheduler;
+import grakn.core.rocks.RocksFactory;
 import grakn.core.rocks.RocksGrakn;
 import grakn.core.server.migrator.MigratorClient;
 import grakn.core.server.rpc.GraknRPCService;
@@ -87,9 +90,21 @@ public class GraknServer implements AutoCloseable {
         configureTracing();
 
         if (command.debug()) LOG.info("Running Grakn Core Server in debug mode.");
-
-        grakn = RocksGrakn.open(command.dataDir());
-        graknRPCService = new GraknRPCService(grakn);
+        if (!Executors.isInitialised()) Executors.initialise(MAX_THREADS, command.executor());
+
+        Options.Database options = new Options.Database()
+                .queryTimeoutMillis(command.queryTimeoutMillis())
+                .queryRowLimit(command.queryRowLimit())
+                .answerBufferBytes(command.queryMemoryBytes())
+                .answerCacheSize(command.queryCacheSize())
+                .answerCacheTimeoutMinutes(command.queryCacheTimeoutMinutes())
+                .answerCacheMaxAnswers(command.queryCacheMaxAnswers());
+        grakn = RocksGrakn.open(command.dataDir(), options, new RocksFactory());
+        FairScheduler scheduler = new FairScheduler(
+                Executors.mainPool(), MAX_THREADS, command.schedulerQueueLimit(),
+                command.schedulerSessionQueueLimit(), command.schedulerDatabaseWeights()
+        );
+        graknRPCService = new GraknRPCService(grakn, scheduler);
         migratorRPCService = new MigratorRPCService(grakn);
 
         server = rpcServer();
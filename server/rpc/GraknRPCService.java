@@ -21,6 +21,7 @@ import grakn.core.Grakn;
 import grakn.core.common.exception.GraknException;
 import grakn.core.common.parameters.Arguments;
 import grakn.core.common.parameters.Options;
+import grakn.core.concurrent.common.FairScheduler;
 import grakn.protocol.DatabaseProto;
 import grakn.protocol.GraknGrpc;
 import grakn.protocol.SessionProto;
@@ -49,10 +50,12 @@ public class GraknRPCService extends GraknGrpc.GraknImplBase {
     private static final Logger LOG = LoggerFactory.getLogger(GraknRPCService.class);
 
     private final Grakn grakn;
+    private final FairScheduler scheduler;
     private final ConcurrentMap<UUID, SessionRPC> rpcSessions;
 
-    public GraknRPCService(Grakn grakn) {
+    public GraknRPCService(Grakn grakn, FairScheduler scheduler) {
         this.grakn = grakn;
+        this.scheduler = scheduler;
         rpcSessions = new ConcurrentHashMap<>();
     }
 
@@ -176,6 +179,10 @@ public class GraknRPCService extends GraknGrpc.GraknImplBase {
         rpcSessions.clear();
     }
 
+    FairScheduler scheduler() {
+        return scheduler;
+    }
+
     SessionRPC getSession(UUID id) {
         return rpcSessions.get(id);
     }
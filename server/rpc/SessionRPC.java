@@ -20,6 +20,7 @@ package grakn.core.server.rpc;
 import com.google.protobuf.ByteString;
 import grakn.core.Grakn;
 import grakn.core.common.parameters.Options;
+import grakn.core.concurrent.common.FairScheduler;
 import grakn.protocol.TransactionProto;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -42,6 +43,7 @@ class SessionRPC {
     private final ConcurrentHashMap<Integer, TransactionRPC> transactionRPCs;
     private final AtomicBoolean isOpen;
     private final long idleTimeoutMillis;
+    private final int schedulingWeight;
     private ScheduledFuture<?> idleTimeoutTask;
 
     SessionRPC(GraknRPCService graknRPCService, Grakn.Session session, Options.Session options) {
@@ -50,6 +52,7 @@ class SessionRPC {
         transactionRPCs = new ConcurrentHashMap<>();
         isOpen = new AtomicBoolean(true);
         idleTimeoutMillis = options.sessionIdleTimeoutMillis();
+        schedulingWeight = options.schedulingWeight();
         setIdleTimeout();
     }
 
@@ -59,6 +62,10 @@ class SessionRPC {
         return transactionRPC;
     }
 
+    FairScheduler.Strand strand() {
+        return graknRPCService.scheduler().strand(session.database().name(), session.uuid(), schedulingWeight);
+    }
+
     Grakn.Session session() {
         return session;
     }
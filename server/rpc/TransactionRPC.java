@@ -20,9 +20,11 @@ package grakn.core.server.rpc;
 import grabl.tracing.client.GrablTracingThreadStatic;
 import grakn.core.Grakn;
 import grakn.core.common.exception.GraknException;
+import grakn.core.common.iterator.ResourceIterator;
 import grakn.core.common.parameters.Arguments;
 import grakn.core.common.parameters.Context;
 import grakn.core.common.parameters.Options;
+import grakn.core.concurrent.common.FairScheduler;
 import grakn.core.server.rpc.concept.ConceptManagerHandler;
 import grakn.core.server.rpc.concept.ThingHandler;
 import grakn.core.server.rpc.concept.TypeHandler;
@@ -56,6 +58,7 @@ public class TransactionRPC {
     private final Grakn.Transaction transaction;
     private final SessionRPC sessionRPC;
     private final TransactionStream stream;
+    private final FairScheduler.Strand strand;
     private final Iterators iterators;
     private final RequestHandlers handlers;
     private final AtomicBoolean isOpen;
@@ -68,7 +71,13 @@ public class TransactionRPC {
         if (transactionType == null) throw GraknException.of(BAD_TRANSACTION_TYPE, request.getType());
         Options.Transaction options = setDefaultOptions(new Options.Transaction(), request.getOptions());
 
-        transaction = sessionRPC.session().transaction(transactionType, options);
+        strand = sessionRPC.strand();
+        try {
+            transaction = sessionRPC.session().transaction(transactionType, options);
+        } catch (RuntimeException e) {
+            strand.close();
+            throw e;
+        }
         isOpen = new AtomicBoolean(true);
         iterators = new Iterators();
         handlers = new RequestHandlers();
@@ -82,6 +91,25 @@ public class TransactionRPC {
         return sessionRPC;
     }
 
+    /**
+     * Queues a request to be handled after the requests received before it, when the scheduler grants this
+     * transaction's session its share of the server.
+     */
+    void execute(TransactionProto.Transaction.Req request) {
+        try {
+            strand.execute(() -> handleRequest(request));
+        } catch (Exception ex) {
+            closeWithError(ex);
+        }
+    }
+
+    /**
+     * Closes this transaction once the requests received before it have been handled.
+     */
+    void closeAfterPending() {
+        strand.executeLast(this::close);
+    }
+
     void handleRequest(TransactionProto.Transaction.Req request) {
         try {
             switch (request.getReqCase()) {
@@ -158,6 +186,8 @@ public class TransactionRPC {
 
     void close() {
         if (isOpen.compareAndSet(true, false)) {
+            strand.close();
+            iterators.recycle();
             stream.close();
             transaction.close();
             sessionRPC.remove(this);
@@ -166,6 +196,8 @@ public class TransactionRPC {
 
     void closeWithError(Throwable error) {
         if (isOpen.compareAndSet(true, false)) {
+            strand.close();
+            iterators.recycle();
             stream.closeWithError(error);
             transaction.close();
             sessionRPC.remove(this);
@@ -232,6 +264,14 @@ public class TransactionRPC {
             iterator.iterateBatch();
         }
 
+        /**
+         * Stops every iterator that has not been iterated to completion, along with the work producing its answers.
+         */
+        void recycle() {
+            iterators.values().forEach(BatchingIterator::recycle);
+            iterators.clear();
+        }
+
         private class BatchingIterator<T> {
             private static final int MAX_LATENCY_MILLIS = 3000;
 
@@ -296,6 +336,10 @@ public class TransactionRPC {
                     respond(done(id));
                 }
             }
+
+            void recycle() {
+                if (iterator instanceof ResourceIterator<?>) ((ResourceIterator<?>) iterator).recycle();
+            }
         }
     }
 
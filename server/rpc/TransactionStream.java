@@ -89,10 +89,10 @@ public class TransactionStream implements StreamObserver<Transaction.Req> {
     public void onCompleted() {
         try {
             TransactionRPC t;
-            if ((t = transactionRPC.get()) != null) t.close();
+            if ((t = transactionRPC.get()) != null) t.closeAfterPending();
+            else close();
         } catch (Exception e) {
             LOG.error(e.getMessage(), e);
-        } finally {
             close();
         }
     }
@@ -115,7 +115,7 @@ public class TransactionStream implements StreamObserver<Transaction.Req> {
         } else {
             TransactionRPC t;
             if ((t = transactionRPC.get()) == null) throw GraknException.of(TRANSACTION_NOT_OPENED);
-            t.handleRequest(request);
+            t.execute(request);
         }
     }
 
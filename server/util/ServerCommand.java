@@ -19,6 +19,8 @@
 package grakn.core.server.util;
 
 import grakn.core.common.exception.GraknException;
+import grakn.core.common.parameters.Options;
+import grakn.core.concurrent.common.Executors;
 import grakn.core.server.Version;
 import picocli.CommandLine.Command;
 import picocli.CommandLine.Option;
@@ -79,6 +81,66 @@ public interface ServerCommand {
                 description = "Port number of database server in which GRPC clients will connect to")
         private int port;
 
+        @Option(descriptionKey = "server.executor",
+                names = {"--executor"},
+                defaultValue = "fixed",
+                description = "Backend of the thread pools that execute queries: 'fixed' or 'elastic'")
+        private String executor;
+
+        @Option(descriptionKey = "query.timeout",
+                names = {"--query-timeout"},
+                defaultValue = "0",
+                description = "Milliseconds a query may run before it is aborted, or 0 for no limit")
+        private long queryTimeout;
+
+        @Option(descriptionKey = "query.row-limit",
+                names = {"--query-row-limit"},
+                defaultValue = "0",
+                description = "Rows a query may return before it is aborted, or 0 for no limit")
+        private long queryRowLimit;
+
+        @Option(descriptionKey = "query.memory",
+                names = {"--query-memory"},
+                defaultValue = Options.DEFAULT_ANSWER_BUFFER_BYTES + "",
+                description = "Bytes the buffered answers of a query may occupy before its producers stall")
+        private long queryMemory;
+
+        @Option(descriptionKey = "query.cache-size",
+                names = {"--query-cache-size"},
+                defaultValue = Options.DEFAULT_ANSWER_CACHE_SIZE + "",
+                description = "Queries whose answers each database caches for read transactions")
+        private int queryCacheSize;
+
+        @Option(descriptionKey = "query.cache-timeout",
+                names = {"--query-cache-timeout"},
+                defaultValue = Options.DEFAULT_ANSWER_CACHE_TIMEOUT_MINUTES + "",
+                description = "Minutes the cached answers of a query are kept after they were last read")
+        private int queryCacheTimeout;
+
+        @Option(descriptionKey = "query.cache-max-answers",
+                names = {"--query-cache-max-answers"},
+                defaultValue = Options.DEFAULT_ANSWER_CACHE_MAX_ANSWERS + "",
+                description = "Answers a query may have for them to be cached")
+        private int queryCacheMaxAnswers;
+
+        @Option(descriptionKey = "scheduler.queue-limit",
+                names = {"--scheduler-queue-limit"},
+                defaultValue = "4096",
+                description = "Requests that may wait to be processed across the server before new ones are rejected")
+        private int schedulerQueueLimit;
+
+        @Option(descriptionKey = "scheduler.session-queue-limit",
+                names = {"--scheduler-session-queue-limit"},
+                defaultValue = "256",
+                description = "Requests that may wait to be processed for a session before new ones are rejected")
+        private int schedulerSessionQueueLimit;
+
+        @Option(descriptionKey = "scheduler.database-weights",
+                names = {"--scheduler-database-weight"},
+                split = ",",
+                description = "Share of the server given to a database relative to others, as database=weight")
+        private Map<String, Integer> schedulerDatabaseWeights = new LinkedHashMap<>();
+
         @Option(descriptionKey = "grabl.trace",
                 names = {"--grabl-trace"},
                 negatable = true,
@@ -121,6 +183,46 @@ public interface ServerCommand {
             return debug;
         }
 
+        public Executors.Backend executor() {
+            return Executors.Backend.of(executor);
+        }
+
+        public long queryTimeoutMillis() {
+            return queryTimeout > 0 ? queryTimeout : Long.MAX_VALUE;
+        }
+
+        public long queryRowLimit() {
+            return queryRowLimit > 0 ? queryRowLimit : Long.MAX_VALUE;
+        }
+
+        public long queryMemoryBytes() {
+            return queryMemory > 0 ? queryMemory : Options.DEFAULT_ANSWER_BUFFER_BYTES;
+        }
+
+        public int queryCacheSize() {
+            return queryCacheSize;
+        }
+
+        public int queryCacheTimeoutMinutes() {
+            return queryCacheTimeout;
+        }
+
+        public int queryCacheMaxAnswers() {
+            return queryCacheMaxAnswers;
+        }
+
+        public int schedulerQueueLimit() {
+            return schedulerQueueLimit;
+        }
+
+        public int schedulerSessionQueueLimit() {
+            return schedulerSessionQueueLimit;
+        }
+
+        public Map<String, Integer> schedulerDatabaseWeights() {
+            return schedulerDatabaseWeights;
+        }
+
         public boolean grablTrace() {
             return grablTrace;
         }
@@ -19,18 +19,26 @@
 package grakn.core.test.integration;
 
 import grakn.core.Grakn;
+import grakn.core.common.exception.ErrorMessage;
+import grakn.core.common.iterator.ResourceIterator;
 import grakn.core.common.parameters.Arguments;
+import grakn.core.common.parameters.Context;
+import grakn.core.common.parameters.Options;
+import grakn.core.concept.answer.ConceptMap;
 import grakn.core.concept.thing.Attribute;
 import grakn.core.concept.thing.Entity;
 import grakn.core.concept.type.AttributeType;
 import grakn.core.concept.type.EntityType;
 import grakn.core.concept.type.RelationType;
 import grakn.core.concept.type.RoleType;
+import grakn.core.query.PreparedMatch;
 import grakn.core.rocks.RocksGrakn;
 import grakn.core.test.integration.util.Util;
 import graql.lang.Graql;
+import graql.lang.pattern.variable.Reference;
 import graql.lang.query.GraqlDefine;
 import graql.lang.query.GraqlInsert;
+import graql.lang.query.GraqlMatch;
 import graql.lang.query.GraqlUndefine;
 import org.junit.Test;
 
@@ -38,8 +46,15 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import static grakn.core.common.test.Util.assertThrowsGraknException;
 import static grakn.core.test.integration.util.Util.assertNotNulls;
+import static java.util.Collections.singleton;
+import static java.util.Collections.singletonMap;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
@@ -250,4 +265,296 @@ public class QueryTest {
             }
         }
     }
+
+    @Test
+    public void test_query_match_batched_traversal_returns_the_same_answers() throws IOException {
+        Util.resetDirectory(directory);
+
+        try (Grakn grakn = RocksGrakn.open(directory)) {
+            grakn.databases().create(database);
+
+            try (Grakn.Session session = grakn.session(database, Arguments.Session.Type.SCHEMA)) {
+                try (Grakn.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    GraqlDefine query = Graql.parseQuery(new String(Files.readAllBytes(Paths.get("test/integration/schema.gql")), UTF_8));
+                    transaction.query().define(query);
+                    transaction.commit();
+                }
+            }
+
+            try (Grakn.Session session = grakn.session(database, Arguments.Session.Type.DATA)) {
+                try (Grakn.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    for (int i = 0; i < 3000; i++) {
+                        String emails = i % 3 == 0 ? ", has email 'a" + i + "@grakn.ai', has email 'b" + i + "@grakn.ai'" : "";
+                        transaction.query().insert(Graql.parseQuery("insert $u isa user, has name 'user-" + i + "'" + emails + ";").asInsert());
+                    }
+                    transaction.commit();
+                }
+
+                try (Grakn.Transaction transaction = session.transaction(Arguments.Transaction.Type.READ)) {
+                    String[] queries = new String[]{
+                            "match $u isa user, has name $n;",
+                            "match $u isa user, has email $e; get $u;",
+                            "match $u isa user, has name 'user-7', has email $e;",
+                            "match $u isa user, has name $n; $n contains '99';"
+                    };
+                    for (String queryString : queries) {
+                        GraqlMatch query = Graql.parseQuery(queryString).asMatch();
+                        Set<ConceptMap> answers = transaction.query().match(query, new Context.Query(
+                                transaction.context(), new Options.Query().batchedTraversal(false))).toSet();
+                        Set<ConceptMap> batched = transaction.query().match(query, new Context.Query(
+                                transaction.context(), new Options.Query().batchedTraversal(true))).toSet();
+                        assertFalse(answers.isEmpty());
+                        assertEquals(answers, batched);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void test_query_match_prepared_returns_the_bound_answers() throws IOException {
+        Util.resetDirectory(directory);
+
+        try (Grakn grakn = RocksGrakn.open(directory)) {
+            grakn.databases().create(database);
+
+            try (Grakn.Session session = grakn.session(database, Arguments.Session.Type.SCHEMA)) {
+                try (Grakn.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    GraqlDefine query = Graql.parseQuery(new String(Files.readAllBytes(Paths.get("test/integration/schema.gql")), UTF_8));
+                    transaction.query().define(query);
+                    transaction.commit();
+                }
+            }
+
+            try (Grakn.Session session = grakn.session(database, Arguments.Session.Type.DATA)) {
+                try (Grakn.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    for (int i = 0; i < 10; i++) {
+                        transaction.query().insert(Graql.parseQuery("insert $u isa user, has name 'user-" + i + "';").asInsert());
+                    }
+                    transaction.commit();
+                }
+
+                Reference.Name user = Reference.name("u");
+                try (Grakn.Transaction transaction = session.transaction(Arguments.Transaction.Type.READ)) {
+                    PreparedMatch prepared = transaction.query().prepare(Graql.parseQuery("match $u isa user, has name $n;").asMatch());
+                    Set<ConceptMap> answers = transaction.query().match(prepared.query()).toSet();
+                    assertEquals(10, answers.size());
+                    for (ConceptMap answer : answers) {
+                        Set<ConceptMap> expected = answers.stream().filter(a -> a.get(user).equals(answer.get(user)))
+                                .collect(Collectors.toSet());
+                        ConceptMap parameters = new ConceptMap(singletonMap(user, answer.get(user)));
+                        assertEquals(expected, transaction.query().match(prepared, parameters).toSet());
+                    }
+
+                    // users cannot own a priority, so the query is unsatisfiable whichever user it is bound to
+                    PreparedMatch unsatisfiable = transaction.query().prepare(Graql.parseQuery("match $u isa user, has priority $p;").asMatch());
+                    ConceptMap parameters = new ConceptMap(singletonMap(user, answers.iterator().next().get(user)));
+                    assertFalse(transaction.query().match(unsatisfiable, parameters).hasNext());
+                    assertFalse(transaction.query().match(unsatisfiable, parameters).hasNext());
+                }
+
+                // the traversal planned by the first transaction is bound to other users by the next one
+                try (Grakn.Transaction transaction = session.transaction(Arguments.Transaction.Type.READ)) {
+                    PreparedMatch prepared = transaction.query().prepare(Graql.parseQuery("match $u isa user, has name $n;").asMatch());
+                    Set<ConceptMap> answers = transaction.query().match(prepared.query()).toSet();
+                    for (ConceptMap answer : answers) {
+                        ConceptMap parameters = new ConceptMap(singletonMap(user, answer.get(user)));
+                        Set<ConceptMap> sequential = transaction.query().match(prepared, parameters, new Context.Query(
+                                transaction.context(), new Options.Query().parallel(false))).toSet();
+                        Set<ConceptMap> parallel = transaction.query().match(prepared, parameters, new Context.Query(
+                                transaction.context(), new Options.Query().parallel(true))).toSet();
+                        assertEquals(singleton(answer), sequential);
+                        assertEquals(sequential, parallel);
+                    }
+                }
+
+                try (Grakn.Transaction transaction = session.transaction(Arguments.Transaction.Type.READ)) {
+                    PreparedMatch prepared = transaction.query().prepare(Graql.parseQuery("match $u isa user, has name $n;").asMatch());
+                    ConceptMap user0 = transaction.query().match(Graql.parseQuery("match $x isa user, has name 'user-0';").asMatch()).next();
+                    ConceptMap parameters = new ConceptMap(singletonMap(Reference.name("x"), user0.get("x")));
+                    assertThrowsGraknException(() -> transaction.query().match(prepared, parameters).toList(),
+                                               ErrorMessage.Pattern.UNRECOGNISED_QUERY_PARAMETER.code());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void test_query_match_cached_answers_follow_data_commits_and_skip_inference() throws IOException {
+        Util.resetDirectory(directory);
+
+        try (Grakn grakn = RocksGrakn.open(directory)) {
+            grakn.databases().create(database);
+
+            try (Grakn.Session session = grakn.session(database, Arguments.Session.Type.SCHEMA)) {
+                try (Grakn.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    GraqlDefine query = Graql.parseQuery(new String(Files.readAllBytes(Paths.get("test/integration/schema.gql")), UTF_8));
+                    transaction.query().define(query);
+                    transaction.query().define(Graql.parseQuery(
+                            "define rule every-user-is-a-team-member: when { $t isa team; $u isa user; } " +
+                                    "then { (team: $t, member: $u) isa team-member; };").asDefine());
+                    transaction.commit();
+                }
+            }
+
+            try (Grakn.Session session = grakn.session(database, Arguments.Session.Type.DATA)) {
+                try (Grakn.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    transaction.query().insert(Graql.parseQuery("insert $t isa team, has symbol 'core';").asInsert());
+                    for (int i = 0; i < 5; i++) {
+                        transaction.query().insert(Graql.parseQuery("insert $u isa user, has name 'user-" + i + "';").asInsert());
+                    }
+                    transaction.commit();
+                }
+
+                Options.Transaction cached = new Options.Transaction().answerCache(true);
+                GraqlMatch users = Graql.parseQuery("match $u isa user, has name $n;").asMatch();
+                Set<ConceptMap> answers;
+                try (Grakn.Transaction transaction = session.transaction(Arguments.Transaction.Type.READ, cached)) {
+                    answers = transaction.query().match(users).toSet();
+                    assertEquals(5, answers.size());
+                    assertEquals(answers, transaction.query().match(users).toSet());
+                }
+                try (Grakn.Transaction transaction = session.transaction(Arguments.Transaction.Type.READ, cached)) {
+                    assertEquals(answers, transaction.query().match(users).toSet());
+                }
+
+                try (Grakn.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    transaction.query().insert(Graql.parseQuery("insert $u isa user, has name 'user-5';").asInsert());
+                    transaction.commit();
+                }
+                try (Grakn.Transaction transaction = session.transaction(Arguments.Transaction.Type.READ, cached)) {
+                    assertEquals(6, transaction.query().match(users).toSet().size());
+                }
+
+                // inferred relations exist only in the transaction that inferred them
+                Options.Transaction inferred = new Options.Transaction().answerCache(true).infer(true);
+                GraqlMatch members = Graql.parseQuery("match $r (team: $t, member: $u) isa team-member;").asMatch();
+                for (int i = 0; i < 2; i++) {
+                    try (Grakn.Transaction transaction = session.transaction(Arguments.Transaction.Type.READ, inferred)) {
+                        List<ConceptMap> memberships = transaction.query().match(members).toList();
+                        assertEquals(6, memberships.size());
+                        for (ConceptMap membership : memberships) {
+                            assertTrue(membership.get("r").asThing().isInferred());
+                            assertEquals(1, membership.get("r").asRelation().getPlayers("member").count());
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static long spillFiles() throws IOException {
+        try (Stream<Path> files = Files.list(Paths.get(System.getProperty("java.io.tmpdir")))) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.startsWith("product-") && name.endsWith(".run")).count();
+        }
+    }
+
+    @Test
+    public void test_query_match_spilled_cartesian_product_returns_the_same_answers() throws IOException {
+        Util.resetDirectory(directory);
+
+        try (Grakn grakn = RocksGrakn.open(directory)) {
+            grakn.databases().create(database);
+
+            try (Grakn.Session session = grakn.session(database, Arguments.Session.Type.SCHEMA)) {
+                try (Grakn.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    GraqlDefine query = Graql.parseQuery(new String(Files.readAllBytes(Paths.get("test/integration/schema.gql")), UTF_8));
+                    transaction.query().define(query);
+                    transaction.commit();
+                }
+            }
+
+            try (Grakn.Session session = grakn.session(database, Arguments.Session.Type.DATA)) {
+                try (Grakn.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    for (int i = 0; i < 200; i++) {
+                        transaction.query().insert(Graql.parseQuery("insert $u isa user, has name 'user-" + i + "';").asInsert());
+                    }
+                    for (int i = 0; i < 20; i++) {
+                        transaction.query().insert(Graql.parseQuery("insert $t isa team, has symbol 'team-" + i + "';").asInsert());
+                    }
+                    transaction.commit();
+                }
+
+                long spillFiles = spillFiles();
+                GraqlMatch product = Graql.parseQuery("match $u isa user, has name $n; $t isa team, has symbol $s;").asMatch();
+                try (Grakn.Transaction transaction = session.transaction(Arguments.Transaction.Type.READ)) {
+                    Set<ConceptMap> answers = transaction.query().match(product).toSet();
+                    assertEquals(200 * 20, answers.size());
+
+                    // a budget of a single byte spills every recorded answer to disk
+                    Options.Query parallel = new Options.Query().cartesianMemoryBytes(1).parallel(true);
+                    assertEquals(answers, transaction.query().match(product, new Context.Query(
+                            transaction.context(), parallel)).toSet());
+                    assertEquals(spillFiles, spillFiles());
+
+                    Options.Query sequential = new Options.Query().cartesianMemoryBytes(1).parallel(false);
+                    assertEquals(answers, transaction.query().match(product, new Context.Query(
+                            transaction.context(), sequential)).toSet());
+                    assertEquals(spillFiles, spillFiles());
+
+                    ResourceIterator<ConceptMap> stopped = transaction.query().match(product, new Context.Query(
+                            transaction.context(), sequential));
+                    for (int i = 0; i < 100; i++) assertTrue(answers.contains(stopped.next()));
+                    stopped.recycle();
+                    assertEquals(spillFiles, spillFiles());
+
+                    GraqlMatch limited = Graql.parseQuery(
+                            "match $u isa user, has name $n; $t isa team, has symbol $s; limit 10;").asMatch();
+                    assertEquals(10, transaction.query().match(limited, new Context.Query(
+                            transaction.context(), sequential)).toList().size());
+                    assertEquals(spillFiles, spillFiles());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void test_query_match_row_limit_counts_returned_answers() throws IOException {
+        Util.resetDirectory(directory);
+
+        try (Grakn grakn = RocksGrakn.open(directory)) {
+            grakn.databases().create(database);
+
+            try (Grakn.Session session = grakn.session(database, Arguments.Session.Type.SCHEMA)) {
+                try (Grakn.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    GraqlDefine query = Graql.parseQuery(new String(Files.readAllBytes(Paths.get("test/integration/schema.gql")), UTF_8));
+                    transaction.query().define(query);
+                    transaction.commit();
+                }
+            }
+
+            try (Grakn.Session session = grakn.session(database, Arguments.Session.Type.DATA)) {
+                try (Grakn.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    for (int i = 0; i < 100; i++) {
+                        String emails = ", has email 'a" + i + "@grakn.ai', has email 'b" + i + "@grakn.ai'";
+                        String fullName = i % 2 == 0 ? ", has full-name 'full-" + i + "'" : "";
+                        transaction.query().insert(Graql.parseQuery("insert $u isa user, has name 'user-" + i + "'" + emails + fullName + ";").asInsert());
+                    }
+                    transaction.commit();
+                }
+
+                // the traversals produce two rows per user, one per email, and the negation removes half of the users
+                GraqlMatch query = Graql.parseQuery("match $u isa user, has email $e; not { $u has full-name $f; }; get $u;").asMatch();
+                try (Grakn.Transaction transaction = session.transaction(Arguments.Transaction.Type.READ)) {
+                    Options.Query limited = new Options.Query().queryRowLimit(50);
+                    assertEquals(50, transaction.query().match(query, new Context.Query(transaction.context(), limited)).toList().size());
+                }
+                try (Grakn.Transaction transaction = session.transaction(Arguments.Transaction.Type.READ)) {
+                    Options.Query limited = new Options.Query().queryRowLimit(49);
+                    assertThrowsGraknException(() -> transaction.query().match(query, new Context.Query(transaction.context(), limited)).toList(),
+                                               ErrorMessage.Resource.QUERY_ROW_LIMIT_EXCEEDED.code());
+                }
+                try (Grakn.Transaction transaction = session.transaction(Arguments.Transaction.Type.READ)) {
+                    Options.Query timeout = new Options.Query().queryTimeoutMillis(1);
+                    assertThrowsGraknException(() -> {
+                        ResourceIterator<ConceptMap> answers = transaction.query().match(
+                                Graql.parseQuery("match $u isa user; $v isa user; $w isa user;").asMatch(),
+                                new Context.Query(transaction.context(), timeout));
+                        while (answers.hasNext()) answers.next();
+                    }, ErrorMessage.Resource.QUERY_TIMEOUT.code());
+                }
+            }
+        }
+    }
 }
@@ -32,7 +32,9 @@ import grakn.core.concept.type.EntityType;
 import grakn.core.concept.type.RelationType;
 import grakn.core.graph.GraphManager;
 import grakn.core.graph.structure.RuleStructure;
+import grakn.core.logic.resolvable.Concludable;
 import grakn.core.pattern.Conjunction;
+import grakn.core.pattern.Disjunction;
 import grakn.core.pattern.variable.Variable;
 import grakn.core.rocks.RocksGrakn;
 import grakn.core.rocks.RocksSession;
@@ -61,6 +63,8 @@ import static grakn.core.common.test.Util.assertThrows;
 import static grakn.core.common.test.Util.assertThrowsGraknException;
 import static grakn.core.common.test.Util.assertThrowsWithMessage;
 import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertNotSame;
+import static junit.framework.TestCase.assertSame;
 import static junit.framework.TestCase.assertTrue;
 import static org.junit.Assert.assertFalse;
 
@@ -691,4 +695,62 @@ public class RuleTest {
             }
         }
     }
+
+    @Test
+    public void rules_and_concludables_are_shared_across_transactions_until_the_schema_is_committed() throws IOException {
+        Util.resetDirectory(directory);
+
+        try (RocksGrakn grakn = RocksGrakn.open(directory)) {
+            grakn.databases().create(database);
+            try (RocksSession session = grakn.session(database, Arguments.Session.Type.SCHEMA)) {
+                try (RocksTransaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    ConceptManager conceptMgr = txn.concepts();
+                    EntityType person = conceptMgr.putEntityType("person");
+                    AttributeType name = conceptMgr.putAttributeType("name", AttributeType.ValueType.STRING);
+                    person.setOwns(name);
+                    txn.logic().putRule(
+                            "people-are-named-fido",
+                            Graql.parsePattern("{ $x isa person; }").asConjunction(),
+                            Graql.parseVariable("$x has name 'fido'").asThing());
+                    txn.commit();
+                }
+            }
+
+            Rule rule;
+            Concludable concludable;
+            try (RocksSession session = grakn.session(database, Arguments.Session.Type.DATA)) {
+                try (RocksTransaction txn = session.transaction(Arguments.Transaction.Type.READ)) {
+                    rule = txn.logic().getRule("people-are-named-fido");
+                    concludable = txn.logic().concludable(hasConcludable(txn.logic(), "{ $x has name $n; }"));
+                }
+                try (RocksTransaction txn = session.transaction(Arguments.Transaction.Type.READ)) {
+                    assertSame(rule, txn.logic().getRule("people-are-named-fido"));
+                    assertSame(concludable, txn.logic().concludable(hasConcludable(txn.logic(), "{ $y has name $m; }")));
+                }
+            }
+
+            try (RocksSession session = grakn.session(database, Arguments.Session.Type.SCHEMA)) {
+                try (RocksTransaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    txn.concepts().putEntityType("dog");
+                    txn.commit();
+                }
+            }
+
+            try (RocksSession session = grakn.session(database, Arguments.Session.Type.DATA)) {
+                try (RocksTransaction txn = session.transaction(Arguments.Transaction.Type.READ)) {
+                    Rule reloaded = txn.logic().getRule("people-are-named-fido");
+                    assertNotSame(rule, reloaded);
+                    assertEquals(rule.getLabel(), reloaded.getLabel());
+                    Concludable fresh = hasConcludable(txn.logic(), "{ $x has name $n; }");
+                    assertSame(fresh, txn.logic().concludable(fresh));
+                }
+            }
+        }
+    }
+
+    private Concludable hasConcludable(LogicManager logicMgr, String pattern) {
+        Conjunction conjunction = Disjunction.create(Graql.parsePattern(pattern).asConjunction().normalise()).conjunctions().iterator().next();
+        logicMgr.typeResolver().resolve(conjunction);
+        return iterate(Concludable.create(conjunction)).filter(Concludable::isHas).next();
+    }
 }
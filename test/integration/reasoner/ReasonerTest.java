@@ -17,7 +17,9 @@
 
 package grakn.core.reasoner;
 
+import grakn.core.common.iterator.ResourceIterator;
 import grakn.core.common.parameters.Arguments;
+import grakn.core.common.parameters.Context;
 import grakn.core.common.parameters.Options;
 import grakn.core.concept.ConceptManager;
 import grakn.core.concept.answer.ConceptMap;
@@ -26,11 +28,13 @@ import grakn.core.concept.type.EntityType;
 import grakn.core.concept.type.RelationType;
 import grakn.core.concurrent.actor.EventLoopGroup;
 import grakn.core.logic.LogicManager;
+import grakn.core.reasoner.resolution.ResolverRegistry;
 import grakn.core.rocks.RocksGrakn;
 import grakn.core.rocks.RocksSession;
 import grakn.core.rocks.RocksTransaction;
 import grakn.core.test.integration.util.Util;
 import graql.lang.Graql;
+import graql.lang.pattern.variable.Reference;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Ignore;
@@ -39,23 +43,44 @@ import org.junit.Test;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import static junit.framework.TestCase.assertFalse;
+import static junit.framework.TestCase.assertTrue;
 import static org.junit.Assert.assertEquals;
 
 public class ReasonerTest {
 
     private static final Path directory = Paths.get(System.getProperty("user.dir")).resolve("query-test");
     private static final String database = "reasoner-test";
+    private static final String materialisedDatabase = "reasoner-test-materialised";
     private static RocksGrakn grakn;
 
+    private static final String REACHABLE_QUERY =
+            "match (source: $x, target: $y) isa reachable; $x has index $a; $y has index $b;";
+    private static final String TWO_HOPS_QUERY =
+            "match (source: $x, target: $y) isa reachable; (source: $y, target: $z) isa reachable; " +
+                    "$x has index $a; $y has index $b; $z has index $c;";
+
     private RocksTransaction singleThreadElgTransaction(RocksSession session, Arguments.Transaction.Type transactionType) {
         RocksTransaction transaction = session.transaction(transactionType, new Options.Transaction().infer(true));
         transaction.reasoner().resolverRegistry().setEventLoopGroup(new EventLoopGroup(1));
         return transaction;
     }
 
+    private RocksTransaction singleThreadElgTransaction(RocksSession session, int ruleFanOut) {
+        RocksTransaction transaction = session.transaction(
+                Arguments.Transaction.Type.READ, new Options.Transaction().infer(true).ruleFanOut(ruleFanOut)
+        );
+        transaction.reasoner().resolverRegistry().setEventLoopGroup(new EventLoopGroup(1));
+        return transaction;
+    }
+
     @Before
     public void setUp() throws IOException {
         Util.resetDirectory(directory);
@@ -183,4 +208,292 @@ public class ReasonerTest {
             }
         }
     }
+
+    @Test
+    public void test_anti_join_and_per_answer_negation_return_the_same_answers() {
+        try (RocksSession session = grakn.session(database, Arguments.Session.Type.SCHEMA)) {
+            try (RocksTransaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                EntityType person = txn.concepts().putEntityType("person");
+                txn.concepts().putEntityType("employee").setSupertype(person);
+                txn.commit();
+            }
+        }
+        try (RocksSession session = grakn.session(database, Arguments.Session.Type.DATA)) {
+            try (RocksTransaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                for (int i = 0; i < 100; i++) {
+                    String type = i % 5 < 3 ? "employee" : "person";
+                    txn.query().insert(Graql.parseQuery("insert $x isa " + type + ";").asInsert());
+                }
+                txn.commit();
+            }
+            try (RocksTransaction txn = session.transaction(Arguments.Transaction.Type.READ)) {
+                Set<ConceptMap> expected = new HashSet<>(match(txn, "match $x isa person;", false));
+                expected.removeAll(match(txn, "match $x isa employee;", false));
+                assertEquals(40, expected.size());
+
+                // the 60 negated answers are estimated to be fewer than the 100 answers they filter, so the
+                // negation is anti-joined, unless a limit of fewer answers makes evaluating it per answer cheaper
+                String query = "match $x isa person; not { $x isa employee; };";
+                assertEquals(expected, new HashSet<>(match(txn, query, true)));
+                assertEquals(expected, new HashSet<>(match(txn, query, false)));
+                assertEquals(expected, new HashSet<>(match(txn, query + " limit 50;", true)));
+            }
+        }
+    }
+
+    @Test
+    public void test_shared_and_plain_disjunctions_return_the_same_answers() {
+        try (RocksSession session = grakn.session(database, Arguments.Session.Type.SCHEMA)) {
+            try (RocksTransaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                EntityType person = txn.concepts().putEntityType("person");
+                person.setOwns(txn.concepts().putAttributeType("name", AttributeType.ValueType.STRING));
+                person.setOwns(txn.concepts().putAttributeType("age", AttributeType.ValueType.LONG));
+                txn.commit();
+            }
+        }
+        try (RocksSession session = grakn.session(database, Arguments.Session.Type.DATA)) {
+            try (RocksTransaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                for (int i = 0; i < 100; i++) {
+                    txn.query().insert(Graql.parseQuery(
+                            "insert $x isa person, has name 'p-" + i + "', has age " + (i % 7) + ";"
+                    ).asInsert());
+                }
+                txn.commit();
+            }
+            try (RocksTransaction txn = session.transaction(Arguments.Transaction.Type.READ)) {
+                String common = "match $x isa person, has name $n; ";
+                String[] branches = new String[]{"$x has age 1;", "$x has age 3;", "$x has name 'p-7';"};
+                Set<ConceptMap> expected = new HashSet<>();
+                for (String branch : branches) expected.addAll(match(txn, common + branch, false));
+                assertEquals(30, expected.size());
+
+                String query = common + "{ " + String.join(" } or { ", branches) + " };";
+                assertEquals(expected, new HashSet<>(match(txn, query, false)));
+                assertEquals(expected, new HashSet<>(match(txn, query, true)));
+
+                Set<ConceptMap> projected = new HashSet<>();
+                for (ConceptMap answer : expected) projected.add(answer.filter(Collections.singleton(Reference.name("x"))));
+                assertEquals(projected, new HashSet<>(match(txn, query + " get $x;", true)));
+            }
+        }
+    }
+
+    @Test
+    public void test_disjunctions_with_negations_in_branches_return_the_union_of_their_branches() {
+        try (RocksSession session = grakn.session(database, Arguments.Session.Type.SCHEMA)) {
+            try (RocksTransaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                EntityType person = txn.concepts().putEntityType("person");
+                person.setOwns(txn.concepts().putAttributeType("name", AttributeType.ValueType.STRING));
+                person.setOwns(txn.concepts().putAttributeType("age", AttributeType.ValueType.LONG));
+                txn.commit();
+            }
+        }
+        try (RocksSession session = grakn.session(database, Arguments.Session.Type.DATA)) {
+            try (RocksTransaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                for (int i = 0; i < 20; i++) {
+                    txn.query().insert(Graql.parseQuery(
+                            "insert $x isa person, has name 'p-" + i + "', has age " + (i % 7) + ";"
+                    ).asInsert());
+                }
+                txn.commit();
+            }
+            try (RocksTransaction txn = session.transaction(Arguments.Transaction.Type.READ)) {
+                String common = "match $x isa person, has name $n; ";
+                // a negation that only refers to common variables, and one that mixes them with branch variables
+                String[][] disjunctions = new String[][]{
+                        {"not { $n 'p-7'; }; $x has age 0;", "$x has age 2;"},
+                        {"$y isa person, has age 1; not { $y has name $n; };", "$x has age 2;"}
+                };
+                int[] sizes = new int[]{5, 60};
+                for (int i = 0; i < disjunctions.length; i++) {
+                    Set<ConceptMap> expected = new HashSet<>();
+                    for (String branch : disjunctions[i]) expected.addAll(match(txn, common + branch, false));
+                    assertEquals(sizes[i], expected.size());
+
+                    String query = common + "{ " + String.join(" } or { ", disjunctions[i]) + " };";
+                    assertEquals(expected, new HashSet<>(match(txn, query, false)));
+                    assertEquals(expected, new HashSet<>(match(txn, query, true)));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void test_recursive_rules_return_the_same_answers_across_rule_fan_outs_and_materialised_data() {
+        // a chain 0 -> 5 with a cycle back to 2, and a branch 3 -> 6 -> 7
+        long[][] edges = new long[][]{{0, 1}, {1, 2}, {2, 3}, {3, 4}, {4, 5}, {5, 2}, {3, 6}, {6, 7}};
+        Set<List<Long>> reachable = transitiveClosure(edges);
+        assertEquals(38, reachable.size());
+        Set<List<Long>> twoHops = new HashSet<>();
+        for (List<Long> first : reachable) {
+            for (List<Long> second : reachable) {
+                if (!first.get(1).equals(second.get(0))) continue;
+                twoHops.add(Arrays.asList(first.get(0), first.get(1), second.get(1)));
+            }
+        }
+
+        try (RocksSession session = grakn.session(database, Arguments.Session.Type.SCHEMA)) {
+            try (RocksTransaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                putReachabilitySchema(txn.concepts());
+                txn.logic().putRule(
+                        "edge-is-reachable",
+                        Graql.parsePattern("{ (source: $x, target: $y) isa edge; }").asConjunction(),
+                        Graql.parseVariable("(source: $x, target: $y) isa reachable").asThing());
+                txn.logic().putRule(
+                        "reachable-is-transitive",
+                        Graql.parsePattern("{ (source: $x, target: $y) isa reachable; (source: $y, target: $z) isa edge; }").asConjunction(),
+                        Graql.parseVariable("(source: $x, target: $z) isa reachable").asThing());
+                txn.commit();
+            }
+        }
+        try (RocksSession session = grakn.session(database, Arguments.Session.Type.DATA)) {
+            try (RocksTransaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                insertNodes(txn, 8);
+                for (long[] edge : edges) insertRelation(txn, "edge", edge[0], edge[1]);
+                txn.commit();
+            }
+        }
+
+        // the untabled baseline: the closure inserted explicitly, and matched without inference
+        grakn.databases().create(materialisedDatabase);
+        try (RocksSession session = grakn.session(materialisedDatabase, Arguments.Session.Type.SCHEMA)) {
+            try (RocksTransaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                putReachabilitySchema(txn.concepts());
+                txn.commit();
+            }
+        }
+        try (RocksSession session = grakn.session(materialisedDatabase, Arguments.Session.Type.DATA)) {
+            try (RocksTransaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                insertNodes(txn, 8);
+                for (List<Long> pair : reachable) insertRelation(txn, "reachable", pair.get(0), pair.get(1));
+                txn.commit();
+            }
+            try (RocksTransaction txn = session.transaction(Arguments.Transaction.Type.READ)) {
+                assertEquals(reachable, indices(match(txn, REACHABLE_QUERY, false), "a", "b"));
+                assertEquals(twoHops, indices(match(txn, TWO_HOPS_QUERY, false), "a", "b", "c"));
+            }
+        }
+
+        // a fan-out of 1 asks the rules of a concludable one at a time; the default of 4 asks them concurrently
+        try (RocksSession session = grakn.session(database, Arguments.Session.Type.DATA)) {
+            for (int ruleFanOut : new int[]{1, 4}) {
+                try (RocksTransaction txn = singleThreadElgTransaction(session, ruleFanOut)) {
+                    assertEquals(reachable, indices(match(txn, REACHABLE_QUERY, false), "a", "b"));
+                    // the second reachable concludable shares the answer table of the first
+                    assertEquals(twoHops, indices(match(txn, TWO_HOPS_QUERY, false), "a", "b", "c"));
+                }
+                try (RocksTransaction txn = singleThreadElgTransaction(session, ruleFanOut)) {
+                    Set<List<Long>> fromThree = new HashSet<>();
+                    for (List<Long> pair : reachable) {
+                        if (pair.get(0) == 3) fromThree.add(Collections.singletonList(pair.get(1)));
+                    }
+                    String query = "match $x has index 3; (source: $x, target: $y) isa reachable; $y has index $b;";
+                    assertEquals(fromThree, indices(match(txn, query, false), "b"));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void test_recycling_a_reasoning_iterator_early_stops_its_resolvers_and_releases_their_state() throws InterruptedException {
+        long[][] edges = new long[][]{{0, 1}, {1, 2}, {2, 3}, {3, 4}, {4, 5}, {5, 2}, {3, 6}, {6, 7}};
+        Set<List<Long>> reachable = transitiveClosure(edges);
+        try (RocksSession session = grakn.session(database, Arguments.Session.Type.SCHEMA)) {
+            try (RocksTransaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                putReachabilitySchema(txn.concepts());
+                txn.logic().putRule(
+                        "edge-is-reachable",
+                        Graql.parsePattern("{ (source: $x, target: $y) isa edge; }").asConjunction(),
+                        Graql.parseVariable("(source: $x, target: $y) isa reachable").asThing());
+                txn.logic().putRule(
+                        "reachable-is-transitive",
+                        Graql.parsePattern("{ (source: $x, target: $y) isa reachable; (source: $y, target: $z) isa edge; }").asConjunction(),
+                        Graql.parseVariable("(source: $x, target: $z) isa reachable").asThing());
+                txn.commit();
+            }
+        }
+        try (RocksSession session = grakn.session(database, Arguments.Session.Type.DATA)) {
+            try (RocksTransaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                insertNodes(txn, 8);
+                for (long[] edge : edges) insertRelation(txn, "edge", edge[0], edge[1]);
+                txn.commit();
+            }
+            try (RocksTransaction txn = singleThreadElgTransaction(session, Arguments.Transaction.Type.READ)) {
+                ResolverRegistry registry = txn.reasoner().resolverRegistry();
+                ResourceIterator<ConceptMap> answers = txn.query().match(Graql.parseQuery(TWO_HOPS_QUERY).asMatch());
+                assertTrue(answers.hasNext());
+                answers.next();
+                answers.recycle();
+
+                // the termination reaches the resolvers asynchronously, after which no request recreates the root's state
+                assertTrue(awaitNoTabledRoots(registry));
+                Thread.sleep(500);
+                assertEquals(0, registry.tabledRoots());
+
+                // the resolvers still answer other roots in full, and release those too once they complete
+                assertEquals(reachable, indices(match(txn, REACHABLE_QUERY, false), "a", "b"));
+                assertTrue(awaitNoTabledRoots(registry));
+            }
+        }
+    }
+
+    private static boolean awaitNoTabledRoots(ResolverRegistry registry) throws InterruptedException {
+        for (int i = 0; i < 100 && registry.tabledRoots() > 0; i++) Thread.sleep(10);
+        return registry.tabledRoots() == 0;
+    }
+
+    private static void putReachabilitySchema(ConceptManager conceptMgr) {
+        EntityType node = conceptMgr.putEntityType("node");
+        node.setOwns(conceptMgr.putAttributeType("index", AttributeType.ValueType.LONG));
+        for (String label : new String[]{"edge", "reachable"}) {
+            RelationType relation = conceptMgr.putRelationType(label);
+            relation.setRelates("source");
+            relation.setRelates("target");
+            node.setPlays(relation.getRelates("source"));
+            node.setPlays(relation.getRelates("target"));
+        }
+    }
+
+    private static void insertNodes(RocksTransaction txn, int count) {
+        for (int i = 0; i < count; i++) {
+            txn.query().insert(Graql.parseQuery("insert $x isa node, has index " + i + ";").asInsert());
+        }
+    }
+
+    private static void insertRelation(RocksTransaction txn, String label, long from, long to) {
+        txn.query().insert(Graql.parseQuery(
+                "match $x isa node, has index " + from + "; $y isa node, has index " + to + "; " +
+                        "insert (source: $x, target: $y) isa " + label + ";"
+        ).asInsert());
+    }
+
+    private static Set<List<Long>> transitiveClosure(long[][] edges) {
+        Set<List<Long>> closure = new HashSet<>();
+        for (long[] edge : edges) closure.add(Arrays.asList(edge[0], edge[1]));
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (List<Long> pair : new ArrayList<>(closure)) {
+                for (long[] edge : edges) {
+                    if (pair.get(1) == edge[0] && closure.add(Arrays.asList(pair.get(0), edge[1]))) changed = true;
+                }
+            }
+        }
+        return closure;
+    }
+
+    private static Set<List<Long>> indices(List<ConceptMap> answers, String... names) {
+        Set<List<Long>> indices = new HashSet<>();
+        for (ConceptMap answer : answers) {
+            List<Long> row = new ArrayList<>();
+            for (String name : names) row.add(answer.get(name).asAttribute().asLong().getValue());
+            indices.add(row);
+        }
+        return indices;
+    }
+
+    private static List<ConceptMap> match(RocksTransaction txn, String query, boolean parallel) {
+        Context.Query context = new Context.Query(txn.context(), new Options.Query().parallel(parallel));
+        return txn.query().match(Graql.parseQuery(query).asMatch(), context).toList();
+    }
 }
@@ -18,6 +18,7 @@
 package grakn.core.reasoner;
 
 import grakn.core.common.parameters.Arguments;
+import grakn.core.common.parameters.Options;
 import grakn.core.concept.answer.ConceptMap;
 import grakn.core.concurrent.actor.Actor;
 import grakn.core.concurrent.actor.EventLoopGroup;
@@ -46,6 +47,7 @@ import javax.annotation.Nullable;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.HashSet;
 import java.util.Set;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
@@ -55,6 +57,8 @@ import java.util.stream.Stream;
 import static grakn.common.collection.Collections.set;
 import static grakn.core.common.iterator.Iterators.iterate;
 import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertNotNull;
+import static junit.framework.TestCase.assertNull;
 import static junit.framework.TestCase.assertTrue;
 
 public class ResolutionTest {
@@ -471,6 +475,163 @@ public class ResolutionTest {
         }
     }
 
+    @Test
+    public void test_batched_retrieval_answers_are_replayed_in_full() throws InterruptedException {
+        definePeopleAged42(120);
+        try (RocksSession session = dataSession()) {
+            try (RocksTransaction transaction = singleThreadElgTransaction(session)) {
+                Conjunction conjunctionPattern = parseConjunction(transaction, "{ $p isa person, has age 42; }");
+                createRootAndAssertResponses(transaction, conjunctionPattern, null, null, 120L);
+            }
+        }
+    }
+
+    @Test
+    public void test_batched_retrieval_answers_carry_on_into_the_next_iteration() throws InterruptedException {
+        definePeopleAged42(120);
+        try (RocksSession session = dataSession()) {
+            try (RocksTransaction transaction = singleThreadElgTransaction(session)) {
+                Conjunction conjunction = parseConjunction(transaction, "{ $p isa person, has age 42; }");
+                ResolverRegistry registry = transaction.reasoner().resolverRegistry();
+                LinkedBlockingQueue<ResolutionAnswer> responses = new LinkedBlockingQueue<>();
+                LinkedBlockingQueue<Integer> exhausted = new LinkedBlockingQueue<>();
+                Actor<Root.Conjunction> root = registry.rootConjunction(conjunction, set(Reference.name("p")), null, null,
+                                                                        responses::add, exhausted::add);
+                Set<ConceptMap> answers = new HashSet<>();
+                for (int i = 0; i < 60; i++) {
+                    requestAnswer(root, 0);
+                    ResolutionAnswer answer = responses.poll(1000, TimeUnit.MILLISECONDS);
+                    assertNotNull(answer);
+                    answers.add(answer.derived().withInitialFiltered());
+                }
+                // the second batch is only partly read, so the rest of it answers the next iteration
+                for (int i = 0; i < 61; i++) requestAnswer(root, 1);
+                for (int i = 0; i < 60; i++) {
+                    ResolutionAnswer answer = responses.poll(1000, TimeUnit.MILLISECONDS);
+                    assertNotNull(answer);
+                    answers.add(answer.derived().withInitialFiltered());
+                }
+                assertEquals(Integer.valueOf(1), exhausted.poll(1000, TimeUnit.MILLISECONDS));
+                assertEquals(120, answers.size());
+                assertTrue(responses.isEmpty());
+                assertTrue(exhausted.isEmpty());
+            }
+        }
+    }
+
+    @Test
+    public void test_batched_retrieval_answers_are_not_replayed_to_a_terminated_root() throws InterruptedException {
+        definePeopleAged42(120);
+        try (RocksSession session = dataSession()) {
+            try (RocksTransaction transaction = singleThreadElgTransaction(session)) {
+                Conjunction conjunction = parseConjunction(transaction, "{ $p isa person, has age 42; }");
+                ResolverRegistry registry = transaction.reasoner().resolverRegistry();
+                LinkedBlockingQueue<ResolutionAnswer> responses = new LinkedBlockingQueue<>();
+                AtomicLong doneReceived = new AtomicLong(0L);
+                Actor<Root.Conjunction> root = registry.rootConjunction(conjunction, set(Reference.name("p")), null, null,
+                                                                        responses::add, iterDone -> doneReceived.incrementAndGet());
+                requestAnswer(root, 0);
+                assertNotNull(responses.poll(1000, TimeUnit.MILLISECONDS));
+
+                // the root is terminated before the termination reaches it, while it still buffers the batch
+                registry.terminate(root);
+                requestAnswer(root, 0);
+                assertNull(responses.poll(1000, TimeUnit.MILLISECONDS));
+                assertEquals(0, doneReceived.get());
+            }
+        }
+    }
+
+    @Test
+    public void test_concludable_fan_out_answers_each_request_once_across_iterations() throws InterruptedException {
+        try (RocksSession session = schemaSession()) {
+            try (RocksTransaction transaction = singleThreadElgTransaction(session)) {
+                transaction.query().define(Graql.parseQuery(
+                        "define person sub entity, owns name, owns nickname;" +
+                                "name sub attribute, value string;" +
+                                "nickname sub attribute, value string;" +
+                                "rule alices-are-al: when { $p isa person, has name \"Alice\"; } then { $p has nickname \"Al\"; };" +
+                                "rule bobs-are-bo: when { $p isa person, has name \"Bob\"; } then { $p has nickname \"Bo\"; };" +
+                                "rule carols-are-cat: when { $p isa person, has name \"Carol\"; } then { $p has nickname \"Cat\"; };" +
+                                "rule nobodies-are-no: when { $p isa person, has name \"Nobody\"; } then { $p has nickname \"No\"; };"));
+                transaction.commit();
+            }
+        }
+        try (RocksSession session = dataSession()) {
+            try (RocksTransaction transaction = singleThreadElgTransaction(session)) {
+                transaction.query().insert(Graql.parseQuery("insert $p isa person, has name \"Alice\";"));
+                transaction.query().insert(Graql.parseQuery("insert $p isa person, has name \"Bob\";"));
+                transaction.query().insert(Graql.parseQuery("insert $p isa person, has name \"Carol\";"));
+                transaction.query().insert(Graql.parseQuery("insert $p isa person, has nickname \"Dot\";"));
+                transaction.commit();
+            }
+        }
+        try (RocksSession session = dataSession()) {
+            Set<ConceptMap> expected = null;
+            // a fan-out of 1 asks the rules one at a time, 4 asks all of them at once, so that their answers race
+            for (int ruleFanOut : new int[]{1, 4}) {
+                RocksTransaction transaction = session.transaction(
+                        Arguments.Transaction.Type.WRITE, new Options.Transaction().ruleFanOut(ruleFanOut));
+                transaction.reasoner().resolverRegistry().setEventLoopGroup(new EventLoopGroup(1));
+                try {
+                    Conjunction conjunction = parseConjunction(transaction, "{ $p has nickname $n; }");
+                    ResolverRegistry registry = transaction.reasoner().resolverRegistry();
+                    LinkedBlockingQueue<ResolutionAnswer> responses = new LinkedBlockingQueue<>();
+                    LinkedBlockingQueue<Integer> exhausted = new LinkedBlockingQueue<>();
+                    Actor<Root.Conjunction> root = registry.rootConjunction(
+                            conjunction, set(Reference.name("p"), Reference.name("n")), null, null, responses::add, exhausted::add);
+
+                    Set<ConceptMap> answers = new HashSet<>();
+                    for (int iteration = 0; iteration < 2; iteration++) {
+                        // every request is answered exactly once, and the iteration ends on the first exhaustion
+                        while (true) {
+                            requestAnswer(root, iteration);
+                            ResolutionAnswer answer = responses.poll(1000, TimeUnit.MILLISECONDS);
+                            if (answer == null) break;
+                            assertTrue(answers.add(answer.derived().withInitialFiltered()));
+                        }
+                        assertEquals(Integer.valueOf(iteration), exhausted.poll(1000, TimeUnit.MILLISECONDS));
+                    }
+                    // answers the rules explored for an earlier iteration must not answer a request of a later one
+                    Thread.sleep(500);
+                    assertTrue(responses.isEmpty());
+                    assertTrue(exhausted.isEmpty());
+
+                    assertEquals(4, answers.size());
+                    if (expected == null) expected = answers;
+                    else assertEquals(expected, answers);
+                } finally {
+                    transaction.close();
+                }
+            }
+        }
+    }
+
+    private void definePeopleAged42(int count) {
+        try (RocksSession session = schemaSession()) {
+            try (RocksTransaction transaction = singleThreadElgTransaction(session)) {
+                transaction.query().define(Graql.parseQuery(
+                        "define person sub entity, owns age; age sub attribute, value long;"));
+                transaction.commit();
+            }
+        }
+        try (RocksSession session = dataSession()) {
+            try (RocksTransaction transaction = singleThreadElgTransaction(session)) {
+                for (int i = 0; i < count; i++) {
+                    transaction.query().insert(Graql.parseQuery("insert $p isa person, has age 42;"));
+                }
+                transaction.commit();
+            }
+        }
+    }
+
+    private void requestAnswer(Actor<? extends Resolver<?>> root, int iteration) {
+        AnswerState.DownstreamVars.Identity downstream = Initial.of(new ConceptMap()).toDownstreamVars();
+        root.tell(actor -> actor.receiveRequest(Request.create(
+                new Request.Path(root, downstream), downstream, ResolutionAnswer.Derivation.EMPTY
+        ), iteration));
+    }
+
     private Disjunction parseDisjunction(RocksTransaction transaction, String query) {
         Disjunction disjunction = Disjunction.create(Graql.parsePattern(query).asConjunction().normalise());
         disjunction.conjunctions().forEach(conj -> transaction.logic().typeResolver().resolve(conj));
@@ -92,7 +92,7 @@ public class PlannerTest {
         Retrievable retrievable = new Retrievable(parse("{ $c($b); }"));
 
         Set<Resolvable<?>> resolvables = set(concludable, retrievable);
-        List<Resolvable<?>> plan = new Planner(conceptMgr, logicMgr).plan(resolvables, set());
+        List<Resolvable<?>> plan = new Planner(rocksTransaction.traversal().graph(), conceptMgr, logicMgr).plan(resolvables, set());
         assertEquals(list(concludable, retrievable), plan);
     }
 
@@ -106,7 +106,7 @@ public class PlannerTest {
 
         Set<Resolvable<?>> resolvables = set(concludable, retrievable);
 
-        List<Resolvable<?>> plan = new Planner(conceptMgr, logicMgr).plan(resolvables, set());
+        List<Resolvable<?>> plan = new Planner(rocksTransaction.traversal().graph(), conceptMgr, logicMgr).plan(resolvables, set());
         assertEquals(list(retrievable, concludable), plan);
     }
 
@@ -126,7 +126,7 @@ public class PlannerTest {
 
         Set<Resolvable<?>> resolvables = set(retrievable, retrievable2, concludable);
 
-        List<Resolvable<?>> plan = new Planner(conceptMgr, logicMgr).plan(resolvables, set());
+        List<Resolvable<?>> plan = new Planner(rocksTransaction.traversal().graph(), conceptMgr, logicMgr).plan(resolvables, set());
         assertEquals(list(retrievable, concludable, retrievable2), plan);
     }
 
@@ -146,7 +146,30 @@ public class PlannerTest {
 
         Set<Resolvable<?>> resolvables = set(retrievable, retrievable2, concludable);
 
-        List<Resolvable<?>> plan = new Planner(conceptMgr, logicMgr).plan(resolvables, set());
+        List<Resolvable<?>> plan = new Planner(rocksTransaction.traversal().graph(), conceptMgr, logicMgr).plan(resolvables, set());
+        assertEquals(list(retrievable2, concludable, retrievable), plan);
+    }
+
+    @Test
+    public void test_planner_prioritises_retrievable_with_fewest_instances() {
+        EntityType person = conceptMgr.putEntityType("person");
+        person.setOwns(conceptMgr.putAttributeType("first-name", AttributeType.ValueType.STRING));
+        person.setOwns(conceptMgr.putAttributeType("surname", AttributeType.ValueType.STRING));
+        conceptMgr.putEntityType("company");
+        rocksTransaction.commit();
+        session.close();
+        newTransaction(Arguments.Session.Type.DATA, Arguments.Transaction.Type.WRITE);
+
+        for (int i = 0; i < 10; i++) conceptMgr.getEntityType("person").create();
+        conceptMgr.getEntityType("company").create();
+
+        Retrievable retrievable = new Retrievable(parse("{ $p isa person, has first-name $fn, has surname $sn; }"));
+        Concludable concludable = Concludable.create(parse("{ ($p, $c); }")).iterator().next();
+        Retrievable retrievable2 = new Retrievable(parse("{ $c isa company; }"));
+
+        Set<Resolvable<?>> resolvables = set(retrievable, retrievable2, concludable);
+
+        List<Resolvable<?>> plan = new Planner(rocksTransaction.traversal().graph(), conceptMgr, logicMgr).plan(resolvables, set());
         assertEquals(list(retrievable2, concludable, retrievable), plan);
     }
 
@@ -157,7 +180,7 @@ public class PlannerTest {
 
         Set<Resolvable<?>> resolvables = set(concludable, concludable2);
 
-        List<Resolvable<?>> plan = new Planner(conceptMgr, logicMgr).plan(resolvables, set());
+        List<Resolvable<?>> plan = new Planner(rocksTransaction.traversal().graph(), conceptMgr, logicMgr).plan(resolvables, set());
         assertEquals(list(concludable, concludable2), plan);
     }
 
@@ -176,7 +199,7 @@ public class PlannerTest {
         Concludable concludable2 = Concludable.create(parse("{ $e($c, $p2) isa employment; }")).iterator().next();
 
         Set<Resolvable<?>> resolvables = set(retrievable, retrievable2, concludable, concludable2);
-        List<Resolvable<?>> plan = new Planner(conceptMgr, logicMgr).plan(resolvables, set());
+        List<Resolvable<?>> plan = new Planner(rocksTransaction.traversal().graph(), conceptMgr, logicMgr).plan(resolvables, set());
 
         assertEquals(list(retrievable, concludable, retrievable2, concludable2), plan);
     }
@@ -187,7 +210,7 @@ public class PlannerTest {
         Concludable concludable2 = Concludable.create(parse("{ $b has $a; }")).iterator().next();
 
         Set<Resolvable<?>> resolvables = set(concludable, concludable2);
-        List<Resolvable<?>> plan = new Planner(conceptMgr, logicMgr).plan(resolvables, set());
+        List<Resolvable<?>> plan = new Planner(rocksTransaction.traversal().graph(), conceptMgr, logicMgr).plan(resolvables, set());
 
         assertEquals(2, plan.size());
         assertEquals(set(concludable, concludable2), set(plan));
@@ -199,7 +222,7 @@ public class PlannerTest {
         Concludable concludable2 = Concludable.create(parse("{ $b($a); }")).iterator().next();
 
         Set<Resolvable<?>> resolvables = set(concludable, concludable2);
-        List<Resolvable<?>> plan = new Planner(conceptMgr, logicMgr).plan(resolvables, set());
+        List<Resolvable<?>> plan = new Planner(rocksTransaction.traversal().graph(), conceptMgr, logicMgr).plan(resolvables, set());
 
         assertEquals(2, plan.size());
         assertEquals(set(concludable, concludable2), set(plan));
@@ -211,7 +234,7 @@ public class PlannerTest {
         Concludable concludable2 = Concludable.create(parse("{ $c($d); }")).iterator().next();
 
         Set<Resolvable<?>> resolvables = set(concludable, concludable2);
-        List<Resolvable<?>> plan = new Planner(conceptMgr, logicMgr).plan(resolvables, set());
+        List<Resolvable<?>> plan = new Planner(rocksTransaction.traversal().graph(), conceptMgr, logicMgr).plan(resolvables, set());
 
         assertEquals(2, plan.size());
         assertEquals(set(concludable, concludable2), set(plan));
@@ -238,7 +261,7 @@ public class PlannerTest {
         Concludable concludable2 = Concludable.create(parse("{ $c($b) isa friendship; }")).iterator().next();
 
         Set<Resolvable<?>> resolvables = set(concludable, concludable2);
-        List<Resolvable<?>> plan = new Planner(conceptMgr, logicMgr).plan(resolvables, set());
+        List<Resolvable<?>> plan = new Planner(rocksTransaction.traversal().graph(), conceptMgr, logicMgr).plan(resolvables, set());
 
         assertEquals(0, concludable.getApplicableRules(conceptMgr, logicMgr).toList().size());
         assertEquals(1, concludable2.getApplicableRules(conceptMgr, logicMgr).toList().size());
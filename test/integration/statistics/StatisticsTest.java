@@ -20,7 +20,9 @@ package grakn.core.rocks;
 
 import grakn.core.Grakn;
 import grakn.core.common.parameters.Arguments;
+import grakn.core.common.parameters.Context;
 import grakn.core.common.parameters.Label;
+import grakn.core.common.parameters.Options;
 import grakn.core.concept.answer.ConceptMap;
 import grakn.core.concept.thing.Attribute;
 import grakn.core.test.integration.util.Util;
@@ -99,10 +101,27 @@ public class StatisticsTest {
                 assertEquals(personCount, tx.graphMgr.data().stats().thingVertexCount(Label.of("person")));
                 assertEquals(ages.size(), tx.graphMgr.data().stats().thingVertexCount(Label.of("age")));
                 assertEquals(personCount, tx.graphMgr.data().stats().hasEdgeCount(Label.of("person"), Label.of("age")));
+                assertEquals(personCount, count(tx, "match $x isa person; count;"));
+                assertEquals(ages.size(), count(tx, "match $x isa age; count;"));
+                assertEquals(personCount, count(tx, "match $x isa person, has age $y; count;"));
+                // once the background counter has caught up, approximate counts from attribute and ownership
+                // statistics agree with the exact counts
+                assertEquals(personCount, approximateCount(tx, "match $x isa person; count;"));
+                assertEquals(ages.size(), approximateCount(tx, "match $x isa age; count;"));
+                assertEquals(personCount, approximateCount(tx, "match $x isa person, has age $y; count;"));
             }
         }
     }
 
+    private long count(RocksTransaction tx, String query) {
+        return tx.query().match(Graql.parseQuery(query).asMatchAggregate()).asLong();
+    }
+
+    private long approximateCount(RocksTransaction tx, String query) {
+        Context.Query context = new Context.Query(tx.context(), new Options.Query().approximateCount(true));
+        return tx.query().match(Graql.parseQuery(query).asMatchAggregate(), context).asLong();
+    }
+
     private void setupSchema(RocksGrakn grakn) {
         try (Grakn.Session session = grakn.session(database, Arguments.Session.Type.SCHEMA)) {
             try (Grakn.Transaction tx = session.transaction(Arguments.Transaction.Type.WRITE)) {
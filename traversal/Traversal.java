@@ -23,23 +23,26 @@ import grakn.core.common.exception.GraknException;
 import grakn.core.common.iterator.ResourceIterator;
 import grakn.core.common.parameters.Arguments;
 import grakn.core.common.parameters.Label;
+import grakn.core.common.parameters.Options;
+import grakn.core.common.profile.QueryBudget;
+import grakn.core.common.profile.QueryProfile;
 import grakn.core.concurrent.producer.Producer;
 import grakn.core.graph.GraphManager;
 import grakn.core.graph.common.Encoding;
 import grakn.core.graph.iid.VertexIID;
-import grakn.core.graph.vertex.Vertex;
 import grakn.core.traversal.common.Identifier;
 import grakn.core.traversal.common.VertexMap;
 import grakn.core.traversal.graph.TraversalVertex;
+import grakn.core.traversal.iterator.ProductIterator;
 import grakn.core.traversal.planner.Planner;
 import grakn.core.traversal.predicate.Predicate;
 import grakn.core.traversal.predicate.PredicateArgument;
 import grakn.core.traversal.structure.Structure;
 import graql.lang.common.GraqlArg;
 import graql.lang.common.GraqlToken;
-import graql.lang.pattern.variable.Reference;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -50,7 +53,6 @@ import java.util.regex.Pattern;
 
 import static grakn.common.collection.Collections.pair;
 import static grakn.core.common.exception.ErrorMessage.Internal.ILLEGAL_STATE;
-import static grakn.core.common.iterator.Iterators.cartesian;
 import static grakn.core.common.iterator.Iterators.iterate;
 import static grakn.core.concurrent.common.Executors.asyncPool2;
 import static grakn.core.concurrent.producer.Producers.async;
@@ -70,7 +72,7 @@ import static grakn.core.graph.common.Encoding.ValueType.DOUBLE;
 import static grakn.core.graph.common.Encoding.ValueType.LONG;
 import static grakn.core.graph.common.Encoding.ValueType.STRING;
 import static graql.lang.common.GraqlToken.Predicate.SubString.LIKE;
-import static java.util.stream.Collectors.toList;
+import static java.util.Comparator.comparing;
 
 public class Traversal {
 
@@ -87,6 +89,15 @@ public class Traversal {
         modifiable = true;
     }
 
+    private Traversal(Structure structure, Parameters parameters, Set<Identifier.Variable.Name> filter,
+                      List<Planner> planners) {
+        this.structure = structure;
+        this.parameters = parameters;
+        this.filter = filter;
+        this.planners = planners;
+        this.modifiable = false;
+    }
+
     // TODO: We should not dynamically calculate properties like this, and then guard against 'modifiable'.
     //       We should introduce a "builder pattern" to Traversal, such that users of this library will build
     //       traversals with Traversal.Builder, and call .build() in the end to produce a final Object.
@@ -101,46 +112,75 @@ public class Traversal {
     }
 
     void initialise(TraversalCache cache) {
+        if (planners != null) return; // planned already, as the traversal was bound from a planned one
         planners = iterate(structure.asGraphs()).filter(p -> iterate(p.vertices()).anyMatch(
                 v -> v.id().isName() && filter().contains(v.id().asVariable().asName())
         )).map(s -> cache.get(s, Planner::create)).toList();
     }
 
-    ResourceIterator<VertexMap> iterator(GraphManager graphMgr, boolean extraPlanningTime) {
+    /**
+     * @return a traversal of the same structure and filter as this planned one, sharing its planners, with the
+     * given things bound to other IIDs. Each of them must be bound in this traversal already, so that the structure,
+     * and so the plan, is the same whichever IIDs they are bound to.
+     */
+    public Traversal bind(Map<Identifier.Variable, VertexIID.Thing> iids) {
+        assert planners != null && iterate(iids.keySet()).allMatch(id -> parameters.getIID(id) != null);
+        Parameters bound = new Parameters(parameters);
+        bound.iid.putAll(iids);
+        return new Traversal(structure, bound, new HashSet<>(filter()), planners);
+    }
+
+    ResourceIterator<VertexMap> iterator(GraphManager graphMgr, boolean extraPlanningTime, Options<?, ?> options,
+                                         QueryProfile profile, QueryBudget budget) {
         assert !planners.isEmpty();
         if (planners.size() == 1) {
-            planners.get(0).tryOptimise(graphMgr, extraPlanningTime);
-            return planners.get(0).procedure().iterator(graphMgr, parameters, filter());
+            optimise(planners.get(0), graphMgr, extraPlanningTime, profile);
+            return planners.get(0).procedure().iterator(graphMgr, parameters, filter(), options, profile, budget);
         } else {
-            return cartesian(planners.parallelStream().map(planner -> {
-                planner.tryOptimise(graphMgr, extraPlanningTime);
-                return planner.procedure().iterator(graphMgr, parameters, filter());
-            }).collect(toList())).map(partialAnswers -> {
-                Map<Reference, Vertex<?, ?>> combinedAnswers = new HashMap<>();
-                partialAnswers.forEach(p -> combinedAnswers.putAll(p.map()));
-                return VertexMap.of(combinedAnswers);
-            });
+            return new ProductIterator(graphMgr, iterate(optimiseAll(graphMgr, extraPlanningTime, profile)).map(
+                    planner -> planner.procedure().iterator(graphMgr, parameters, filter(), options, profile, budget)
+            ).toList(), options.cartesianMemoryBytes());
         }
     }
 
-    Producer<VertexMap> producer(GraphManager graphMgr, Arguments.Query.Producer mode,
-                                 int parallelisation, boolean extraPlanningTime) {
+    Producer<VertexMap> producer(GraphManager graphMgr, Arguments.Query.Producer mode, int parallelisation,
+                                 boolean extraPlanningTime, long limit, Options<?, ?> options, QueryProfile profile,
+                                 QueryBudget budget) {
         assert !planners.isEmpty();
         if (planners.size() == 1) {
-            planners.get(0).tryOptimise(graphMgr, extraPlanningTime);
-            return planners.get(0).procedure().producer(graphMgr, parameters, filter(), parallelisation);
+            optimise(planners.get(0), graphMgr, extraPlanningTime, profile);
+            return planners.get(0).procedure().producer(
+                    graphMgr, parameters, filter(), parallelisation, limit, options, profile, budget
+            );
         } else {
-            return async(cartesian(planners.parallelStream().map(planner -> {
-                planner.tryOptimise(graphMgr, extraPlanningTime);
-                return planner.procedure().producer(graphMgr, parameters, filter(), parallelisation);
-            }).map(producer -> produce(producer, mode, asyncPool2())).collect(toList())).map(partialAnswers -> {
-                Map<Reference, Vertex<?, ?>> combinedAnswers = new HashMap<>();
-                partialAnswers.forEach(p -> combinedAnswers.putAll(p.map()));
-                return VertexMap.of(combinedAnswers);
-            }));
+            // each operand's first answers, combined with the first answer of every other operand, are already as
+            // many distinct combined answers, so no operand needs to produce more answers than the limit
+            return async(new ProductIterator(graphMgr, iterate(optimiseAll(graphMgr, extraPlanningTime, profile)).map(
+                    planner -> produce(planner.procedure().producer(
+                            graphMgr, parameters, filter(), parallelisation, limit, options, profile, budget
+                    ), mode, asyncPool2())
+            ).toList(), options.cartesianMemoryBytes()).limit(limit));
         }
     }
 
+    /**
+     * Optimises the planners of disconnected traversals concurrently, and orders the planner whose procedure is
+     * estimated to produce the most answers first, as its answers are the only ones that are not recorded.
+     */
+    private List<Planner> optimiseAll(GraphManager graphMgr, boolean extraPlanningTime, QueryProfile profile) {
+        planners.parallelStream().forEach(planner -> optimise(planner, graphMgr, extraPlanningTime, profile));
+        List<Planner> ordered = new ArrayList<>(planners);
+        ordered.sort(comparing(Planner::estimatedAnswers).reversed());
+        return ordered;
+    }
+
+    private static void optimise(Planner planner, GraphManager graphMgr, boolean extraPlanningTime,
+                                 QueryProfile profile) {
+        long start = profile.isEnabled() ? System.nanoTime() : 0;
+        planner.tryOptimise(graphMgr, extraPlanningTime);
+        if (profile.isEnabled()) profile.planned(System.nanoTime() - start);
+    }
+
     public void equalThings(Identifier.Variable thing1, Identifier.Variable thing2) {
         assert modifiable;
         structure.equalEdge(structure.thingVertex(thing1), structure.thingVertex(thing2));
@@ -328,6 +368,11 @@ public class Traversal {
             values = new HashMap<>();
         }
 
+        private Parameters(Parameters parameters) {
+            iid = new HashMap<>(parameters.iid);
+            values = new HashMap<>(parameters.values);
+        }
+
         public void putIID(Identifier.Variable identifier, VertexIID.Thing iid) {
             assert !this.iid.containsKey(identifier);
             this.iid.put(identifier, iid);
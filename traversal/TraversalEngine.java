@@ -20,6 +20,9 @@ package grakn.core.traversal;
 
 import grakn.core.common.iterator.ResourceIterator;
 import grakn.core.common.parameters.Arguments;
+import grakn.core.common.parameters.Options;
+import grakn.core.common.profile.QueryBudget;
+import grakn.core.common.profile.QueryProfile;
 import grakn.core.concurrent.producer.Producer;
 import grakn.core.graph.GraphManager;
 import grakn.core.traversal.common.Identifier;
@@ -34,24 +37,66 @@ public class TraversalEngine {
 
     private final GraphManager graphMgr;
     private final TraversalCache cache;
+    private final Options<?, ?> options;
 
-    public TraversalEngine(GraphManager graphMgr, TraversalCache cache) {
+    public TraversalEngine(GraphManager graphMgr, TraversalCache cache, Options<?, ?> options) {
         this.graphMgr = graphMgr;
         this.cache = cache;
+        this.options = options;
     }
 
     public GraphManager graph() {
         return graphMgr;
     }
 
+    /**
+     * Plans a traversal once, so that the traversals bound from it through {@link Traversal#bind} are executed
+     * without looking their planners up again.
+     */
+    public Traversal plan(Traversal traversal) {
+        traversal.initialise(cache);
+        return traversal;
+    }
+
     public Producer<VertexMap> producer(Traversal traversal, Arguments.Query.Producer mode, int parallelisation) {
         return producer(traversal, mode, parallelisation, false);
     }
 
     public Producer<VertexMap> producer(Traversal traversal, Arguments.Query.Producer mode,
                                         int parallelisation, boolean extraPlanningTime) {
+        return producer(traversal, mode, parallelisation, extraPlanningTime, Long.MAX_VALUE);
+    }
+
+    public Producer<VertexMap> producer(Traversal traversal, Arguments.Query.Producer mode,
+                                        int parallelisation, long limit) {
+        return producer(traversal, mode, parallelisation, false, limit);
+    }
+
+    public Producer<VertexMap> producer(Traversal traversal, Arguments.Query.Producer mode,
+                                        int parallelisation, boolean extraPlanningTime, long limit) {
+        return producer(traversal, mode, parallelisation, extraPlanningTime, limit, QueryProfile.DISABLED);
+    }
+
+    public Producer<VertexMap> producer(Traversal traversal, Arguments.Query.Producer mode,
+                                        int parallelisation, long limit, QueryProfile profile) {
+        return producer(traversal, mode, parallelisation, false, limit, profile);
+    }
+
+    public Producer<VertexMap> producer(Traversal traversal, Arguments.Query.Producer mode, int parallelisation,
+                                        boolean extraPlanningTime, long limit, QueryProfile profile) {
+        return producer(traversal, mode, parallelisation, extraPlanningTime, limit, profile, QueryBudget.UNLIMITED);
+    }
+
+    public Producer<VertexMap> producer(Traversal traversal, Arguments.Query.Producer mode, int parallelisation,
+                                        long limit, QueryProfile profile, QueryBudget budget) {
+        return producer(traversal, mode, parallelisation, false, limit, profile, budget);
+    }
+
+    public Producer<VertexMap> producer(Traversal traversal, Arguments.Query.Producer mode, int parallelisation,
+                                        boolean extraPlanningTime, long limit, QueryProfile profile,
+                                        QueryBudget budget) {
         traversal.initialise(cache);
-        return traversal.producer(graphMgr, mode, parallelisation, extraPlanningTime);
+        return traversal.producer(graphMgr, mode, parallelisation, extraPlanningTime, limit, options, profile, budget);
     }
 
     public ResourceIterator<VertexMap> iterator(Traversal traversal) {
@@ -59,8 +104,26 @@ public class TraversalEngine {
     }
 
     public ResourceIterator<VertexMap> iterator(Traversal traversal, boolean extraPlanningTime) {
+        return iterator(traversal, extraPlanningTime, QueryProfile.DISABLED);
+    }
+
+    public ResourceIterator<VertexMap> iterator(Traversal traversal, QueryProfile profile) {
+        return iterator(traversal, false, profile);
+    }
+
+    public ResourceIterator<VertexMap> iterator(Traversal traversal, boolean extraPlanningTime,
+                                                QueryProfile profile) {
+        return iterator(traversal, extraPlanningTime, profile, QueryBudget.UNLIMITED);
+    }
+
+    public ResourceIterator<VertexMap> iterator(Traversal traversal, QueryProfile profile, QueryBudget budget) {
+        return iterator(traversal, false, profile, budget);
+    }
+
+    public ResourceIterator<VertexMap> iterator(Traversal traversal, boolean extraPlanningTime,
+                                                QueryProfile profile, QueryBudget budget) {
         traversal.initialise(cache);
-        return traversal.iterator(graphMgr, extraPlanningTime);
+        return traversal.iterator(graphMgr, extraPlanningTime, options, profile, budget);
     }
 
     public ResourceIterator<VertexMap> iterator(GraphProcedure procedure, Traversal.Parameters params) {
@@ -69,6 +132,6 @@ public class TraversalEngine {
 
     public ResourceIterator<VertexMap> iterator(GraphProcedure procedure, Traversal.Parameters params,
                                                 Set<Identifier.Variable.Name> filter) {
-        return procedure.iterator(graphMgr, params, filter);
+        return procedure.iterator(graphMgr, params, filter, options, QueryProfile.DISABLED, QueryBudget.UNLIMITED);
     }
 }
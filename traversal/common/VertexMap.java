@@ -18,43 +18,105 @@
 
 package grakn.core.traversal.common;
 
+import grakn.core.graph.GraphManager;
+import grakn.core.graph.common.Encoding;
+import grakn.core.graph.iid.VertexIID;
 import grakn.core.graph.vertex.Vertex;
 import graql.lang.pattern.variable.Reference;
 
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.function.BiConsumer;
 
-import static java.util.Collections.unmodifiableMap;
+import static grakn.core.common.collection.Bytes.INTEGER_SIZE;
 
+/**
+ * An answer of a traversal, where each vertex is stored in the slot its reference occupies in a {@link Layout}.
+ * Procedures compute their layout once, so answers only allocate the array of vertices, and their hash is only
+ * computed when it is first needed.
+ */
 public class VertexMap {
 
-    private final Map<Reference, Vertex<?, ?>> map;
-    private final int hash;
+    private final Layout layout;
+    private final Vertex<?, ?>[] vertices;
+    private int hash;
+
+    private VertexMap(Layout layout, Vertex<?, ?>[] vertices) {
+        assert layout.size() == vertices.length;
+        this.layout = layout;
+        this.vertices = vertices;
+        this.hash = 0;
+    }
 
-    public VertexMap(Map<Reference, Vertex<?, ?>> map) {
-        this.map = unmodifiableMap(map);
-        this.hash = Objects.hash(this.map);
+    public static VertexMap of(Layout layout, Vertex<?, ?>[] vertices) {
+        return new VertexMap(layout, vertices);
     }
 
     public static VertexMap of(Map<Reference, Vertex<?, ?>> map) {
-        return new VertexMap(map);
+        Reference[] references = new Reference[map.size()];
+        Vertex<?, ?>[] vertices = new Vertex<?, ?>[map.size()];
+        int i = 0;
+        for (Map.Entry<Reference, Vertex<?, ?>> entry : map.entrySet()) {
+            references[i] = entry.getKey();
+            vertices[i] = entry.getValue();
+            i++;
+        }
+        return new VertexMap(new Layout(references), vertices);
+    }
+
+    /**
+     * Restores an answer from its {@link #key()} and the layout it was encoded with, reading its vertices from the
+     * graph it was traversed in.
+     */
+    public static VertexMap of(Layout layout, byte[] key, GraphManager graphMgr) {
+        ByteBuffer buffer = ByteBuffer.wrap(key);
+        Vertex<?, ?>[] vertices = new Vertex<?, ?>[layout.size()];
+        for (int i = 0; i < vertices.length; i++) {
+            byte[] iid = new byte[buffer.getInt()];
+            buffer.get(iid);
+            if (Encoding.Prefix.of(iid[0]).isType()) vertices[i] = graphMgr.schema().convert(VertexIID.Type.of(iid));
+            else vertices[i] = graphMgr.data().convert(VertexIID.Thing.of(iid));
+        }
+        return new VertexMap(layout, vertices);
+    }
+
+    public Layout layout() {
+        return layout;
     }
 
-    public Map<Reference, Vertex<?, ?>> map() {
-        return map;
+    public int size() {
+        return vertices.length;
     }
 
     public Vertex<?, ?> get(Reference reference) {
-        return map.get(reference);
+        int slot = layout.slot(reference);
+        return slot < 0 ? null : vertices[slot];
     }
 
     public boolean containsKey(Reference reference) {
-        return map.containsKey(reference);
+        return layout.slot(reference) >= 0;
+    }
+
+    /**
+     * Encodes the vertices of this answer, in the order of its layout, as a single key. Keys are only comparable
+     * between answers that share the same layout.
+     */
+    public byte[] key() {
+        int length = 0;
+        byte[][] iids = new byte[vertices.length][];
+        for (int i = 0; i < vertices.length; i++) {
+            iids[i] = vertices[i].iid().bytes();
+            length += INTEGER_SIZE + iids[i].length;
+        }
+        ByteBuffer key = ByteBuffer.allocate(length);
+        for (byte[] iid : iids) key.putInt(iid.length).put(iid);
+        return key.array();
     }
 
     public void forEach(BiConsumer<Reference, Vertex<?, ?>> action) {
-        map.forEach(action);
+        for (int i = 0; i < vertices.length; i++) action.accept(layout.references[i], vertices[i]);
     }
 
     @Override
@@ -63,11 +125,121 @@ public class VertexMap {
         if (o == null || getClass() != o.getClass()) return false;
 
         VertexMap that = (VertexMap) o;
-        return this.map.equals(that.map);
+        if (this.layout.equals(that.layout)) return Arrays.equals(this.vertices, that.vertices);
+        else if (this.size() != that.size()) return false;
+        for (int i = 0; i < vertices.length; i++) {
+            if (!vertices[i].equals(that.get(layout.references[i]))) return false;
+        }
+        return true;
     }
 
     @Override
     public int hashCode() {
-        return hash;
+        // Computed as the hash of the equivalent Map, so it does not depend on the order of slots in the layout
+        int h = hash;
+        if (h == 0) {
+            for (int i = 0; i < vertices.length; i++) h += layout.references[i].hashCode() ^ vertices[i].hashCode();
+            hash = h;
+        }
+        return h;
+    }
+
+    public static class Layout {
+
+        private final Reference[] references;
+        private final int hash;
+
+        public Layout(Reference[] references) {
+            this.references = references;
+            this.hash = Arrays.hashCode(references);
+        }
+
+        public static Layout of(List<Reference> references) {
+            return new Layout(references.toArray(new Reference[0]));
+        }
+
+        public int size() {
+            return references.length;
+        }
+
+        public Reference reference(int slot) {
+            return references[slot];
+        }
+
+        public int slot(Reference reference) {
+            // answers only ever hold a handful of variables, so a scan is cheaper than hashing the reference
+            for (int i = 0; i < references.length; i++) {
+                if (references[i].equals(reference)) return i;
+            }
+            return -1;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Layout that = (Layout) o;
+            return this.hash == that.hash && Arrays.equals(this.references, that.references);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * Combines the partial answers of disconnected traversals into one answer, reusing the combined layout for as
+     * long as the partial answers keep the same layouts.
+     */
+    public static class Merger {
+
+        private volatile Combination last;
+
+        public VertexMap merge(List<VertexMap> partialAnswers) {
+            Combination combination = last;
+            if (combination == null || !combination.isCombining(partialAnswers)) {
+                combination = new Combination(partialAnswers);
+                last = combination;
+            }
+
+            Vertex<?, ?>[] vertices = new Vertex<?, ?>[combination.output.size()];
+            int pos = 0;
+            for (VertexMap partial : partialAnswers) {
+                System.arraycopy(partial.vertices, 0, vertices, pos, partial.vertices.length);
+                pos += partial.vertices.length;
+            }
+            return new VertexMap(combination.output, vertices);
+        }
+
+        private static class Combination {
+
+            private final Layout[] inputs;
+            private final Layout output;
+
+            private Combination(List<VertexMap> partialAnswers) {
+                inputs = new Layout[partialAnswers.size()];
+                int size = 0;
+                for (int i = 0; i < partialAnswers.size(); i++) {
+                    inputs[i] = partialAnswers.get(i).layout;
+                    size += inputs[i].size();
+                }
+                Reference[] references = new Reference[size];
+                int pos = 0;
+                for (Layout layout : inputs) {
+                    System.arraycopy(layout.references, 0, references, pos, layout.size());
+                    pos += layout.size();
+                }
+                output = new Layout(references);
+            }
+
+            private boolean isCombining(List<VertexMap> partialAnswers) {
+                if (inputs.length != partialAnswers.size()) return false;
+                for (int i = 0; i < inputs.length; i++) {
+                    if (inputs[i] != partialAnswers.get(i).layout) return false;
+                }
+                return true;
+            }
+        }
     }
 }
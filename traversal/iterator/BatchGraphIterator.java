@@ -0,0 +1,288 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.traversal.iterator;
+
+import grakn.core.common.iterator.AbstractResourceIterator;
+import grakn.core.common.iterator.ResourceIterator;
+import grakn.core.common.profile.QueryBudget;
+import grakn.core.common.profile.QueryProfile;
+import grakn.core.graph.GraphManager;
+import grakn.core.graph.vertex.Vertex;
+import grakn.core.traversal.Traversal;
+import grakn.core.traversal.common.VertexMap;
+import grakn.core.traversal.procedure.GraphProcedure;
+import grakn.core.traversal.procedure.ProcedureEdge;
+
+import javax.annotation.Nullable;
+import java.util.NoSuchElementException;
+
+/**
+ * Evaluates a {@link GraphProcedure} by buffering rows a batch at a time between the edges of the procedure, rather
+ * than pulling one answer at a time through nested iterators like {@link GraphIterator}. The first batch holds rows
+ * for as many start vertices as fit, so selective queries still fill whole batches. Each edge of the procedure is a
+ * stage that pulls a batch of rows from the stage of the previous edge, and either filters the batch with the closure
+ * of the edge, or extends each row with the vertices the edge branches to, until it fills a batch of its own. Rows
+ * are never modified once they leave a stage, so rows are only copied when they are extended. Each stage reuses its
+ * batch, as the next stage is done with a batch before it asks for the next one.
+ *
+ * This is row buffering, not vectorised evaluation: each stage still branches from, and checks the closure of, one
+ * row at a time through the same edge methods as {@link GraphIterator}, and no type or predicate edge is evaluated
+ * over a whole batch at once. It is only used when {@link grakn.core.common.parameters.Options#batchedTraversal()} is
+ * enabled, which it is not by default, nor through the RPC options of a transaction.
+ *
+ * Procedures with scoped vertices or role player edges must be evaluated by {@link GraphIterator}, as they track
+ * the roles visited by the current answer.
+ */
+public class BatchGraphIterator extends AbstractResourceIterator<VertexMap> {
+
+    public static final int BATCH_SIZE = 1024;
+
+    private final GraphManager graphMgr;
+    private final Traversal.Parameters params;
+    private final GraphProcedure.Projection projection;
+    private final Stage last;
+    private final Stage[] stages;
+    private final QueryProfile.Edge[] edgeProfiles;
+    private final QueryBudget budget;
+    private Batch batch;
+    private int batchPos;
+
+    public BatchGraphIterator(GraphManager graphMgr, ResourceIterator<? extends Vertex<?, ?>> starts,
+                              GraphProcedure procedure, Traversal.Parameters params,
+                              GraphProcedure.Projection projection, @Nullable QueryProfile.Traversal profile,
+                              QueryBudget budget) {
+        assert procedure.edgesCount() > 0 && procedure.isBatchable();
+        this.graphMgr = graphMgr;
+        this.params = params;
+        this.projection = projection;
+        this.stages = new Stage[procedure.edgesCount()];
+        this.edgeProfiles = profile == null ? null : GraphIterator.edgeProfiles(procedure, profile);
+        this.budget = budget;
+        Stage previous = new Start(starts, procedure.vertexCount(), procedure.startVertex().index(), profile);
+        for (int pos = 1; pos <= procedure.edgesCount(); pos++) {
+            ProcedureEdge<?, ?> edge = procedure.edge(pos);
+            previous = isBound(procedure, pos) ? new Closure(previous, edge) : new Branch(previous, edge);
+            stages[pos - 1] = previous;
+        }
+        this.last = previous;
+        this.batch = null;
+        this.batchPos = 0;
+    }
+
+    private static boolean isBound(GraphProcedure procedure, int pos) {
+        // the vertex an edge ends at is bound if it is the starting vertex, or an earlier edge ends at it
+        int to = procedure.edge(pos).to().index();
+        if (to == procedure.startVertex().index()) return true;
+        for (int i = 1; i < pos; i++) {
+            if (procedure.edge(i).to().index() == to) return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (batch == null || batchPos == batch.size) {
+            budget.check();
+            batch = last.next();
+            batchPos = 0;
+            if (batch == null) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public VertexMap next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        return toVertexMap(batch.rows[batchPos++]);
+    }
+
+    private VertexMap toVertexMap(Vertex<?, ?>[] row) {
+        int[] indices = projection.indices();
+        Vertex<?, ?>[] vertices = new Vertex<?, ?>[indices.length];
+        for (int i = 0; i < indices.length; i++) vertices[i] = row[indices[i]];
+        return VertexMap.of(projection.layout(), vertices);
+    }
+
+    @Override
+    public void recycle() {
+        for (Stage stage : stages) stage.recycle();
+    }
+
+    private static class Batch {
+
+        private final Vertex<?, ?>[][] rows;
+        private int size;
+
+        private Batch() {
+            this.rows = new Vertex<?, ?>[BATCH_SIZE][];
+            this.size = 0;
+        }
+
+        private boolean isFull() {
+            return size == rows.length;
+        }
+
+        private void add(Vertex<?, ?>[] row) {
+            rows[size++] = row;
+        }
+    }
+
+    private abstract static class Stage {
+
+        /**
+         * @return the next batch of rows, which is never empty, or null once the stage is exhausted
+         */
+        abstract Batch next();
+
+        void recycle() {}
+    }
+
+    private static class Start extends Stage {
+
+        private final ResourceIterator<? extends Vertex<?, ?>> starts;
+        private final int width;
+        private final int start;
+        private final QueryProfile.Traversal profile;
+        private final Batch output;
+
+        private Start(ResourceIterator<? extends Vertex<?, ?>> starts, int width, int start,
+                      @Nullable QueryProfile.Traversal profile) {
+            this.starts = starts;
+            this.width = width;
+            this.start = start;
+            this.profile = profile;
+            this.output = new Batch();
+        }
+
+        @Override
+        Batch next() {
+            output.size = 0;
+            while (!output.isFull() && starts.hasNext()) {
+                Vertex<?, ?>[] row = new Vertex<?, ?>[width];
+                row[start] = starts.next();
+                output.add(row);
+                if (profile != null) profile.started();
+            }
+            return output.size > 0 ? output : null;
+        }
+
+        @Override
+        void recycle() {
+            starts.recycle();
+        }
+    }
+
+    private class Closure extends Stage {
+
+        private final Stage previous;
+        private final ProcedureEdge<?, ?> edge;
+        private final QueryProfile.Edge edgeProfile;
+        private final int from;
+        private final int to;
+
+        private Closure(Stage previous, ProcedureEdge<?, ?> edge) {
+            this.previous = previous;
+            this.edge = edge;
+            this.edgeProfile = edgeProfiles == null ? null : edgeProfiles[edge.order() - 1];
+            this.from = edge.from().index();
+            this.to = edge.to().index();
+        }
+
+        @Override
+        Batch next() {
+            Batch input;
+            while ((input = previous.next()) != null) {
+                // the batch is filtered in place, as rows are never shared between batches of the same stage
+                int size = 0;
+                for (int i = 0; i < input.size; i++) {
+                    Vertex<?, ?>[] row = input.rows[i];
+                    if (edge.isClosure(graphMgr, row[from], row[to], params)) input.rows[size++] = row;
+                }
+                if (edgeProfile != null) {
+                    edgeProfile.closed(input.size);
+                    edgeProfile.produced(size);
+                }
+                input.size = size;
+                if (size > 0) return input;
+            }
+            return null;
+        }
+    }
+
+    private class Branch extends Stage {
+
+        private final Stage previous;
+        private final ProcedureEdge<?, ?> edge;
+        private final QueryProfile.Edge edgeProfile;
+        private final int from;
+        private final int to;
+        private final boolean isLimited;
+        private final Batch output;
+        private Batch input;
+        private int inputPos;
+        private ResourceIterator<? extends Vertex<?, ?>> iterator;
+
+        private Branch(Stage previous, ProcedureEdge<?, ?> edge) {
+            this.previous = previous;
+            this.edge = edge;
+            this.edgeProfile = edgeProfiles == null ? null : edgeProfiles[edge.order() - 1];
+            this.from = edge.from().index();
+            this.to = edge.to().index();
+            this.isLimited = !edge.to().id().isName() && edge.to().outs().isEmpty() && edge.to().ins().size() == 1;
+            this.output = new Batch();
+        }
+
+        @Override
+        Batch next() {
+            output.size = 0;
+            while (!output.isFull()) {
+                if (iterator != null && iterator.hasNext()) {
+                    Vertex<?, ?>[] row = input.rows[inputPos].clone();
+                    row[to] = iterator.next();
+                    output.add(row);
+                    if (edgeProfile != null) edgeProfile.produced();
+                } else if (!nextIterator()) {
+                    break;
+                }
+            }
+            return output.size > 0 ? output : null;
+        }
+
+        private boolean nextIterator() {
+            if (iterator != null) {
+                iterator = null;
+                inputPos++;
+            }
+            if (input == null || inputPos == input.size) {
+                input = previous.next();
+                inputPos = 0;
+                if (input == null) return false;
+            }
+            iterator = edge.branch(graphMgr, input.rows[inputPos][from], params);
+            if (isLimited) iterator = iterator.limit(1);
+            if (edgeProfile != null) edgeProfile.branched();
+            return true;
+        }
+
+        @Override
+        void recycle() {
+            if (iterator != null) iterator.recycle();
+        }
+    }
+}
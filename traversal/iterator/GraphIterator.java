@@ -21,6 +21,8 @@ package grakn.core.traversal.iterator;
 import grakn.core.common.exception.GraknException;
 import grakn.core.common.iterator.AbstractResourceIterator;
 import grakn.core.common.iterator.ResourceIterator;
+import grakn.core.common.profile.QueryBudget;
+import grakn.core.common.profile.QueryProfile;
 import grakn.core.graph.GraphManager;
 import grakn.core.graph.vertex.ThingVertex;
 import grakn.core.graph.vertex.Vertex;
@@ -32,6 +34,7 @@ import grakn.core.traversal.procedure.ProcedureEdge;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -41,7 +44,6 @@ import java.util.Set;
 import java.util.TreeMap;
 
 import static grakn.core.common.exception.ErrorMessage.Internal.ILLEGAL_STATE;
-import static java.util.stream.Collectors.toMap;
 
 public class GraphIterator extends AbstractResourceIterator<VertexMap> {
 
@@ -50,9 +52,11 @@ public class GraphIterator extends AbstractResourceIterator<VertexMap> {
     private final GraphManager graphMgr;
     private final GraphProcedure procedure;
     private final Traversal.Parameters params;
-    private final Set<Identifier.Variable.Name> filter;
-    private final Map<Identifier, ResourceIterator<? extends Vertex<?, ?>>> iterators;
-    private final Map<Identifier, Vertex<?, ?>> answer;
+    private final GraphProcedure.Projection projection;
+    private final ResourceIterator<? extends Vertex<?, ?>>[] iterators;
+    private final Vertex<?, ?>[] answer;
+    private final QueryProfile.Edge[] edgeProfiles;
+    private final QueryBudget budget;
     private final Scopes scopes;
     private final SeekStack seekStack;
     private final int edgeCount;
@@ -61,22 +65,26 @@ public class GraphIterator extends AbstractResourceIterator<VertexMap> {
 
     enum State {INIT, EMPTY, FETCHED, COMPLETED}
 
+    @SuppressWarnings("unchecked")
     public GraphIterator(GraphManager graphMgr, Vertex<?, ?> start, GraphProcedure procedure,
-                         Traversal.Parameters params, Set<Identifier.Variable.Name> filter) {
+                         Traversal.Parameters params, GraphProcedure.Projection projection,
+                         @Nullable QueryProfile.Traversal profile, QueryBudget budget) {
         assert procedure.edgesCount() > 0;
         this.graphMgr = graphMgr;
         this.procedure = procedure;
         this.params = params;
-        this.filter = filter;
+        this.projection = projection;
         this.edgeCount = procedure.edgesCount();
-        this.iterators = new HashMap<>();
+        this.iterators = (ResourceIterator<? extends Vertex<?, ?>>[]) new ResourceIterator<?>[procedure.vertexCount()];
         this.scopes = new Scopes();
         this.seekStack = new SeekStack(edgeCount);
         this.state = State.INIT;
-        this.answer = new HashMap<>();
+        this.answer = new Vertex<?, ?>[procedure.vertexCount()];
+        this.edgeProfiles = profile == null ? null : edgeProfiles(procedure, profile);
+        this.budget = budget;
 
         Identifier startId = procedure.startVertex().id();
-        this.answer.put(startId, start);
+        this.answer[procedure.startVertex().index()] = start;
         if (startId.isScoped()) {
             Identifier.Variable scope = startId.asScoped().scope();
             Scopes.Scoped scoped = scopes.getOrInitialise(scope);
@@ -84,6 +92,15 @@ public class GraphIterator extends AbstractResourceIterator<VertexMap> {
         }
     }
 
+    static QueryProfile.Edge[] edgeProfiles(GraphProcedure procedure, QueryProfile.Traversal profile) {
+        QueryProfile.Edge[] edgeProfiles = new QueryProfile.Edge[procedure.edgesCount()];
+        for (int pos = 1; pos <= procedure.edgesCount(); pos++) {
+            ProcedureEdge<?, ?> edge = procedure.edge(pos);
+            edgeProfiles[pos - 1] = profile.edge(edge.order(), edge.toString(), edge.estimatedRows());
+        }
+        return edgeProfiles;
+    }
+
     @Override
     public boolean hasNext() {
         try {
@@ -108,33 +125,32 @@ public class GraphIterator extends AbstractResourceIterator<VertexMap> {
     }
 
     private boolean computeFirst(int pos) {
-        if (answer.containsKey(procedure.edge(pos).to().id())) return computeFirstClosure(pos);
+        if (answer[procedure.edge(pos).to().index()] != null) return computeFirstClosure(pos);
         else return computeFirstBranch(pos);
     }
 
     private boolean computeFirstBranch(int pos) {
         ProcedureEdge<?, ?> edge = procedure.edge(pos);
-        Identifier toID = edge.to().id();
-        Identifier fromId = edge.from().id();
-        ResourceIterator<? extends Vertex<?, ?>> toIter = branch(answer.get(fromId), edge);
+        int to = edge.to().index();
+        ResourceIterator<? extends Vertex<?, ?>> toIter = branch(answer[edge.from().index()], edge);
 
         if (toIter.hasNext()) {
-            iterators.put(toID, toIter);
-            answer.put(toID, toIter.next());
+            iterators[to] = toIter;
+            answer[to] = toIter.next();
             if (pos == edgeCount) return true;
             while (!computeFirst(pos + 1)) {
                 if (pos == seekStack.peekLastPos()) {
                     seekStack.popLastPos();
-                    if (toIter.hasNext()) answer.put(toID, toIter.next());
+                    if (toIter.hasNext()) answer[to] = toIter.next();
                     else {
                         popScope(pos);
-                        answer.remove(toID);
+                        answer[to] = null;
                         branchFailure(edge);
                         return false;
                     }
                 } else {
                     popScope(pos);
-                    answer.remove(toID);
+                    answer[to] = null;
                     toIter.recycle();
                     return false;
                 }
@@ -148,7 +164,7 @@ public class GraphIterator extends AbstractResourceIterator<VertexMap> {
 
     private boolean computeFirstClosure(int pos) {
         ProcedureEdge<?, ?> edge = procedure.edge(pos);
-        if (isClosure(edge, answer.get(edge.from().id()), answer.get(edge.to().id()))) {
+        if (isClosure(edge, answer[edge.from().index()], answer[edge.to().index()])) {
             if (pos == edgeCount) return true;
             else return computeFirst(pos + 1);
         } else {
@@ -184,29 +200,28 @@ public class GraphIterator extends AbstractResourceIterator<VertexMap> {
         if (pos == 0) return false;
 
         ProcedureEdge<?, ?> edge = procedure.edge(pos);
-        Identifier toID = edge.to().id();
+        int to = edge.to().index();
 
         if (pos == computeNextSeekPos) {
             computeNextSeekPos = edgeCount;
         } else if (pos > computeNextSeekPos) {
-            if (!edge.isClosureEdge()) iterators.get(toID).recycle();
+            if (!edge.isClosureEdge()) iterators[to].recycle();
             if (!backTrack(pos)) return false;
 
             if (edge.isClosureEdge()) {
-                Vertex<?, ?> fromVertex = answer.get(edge.from().id());
-                Vertex<?, ?> toVertex = answer.get(edge.to().id());
+                Vertex<?, ?> fromVertex = answer[edge.from().index()];
+                Vertex<?, ?> toVertex = answer[to];
                 if (isClosure(edge, fromVertex, toVertex)) return true;
                 else return computeNextClosure(pos);
             } else {
-                ResourceIterator<? extends Vertex<?, ?>> toIter = branch(answer.get(edge.from().id()), edge);
-                iterators.put(toID, toIter);
+                iterators[to] = branch(answer[edge.from().index()], edge);
             }
         }
 
         if (edge.isClosureEdge()) {
             return computeNextClosure(pos);
-        } else if (iterators.get(toID).hasNext()) {
-            answer.put(toID, iterators.get(toID).next());
+        } else if (iterators[to].hasNext()) {
+            answer[to] = iterators[to].next();
             return true;
         } else {
             return computeNextBranch(pos);
@@ -218,8 +233,8 @@ public class GraphIterator extends AbstractResourceIterator<VertexMap> {
         do {
 
             if (backTrack(pos)) {
-                Vertex<?, ?> fromVertex = answer.get(edge.from().id());
-                Vertex<?, ?> toVertex = answer.get(edge.to().id());
+                Vertex<?, ?> fromVertex = answer[edge.from().index()];
+                Vertex<?, ?> toVertex = answer[edge.to().index()];
                 if (isClosure(edge, fromVertex, toVertex)) return true;
             } else {
                 return false;
@@ -233,7 +248,7 @@ public class GraphIterator extends AbstractResourceIterator<VertexMap> {
 
         do {
             if (backTrack(pos)) {
-                Vertex<?, ?> fromVertex = answer.get(edge.from().id());
+                Vertex<?, ?> fromVertex = answer[edge.from().index()];
                 newIter = branch(fromVertex, edge);
                 if (!newIter.hasNext()) {
                     if (edge.onlyStartsFromRelation() && !scopes.get(edge.from().id().asVariable()).isEmpty()) {
@@ -249,21 +264,30 @@ public class GraphIterator extends AbstractResourceIterator<VertexMap> {
                 return false;
             }
         } while (!newIter.hasNext());
-        iterators.put(edge.to().id(), newIter);
-        answer.put(edge.to().id(), newIter.next());
+        iterators[edge.to().index()] = newIter;
+        answer[edge.to().index()] = newIter.next();
         return true;
     }
 
     private boolean isClosure(ProcedureEdge<?, ?> edge, Vertex<?, ?> fromVertex, Vertex<?, ?> toVertex) {
+        boolean isClosure;
         if (edge.isRolePlayer()) {
             Scopes.Scoped scoped = scopes.getOrInitialise(edge.asRolePlayer().scope());
-            return edge.asRolePlayer().isClosure(graphMgr, fromVertex, toVertex, params, scoped);
+            isClosure = edge.asRolePlayer().isClosure(graphMgr, fromVertex, toVertex, params, scoped);
         } else {
-            return edge.isClosure(graphMgr, fromVertex, toVertex, params);
+            isClosure = edge.isClosure(graphMgr, fromVertex, toVertex, params);
+        }
+        if (edgeProfiles != null) {
+            QueryProfile.Edge edgeProfile = edgeProfiles[edge.order() - 1];
+            edgeProfile.closed();
+            if (isClosure) edgeProfile.produced();
         }
+        return isClosure;
     }
 
     private ResourceIterator<? extends Vertex<?, ?>> branch(Vertex<?, ?> fromVertex, ProcedureEdge<?, ?> edge) {
+        // a traversal may seek many times without producing an answer, so the deadline is checked before each seek
+        budget.check();
         ResourceIterator<? extends Vertex<?, ?>> toIter;
         if (edge.to().id().isScoped()) {
             Identifier.Variable scope = edge.to().id().asScoped().scope();
@@ -295,6 +319,14 @@ public class GraphIterator extends AbstractResourceIterator<VertexMap> {
             //       an entire tree, where none of the leaves are referenced by name
             toIter = toIter.limit(1);
         }
+        if (edgeProfiles != null) {
+            QueryProfile.Edge edgeProfile = edgeProfiles[edge.order() - 1];
+            edgeProfile.branched();
+            toIter = toIter.map(v -> {
+                edgeProfile.produced();
+                return v;
+            });
+        }
         return toIter;
     }
 
@@ -318,19 +350,22 @@ public class GraphIterator extends AbstractResourceIterator<VertexMap> {
     public VertexMap next() {
         if (!hasNext()) throw new NoSuchElementException();
         state = State.EMPTY;
-        return toReferenceMap(answer);
+        return toVertexMap();
     }
 
-    private VertexMap toReferenceMap(Map<Identifier, Vertex<?, ?>> answer) {
-        return VertexMap.of(
-                answer.entrySet().stream()
-                        .filter(e -> e.getKey().isName() && filter.contains(e.getKey().asVariable().asName()))
-                        .collect(toMap(k -> k.getKey().asVariable().reference(), Map.Entry::getValue))
-        );
+    private VertexMap toVertexMap() {
+        int[] indices = projection.indices();
+        Vertex<?, ?>[] vertices = new Vertex<?, ?>[indices.length];
+        for (int i = 0; i < indices.length; i++) vertices[i] = answer[indices[i]];
+        return VertexMap.of(projection.layout(), vertices);
     }
 
     @Override
-    public void recycle() {}
+    public void recycle() {
+        for (ResourceIterator<? extends Vertex<?, ?>> iterator : iterators) {
+            if (iterator != null) iterator.recycle();
+        }
+    }
 
     public static class Scopes {
 
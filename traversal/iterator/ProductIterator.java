@@ -0,0 +1,310 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.traversal.iterator;
+
+import grakn.core.common.exception.GraknException;
+import grakn.core.common.iterator.AbstractResourceIterator;
+import grakn.core.common.iterator.ResourceIterator;
+import grakn.core.graph.GraphManager;
+import grakn.core.traversal.common.VertexMap;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Combines the answers of disconnected traversals into their cartesian product, lazily. The first traversal is
+ * streamed exactly once, and each of the others is recorded during its first pass and replayed for every answer of
+ * the traversals before it, so no traversal is read from storage more than once. Recorded answers are kept on heap
+ * up to an equal share of the memory budget, and the rest are written to local disk as the IIDs of their vertices.
+ *
+ * Callers should place the traversal that is expected to produce the most answers first.
+ */
+public class ProductIterator extends AbstractResourceIterator<VertexMap> {
+
+    private static final int ANSWER_OVERHEAD = 48;
+    private static final int VERTEX_OVERHEAD = 40;
+
+    private final GraphManager graphMgr;
+    private final ResourceIterator<VertexMap> streamed;
+    private final Replay[] replays;
+    private final VertexMap[] combination;
+    private final VertexMap.Merger merger;
+    private State state;
+
+    private enum State {INIT, EMPTY, FETCHED, COMPLETED}
+
+    public ProductIterator(GraphManager graphMgr, List<? extends ResourceIterator<VertexMap>> iterators,
+                           long memoryBudget) {
+        assert iterators.size() > 1;
+        this.graphMgr = graphMgr;
+        this.streamed = iterators.get(0);
+        this.replays = new Replay[iterators.size() - 1];
+        long replayBudget = Math.max(1, memoryBudget / replays.length);
+        for (int i = 0; i < replays.length; i++) replays[i] = new Replay(iterators.get(i + 1), replayBudget);
+        this.combination = new VertexMap[iterators.size()];
+        this.merger = new VertexMap.Merger();
+        this.state = State.INIT;
+    }
+
+    @Override
+    public boolean hasNext() {
+        switch (state) {
+            case INIT:
+                return initialiseAndCheck();
+            case EMPTY:
+                return fetchAndCheck();
+            case FETCHED:
+                return true;
+            case COMPLETED:
+                return false;
+            default: // This should never be reached
+                return false;
+        }
+    }
+
+    private boolean initialiseAndCheck() {
+        if (!streamed.hasNext()) return complete();
+        combination[0] = streamed.next();
+        for (int i = 0; i < replays.length; i++) {
+            if (!replays[i].hasNext()) return complete();
+            combination[i + 1] = replays[i].next();
+        }
+        state = State.FETCHED;
+        return true;
+    }
+
+    private boolean fetchAndCheck() {
+        if (tryIncrement(combination.length - 1)) {
+            state = State.FETCHED;
+            return true;
+        } else {
+            return complete();
+        }
+    }
+
+    private boolean tryIncrement(int pos) {
+        if (pos == 0) {
+            if (!streamed.hasNext()) return false;
+            combination[0] = streamed.next();
+            return true;
+        }
+        Replay replay = replays[pos - 1];
+        if (replay.hasNext()) {
+            combination[pos] = replay.next();
+            return true;
+        } else if (tryIncrement(pos - 1)) {
+            replay.rewind();
+            combination[pos] = replay.next();
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    private boolean complete() {
+        state = State.COMPLETED;
+        recycle();
+        return false;
+    }
+
+    @Override
+    public VertexMap next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        state = State.EMPTY;
+        return merger.merge(Arrays.asList(combination));
+    }
+
+    /**
+     * Deletes the answers every traversal recorded, which is the only way their spill files are deleted, so it must
+     * be called however the iteration ends. Every replay is closed, even if closing another replay failed.
+     */
+    @Override
+    public void recycle() {
+        streamed.recycle();
+        GraknException error = null;
+        for (Replay replay : replays) {
+            try {
+                replay.close();
+            } catch (GraknException e) {
+                if (error == null) error = e;
+            }
+        }
+        if (error != null) throw error;
+    }
+
+    /**
+     * Records the answers of a traversal during its first pass, and replays them on every pass after that.
+     */
+    private class Replay {
+
+        private final ResourceIterator<VertexMap> source;
+        private final long budget;
+        private final List<VertexMap> memory;
+        private long memoryUsage;
+        private boolean isRecorded;
+        private int memoryPos;
+        private Path spillFile;
+        private VertexMap.Layout spillLayout;
+        private long spillCount;
+        private DataOutputStream spillOutput;
+        private DataInputStream spillInput;
+        private long spillPos;
+
+        private Replay(ResourceIterator<VertexMap> source, long budget) {
+            this.source = source;
+            this.budget = budget;
+            this.memory = new ArrayList<>();
+            this.memoryUsage = 0;
+            this.isRecorded = false;
+            this.spillCount = 0;
+        }
+
+        private boolean hasNext() {
+            if (!isRecorded) {
+                if (source.hasNext()) return true;
+                finishRecording();
+                return false;
+            } else {
+                return memoryPos < memory.size() || spillPos < spillCount;
+            }
+        }
+
+        private VertexMap next() {
+            if (!isRecorded) {
+                VertexMap answer = source.next();
+                record(answer);
+                return answer;
+            } else if (memoryPos < memory.size()) {
+                return memory.get(memoryPos++);
+            } else {
+                return readSpilled();
+            }
+        }
+
+        private void rewind() {
+            assert isRecorded;
+            memoryPos = 0;
+            spillPos = 0;
+            closeInput();
+            if (spillCount > 0) {
+                try {
+                    spillInput = new DataInputStream(new BufferedInputStream(Files.newInputStream(spillFile)));
+                } catch (IOException e) {
+                    throw GraknException.of(e);
+                }
+            }
+        }
+
+        private void record(VertexMap answer) {
+            long size = ANSWER_OVERHEAD + (long) VERTEX_OVERHEAD * answer.size();
+            if (spillCount == 0 && memoryUsage + size <= budget) {
+                memory.add(answer);
+                memoryUsage += size;
+            } else {
+                spill(answer);
+            }
+        }
+
+        private void spill(VertexMap answer) {
+            try {
+                if (spillOutput == null) {
+                    spillFile = Files.createTempFile(Paths.get(System.getProperty("java.io.tmpdir")), "product-", ".run");
+                    spillOutput = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(spillFile)));
+                    spillLayout = answer.layout();
+                }
+                assert spillLayout.equals(answer.layout());
+                byte[] key = answer.key();
+                spillOutput.writeInt(key.length);
+                spillOutput.write(key);
+                spillCount++;
+            } catch (IOException e) {
+                throw GraknException.of(e);
+            }
+        }
+
+        private void finishRecording() {
+            isRecorded = true;
+            source.recycle();
+            if (spillOutput != null) {
+                try {
+                    spillOutput.close();
+                    spillOutput = null;
+                } catch (IOException e) {
+                    throw GraknException.of(e);
+                }
+            }
+        }
+
+        private VertexMap readSpilled() {
+            try {
+                byte[] key = new byte[spillInput.readInt()];
+                spillInput.readFully(key);
+                spillPos++;
+                return VertexMap.of(spillLayout, key, graphMgr);
+            } catch (IOException e) {
+                throw GraknException.of(e);
+            }
+        }
+
+        private void closeInput() {
+            if (spillInput != null) {
+                try {
+                    spillInput.close();
+                    spillInput = null;
+                } catch (IOException e) {
+                    throw GraknException.of(e);
+                }
+            }
+        }
+
+        private void close() {
+            memory.clear();
+            try {
+                source.recycle();
+                closeInput();
+                if (spillOutput != null) spillOutput.close();
+            } catch (IOException e) {
+                throw GraknException.of(e);
+            } finally {
+                spillOutput = null;
+                deleteSpillFile();
+            }
+        }
+
+        private void deleteSpillFile() {
+            if (spillFile == null) return;
+            try {
+                Files.deleteIfExists(spillFile);
+                spillFile = null;
+            } catch (IOException e) {
+                throw GraknException.of(e);
+            }
+        }
+    }
+}
@@ -135,6 +135,12 @@ public class GraphPlanner implements Planner {
         return procedure;
     }
 
+    @Override
+    public double estimatedAnswers() {
+        GraphProcedure procedure = procedure();
+        return procedure.edge(procedure.edgesCount()).estimatedRows();
+    }
+
     @Override
     public boolean isGraph() { return true; }
 
@@ -34,6 +34,13 @@ public interface Planner {
         if (isGraph()) this.asGraph().optimise(graphMgr, extraTime);
     }
 
+    /**
+     * @return the number of answers the procedure is estimated to produce, which is unbounded when not estimated
+     */
+    default double estimatedAnswers() {
+        return Double.MAX_VALUE;
+    }
+
     static Planner create(Structure structure) {
         if (structure.vertices().size() == 1) return VertexPlanner.create(structure);
         else return GraphPlanner.create(structure);
@@ -192,6 +192,10 @@ public abstract class PlannerEdge<VERTEX_FROM extends PlannerVertex<?>, VERTEX_T
             return direction;
         }
 
+        public double cost() {
+            return costLastRecorded;
+        }
+
         public boolean isInitialisedVariables() {
             return isInitialisedVariables;
         }
@@ -69,6 +69,13 @@ public abstract class PlannerVertex<PROPERTIES extends TraversalVertex.Propertie
 
     abstract void updateObjective(GraphManager graph);
 
+    /**
+     * @return the number of vertices the planner estimated this vertex to start from
+     */
+    public double cost() {
+        return costLastRecorded;
+    }
+
     public boolean isStartingVertex() {
         return varIsStartingVertex_result == 1;
     }
@@ -18,15 +18,20 @@
 
 package grakn.core.traversal.procedure;
 
+import grakn.core.common.collection.SpillingSet;
 import grakn.core.common.exception.GraknException;
 import grakn.core.common.iterator.ResourceIterator;
 import grakn.core.common.parameters.Label;
-import grakn.core.concurrent.common.ConcurrentSet;
+import grakn.core.common.parameters.Options;
+import grakn.core.common.profile.QueryBudget;
+import grakn.core.common.profile.QueryProfile;
 import grakn.core.concurrent.producer.Producer;
 import grakn.core.graph.GraphManager;
+import grakn.core.graph.vertex.Vertex;
 import grakn.core.traversal.Traversal;
 import grakn.core.traversal.common.Identifier;
 import grakn.core.traversal.common.VertexMap;
+import grakn.core.traversal.iterator.BatchGraphIterator;
 import grakn.core.traversal.iterator.GraphIterator;
 import grakn.core.traversal.planner.GraphPlanner;
 import grakn.core.traversal.planner.PlannerEdge;
@@ -36,6 +41,7 @@ import graql.lang.pattern.variable.Reference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
@@ -44,10 +50,13 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static grakn.core.common.exception.ErrorMessage.Internal.ILLEGAL_STATE;
+import static grakn.core.common.iterator.Iterators.chunk;
 import static grakn.core.common.iterator.Iterators.iterate;
 import static grakn.core.concurrent.producer.Producers.async;
 
@@ -57,11 +66,13 @@ public class GraphProcedure implements Procedure {
 
     private final Map<Identifier, ProcedureVertex<?, ?>> vertices;
     private final ProcedureEdge<?, ?>[] edges;
+    private final ConcurrentMap<Set<Identifier.Variable.Name>, Projection> projections;
     private ProcedureVertex<?, ?> startVertex;
 
     private GraphProcedure(int edgeSize) {
         vertices = new HashMap<>();
         edges = new ProcedureEdge<?, ?>[edgeSize];
+        projections = new ConcurrentHashMap<>();
     }
 
     public static GraphProcedure create(GraphPlanner planner) {
@@ -69,9 +80,23 @@ public class GraphProcedure implements Procedure {
         Set<PlannerVertex<?>> registeredVertices = new HashSet<>();
         Set<PlannerEdge.Directional<?, ?>> registeredEdges = new HashSet<>();
         planner.vertices().forEach(vertex -> procedure.registerVertex(vertex, registeredVertices, registeredEdges));
+        iterate(planner.vertices()).filter(PlannerVertex::isStartingVertex).first()
+                .ifPresent(start -> procedure.estimateRows(start.cost()));
         return procedure;
     }
 
+    /**
+     * Records the rows the plan expects each edge to produce: an edge that branches multiplies the rows before it by
+     * its cost, while a closure edge is given the rows before it, as the planner does not estimate its selectivity.
+     */
+    private void estimateRows(double startRows) {
+        double rows = startRows;
+        for (ProcedureEdge<?, ?> edge : edges) {
+            if (!edge.isClosureEdge()) rows *= edge.cost();
+            edge.estimatedRows(rows);
+        }
+    }
+
     public static GraphProcedure.Builder builder(int size) {
         GraphProcedure procedure = new GraphProcedure(size);
         return procedure.new Builder();
@@ -93,6 +118,24 @@ public class GraphProcedure implements Procedure {
         return vertices.get(identifier);
     }
 
+    public int vertexCount() {
+        return vertices.size();
+    }
+
+    public Projection projection(Set<Identifier.Variable.Name> filter) {
+        Projection projection = projections.get(filter);
+        if (projection == null) {
+            projection = new Projection(filter);
+            projections.putIfAbsent(new HashSet<>(filter), projection);
+        }
+        return projection;
+    }
+
+    public boolean isBatchable() {
+        return iterate(vertices.values()).noneMatch(v -> v.id().isScoped())
+                && Arrays.stream(edges).noneMatch(ProcedureEdge::isRolePlayer);
+    }
+
     public ProcedureEdge<?, ?> edge(int pos) {
         return edges[pos - 1];
     }
@@ -154,13 +197,13 @@ public class GraphProcedure implements Procedure {
 
     private ProcedureVertex.Thing thingVertex(Identifier identifier, boolean isStart) {
         return vertices.computeIfAbsent(
-                identifier, id -> new ProcedureVertex.Thing(id, isStart)
+                identifier, id -> new ProcedureVertex.Thing(id, vertices.size(), isStart)
         ).asThing();
     }
 
     private ProcedureVertex.Type typeVertex(Identifier identifier, boolean isStart) {
         return vertices.computeIfAbsent(
-                identifier, id -> new ProcedureVertex.Type(id, isStart)
+                identifier, id -> new ProcedureVertex.Type(id, vertices.size(), isStart)
         ).asType();
     }
 
@@ -170,29 +213,71 @@ public class GraphProcedure implements Procedure {
 
     @Override
     public Producer<VertexMap> producer(GraphManager graphMgr, Traversal.Parameters params,
-                                        Set<Identifier.Variable.Name> filter, int parallelisation) {
+                                        Set<Identifier.Variable.Name> filter, int parallelisation, long limit,
+                                        Options<?, ?> options, QueryProfile profile, QueryBudget budget) {
         if (LOG.isDebugEnabled()) {
             LOG.debug(params.toString());
             LOG.debug(this.toString());
         }
         assertWithinFilterBounds(filter);
-        ConcurrentSet<VertexMap> produced = new ConcurrentSet<>();
-        ResourceIterator<ResourceIterator<VertexMap>> iterators = startVertex().iterator(graphMgr, params)
-                .map(v -> new GraphIterator(graphMgr, v, this, params, filter).distinct(produced));
-        return async(iterators, parallelisation);
+        Projection projection = projection(filter);
+        QueryProfile.Traversal traversalProfile = profile.isEnabled() ? profile.traversal(toString()) : null;
+        ResourceIterator<ResourceIterator<VertexMap>> iterators;
+        if (isBatched(options)) {
+            // each job evaluates a batch of start vertices, so that selective queries still fill whole batches
+            iterators = chunk(startVertex().iterator(graphMgr, params), BatchGraphIterator.BATCH_SIZE).map(
+                    starts -> new BatchGraphIterator(graphMgr, iterate(starts), this, params, projection,
+                                                     traversalProfile, budget)
+            );
+        } else {
+            iterators = startVertex().iterator(graphMgr, params)
+                    .map(v -> iterator(graphMgr, v, params, projection, traversalProfile, budget));
+        }
+        if (projection.isUnique()) return async(iterators, parallelisation, limit);
+        SpillingSet<VertexMap> produced = new SpillingSet<>(VertexMap::key, distinctMemory(options, budget));
+        // the jobs of the producer share the set, so it is only closed once the producer has finished
+        iterators = iterators.map(iterator -> iterator.distinct(produced));
+        return async(iterators, parallelisation, limit).onFinished(produced::close);
     }
 
     @Override
     public ResourceIterator<VertexMap> iterator(GraphManager graphMgr, Traversal.Parameters params,
-                                                Set<Identifier.Variable.Name> filter) {
+                                                Set<Identifier.Variable.Name> filter, Options<?, ?> options,
+                                                QueryProfile profile, QueryBudget budget) {
         if (LOG.isDebugEnabled()) {
             LOG.debug(params.toString());
             LOG.debug(this.toString());
         }
         assertWithinFilterBounds(filter);
-        return startVertex().iterator(graphMgr, params).flatMap(
-                sv -> new GraphIterator(graphMgr, sv, this, params, filter)
-        ).distinct();
+        Projection projection = projection(filter);
+        QueryProfile.Traversal traversalProfile = profile.isEnabled() ? profile.traversal(toString()) : null;
+        ResourceIterator<VertexMap> answers;
+        if (isBatched(options)) {
+            answers = new BatchGraphIterator(graphMgr, startVertex().iterator(graphMgr, params), this, params,
+                                             projection, traversalProfile, budget);
+        } else {
+            answers = startVertex().iterator(graphMgr, params).flatMap(
+                    sv -> iterator(graphMgr, sv, params, projection, traversalProfile, budget)
+            );
+        }
+        if (projection.isUnique()) return answers;
+        SpillingSet<VertexMap> produced = new SpillingSet<>(VertexMap::key, distinctMemory(options, budget));
+        return answers.distinct(produced).onConsumed(produced::close).onRecycle(produced::close);
+    }
+
+    private static SpillingSet.Memory distinctMemory(Options<?, ?> options, QueryBudget budget) {
+        return budget.distinctMemory().orElseGet(() -> new SpillingSet.Memory(options.distinctMemoryBytes()));
+    }
+
+    private boolean isBatched(Options<?, ?> options) {
+        return options.batchedTraversal() && isBatchable();
+    }
+
+    private ResourceIterator<VertexMap> iterator(GraphManager graphMgr, Vertex<?, ?> start,
+                                                 Traversal.Parameters params, Projection projection,
+                                                 @Nullable QueryProfile.Traversal profile, QueryBudget budget) {
+        if (profile != null) profile.started();
+        return new GraphIterator(graphMgr, start, this, params, projection, profile, budget);
     }
 
     @Override
@@ -216,6 +301,62 @@ public class GraphProcedure implements Procedure {
         return str.toString();
     }
 
+    /**
+     * The answer layout of this procedure for a given filter, where each slot of the layout holds the vertex at
+     * the corresponding procedure vertex index.
+     */
+    public class Projection {
+
+        private final VertexMap.Layout layout;
+        private final int[] indices;
+        private final boolean isUnique;
+
+        private Projection(Set<Identifier.Variable.Name> filter) {
+            List<ProcedureVertex<?, ?>> projected = iterate(vertices.values())
+                    .filter(v -> v.id().isName() && filter.contains(v.id().asVariable().asName())).toList();
+            projected.sort(Comparator.comparing(ProcedureVertex::index));
+            layout = VertexMap.Layout.of(iterate(projected).map(v -> v.id().asVariable().reference()).toList());
+            indices = projected.stream().mapToInt(ProcedureVertex::index).toArray();
+            isUnique = isUnique(projected);
+        }
+
+        /**
+         * Answers are unique when every vertex that is projected away either is a leaf that the iterator limits to a
+         * single result, or is a type vertex bound to a single label and only reached through isa edges, so that it
+         * can never take more than one value. Role players may repeat within a relation, so any role player edge may
+         * also produce the same answer twice.
+         */
+        private boolean isUnique(List<ProcedureVertex<?, ?>> projected) {
+            Set<ProcedureVertex<?, ?>> retained = new HashSet<>(projected);
+            return iterate(vertices.values()).allMatch(v -> isConstantType(v) || (v.isThing() && !v.id().isScoped() && (
+                    retained.contains(v) || isLimitedLeaf(v)
+            ))) && Arrays.stream(edges).noneMatch(ProcedureEdge::isRolePlayer);
+        }
+
+        private boolean isLimitedLeaf(ProcedureVertex<?, ?> vertex) {
+            // GraphIterator and BatchGraphIterator limit the branch to such a leaf to one vertex
+            return !vertex.id().isName() && vertex.outs().isEmpty() && vertex.ins().size() == 1;
+        }
+
+        private boolean isConstantType(ProcedureVertex<?, ?> vertex) {
+            return vertex.isType() && vertex.id().isLabel() && vertex.asType().props().labels().size() == 1 &&
+                    iterate(vertex.ins()).allMatch(ProcedureEdge::isIsa) &&
+                    iterate(vertex.outs()).allMatch(ProcedureEdge::isIsa);
+        }
+
+        public boolean isUnique() {
+            return isUnique;
+        }
+
+        public VertexMap.Layout layout() {
+            return layout;
+        }
+
+        public int[] indices() {
+            return indices;
+        }
+    }
+
     public class Builder { // TODO: to be completed
 
         public GraphProcedure build() {
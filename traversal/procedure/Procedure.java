@@ -19,6 +19,9 @@
 package grakn.core.traversal.procedure;
 
 import grakn.core.common.iterator.ResourceIterator;
+import grakn.core.common.parameters.Options;
+import grakn.core.common.profile.QueryBudget;
+import grakn.core.common.profile.QueryProfile;
 import grakn.core.concurrent.producer.Producer;
 import grakn.core.graph.GraphManager;
 import grakn.core.traversal.Traversal;
@@ -30,8 +33,10 @@ import java.util.Set;
 public interface Procedure {
 
     Producer<VertexMap> producer(GraphManager graphMgr, Traversal.Parameters params,
-                                 Set<Identifier.Variable.Name> filter, int parallelisation);
+                                 Set<Identifier.Variable.Name> filter, int parallelisation, long limit,
+                                 Options<?, ?> options, QueryProfile profile, QueryBudget budget);
 
     ResourceIterator<VertexMap> iterator(GraphManager graphMgr, Traversal.Parameters params,
-                                         Set<Identifier.Variable.Name> filter);
+                                         Set<Identifier.Variable.Name> filter, Options<?, ?> options,
+                                         QueryProfile profile, QueryBudget budget);
 }
\ No newline at end of file
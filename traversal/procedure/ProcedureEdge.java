@@ -79,26 +79,33 @@ public abstract class ProcedureEdge<
 
     private final int order;
     private final Encoding.Direction.Edge direction;
+    private double cost;
+    private double estimatedRows;
 
     private ProcedureEdge(VERTEX_FROM from, VERTEX_TO to, int order, Encoding.Direction.Edge direction, String symbol) {
         super(from, to, symbol);
         this.order = order;
         this.direction = direction;
+        this.cost = 1;
+        this.estimatedRows = 1;
     }
 
     public static ProcedureEdge<?, ?> of(ProcedureVertex<?, ?> from, ProcedureVertex<?, ?> to,
                                          PlannerEdge.Directional<?, ?> plannerEdge) {
         int order = plannerEdge.orderNumber();
         Encoding.Direction.Edge dir = plannerEdge.direction();
+        ProcedureEdge<?, ?> edge;
         if (plannerEdge.isEqual()) {
-            return new Equal(from, to, order, dir);
+            edge = new Equal(from, to, order, dir);
         } else if (plannerEdge.isPredicate()) {
-            return new Predicate(from.asThing(), to.asThing(), order, dir, plannerEdge.asPredicate().predicate());
+            edge = new Predicate(from.asThing(), to.asThing(), order, dir, plannerEdge.asPredicate().predicate());
         } else if (plannerEdge.isNative()) {
-            return Native.of(from, to, plannerEdge.asNative());
+            edge = Native.of(from, to, plannerEdge.asNative());
         } else {
             throw GraknException.of(UNRECOGNISED_VALUE);
         }
+        edge.cost = plannerEdge.cost();
+        return edge;
     }
 
     public abstract ResourceIterator<? extends Vertex<?, ?>> branch(GraphManager graphMgr, Vertex<?, ?> fromVertex,
@@ -115,6 +122,24 @@ public abstract class ProcedureEdge<
         return direction;
     }
 
+    /**
+     * @return the number of vertices the planner estimated this edge to branch to, from every vertex it starts from
+     */
+    public double cost() {
+        return cost;
+    }
+
+    /**
+     * @return the number of rows the planner estimated this edge to produce over the whole procedure
+     */
+    public double estimatedRows() {
+        return estimatedRows;
+    }
+
+    void estimatedRows(double estimatedRows) {
+        this.estimatedRows = estimatedRows;
+    }
+
     public boolean isClosureEdge() {
         return order() > to().branchEdge().order();
     }
@@ -135,6 +160,8 @@ public abstract class ProcedureEdge<
 
     public boolean isRolePlayer() { return false; }
 
+    public boolean isIsa() { return false; }
+
     public Native.Thing.RolePlayer asRolePlayer() {
         throw GraknException.of(ILLEGAL_CAST, className(getClass()), className(Native.Thing.RolePlayer.class));
     }
@@ -265,6 +292,11 @@ public abstract class ProcedureEdge<
                 this.isTransitive = isTransitive;
             }
 
+            @Override
+            public boolean isIsa() {
+                return true;
+            }
+
             ResourceIterator<TypeVertex> isaTypes(ThingVertex thing) {
                 if (!isTransitive) return single(thing.type());
                 else return loop(thing.type(), Objects::nonNull, v -> v.outs().edge(SUB).to().firstOrNull());
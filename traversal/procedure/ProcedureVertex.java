@@ -62,12 +62,14 @@ public abstract class ProcedureVertex<
         PROPERTIES extends TraversalVertex.Properties
         > extends TraversalVertex<ProcedureEdge<?, ?>, PROPERTIES> {
 
+    private final int index;
     private final boolean isStartingVertex;
     private final AtomicReference<Set<Integer>> dependedEdgeOrders;
     private ProcedureEdge<?, ?> iteratorEdge;
 
-    ProcedureVertex(Identifier identifier, boolean isStartingVertex) {
+    ProcedureVertex(Identifier identifier, int index, boolean isStartingVertex) {
         super(identifier);
+        this.index = index;
         this.isStartingVertex = isStartingVertex;
         this.dependedEdgeOrders = new AtomicReference<>(null);
     }
@@ -80,6 +82,13 @@ public abstract class ProcedureVertex<
         if (iteratorEdge == null || edge.order() < iteratorEdge.order()) iteratorEdge = edge;
     }
 
+    /**
+     * @return the position of this vertex in its procedure, used to index the partial answer of a traversal
+     */
+    public int index() {
+        return index;
+    }
+
     public boolean isStartingVertex() {
         return isStartingVertex;
     }
@@ -124,8 +133,8 @@ public abstract class ProcedureVertex<
 
     public static class Thing extends ProcedureVertex<ThingVertex, Properties.Thing> {
 
-        Thing(Identifier identifier, boolean isStartingVertex) {
-            super(identifier, isStartingVertex);
+        Thing(Identifier identifier, int index, boolean isStartingVertex) {
+            super(identifier, index, isStartingVertex);
         }
 
         @Override
@@ -334,8 +343,8 @@ public abstract class ProcedureVertex<
 
     public static class Type extends ProcedureVertex<TypeVertex, Properties.Type> {
 
-        Type(Identifier identifier, boolean isStartingVertex) {
-            super(identifier, isStartingVertex);
+        Type(Identifier identifier, int index, boolean isStartingVertex) {
+            super(identifier, index, isStartingVertex);
         }
 
         @Override
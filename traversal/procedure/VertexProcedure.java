@@ -19,6 +19,9 @@
 package grakn.core.traversal.procedure;
 
 import grakn.core.common.iterator.ResourceIterator;
+import grakn.core.common.parameters.Options;
+import grakn.core.common.profile.QueryBudget;
+import grakn.core.common.profile.QueryProfile;
 import grakn.core.concurrent.producer.Producer;
 import grakn.core.graph.GraphManager;
 import grakn.core.graph.vertex.Vertex;
@@ -35,8 +38,6 @@ import java.util.Comparator;
 import java.util.List;
 import java.util.Set;
 
-import static grakn.common.collection.Collections.map;
-import static grakn.common.collection.Collections.pair;
 import static grakn.core.concurrent.producer.Producers.async;
 
 public class VertexProcedure implements Procedure {
@@ -56,8 +57,8 @@ public class VertexProcedure implements Procedure {
     private static ProcedureVertex<?, ?> toProcedure(PlannerVertex<?> plannerVertex) {
         assert plannerVertex.isStartingVertex();
         ProcedureVertex<?, ?> procedureVertex = plannerVertex.isType()
-                ? new ProcedureVertex.Type(plannerVertex.id(), true)
-                : new ProcedureVertex.Thing(plannerVertex.id(), true);
+                ? new ProcedureVertex.Type(plannerVertex.id(), 0, true)
+                : new ProcedureVertex.Thing(plannerVertex.id(), 0, true);
         if (procedureVertex.isType()) procedureVertex.asType().props(plannerVertex.asType().props());
         else procedureVertex.asThing().props(plannerVertex.asThing().props());
 
@@ -91,23 +92,38 @@ public class VertexProcedure implements Procedure {
 
     @Override
     public Producer<VertexMap> producer(GraphManager graphMgr, Traversal.Parameters params,
-                                        Set<Identifier.Variable.Name> filter, int parallelisation) {
+                                        Set<Identifier.Variable.Name> filter, int parallelisation, long limit,
+                                        Options<?, ?> options, QueryProfile profile, QueryBudget budget) {
         LOG.debug(params.toString());
         LOG.debug(this.toString());
-        return async(iterator(graphMgr, params, filter));
+        return async(iterator(graphMgr, params, filter, options, profile, budget).limit(limit));
     }
 
     @Override
     public ResourceIterator<VertexMap> iterator(GraphManager graphMgr, Traversal.Parameters params,
-                                                Set<Identifier.Variable.Name> filter) {
+                                                Set<Identifier.Variable.Name> filter, Options<?, ?> options,
+                                                QueryProfile profile, QueryBudget budget) {
         LOG.debug(params.toString());
         LOG.debug(this.toString());
         assert vertex.id().isName() && filter.contains(vertex.id().asVariable().asName());
-        Reference ref = vertex.id().asVariable().reference();
+        VertexMap.Layout layout = new VertexMap.Layout(new Reference[]{vertex.id().asVariable().reference()});
         ResourceIterator<? extends Vertex<?, ?>> iterator = vertex.iterator(graphMgr, params);
+        if (profile.isEnabled()) {
+            QueryProfile.Traversal traversalProfile = profile.traversal(toString());
+            iterator = iterator.map(v -> {
+                traversalProfile.started();
+                return v;
+            });
+        }
         for (ProcedureEdge<?, ?> e : vertex.outs()) {
             iterator = iterator.filter(v -> e.isClosure(graphMgr, v, v, params));
         }
-        return iterator.map(v -> VertexMap.of(map(pair(ref, v)))).distinct();
+        ResourceIterator<VertexMap> answers = iterator.map(v -> {
+            budget.check();
+            return VertexMap.of(layout, new Vertex<?, ?>[]{v});
+        });
+        // every thing belongs to a single type, so a thing vertex is never retrieved twice, while types are
+        // bounded by the size of the schema
+        return vertex.isThing() ? answers : answers.distinct();
     }
 }